@@ -0,0 +1,95 @@
+package com.sc.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-time copy of the old installments element-collection table into
+ * fee_installments. The legacy table is renamed once copied, so later
+ * startups find nothing to do and deleted installments never come back.
+ * Statuses are normalised to the InstallmentStatus values, then unpaid rows written
+ * before next_reminder_on existed are put on the reminder index.
+ */
+@Component
+public class InstallmentMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstallmentMigration.class);
+
+    private static final String LEGACY_TABLE = "installments";
+    private static final String RENAMED_TABLE = "installments_migrated";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            migrate();
+        } catch (Exception e) {
+            logger.error("Failed to migrate installments: {}", e.getMessage());
+        }
+        try {
+            normalizeStatuses();
+        } catch (Exception e) {
+            logger.error("Failed to normalise installment statuses: {}", e.getMessage());
+        }
+        try {
+            scheduleReminders();
+        } catch (Exception e) {
+            logger.error("Failed to schedule installment reminders: {}", e.getMessage());
+        }
+    }
+
+    private void migrate() {
+        Integer exists = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables " +
+                        "WHERE table_schema = DATABASE() AND table_name = ?",
+                Integer.class, LEGACY_TABLE);
+        if (exists == null || exists == 0) {
+            return;
+        }
+
+        // Fees that already have rows in the new table were written after the upgrade; leave them alone
+        int copied = jdbcTemplate.update(
+                "INSERT INTO fee_installments " +
+                        "(fees_id, installment_id, amount, addon_amount, paid_date, status, due_amount, due_date, " +
+                        "payment_mode, transaction_reference, remarks) " +
+                        "SELECT l.fees_id, l.installment_id, l.amount, l.addon_amount, l.paid_date, l.status, " +
+                        "l.due_amount, l.due_date, l.payment_mode, l.transaction_reference, l.remarks " +
+                        "FROM " + LEGACY_TABLE + " l " +
+                        "WHERE NOT EXISTS (SELECT 1 FROM fee_installments n WHERE n.fees_id = l.fees_id) " +
+                        "ORDER BY l.fees_id, l.installment_id");
+
+        jdbcTemplate.execute("RENAME TABLE " + LEGACY_TABLE + " TO " + RENAMED_TABLE);
+        logger.info("Migrated {} installments into fee_installments; legacy table kept as {}", copied, RENAMED_TABLE);
+    }
+
+    // Statuses used to be stored as sent ("Pending", "DUE", ...); queries now match the exact
+    // upper-case values, so rewrite older rows the way Installment.normalizeStatus does
+    private void normalizeStatuses() {
+        int upperCased = jdbcTemplate.update(
+                "UPDATE fee_installments SET status = UPPER(TRIM(status)) " +
+                        "WHERE BINARY status <> BINARY UPPER(TRIM(status))");
+        int defaulted = jdbcTemplate.update(
+                "UPDATE fee_installments SET status = 'PENDING' " +
+                        "WHERE status IS NULL OR status NOT IN ('PENDING', 'PAID', 'OVERDUE', 'CANCELLED')");
+        if (upperCased + defaulted > 0) {
+            logger.info("Normalised installment statuses: {} upper-cased, {} unknown set to PENDING",
+                    upperCased, defaulted);
+        }
+    }
+
+    private void scheduleReminders() {
+        int scheduled = jdbcTemplate.update(
+                "UPDATE fee_installments SET next_reminder_on = due_date " +
+                        "WHERE next_reminder_on IS NULL AND status IN ('PENDING', 'OVERDUE')");
+        if (scheduled > 0) {
+            logger.info("Scheduled due-date reminders for {} unpaid installments", scheduled);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.sc.config;
+
+import com.sc.enum_util.StudentDocumentType;
+import com.sc.util.BinaryContentUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * One-time copy of the old LOB columns on the students table into
+ * student_documents. Safe to run on every startup: rows already copied are
+ * skipped and the legacy column is cleared once its data has moved. Copied
+ * rows then get their content type from the file signature, so downloads
+ * never have to sniff or write it.
+ */
+@Component
+public class StudentDocumentMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentDocumentMigration.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (StudentDocumentType type : StudentDocumentType.values()) {
+            try {
+                migrateColumn(type);
+            } catch (Exception e) {
+                logger.error("Failed to migrate {} documents: {}", type, e.getMessage());
+            }
+        }
+        try {
+            backfillContentTypes();
+        } catch (Exception e) {
+            logger.error("Failed to backfill document content types: {}", e.getMessage());
+        }
+    }
+
+    // Only the signature bytes are read, never the whole document
+    private void backfillContentTypes() {
+        List<Object[]> updates = jdbcTemplate.query(
+                "SELECT id, SUBSTRING(content, 1, ?) FROM student_documents WHERE content_type IS NULL",
+                (rs, rowNum) -> new Object[]{
+                        BinaryContentUtils.detectContentType(rs.getBytes(2), MediaType.APPLICATION_OCTET_STREAM).toString(),
+                        rs.getLong(1)},
+                BinaryContentUtils.SIGNATURE_LENGTH);
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate("UPDATE student_documents SET content_type = ? WHERE id = ?", updates);
+        logger.info("Backfilled content type for {} student documents", updates.size());
+    }
+
+    private void migrateColumn(StudentDocumentType type) {
+        String column = type.getLegacyColumn();
+
+        Integer exists = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'students' AND column_name = ?",
+                Integer.class, column);
+        if (exists == null || exists == 0) {
+            return;
+        }
+
+        int copied = jdbcTemplate.update(
+                "INSERT INTO student_documents " +
+                        "(student_std_id, document_type, size_bytes, content_hash, content, created_at, updated_at) " +
+                        "SELECT s.std_id, ?, LENGTH(s." + column + "), SHA2(s." + column + ", 256), s." + column + ", NOW(), NOW() " +
+                        "FROM students s WHERE s." + column + " IS NOT NULL AND LENGTH(s." + column + ") > 0 " +
+                        "AND NOT EXISTS (SELECT 1 FROM student_documents d " +
+                        "WHERE d.student_std_id = s.std_id AND d.document_type = ?)",
+                type.name(), type.name());
+
+        int cleared = jdbcTemplate.update(
+                "UPDATE students s SET s." + column + " = NULL WHERE s." + column + " IS NOT NULL " +
+                        "AND EXISTS (SELECT 1 FROM student_documents d " +
+                        "WHERE d.student_std_id = s.std_id AND d.document_type = ?)",
+                type.name());
+
+        if (copied > 0 || cleared > 0) {
+            logger.info("Migrated {} {} documents out of students.{} ({} cleared)", copied, type, column, cleared);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.sc.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills teacher_photo_hash / teacher_photo_size for photos stored before those
+ * columns existed. Teacher lists read the size to decide whether a photo URL is
+ * shown, since the photo itself is lazy. Computed inside MySQL; later startups
+ * find nothing to do.
+ */
+@Component
+public class TeacherPhotoMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeacherPhotoMigration.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            int updated = jdbcTemplate.update(
+                    "UPDATE teachers SET teacher_photo_hash = SHA2(teacher_photo, 256), " +
+                            "teacher_photo_size = LENGTH(teacher_photo) " +
+                            "WHERE teacher_photo IS NOT NULL AND teacher_photo_size IS NULL");
+            if (updated > 0) {
+                logger.info("Backfilled photo metadata for {} teachers", updated);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to backfill teacher photo metadata: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.sc.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Puts the (teacher_id, attendance_date) unique key on teachers_attendance.
+ * Schema update cannot add it while duplicate days exist, so those are removed
+ * first, keeping the most recently inserted row of each day. The plain index the
+ * unique key replaces is dropped. Later startups find the key and do nothing.
+ */
+@Component
+public class TeachersAttendanceMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeachersAttendanceMigration.class);
+
+    private static final String UNIQUE_KEY = "uk_teachers_attendance_teacher_date";
+    private static final String LEGACY_INDEX = "idx_teachers_attendance_teacher_date";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            if (!indexExists(UNIQUE_KEY)) {
+                int removed = jdbcTemplate.update(
+                        "DELETE a FROM teachers_attendance a JOIN teachers_attendance b " +
+                                "ON a.teacher_id = b.teacher_id AND a.attendance_date = b.attendance_date " +
+                                "AND a.id < b.id");
+                jdbcTemplate.execute("ALTER TABLE teachers_attendance ADD CONSTRAINT " + UNIQUE_KEY +
+                        " UNIQUE (teacher_id, attendance_date)");
+                logger.info("Added {} after removing {} duplicate teacher attendance rows", UNIQUE_KEY, removed);
+            }
+            if (indexExists(LEGACY_INDEX)) {
+                jdbcTemplate.execute("DROP INDEX " + LEGACY_INDEX + " ON teachers_attendance");
+            }
+        } catch (Exception e) {
+            logger.error("Failed to add the teacher attendance unique key: {}", e.getMessage());
+        }
+    }
+
+    private boolean indexExists(String name) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'teachers_attendance' AND index_name = ?",
+                Integer.class, name);
+        return count != null && count > 0;
+    }
+}
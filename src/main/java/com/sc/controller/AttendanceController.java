@@ -5,7 +5,13 @@ import com.sc.dto.request.BulkAttendanceRequestDto;
 import com.sc.dto.request.HolidayRequestDto;
 import com.sc.dto.response.AttendancePercentageDto;
 import com.sc.dto.response.AttendanceResponseDto;
+import com.sc.dto.response.AttendanceRiskDto;
+import com.sc.dto.response.BulkAttendanceResultDto;
+import com.sc.dto.response.CursorPageResponse;
+import com.sc.dto.response.DailyAttendanceDashboardDto;
 import com.sc.dto.response.MonthlyAttendanceSummaryDto;
+import com.sc.service.AttendanceDashboardService;
+import com.sc.service.AttendanceRiskService;
 import com.sc.service.AttendanceService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +36,14 @@ public class AttendanceController {
     @Autowired
     private AttendanceService attendanceService;
 
+    @Autowired
+    private AttendanceDashboardService attendanceDashboardService;
+
+    @Autowired
+    private AttendanceRiskService attendanceRiskService;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
     private String getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         return auth != null ? auth.getName() : "SYSTEM";
@@ -52,8 +66,9 @@ public class AttendanceController {
     @PostMapping("/bulk-mark")
     public ResponseEntity<?> markBulkAttendance(@RequestBody BulkAttendanceRequestDto requestDto) {
         try {
-            List<AttendanceResponseDto> responses = attendanceService.markBulkAttendance(requestDto, getCurrentUser());
-            return ResponseEntity.ok(responses);
+            BulkAttendanceResultDto<AttendanceResponseDto> result =
+                    attendanceService.markBulkAttendance(requestDto, getCurrentUser());
+            return ResponseEntity.ok(result);
         } catch (Exception e) {
             logger.error("Error marking bulk attendance: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -169,6 +184,55 @@ public class AttendanceController {
         }
     }
 
+    // ============= LIVE DASHBOARD =============
+
+    // Served from in-memory counters; safe to poll every minute during roll call
+    @GetMapping("/dashboard/today")
+    public ResponseEntity<?> getTodayDashboard() {
+        try {
+            DailyAttendanceDashboardDto dashboard = attendanceDashboardService.getTodayDashboard();
+            return ResponseEntity.ok(dashboard);
+        } catch (Exception e) {
+            logger.error("Error getting attendance dashboard: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // ============= AT-RISK STUDENTS =============
+
+    // Latest scheduled scan, ranked per class-section; page with the returned nextCursor
+    @GetMapping("/at-risk")
+    public ResponseEntity<?> getAtRiskStudents(
+            @RequestParam(required = false) String className,
+            @RequestParam(required = false) String section,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPageResponse<AttendanceRiskDto> page = attendanceRiskService.getAtRiskPage(
+                    className, section, cursor, limit != null ? limit : DEFAULT_PAGE_SIZE);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error getting at-risk students: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/at-risk/scan")
+    public ResponseEntity<?> runAtRiskScan() {
+        try {
+            int atRisk = attendanceRiskService.runScan();
+            return ResponseEntity.ok(Map.of("atRiskStudents", atRisk));
+        } catch (Exception e) {
+            logger.error("Error running at-risk scan: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // ============= UPDATE ATTENDANCE =============
 
     @PutMapping("/{attendanceId}")
@@ -1,7 +1,9 @@
 package com.sc.controller;
 
 import com.sc.dto.request.FeesRequestDto;
+import com.sc.dto.response.FeeCollectionSummaryDto;
 import com.sc.dto.response.FeesResponseDto;
+import com.sc.service.FeeAnalyticsService;
 import com.sc.service.FeesService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +22,9 @@ public class FeesController {
     @Autowired
     private FeesService feesService;
 
+    @Autowired
+    private FeeAnalyticsService feeAnalyticsService;
+
     // ============= 🎯 CREATE FEES =============
 
     @PostMapping
@@ -233,11 +238,8 @@ public class FeesController {
         logger.info("REST request to get fees summary for academic year: {}", academicYear);
 
         try {
-            // You can add this method to your service
-            // FeesSummaryDto summary = feesService.getFeesSummary(academicYear);
-            // return ResponseEntity.ok(summary);
-
-            return ResponseEntity.ok("Summary endpoint - To be implemented");
+            FeeCollectionSummaryDto summary = feeAnalyticsService.getSummary(academicYear);
+            return ResponseEntity.ok(summary);
         } catch (Exception e) {
             logger.error("Error fetching fees summary: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -245,6 +247,23 @@ public class FeesController {
         }
     }
 
+    /**
+     * Rebuild the fee collection totals from the fees table
+     */
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<?> rebuildFeesSummary() {
+        logger.info("REST request to rebuild fee collection totals");
+
+        try {
+            feeAnalyticsService.rebuildAll();
+            return ResponseEntity.ok(feeAnalyticsService.getSummary(null));
+        } catch (Exception e) {
+            logger.error("Error rebuilding fees summary: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Failed to rebuild summary: " + e.getMessage()));
+        }
+    }
+
     // ============= 🎯 INNER CLASSES FOR RESPONSES =============
 
     /**
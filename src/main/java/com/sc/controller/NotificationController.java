@@ -1,6 +1,8 @@
 package com.sc.controller;
 
 import com.sc.dto.response.NotificationResponseDto;
+import com.sc.service.EmailQueueService;
+import com.sc.service.EmailTemplateService;
 import com.sc.service.NotificationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +23,12 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private EmailQueueService emailQueueService;
+
+    @Autowired
+    private EmailTemplateService emailTemplateService;
+
     // ============= 📨 SEND REMINDERS (ONLY TO PENDING STUDENTS) =============
 
     /**
@@ -185,6 +193,39 @@ public class NotificationController {
         }
     }
 
+    // ============= 📬 EMAIL QUEUE =============
+
+    /**
+     * Outgoing email queue size per status (PENDING, SENDING, SENT, FAILED)
+     * URL: GET http://localhost:8084/api/notifications/email-queue
+     */
+    @GetMapping("/email-queue")
+    public ResponseEntity<?> getEmailQueueStatus() {
+        try {
+            return ResponseEntity.ok(emailQueueService.getQueueCounts());
+        } catch (Exception e) {
+            logger.error("❌ Error reading email queue: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to read email queue: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Re-read email templates from email.templates.location after editing them
+     * URL: POST http://localhost:8084/api/notifications/email-templates/reload
+     */
+    @PostMapping("/email-templates/reload")
+    public ResponseEntity<?> reloadEmailTemplates() {
+        try {
+            emailTemplateService.reload();
+            return ResponseEntity.ok("Email templates reloaded");
+        } catch (Exception e) {
+            logger.error("❌ Error reloading email templates: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Failed to reload email templates: " + e.getMessage());
+        }
+    }
+
     // ============= 🆕 NEW ENDPOINTS FOR DUE DATE INSTALLMENTS =============
 
     /**
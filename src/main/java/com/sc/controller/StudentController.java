@@ -1,20 +1,36 @@
 package com.sc.controller;
 
 import com.sc.dto.request.StudentRequestDto;
+import com.sc.dto.response.StudentImportResultDto;
 import com.sc.dto.response.StudentResponseDto;
+import com.sc.dto.response.StudentSearchResultDto;
+import com.sc.enum_util.ExportFormat;
+import com.sc.enum_util.ImageOwnerType;
+import com.sc.enum_util.StudentDocumentType;
+import com.sc.service.ImageVariantService;
+import com.sc.service.StudentDocumentService;
+import com.sc.service.StudentExportService;
+import com.sc.service.StudentImportService;
+import com.sc.service.StudentSearchService;
 import com.sc.service.StudentService;
+import com.sc.util.StoredContentInfo;
+import com.sc.util.StreamingContentResponses;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +44,21 @@ public class StudentController {
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private StudentDocumentService studentDocumentService;
+
+    @Autowired
+    private StudentSearchService studentSearchService;
+
+    @Autowired
+    private StudentImportService studentImportService;
+
+    @Autowired
+    private StudentExportService studentExportService;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -98,13 +129,69 @@ public class StudentController {
         }
     }
 
+    // ============= 📥 BULK IMPORT =============
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importStudents(@RequestPart("file") MultipartFile file) {
+        try {
+            StudentImportResultDto result = studentImportService.importStudents(file);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error importing students: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error importing students: " + e.getMessage());
+        }
+    }
+
+    // ============= 📤 ROSTER EXPORT =============
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportStudents(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String className,
+            @RequestParam(required = false) String section,
+            @RequestParam(required = false) String status) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StringBuilder fileName = new StringBuilder("students");
+        if (className != null && !className.isBlank()) {
+            fileName.append('-').append(className.trim());
+        }
+        if (section != null && !section.isBlank()) {
+            fileName.append('-').append(section.trim());
+        }
+        fileName.append('.').append(exportFormat.getExtension());
+
+        StreamingResponseBody body = out ->
+                studentExportService.exportRoster(className, section, status, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName.toString(), StandardCharsets.UTF_8).build().toString())
+                .body(body);
+    }
+
     // ============= 🔍 GET ALL STUDENTS =============
 
     @GetMapping("/get-all-students")
-    public ResponseEntity<?> getAllStudents() {
+    public ResponseEntity<?> getAllStudents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
+            if (isPaged(cursor, limit)) {
+                return ResponseEntity.ok(studentService.getAllStudentsPage(cursor, pageSize(limit)));
+            }
             List<StudentResponseDto> students = studentService.getAllStudents();
             return ResponseEntity.ok(students);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             logger.error("Error getting all students: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -169,10 +256,18 @@ public class StudentController {
     // ============= 🔍 GET STUDENTS BY CLASS =============
 
     @GetMapping("/get-students-by-class/{className}")
-    public ResponseEntity<?> getStudentsByClass(@PathVariable String className) {
+    public ResponseEntity<?> getStudentsByClass(
+            @PathVariable String className,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
+            if (isPaged(cursor, limit)) {
+                return ResponseEntity.ok(studentService.getStudentsByClassPage(className, cursor, pageSize(limit)));
+            }
             List<StudentResponseDto> students = studentService.getStudentsByClass(className);
             return ResponseEntity.ok(students);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             logger.error("Error getting students by class {}: {}", className, e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -185,10 +280,18 @@ public class StudentController {
     @GetMapping("/get-students-by-class-section")
     public ResponseEntity<?> getStudentsByClassAndSection(
             @RequestParam String className,
-            @RequestParam String section) {
+            @RequestParam String section,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
+            if (isPaged(cursor, limit)) {
+                return ResponseEntity.ok(studentService.getStudentsByClassAndSectionPage(
+                        className, section, cursor, pageSize(limit)));
+            }
             List<StudentResponseDto> students = studentService.getStudentsByClassAndSection(className, section);
             return ResponseEntity.ok(students);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             logger.error("Error getting students by class {} and section {}: {}", className, section, e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -199,10 +302,18 @@ public class StudentController {
     // ============= 🔍 GET STUDENTS BY STATUS =============
 
     @GetMapping("/get-students-by-status/{status}")
-    public ResponseEntity<?> getStudentsByStatus(@PathVariable String status) {
+    public ResponseEntity<?> getStudentsByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
+            if (isPaged(cursor, limit)) {
+                return ResponseEntity.ok(studentService.getStudentsByStatusPage(status, cursor, pageSize(limit)));
+            }
             List<StudentResponseDto> students = studentService.getStudentsByStatus(status);
             return ResponseEntity.ok(students);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             logger.error("Error getting students by status {}: {}", status, e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -214,10 +325,18 @@ public class StudentController {
 
     @GetMapping("/get-students-by-admission-date")
     public ResponseEntity<?> getStudentsByAdmissionDate(
-            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") Date admissionDate) {
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") Date admissionDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
+            if (isPaged(cursor, limit)) {
+                return ResponseEntity.ok(studentService.getStudentsByAdmissionDatePage(
+                        admissionDate, cursor, pageSize(limit)));
+            }
             List<StudentResponseDto> students = studentService.getStudentsByAdmissionDate(admissionDate);
             return ResponseEntity.ok(students);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             logger.error("Error getting students by admission date {}: {}", admissionDate, e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -232,10 +351,18 @@ public class StudentController {
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String fatherName,
             @RequestParam(required = false) String studentId,
-            @RequestParam(required = false) String rollNumber) {
+            @RequestParam(required = false) String rollNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
+            if (isPaged(cursor, limit)) {
+                return ResponseEntity.ok(studentService.searchStudentsPage(
+                        name, fatherName, studentId, rollNumber, cursor, pageSize(limit)));
+            }
             List<StudentResponseDto> students = studentService.searchStudents(name, fatherName, studentId, rollNumber);
             return ResponseEntity.ok(students);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             logger.error("Error searching students: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -243,6 +370,35 @@ public class StudentController {
         }
     }
 
+    // ============= 🔍 TYPEAHEAD =============
+
+    @GetMapping("/typeahead")
+    public ResponseEntity<?> typeahead(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<StudentSearchResultDto> results = studentSearchService.typeahead(query, limit);
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            logger.error("Error in student typeahead for '{}': {}", query, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error searching students: " + e.getMessage());
+        }
+    }
+
+    // ============= 📄 KEYSET PAGINATION HELPERS =============
+    // List endpoints keep returning a plain array unless cursor or limit is supplied
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
+    private static boolean isPaged(String cursor, Integer limit) {
+        return cursor != null || limit != null;
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit != null ? limit : DEFAULT_PAGE_SIZE;
+    }
+
     // ============= 📊 GET STUDENT COUNT BY CLASS =============
 
     @GetMapping("/get-student-count-by-class")
@@ -454,124 +610,73 @@ public class StudentController {
     }
 
     // ============= 🖼️ IMAGE SERVING ENDPOINTS =============
+    // Streamed from the document store in chunks, with ETag / Range support.
+    // profile-image also accepts ?size=64|256|original for pre-generated thumbnails.
 
     @GetMapping(value = "/{id}/profile-image", produces = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE})
-    public ResponseEntity<byte[]> getProfileImage(@PathVariable Long id) {
+    public ResponseEntity<StreamingResponseBody> getProfileImage(@PathVariable Long id,
+            @RequestParam(value = "size", required = false) String size,
+            @RequestHeader HttpHeaders headers) {
+        Integer sizePx;
         try {
-            byte[] image = studentService.getProfileImage(id);
-            if (image != null && image.length > 0) {
-                return ResponseEntity.ok()
-                        .contentType(detectImageType(image))
-                        .header("Content-Disposition", "inline; filename=\"profile_" + id + ".jpg\"")
-                        .body(image);
+            sizePx = imageVariantService.resolveVariantSize(size);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (sizePx != null) {
+            try {
+                StoredContentInfo info = imageVariantService.getVariantInfo(ImageOwnerType.STUDENT, id, sizePx,
+                        () -> studentDocumentService.getDocumentContent(id, StudentDocumentType.PROFILE_IMAGE));
+                if (info != null) {
+                    return StreamingContentResponses.build(info,
+                            "profile_" + id + "_" + sizePx + fileExtension(info.getContentType()), headers,
+                            (offset, length, out) -> imageVariantService.streamVariant(
+                                    ImageOwnerType.STUDENT, id, sizePx, info.getContentHash(), offset, length, out));
+                }
+            } catch (Exception e) {
+                logger.error("Error fetching profile thumbnail for student {}: {}", id, e.getMessage());
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
             }
-            return ResponseEntity.notFound().build();
-        } catch (Exception e) {
-            logger.error("Error fetching profile image: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
+        // No variant requested or none available (e.g. not a decodable image) - serve the original
+        return serveDocument(id, StudentDocumentType.PROFILE_IMAGE, "profile_" + id, headers);
     }
 
     @GetMapping(value = "/{id}/aadhar-image", produces = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.APPLICATION_PDF_VALUE})
-    public ResponseEntity<byte[]> getStudentAadharImage(@PathVariable Long id) {
-        try {
-            byte[] image = studentService.getStudentAadharImage(id);
-            if (image != null && image.length > 0) {
-                return ResponseEntity.ok()
-                        .contentType(detectContentType(image))
-                        .header("Content-Disposition", "inline; filename=\"aadhar_" + id + ".jpg\"")
-                        .body(image);
-            }
-            return ResponseEntity.notFound().build();
-        } catch (Exception e) {
-            logger.error("Error fetching student aadhar image: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+    public ResponseEntity<StreamingResponseBody> getStudentAadharImage(@PathVariable Long id,
+            @RequestHeader HttpHeaders headers) {
+        return serveDocument(id, StudentDocumentType.STUDENT_AADHAR, "aadhar_" + id, headers);
     }
 
     @GetMapping(value = "/{id}/father-aadhar-image", produces = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.APPLICATION_PDF_VALUE})
-    public ResponseEntity<byte[]> getFatherAadharImage(@PathVariable Long id) {
-        try {
-            byte[] image = studentService.getFatherAadharImage(id);
-            if (image != null && image.length > 0) {
-                return ResponseEntity.ok()
-                        .contentType(detectContentType(image))
-                        .header("Content-Disposition", "inline; filename=\"father_aadhar_" + id + ".jpg\"")
-                        .body(image);
-            }
-            return ResponseEntity.notFound().build();
-        } catch (Exception e) {
-            logger.error("Error fetching father aadhar image: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+    public ResponseEntity<StreamingResponseBody> getFatherAadharImage(@PathVariable Long id,
+            @RequestHeader HttpHeaders headers) {
+        return serveDocument(id, StudentDocumentType.FATHER_AADHAR, "father_aadhar_" + id, headers);
     }
 
     @GetMapping(value = "/{id}/mother-aadhar-image", produces = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.APPLICATION_PDF_VALUE})
-    public ResponseEntity<byte[]> getMotherAadharImage(@PathVariable Long id) {
-        try {
-            byte[] image = studentService.getMotherAadharImage(id);
-            if (image != null && image.length > 0) {
-                return ResponseEntity.ok()
-                        .contentType(detectContentType(image))
-                        .header("Content-Disposition", "inline; filename=\"mother_aadhar_" + id + ".jpg\"")
-                        .body(image);
-            }
-            return ResponseEntity.notFound().build();
-        } catch (Exception e) {
-            logger.error("Error fetching mother aadhar image: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+    public ResponseEntity<StreamingResponseBody> getMotherAadharImage(@PathVariable Long id,
+            @RequestHeader HttpHeaders headers) {
+        return serveDocument(id, StudentDocumentType.MOTHER_AADHAR, "mother_aadhar_" + id, headers);
     }
 
     @GetMapping(value = "/{id}/birth-certificate", produces = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.APPLICATION_PDF_VALUE})
-    public ResponseEntity<byte[]> getBirthCertificateImage(@PathVariable Long id) {
-        try {
-            byte[] image = studentService.getBirthCertificateImage(id);
-            if (image != null && image.length > 0) {
-                return ResponseEntity.ok()
-                        .contentType(detectContentType(image))
-                        .header("Content-Disposition", "inline; filename=\"birth_certificate_" + id + ".pdf\"")
-                        .body(image);
-            }
-            return ResponseEntity.notFound().build();
-        } catch (Exception e) {
-            logger.error("Error fetching birth certificate: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+    public ResponseEntity<StreamingResponseBody> getBirthCertificateImage(@PathVariable Long id,
+            @RequestHeader HttpHeaders headers) {
+        return serveDocument(id, StudentDocumentType.BIRTH_CERTIFICATE, "birth_certificate_" + id, headers);
     }
 
     @GetMapping(value = "/{id}/transfer-certificate", produces = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.APPLICATION_PDF_VALUE})
-    public ResponseEntity<byte[]> getTransferCertificateImage(@PathVariable Long id) {
-        try {
-            byte[] image = studentService.getTransferCertificateImage(id);
-            if (image != null && image.length > 0) {
-                return ResponseEntity.ok()
-                        .contentType(detectContentType(image))
-                        .header("Content-Disposition", "inline; filename=\"tc_" + id + ".pdf\"")
-                        .body(image);
-            }
-            return ResponseEntity.notFound().build();
-        } catch (Exception e) {
-            logger.error("Error fetching transfer certificate: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+    public ResponseEntity<StreamingResponseBody> getTransferCertificateImage(@PathVariable Long id,
+            @RequestHeader HttpHeaders headers) {
+        return serveDocument(id, StudentDocumentType.TRANSFER_CERTIFICATE, "tc_" + id, headers);
     }
 
     @GetMapping(value = "/{id}/marksheet", produces = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.APPLICATION_PDF_VALUE})
-    public ResponseEntity<byte[]> getMarkSheetImage(@PathVariable Long id) {
-        try {
-            byte[] image = studentService.getMarkSheetImage(id);
-            if (image != null && image.length > 0) {
-                return ResponseEntity.ok()
-                        .contentType(detectContentType(image))
-                        .header("Content-Disposition", "inline; filename=\"marksheet_" + id + ".pdf\"")
-                        .body(image);
-            }
-            return ResponseEntity.notFound().build();
-        } catch (Exception e) {
-            logger.error("Error fetching marksheet: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+    public ResponseEntity<StreamingResponseBody> getMarkSheetImage(@PathVariable Long id,
+            @RequestHeader HttpHeaders headers) {
+        return serveDocument(id, StudentDocumentType.MARK_SHEET, "marksheet_" + id, headers);
     }
 
     // ============= 🖼️ IMAGE UPLOAD ENDPOINTS =============
@@ -649,33 +754,27 @@ public class StudentController {
         }
     }
 
-    private MediaType detectImageType(byte[] image) {
-        if (image.length > 0) {
-            if (image[0] == (byte) 0xFF && image[1] == (byte) 0xD8) {
-                return MediaType.IMAGE_JPEG;
-            } else if (image[0] == (byte) 0x89 && image[1] == (byte) 0x50 &&
-                    image[2] == (byte) 0x4E && image[3] == (byte) 0x47) {
-                return MediaType.IMAGE_PNG;
-            } else if (image[0] == (byte) 0x47 && image[1] == (byte) 0x49 &&
-                    image[2] == (byte) 0x46) {
-                return MediaType.IMAGE_GIF;
+    private ResponseEntity<StreamingResponseBody> serveDocument(Long id, StudentDocumentType type,
+                                                                String baseName, HttpHeaders headers) {
+        try {
+            StoredContentInfo info = studentDocumentService.getDocumentInfo(id, type);
+            if (info == null) {
+                return ResponseEntity.notFound().build();
             }
+            return StreamingContentResponses.build(info, baseName + fileExtension(info.getContentType()), headers,
+                    (offset, length, out) -> studentDocumentService.streamDocument(
+                            id, type, info.getContentHash(), offset, length, out));
+        } catch (Exception e) {
+            logger.error("Error fetching {} for student {}: {}", type, id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
-        return MediaType.IMAGE_JPEG;
     }
 
-    private MediaType detectContentType(byte[] data) {
-        if (data.length > 0) {
-            if (data[0] == (byte) 0x25 && data[1] == (byte) 0x50 &&
-                    data[2] == (byte) 0x44 && data[3] == (byte) 0x46) {
-                return MediaType.APPLICATION_PDF;
-            } else if (data[0] == (byte) 0xFF && data[1] == (byte) 0xD8) {
-                return MediaType.IMAGE_JPEG;
-            } else if (data[0] == (byte) 0x89 && data[1] == (byte) 0x50 &&
-                    data[2] == (byte) 0x4E && data[3] == (byte) 0x47) {
-                return MediaType.IMAGE_PNG;
-            }
-        }
-        return MediaType.APPLICATION_OCTET_STREAM;
+    private String fileExtension(String contentType) {
+        if (MediaType.APPLICATION_PDF_VALUE.equals(contentType)) return ".pdf";
+        if (MediaType.IMAGE_PNG_VALUE.equals(contentType)) return ".png";
+        if (MediaType.IMAGE_GIF_VALUE.equals(contentType)) return ".gif";
+        if (MediaType.IMAGE_JPEG_VALUE.equals(contentType)) return ".jpg";
+        return "";
     }
 }
\ No newline at end of file
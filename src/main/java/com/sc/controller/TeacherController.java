@@ -4,8 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sc.dto.request.TeacherRequestDto;
 import com.sc.dto.response.TeacherResponseDto;
 import com.sc.entity.TeacherEntity;
+import com.sc.enum_util.ImageOwnerType;
 import com.sc.repository.TeacherRepository;
+import com.sc.service.ImageVariantService;
 import com.sc.service.TeacherService;
+import com.sc.util.StoredContentInfo;
+import com.sc.util.StreamingContentResponses;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,11 +17,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -34,6 +40,9 @@ public class TeacherController {
     @Autowired
     private TeacherRepository teacherRepository;
 
+    @Autowired
+    private ImageVariantService imageVariantService;
+
     @PostMapping(value = "/create-teacher", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<TeacherResponseDto> createTeacher(
             @RequestPart("teacherData") String teacherDataJson,
@@ -280,19 +289,38 @@ public class TeacherController {
     }
 
     @GetMapping("/{id}/photo")
-    public ResponseEntity<byte[]> getTeacherPhoto(@PathVariable Long id) {
-        logger.info("Fetching photo for teacher ID: {}", id);
+    public ResponseEntity<StreamingResponseBody> getTeacherPhoto(@PathVariable Long id,
+                                                                 @RequestParam(value = "size", required = false) String size,
+                                                                 @RequestHeader HttpHeaders headers) {
+        logger.info("Fetching photo for teacher ID: {}, size: {}", id, size);
+
+        Integer sizePx;
+        try {
+            sizePx = imageVariantService.resolveVariantSize(size);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
 
         try {
-            Optional<TeacherEntity> teacher = teacherRepository.findById(id);
-            if (teacher.isPresent() && teacher.get().getTeacherPhoto() != null) {
-                logger.debug("Teacher photo found for ID: {}", id);
-                return ResponseEntity.ok()
-                        .contentType(MediaType.IMAGE_JPEG)
-                        .body(teacher.get().getTeacherPhoto());
+            if (sizePx != null) {
+                StoredContentInfo variant = imageVariantService.getVariantInfo(ImageOwnerType.TEACHER, id, sizePx,
+                        () -> teacherService.getTeacherPhotoBytes(id));
+                if (variant != null) {
+                    return StreamingContentResponses.build(variant, "teacher_" + id + "_" + sizePx, headers,
+                            (offset, length, out) -> imageVariantService.streamVariant(
+                                    ImageOwnerType.TEACHER, id, sizePx, variant.getContentHash(), offset, length, out));
+                }
             }
-            logger.warn("Teacher photo not found for ID: {}", id);
-            return ResponseEntity.notFound().build();
+
+            StoredContentInfo info = teacherService.getTeacherPhotoInfo(id);
+            if (info == null) {
+                logger.warn("Teacher photo not found for ID: {}", id);
+                return ResponseEntity.notFound().build();
+            }
+            logger.debug("Teacher photo found for ID: {}", id);
+            return StreamingContentResponses.build(info, "teacher_" + id, headers,
+                    (offset, length, out) -> teacherService.streamTeacherPhoto(
+                            id, info.getContentHash(), offset, length, out));
         } catch (Exception e) {
             logger.error("Error fetching teacher photo for ID {}: {}", id, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -1,6 +1,8 @@
 package com.sc.controller;
 
 import com.sc.dto.request.TeachersAttendanceRequestDto;
+import com.sc.dto.response.BulkAttendanceResultDto;
+import com.sc.dto.response.TeacherAttendanceMatrixDto;
 import com.sc.dto.response.TeachersAttendanceResponseDto;
 import com.sc.service.TeachersAttendanceService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,9 +31,10 @@ public class TeachersAttendanceController {
 
     // Mark attendance for multiple teachers
     @PostMapping("/mark-bulk")
-    public ResponseEntity<List<TeachersAttendanceResponseDto>> markBulkAttendance(@RequestBody List<TeachersAttendanceRequestDto> requestDtos) {
-        List<TeachersAttendanceResponseDto> responseDtos = attendanceService.markBulkAttendance(requestDtos);
-        return new ResponseEntity<>(responseDtos, HttpStatus.CREATED);
+    public ResponseEntity<BulkAttendanceResultDto<TeachersAttendanceResponseDto>> markBulkAttendance(
+            @RequestBody List<TeachersAttendanceRequestDto> requestDtos) {
+        BulkAttendanceResultDto<TeachersAttendanceResponseDto> result = attendanceService.markBulkAttendance(requestDtos);
+        return new ResponseEntity<>(result, HttpStatus.CREATED);
     }
 
     // Get attendance by ID
@@ -121,5 +124,14 @@ public class TeachersAttendanceController {
         Object summary = attendanceService.getMonthlyAttendanceSummary(teacherId, year, month);
         return new ResponseEntity<>(summary, HttpStatus.OK);
     }
-}
 
+    // Get the monthly attendance matrix for all teachers
+    @GetMapping("/monthly-matrix")
+    public ResponseEntity<TeacherAttendanceMatrixDto> getMonthlyAttendanceMatrix(
+            @RequestParam int year,
+            @RequestParam int month) {
+
+        TeacherAttendanceMatrixDto matrix = attendanceService.getMonthlyAttendanceMatrix(year, month);
+        return new ResponseEntity<>(matrix, HttpStatus.OK);
+    }
+}
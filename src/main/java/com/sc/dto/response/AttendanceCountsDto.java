@@ -0,0 +1,34 @@
+package com.sc.dto.response;
+
+public class AttendanceCountsDto {
+
+    private long presentDays;
+    private long absentDays;
+    private long leaveDays;
+    private long workingDays;
+
+    // Adds one [present, absent, leave, working] aggregate row; SUM over no rows yields nulls
+    public void add(Object[] totals) {
+        presentDays += toLong(totals[0]);
+        absentDays += toLong(totals[1]);
+        leaveDays += toLong(totals[2]);
+        workingDays += toLong(totals[3]);
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    // Getters and Setters
+    public long getPresentDays() { return presentDays; }
+    public void setPresentDays(long presentDays) { this.presentDays = presentDays; }
+
+    public long getAbsentDays() { return absentDays; }
+    public void setAbsentDays(long absentDays) { this.absentDays = absentDays; }
+
+    public long getLeaveDays() { return leaveDays; }
+    public void setLeaveDays(long leaveDays) { this.leaveDays = leaveDays; }
+
+    public long getWorkingDays() { return workingDays; }
+    public void setWorkingDays(long workingDays) { this.workingDays = workingDays; }
+}
@@ -0,0 +1,61 @@
+package com.sc.dto.response;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class AttendanceRiskDto {
+
+    private Long studentId;
+    private String studentName;
+    private String className;
+    private String section;
+    private String rollNumber;
+    private int presentDays;
+    private int workingDays;
+    private double percentage;
+    private String riskLevel; // AVERAGE, POOR
+    private int classRank;
+    private LocalDate windowStart;
+    private LocalDate windowEnd;
+    private LocalDateTime computedAt;
+
+    // Getters and Setters
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public String getStudentName() { return studentName; }
+    public void setStudentName(String studentName) { this.studentName = studentName; }
+
+    public String getClassName() { return className; }
+    public void setClassName(String className) { this.className = className; }
+
+    public String getSection() { return section; }
+    public void setSection(String section) { this.section = section; }
+
+    public String getRollNumber() { return rollNumber; }
+    public void setRollNumber(String rollNumber) { this.rollNumber = rollNumber; }
+
+    public int getPresentDays() { return presentDays; }
+    public void setPresentDays(int presentDays) { this.presentDays = presentDays; }
+
+    public int getWorkingDays() { return workingDays; }
+    public void setWorkingDays(int workingDays) { this.workingDays = workingDays; }
+
+    public double getPercentage() { return percentage; }
+    public void setPercentage(double percentage) { this.percentage = percentage; }
+
+    public String getRiskLevel() { return riskLevel; }
+    public void setRiskLevel(String riskLevel) { this.riskLevel = riskLevel; }
+
+    public int getClassRank() { return classRank; }
+    public void setClassRank(int classRank) { this.classRank = classRank; }
+
+    public LocalDate getWindowStart() { return windowStart; }
+    public void setWindowStart(LocalDate windowStart) { this.windowStart = windowStart; }
+
+    public LocalDate getWindowEnd() { return windowEnd; }
+    public void setWindowEnd(LocalDate windowEnd) { this.windowEnd = windowEnd; }
+
+    public LocalDateTime getComputedAt() { return computedAt; }
+    public void setComputedAt(LocalDateTime computedAt) { this.computedAt = computedAt; }
+}
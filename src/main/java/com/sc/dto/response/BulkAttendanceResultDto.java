@@ -0,0 +1,74 @@
+package com.sc.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a bulk attendance submission: saved records plus one failure entry per rejected row
+public class BulkAttendanceResultDto<T> {
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    private int requestedCount;
+    private int savedCount;
+    private int failedCount;
+    private List<T> saved = new ArrayList<>();
+    private List<RowFailure> failures = new ArrayList<>();
+
+    public void addFailure(int rowIndex, Long id, String message) {
+        failures.add(new RowFailure(rowIndex, id, message));
+        failedCount = failures.size();
+    }
+
+    public void addSaved(T record) {
+        saved.add(record);
+        savedCount = saved.size();
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public int getRequestedCount() { return requestedCount; }
+    public void setRequestedCount(int requestedCount) { this.requestedCount = requestedCount; }
+
+    public int getSavedCount() { return savedCount; }
+    public void setSavedCount(int savedCount) { this.savedCount = savedCount; }
+
+    public int getFailedCount() { return failedCount; }
+    public void setFailedCount(int failedCount) { this.failedCount = failedCount; }
+
+    public List<T> getSaved() { return saved; }
+    public void setSaved(List<T> saved) { this.saved = saved; }
+
+    public List<RowFailure> getFailures() { return failures; }
+    public void setFailures(List<RowFailure> failures) { this.failures = failures; }
+
+    public static class RowFailure {
+
+        private int rowIndex; // 0-based position in the submitted list
+        private Long id;      // student / teacher id of the row
+        private String message;
+
+        public RowFailure() {
+        }
+
+        public RowFailure(int rowIndex, Long id, String message) {
+            this.rowIndex = rowIndex;
+            this.id = id;
+            this.message = message;
+        }
+
+        public int getRowIndex() { return rowIndex; }
+        public void setRowIndex(int rowIndex) { this.rowIndex = rowIndex; }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
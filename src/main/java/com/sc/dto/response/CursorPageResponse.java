@@ -0,0 +1,34 @@
+package com.sc.dto.response;
+
+import java.util.List;
+
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor; // null on the last page
+
+    public CursorPageResponse() {
+    }
+
+    public CursorPageResponse(List<T> content, String nextCursor) {
+        this.content = content;
+        this.size = content.size();
+        this.hasMore = nextCursor != null;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
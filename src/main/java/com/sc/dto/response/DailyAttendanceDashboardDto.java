@@ -0,0 +1,79 @@
+package com.sc.dto.response;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DailyAttendanceDashboardDto {
+
+    private LocalDate date;
+    private LocalDateTime generatedAt;
+    private long totalMarked;
+    private long present;
+    private long absent;
+    private long leave;
+    private long other; // LATE, HALF_DAY, HOLIDAY, WEEKEND
+    private List<ClassAttendanceCountDto> classes = new ArrayList<>();
+
+    // Getters and Setters
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+
+    public long getTotalMarked() { return totalMarked; }
+    public void setTotalMarked(long totalMarked) { this.totalMarked = totalMarked; }
+
+    public long getPresent() { return present; }
+    public void setPresent(long present) { this.present = present; }
+
+    public long getAbsent() { return absent; }
+    public void setAbsent(long absent) { this.absent = absent; }
+
+    public long getLeave() { return leave; }
+    public void setLeave(long leave) { this.leave = leave; }
+
+    public long getOther() { return other; }
+    public void setOther(long other) { this.other = other; }
+
+    public List<ClassAttendanceCountDto> getClasses() { return classes; }
+    public void setClasses(List<ClassAttendanceCountDto> classes) { this.classes = classes; }
+
+    // Inner DTOs
+    public static class ClassAttendanceCountDto {
+        private String className;
+        private String section;
+        private long marked;
+        private long present;
+        private long absent;
+        private long leave;
+        private long other;
+        private double presentPercentage;
+
+        public String getClassName() { return className; }
+        public void setClassName(String className) { this.className = className; }
+
+        public String getSection() { return section; }
+        public void setSection(String section) { this.section = section; }
+
+        public long getMarked() { return marked; }
+        public void setMarked(long marked) { this.marked = marked; }
+
+        public long getPresent() { return present; }
+        public void setPresent(long present) { this.present = present; }
+
+        public long getAbsent() { return absent; }
+        public void setAbsent(long absent) { this.absent = absent; }
+
+        public long getLeave() { return leave; }
+        public void setLeave(long leave) { this.leave = leave; }
+
+        public long getOther() { return other; }
+        public void setOther(long other) { this.other = other; }
+
+        public double getPresentPercentage() { return presentPercentage; }
+        public void setPresentPercentage(double presentPercentage) { this.presentPercentage = presentPercentage; }
+    }
+}
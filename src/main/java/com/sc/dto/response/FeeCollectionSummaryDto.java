@@ -0,0 +1,73 @@
+package com.sc.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FeeCollectionSummaryDto {
+
+    private String academicYear; // null = all years
+    private LocalDateTime generatedAt;
+    private FeeCollectionTotalsDto totals = new FeeCollectionTotalsDto();
+    private List<FeeCollectionTotalsDto> byClass = new ArrayList<>();
+    private List<FeeCollectionTotalsDto> byPaymentMode = new ArrayList<>();
+
+    // Getters and Setters
+    public String getAcademicYear() { return academicYear; }
+    public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
+
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+
+    public FeeCollectionTotalsDto getTotals() { return totals; }
+    public void setTotals(FeeCollectionTotalsDto totals) { this.totals = totals; }
+
+    public List<FeeCollectionTotalsDto> getByClass() { return byClass; }
+    public void setByClass(List<FeeCollectionTotalsDto> byClass) { this.byClass = byClass; }
+
+    public List<FeeCollectionTotalsDto> getByPaymentMode() { return byPaymentMode; }
+    public void setByPaymentMode(List<FeeCollectionTotalsDto> byPaymentMode) { this.byPaymentMode = byPaymentMode; }
+
+    // Inner DTOs
+    public static class FeeCollectionTotalsDto {
+        private String key; // class name or payment mode; null for the overall totals
+        private long feesCount;
+        private long billedAmount;
+        private long collectedAmount;
+        private long pendingAmount;
+        private long overdueAmount;
+        private long overdueCount;
+        private double collectionPercentage;
+
+        public FeeCollectionTotalsDto() {
+        }
+
+        public FeeCollectionTotalsDto(String key) {
+            this.key = key;
+        }
+
+        public String getKey() { return key; }
+        public void setKey(String key) { this.key = key; }
+
+        public long getFeesCount() { return feesCount; }
+        public void setFeesCount(long feesCount) { this.feesCount = feesCount; }
+
+        public long getBilledAmount() { return billedAmount; }
+        public void setBilledAmount(long billedAmount) { this.billedAmount = billedAmount; }
+
+        public long getCollectedAmount() { return collectedAmount; }
+        public void setCollectedAmount(long collectedAmount) { this.collectedAmount = collectedAmount; }
+
+        public long getPendingAmount() { return pendingAmount; }
+        public void setPendingAmount(long pendingAmount) { this.pendingAmount = pendingAmount; }
+
+        public long getOverdueAmount() { return overdueAmount; }
+        public void setOverdueAmount(long overdueAmount) { this.overdueAmount = overdueAmount; }
+
+        public long getOverdueCount() { return overdueCount; }
+        public void setOverdueCount(long overdueCount) { this.overdueCount = overdueCount; }
+
+        public double getCollectionPercentage() { return collectionPercentage; }
+        public void setCollectionPercentage(double collectionPercentage) { this.collectionPercentage = collectionPercentage; }
+    }
+}
@@ -0,0 +1,59 @@
+package com.sc.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StudentImportResultDto {
+
+    private int totalRows;
+    private int importedCount;
+    private int failedCount;
+    private long durationMs;
+    private List<RowError> errors = new ArrayList<>();
+
+    public void addError(int rowNumber, String studentId, String message) {
+        errors.add(new RowError(rowNumber, studentId, message));
+        failedCount++;
+    }
+
+    // Getters and Setters
+    public int getTotalRows() { return totalRows; }
+    public void setTotalRows(int totalRows) { this.totalRows = totalRows; }
+
+    public int getImportedCount() { return importedCount; }
+    public void setImportedCount(int importedCount) { this.importedCount = importedCount; }
+
+    public int getFailedCount() { return failedCount; }
+    public void setFailedCount(int failedCount) { this.failedCount = failedCount; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+
+    public static class RowError {
+
+        private int rowNumber; // 1-based, header is row 1
+        private String studentId;
+        private String message;
+
+        public RowError() {
+        }
+
+        public RowError(int rowNumber, String studentId, String message) {
+            this.rowNumber = rowNumber;
+            this.studentId = studentId;
+            this.message = message;
+        }
+
+        public int getRowNumber() { return rowNumber; }
+        public void setRowNumber(int rowNumber) { this.rowNumber = rowNumber; }
+
+        public String getStudentId() { return studentId; }
+        public void setStudentId(String studentId) { this.studentId = studentId; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -0,0 +1,42 @@
+package com.sc.dto.response;
+
+public class StudentSearchResultDto {
+
+    private Long stdId;
+    private String studentId;
+    private String rollNumber;
+    private String fullName;
+    private String fatherName;
+    private String currentClass;
+    private String section;
+    private String status;
+    private int score;
+
+    // Getters and Setters
+    public Long getStdId() { return stdId; }
+    public void setStdId(Long stdId) { this.stdId = stdId; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public String getRollNumber() { return rollNumber; }
+    public void setRollNumber(String rollNumber) { this.rollNumber = rollNumber; }
+
+    public String getFullName() { return fullName; }
+    public void setFullName(String fullName) { this.fullName = fullName; }
+
+    public String getFatherName() { return fatherName; }
+    public void setFatherName(String fatherName) { this.fatherName = fatherName; }
+
+    public String getCurrentClass() { return currentClass; }
+    public void setCurrentClass(String currentClass) { this.currentClass = currentClass; }
+
+    public String getSection() { return section; }
+    public void setSection(String section) { this.section = section; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public int getScore() { return score; }
+    public void setScore(int score) { this.score = score; }
+}
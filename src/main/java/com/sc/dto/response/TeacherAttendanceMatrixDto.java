@@ -0,0 +1,59 @@
+package com.sc.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Staff-wide month: one row per teacher with the status of every day and the month's tallies
+public class TeacherAttendanceMatrixDto {
+
+    private int year;
+    private int month;
+    private int daysInMonth;
+    private List<TeacherRowDto> teachers = new ArrayList<>();
+
+    // Getters and Setters
+    public int getYear() { return year; }
+    public void setYear(int year) { this.year = year; }
+
+    public int getMonth() { return month; }
+    public void setMonth(int month) { this.month = month; }
+
+    public int getDaysInMonth() { return daysInMonth; }
+    public void setDaysInMonth(int daysInMonth) { this.daysInMonth = daysInMonth; }
+
+    public List<TeacherRowDto> getTeachers() { return teachers; }
+    public void setTeachers(List<TeacherRowDto> teachers) { this.teachers = teachers; }
+
+    // Inner DTOs
+    public static class TeacherRowDto {
+        private Long teacherId;
+        private String teacherName;
+        private String employeeId;
+        private List<String> days; // index 0 = day 1; null when not marked
+        private Map<String, Long> statusBreakdown;
+        private long totalDays;
+        private double attendancePercentage;
+
+        public Long getTeacherId() { return teacherId; }
+        public void setTeacherId(Long teacherId) { this.teacherId = teacherId; }
+
+        public String getTeacherName() { return teacherName; }
+        public void setTeacherName(String teacherName) { this.teacherName = teacherName; }
+
+        public String getEmployeeId() { return employeeId; }
+        public void setEmployeeId(String employeeId) { this.employeeId = employeeId; }
+
+        public List<String> getDays() { return days; }
+        public void setDays(List<String> days) { this.days = days; }
+
+        public Map<String, Long> getStatusBreakdown() { return statusBreakdown; }
+        public void setStatusBreakdown(Map<String, Long> statusBreakdown) { this.statusBreakdown = statusBreakdown; }
+
+        public long getTotalDays() { return totalDays; }
+        public void setTotalDays(long totalDays) { this.totalDays = totalDays; }
+
+        public double getAttendancePercentage() { return attendancePercentage; }
+        public void setAttendancePercentage(double attendancePercentage) { this.attendancePercentage = attendancePercentage; }
+    }
+}
@@ -0,0 +1,78 @@
+package com.sc.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One student's attendance for one closed month, packed by AttendanceMonthCodec:
+ * 2 status bits per day in status_bits, a bit per non-working day, and a small JSON
+ * list for the days that carry a leave type, reason, other status or another marker.
+ */
+@Entity
+@Table(name = "attendance_archive",
+        uniqueConstraints = @UniqueConstraint(name = "uk_attendance_archive_student_month",
+                columnNames = {"student_id", "period_month"}),
+        indexes = @Index(name = "idx_attendance_archive_period", columnList = "period_month"))
+public class AttendanceArchiveEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "period_month", nullable = false)
+    private Integer periodMonth; // yyyyMM
+
+    @Column(name = "status_bits", nullable = false)
+    private Long statusBits = 0L; // day d at bits 2(d-1)..2(d-1)+1
+
+    @Column(name = "non_working_days", nullable = false)
+    private Integer nonWorkingDays = 0; // bit d-1 set when day d was not a working day
+
+    @Column(name = "marked_by")
+    private String markedBy; // most frequent marker of the month
+
+    @Column(name = "marked_at")
+    private LocalDateTime markedAt; // latest marking of the month
+
+    @Column(name = "exceptions", columnDefinition = "TEXT")
+    private String exceptions;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        archivedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public Integer getPeriodMonth() { return periodMonth; }
+    public void setPeriodMonth(Integer periodMonth) { this.periodMonth = periodMonth; }
+
+    public Long getStatusBits() { return statusBits; }
+    public void setStatusBits(Long statusBits) { this.statusBits = statusBits; }
+
+    public Integer getNonWorkingDays() { return nonWorkingDays; }
+    public void setNonWorkingDays(Integer nonWorkingDays) { this.nonWorkingDays = nonWorkingDays; }
+
+    public String getMarkedBy() { return markedBy; }
+    public void setMarkedBy(String markedBy) { this.markedBy = markedBy; }
+
+    public LocalDateTime getMarkedAt() { return markedAt; }
+    public void setMarkedAt(LocalDateTime markedAt) { this.markedAt = markedAt; }
+
+    public String getExceptions() { return exceptions; }
+    public void setExceptions(String exceptions) { this.exceptions = exceptions; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+}
@@ -0,0 +1,65 @@
+package com.sc.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Present / absent / leave / working-day totals of one student for one calendar month.
+ * Rewritten from the attendance table whenever that student's month changes.
+ */
+@Entity
+@Table(name = "attendance_monthly_counters",
+        uniqueConstraints = @UniqueConstraint(name = "uk_attendance_counter_student_month",
+                columnNames = {"student_id", "period_month"}))
+public class AttendanceCounterEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "period_month", nullable = false)
+    private Integer periodMonth; // yyyyMM, e.g. 202607
+
+    @Column(name = "present_days", nullable = false)
+    private Integer presentDays = 0;
+
+    @Column(name = "absent_days", nullable = false)
+    private Integer absentDays = 0;
+
+    @Column(name = "leave_days", nullable = false)
+    private Integer leaveDays = 0;
+
+    @Column(name = "working_days", nullable = false)
+    private Integer workingDays = 0; // rows marked on a working day, as countWorkingDays counts them
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public Integer getPeriodMonth() { return periodMonth; }
+    public void setPeriodMonth(Integer periodMonth) { this.periodMonth = periodMonth; }
+
+    public Integer getPresentDays() { return presentDays; }
+    public void setPresentDays(Integer presentDays) { this.presentDays = presentDays; }
+
+    public Integer getAbsentDays() { return absentDays; }
+    public void setAbsentDays(Integer absentDays) { this.absentDays = absentDays; }
+
+    public Integer getLeaveDays() { return leaveDays; }
+    public void setLeaveDays(Integer leaveDays) { this.leaveDays = leaveDays; }
+
+    public Integer getWorkingDays() { return workingDays; }
+    public void setWorkingDays(Integer workingDays) { this.workingDays = workingDays; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
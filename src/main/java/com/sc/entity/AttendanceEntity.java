@@ -38,9 +38,12 @@ public class AttendanceEntity {
     @Column(name = "marked_at")
     private LocalDateTime markedAt;
 
+    // Rows restored from the archive arrive with their original marking time
     @PrePersist
     protected void onCreate() {
-        markedAt = LocalDateTime.now();
+        if (markedAt == null) {
+            markedAt = LocalDateTime.now();
+        }
     }
 
     // Getters and Setters
@@ -0,0 +1,111 @@
+package com.sc.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One student below the attendance threshold in the latest at-risk scan. The table is
+ * replaced on every run and rows are inserted in ranked order, so id order is rank order.
+ * Each run stamps a new run_id; page cursors carry it, so a cursor from a replaced run is
+ * rejected instead of silently resuming at an unrelated id.
+ */
+@Entity
+@Table(name = "attendance_at_risk", indexes = {
+        @Index(name = "idx_attendance_at_risk_class", columnList = "class_name, section, id"),
+        @Index(name = "idx_attendance_at_risk_student", columnList = "student_id")
+})
+public class AttendanceRiskEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "student_name")
+    private String studentName;
+
+    @Column(name = "class_name")
+    private String className;
+
+    @Column(name = "section")
+    private String section;
+
+    @Column(name = "roll_number")
+    private String rollNumber;
+
+    @Column(name = "present_days", nullable = false)
+    private Integer presentDays;
+
+    @Column(name = "working_days", nullable = false)
+    private Integer workingDays;
+
+    @Column(name = "percentage", nullable = false)
+    private Double percentage;
+
+    @Column(name = "risk_level", nullable = false, length = 20)
+    private String riskLevel; // AVERAGE (60-75%), POOR (below 60%)
+
+    @Column(name = "class_rank", nullable = false)
+    private Integer classRank; // 1 = lowest attendance in the class-section
+
+    @Column(name = "window_start", nullable = false)
+    private LocalDate windowStart;
+
+    @Column(name = "window_end", nullable = false)
+    private LocalDate windowEnd;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getRunId() { return runId; }
+    public void setRunId(Long runId) { this.runId = runId; }
+
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public String getStudentName() { return studentName; }
+    public void setStudentName(String studentName) { this.studentName = studentName; }
+
+    public String getClassName() { return className; }
+    public void setClassName(String className) { this.className = className; }
+
+    public String getSection() { return section; }
+    public void setSection(String section) { this.section = section; }
+
+    public String getRollNumber() { return rollNumber; }
+    public void setRollNumber(String rollNumber) { this.rollNumber = rollNumber; }
+
+    public Integer getPresentDays() { return presentDays; }
+    public void setPresentDays(Integer presentDays) { this.presentDays = presentDays; }
+
+    public Integer getWorkingDays() { return workingDays; }
+    public void setWorkingDays(Integer workingDays) { this.workingDays = workingDays; }
+
+    public Double getPercentage() { return percentage; }
+    public void setPercentage(Double percentage) { this.percentage = percentage; }
+
+    public String getRiskLevel() { return riskLevel; }
+    public void setRiskLevel(String riskLevel) { this.riskLevel = riskLevel; }
+
+    public Integer getClassRank() { return classRank; }
+    public void setClassRank(Integer classRank) { this.classRank = classRank; }
+
+    public LocalDate getWindowStart() { return windowStart; }
+    public void setWindowStart(LocalDate windowStart) { this.windowStart = windowStart; }
+
+    public LocalDate getWindowEnd() { return windowEnd; }
+    public void setWindowEnd(LocalDate windowEnd) { this.windowEnd = windowEnd; }
+
+    public LocalDateTime getComputedAt() { return computedAt; }
+    public void setComputedAt(LocalDateTime computedAt) { this.computedAt = computedAt; }
+}
@@ -0,0 +1,84 @@
+package com.sc.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Running fee totals for one academic year, class and payment mode.
+ * Adjusted by the difference each fees write makes and rebuilt from fees / fee_installments
+ * nightly; missing keys are stored as 'UNKNOWN'. fees_count 0 = bucket emptied since the last rebuild.
+ */
+@Entity
+@Table(name = "fee_collection_totals",
+        uniqueConstraints = @UniqueConstraint(name = "uk_fee_collection_totals_bucket",
+                columnNames = {"academic_year", "class_name", "payment_mode"}))
+public class FeeCollectionTotalEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "academic_year", nullable = false, length = 20)
+    private String academicYear;
+
+    @Column(name = "class_name", nullable = false, length = 50)
+    private String className;
+
+    @Column(name = "payment_mode", nullable = false, length = 30)
+    private String paymentMode;
+
+    @Column(name = "fees_count", nullable = false)
+    private Long feesCount = 0L;
+
+    @Column(name = "billed_amount", nullable = false)
+    private Long billedAmount = 0L; // SUM(total_fees)
+
+    @Column(name = "collected_amount", nullable = false)
+    private Long collectedAmount = 0L; // SUM(total_fees - remaining_fees)
+
+    @Column(name = "pending_amount", nullable = false)
+    private Long pendingAmount = 0L; // SUM(remaining_fees)
+
+    @Column(name = "overdue_amount", nullable = false)
+    private Long overdueAmount = 0L; // unpaid installments past their due date
+
+    @Column(name = "overdue_count", nullable = false)
+    private Long overdueCount = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getAcademicYear() { return academicYear; }
+    public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
+
+    public String getClassName() { return className; }
+    public void setClassName(String className) { this.className = className; }
+
+    public String getPaymentMode() { return paymentMode; }
+    public void setPaymentMode(String paymentMode) { this.paymentMode = paymentMode; }
+
+    public Long getFeesCount() { return feesCount; }
+    public void setFeesCount(Long feesCount) { this.feesCount = feesCount; }
+
+    public Long getBilledAmount() { return billedAmount; }
+    public void setBilledAmount(Long billedAmount) { this.billedAmount = billedAmount; }
+
+    public Long getCollectedAmount() { return collectedAmount; }
+    public void setCollectedAmount(Long collectedAmount) { this.collectedAmount = collectedAmount; }
+
+    public Long getPendingAmount() { return pendingAmount; }
+    public void setPendingAmount(Long pendingAmount) { this.pendingAmount = pendingAmount; }
+
+    public Long getOverdueAmount() { return overdueAmount; }
+    public void setOverdueAmount(Long overdueAmount) { this.overdueAmount = overdueAmount; }
+
+    public Long getOverdueCount() { return overdueCount; }
+    public void setOverdueCount(Long overdueCount) { this.overdueCount = overdueCount; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
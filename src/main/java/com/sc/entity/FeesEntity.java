@@ -48,11 +48,8 @@ public class FeesEntity {
     @Column(name = "payment_mode")
     private String paymentMode;
 
-    @ElementCollection
-    @CollectionTable(
-            name = "installments",
-            joinColumns = @JoinColumn(name = "fees_id")
-    )
+    @OneToMany(mappedBy = "fees", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id ASC")
     private List<Installment> installmentsList = new ArrayList<>();
 
     @Column(name = "remaining_fees")
@@ -162,6 +159,7 @@ public class FeesEntity {
      * Add an installment
      */
     public void addInstallment(Installment installment) {
+        installment.setFees(this);
         this.installmentsList.add(installment);
         calculateRemainingFees();
     }
@@ -300,8 +298,18 @@ public class FeesEntity {
         return installmentsList;
     }
 
+    // Replaces the contents in place so orphan removal keeps tracking the managed collection
     public void setInstallmentsList(List<Installment> installmentsList) {
-        this.installmentsList = installmentsList;
+        if (installmentsList == this.installmentsList) {
+            return;
+        }
+        this.installmentsList.clear();
+        if (installmentsList != null) {
+            for (Installment installment : installmentsList) {
+                installment.setFees(this);
+                this.installmentsList.add(installment);
+            }
+        }
         calculateRemainingFees();
     }
 
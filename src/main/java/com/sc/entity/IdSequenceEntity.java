@@ -0,0 +1,26 @@
+package com.sc.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * High-water mark of a named ID sequence. Each node reserves a block of values
+ * by advancing next_value under a row lock, then hands them out from memory.
+ */
+@Entity
+@Table(name = "id_sequences")
+public class IdSequenceEntity {
+
+    @Id
+    @Column(name = "sequence_name", length = 100)
+    private String sequenceName;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue; // first value not yet reserved by any node
+
+    // Getters and Setters
+    public String getSequenceName() { return sequenceName; }
+    public void setSequenceName(String sequenceName) { this.sequenceName = sequenceName; }
+
+    public Long getNextValue() { return nextValue; }
+    public void setNextValue(Long nextValue) { this.nextValue = nextValue; }
+}
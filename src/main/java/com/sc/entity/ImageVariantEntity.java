@@ -0,0 +1,79 @@
+package com.sc.entity;
+
+import com.sc.enum_util.ImageOwnerType;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Downscaled copy of a student / teacher photo generated at upload time,
+ * so list views can fetch a small avatar instead of the original.
+ */
+@Entity
+@Table(name = "image_variants",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"owner_type", "owner_id", "size_px"}))
+public class ImageVariantEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "owner_type", nullable = false, length = 16)
+    private ImageOwnerType ownerType;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "size_px", nullable = false)
+    private Integer sizePx; // longest side in pixels
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "content", columnDefinition = "MEDIUMBLOB", nullable = false)
+    private byte[] content;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public ImageOwnerType getOwnerType() { return ownerType; }
+    public void setOwnerType(ImageOwnerType ownerType) { this.ownerType = ownerType; }
+
+    public Long getOwnerId() { return ownerId; }
+    public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
+
+    public Integer getSizePx() { return sizePx; }
+    public void setSizePx(Integer sizePx) { this.sizePx = sizePx; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public Long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(Long sizeBytes) { this.sizeBytes = sizeBytes; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public byte[] getContent() { return content; }
+    public void setContent(byte[] content) { this.content = content; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
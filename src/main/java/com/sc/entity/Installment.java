@@ -1,12 +1,31 @@
 package com.sc.entity;
 
-import jakarta.persistence.Column;
-import jakarta.persistence.Embeddable;
+import com.sc.enum_util.InstallmentStatus;
+import jakarta.persistence.*;
 import java.time.LocalDate;
-
-@Embeddable
+import java.util.Locale;
+
+/**
+ * One installment of a fees record, in its own table so due-date and status
+ * lookups can use an index instead of loading every fees aggregate.
+ * installmentId stays the number shown to parents (1, 2, 3 ... within a fees record).
+ */
+@Entity
+@Table(name = "fee_installments", indexes = {
+        @Index(name = "idx_fee_installments_status_due", columnList = "status, due_date"),
+        @Index(name = "idx_fee_installments_fees", columnList = "fees_id"),
+        @Index(name = "idx_fee_installments_next_reminder", columnList = "next_reminder_on")
+})
 public class Installment {
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "fees_id", nullable = false)
+    private FeesEntity fees;
+
     @Column(name = "installment_id")
     private Long installmentId;
 
@@ -37,6 +56,10 @@ public class Installment {
     @Column(name = "remarks")
     private String remarks;
 
+    // Day the next due-date reminder is owed; null once the installment is paid or cancelled
+    @Column(name = "next_reminder_on")
+    private LocalDate nextReminderOn;
+
     // ============= 🔄 CONSTRUCTORS =============
 
     public Installment() {
@@ -59,11 +82,24 @@ public class Installment {
         this.amount = amount;
         this.addonAmount = addonAmount != null ? addonAmount : 0;
         this.paidDate = paidDate;
-        this.status = status != null ? status : "PENDING";
+        this.status = normalizeStatus(status);
         this.dueAmount = dueAmount;
         this.dueDate = dueDate;
     }
 
+    // ============= ⏰ LIFE CYCLE CALLBACKS =============
+
+    @PrePersist
+    @PreUpdate
+    protected void syncNextReminder() {
+        status = normalizeStatus(status);
+        if ("PAID".equals(status) || "CANCELLED".equals(status)) {
+            nextReminderOn = null;
+        } else if (nextReminderOn == null) {
+            nextReminderOn = dueDate;
+        }
+    }
+
     // ============= 🎯 BUSINESS LOGIC METHODS =============
 
     /**
@@ -140,6 +176,21 @@ public class Installment {
         return "PENDING".equalsIgnoreCase(this.status);
     }
 
+    /**
+     * Status as stored: one of InstallmentStatus, upper-case. Anything else sent by a client
+     * ("Pending", "DUE", "PARTIAL", blank) is still owed, so it becomes PENDING.
+     */
+    public static String normalizeStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return InstallmentStatus.PENDING.name();
+        }
+        try {
+            return InstallmentStatus.valueOf(status.trim().toUpperCase(Locale.ROOT)).name();
+        } catch (IllegalArgumentException e) {
+            return InstallmentStatus.PENDING.name();
+        }
+    }
+
     /**
      * Get total amount (amount + addon)
      */
@@ -173,6 +224,22 @@ public class Installment {
 
     // ============= 🔄 GETTERS AND SETTERS =============
 
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public FeesEntity getFees() {
+        return fees;
+    }
+
+    public void setFees(FeesEntity fees) {
+        this.fees = fees;
+    }
+
     public Long getInstallmentId() {
         return installmentId;
     }
@@ -220,8 +287,8 @@ public class Installment {
     }
 
     public void setStatus(String status) {
-        this.status = status;
-        if ("PAID".equalsIgnoreCase(status) && this.paidDate == null) {
+        this.status = normalizeStatus(status);
+        if ("PAID".equals(this.status) && this.paidDate == null) {
             this.paidDate = LocalDate.now();
             this.dueAmount = 0;
         }
@@ -240,6 +307,10 @@ public class Installment {
     }
 
     public void setDueDate(LocalDate dueDate) {
+        // A moved due date restarts the reminder schedule from the new date
+        if (this.dueDate != null && !this.dueDate.equals(dueDate)) {
+            this.nextReminderOn = null;
+        }
         this.dueDate = dueDate;
     }
 
@@ -267,6 +338,14 @@ public class Installment {
         this.remarks = remarks;
     }
 
+    public LocalDate getNextReminderOn() {
+        return nextReminderOn;
+    }
+
+    public void setNextReminderOn(LocalDate nextReminderOn) {
+        this.nextReminderOn = nextReminderOn;
+    }
+
     // ============= 📝 EQUALS, HASHCODE, TOSTRING =============
 
     @Override
@@ -274,18 +353,20 @@ public class Installment {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Installment that = (Installment) o;
-        return installmentId != null && installmentId.equals(that.installmentId);
+        // Row identity: installmentId is only the number within one fees record
+        return id != null && id.equals(that.id);
     }
 
     @Override
     public int hashCode() {
-        return installmentId != null ? installmentId.hashCode() : 0;
+        return getClass().hashCode();
     }
 
     @Override
     public String toString() {
         return "Installment{" +
-                "installmentId=" + installmentId +
+                "id=" + id +
+                ", installmentId=" + installmentId +
                 ", amount=" + amount +
                 ", addonAmount=" + addonAmount +
                 ", totalAmount=" + getTotalAmount() +
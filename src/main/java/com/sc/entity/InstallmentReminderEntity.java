@@ -0,0 +1,48 @@
+package com.sc.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row per due-date reminder sent, so the same installment is reminded at most once a day
+ * even when the hourly check runs again or on a second instance.
+ */
+@Entity
+@Table(name = "installment_reminders",
+        uniqueConstraints = @UniqueConstraint(name = "uk_installment_reminder_student_installment_date",
+                columnNames = {"student_id", "installment_id", "reminder_date"}))
+public class InstallmentReminderEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "installment_id", nullable = false)
+    private Long installmentId; // fee_installments.id, not the per-fees installment number
+
+    @Column(name = "reminder_date", nullable = false)
+    private LocalDate reminderDate;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public Long getInstallmentId() { return installmentId; }
+    public void setInstallmentId(Long installmentId) { this.installmentId = installmentId; }
+
+    public LocalDate getReminderDate() { return reminderDate; }
+    public void setReminderDate(LocalDate reminderDate) { this.reminderDate = reminderDate; }
+
+    public LocalDateTime getSentAt() { return sentAt; }
+    public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+}
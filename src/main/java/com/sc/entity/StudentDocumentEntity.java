@@ -0,0 +1,87 @@
+package com.sc.entity;
+
+import com.sc.enum_util.StudentDocumentType;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Student document (photo / scans) stored outside the students table.
+ * Only metadata is read for listings; the content column is selected
+ * explicitly by the download endpoints.
+ */
+@Entity
+@Table(name = "student_documents",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"student_std_id", "document_type"}),
+        indexes = @Index(name = "idx_student_documents_std_id", columnList = "student_std_id"))
+public class StudentDocumentEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_std_id", nullable = false)
+    private Long stdId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "document_type", nullable = false, length = 32)
+    private StudentDocumentType documentType;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash; // SHA-256 hex
+
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "content", columnDefinition = "LONGBLOB", nullable = false)
+    private byte[] content;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getStdId() { return stdId; }
+    public void setStdId(Long stdId) { this.stdId = stdId; }
+
+    public StudentDocumentType getDocumentType() { return documentType; }
+    public void setDocumentType(StudentDocumentType documentType) { this.documentType = documentType; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public Long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(Long sizeBytes) { this.sizeBytes = sizeBytes; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public byte[] getContent() { return content; }
+    public void setContent(byte[] content) { this.content = content; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -6,7 +6,11 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = {
+        @Index(name = "idx_students_class_section_roll", columnList = "current_class, section, student_roll_number"),
+        @Index(name = "idx_students_status", columnList = "status"),
+        @Index(name = "idx_students_admission_date", columnList = "admission_date")
+})
 public class StudentEntity {
 
     @Id
@@ -162,35 +166,8 @@ public class StudentEntity {
     @Column(name = "subject_name")
     private List<String> subjects = new ArrayList<>();
 
-    // ============= 🖼️ IMAGE MAPPINGS (LOB) =============
-
-    @Lob
-    @Column(columnDefinition = "LONGBLOB")
-    private byte[] profileImage;
-
-    @Lob
-    @Column(columnDefinition = "LONGBLOB")
-    private byte[] studentAadharImage;
-
-    @Lob
-    @Column(columnDefinition = "LONGBLOB")
-    private byte[] fatherAadharImage;
-
-    @Lob
-    @Column(columnDefinition = "LONGBLOB")
-    private byte[] motherAadharImage;
-
-    @Lob
-    @Column(columnDefinition = "LONGBLOB")
-    private byte[] birthCertificateImage;
-
-    @Lob
-    @Column(columnDefinition = "LONGBLOB")
-    private byte[] transferCertificateImage;
-
-    @Lob
-    @Column(columnDefinition = "LONGBLOB")
-    private byte[] markSheetImage;
+    // ============= 🖼️ DOCUMENTS =============
+    // Photo and scans live in student_documents (StudentDocumentEntity), keyed by stdId
 
     // ============= 🎯 PROPER ONE-TO-MANY MAPPING WITH FEES =============
 
@@ -422,27 +399,6 @@ public class StudentEntity {
     public List<String> getSubjects() { return subjects; }
     public void setSubjects(List<String> subjects) { this.subjects = subjects; }
 
-    public byte[] getProfileImage() { return profileImage; }
-    public void setProfileImage(byte[] profileImage) { this.profileImage = profileImage; }
-
-    public byte[] getStudentAadharImage() { return studentAadharImage; }
-    public void setStudentAadharImage(byte[] studentAadharImage) { this.studentAadharImage = studentAadharImage; }
-
-    public byte[] getFatherAadharImage() { return fatherAadharImage; }
-    public void setFatherAadharImage(byte[] fatherAadharImage) { this.fatherAadharImage = fatherAadharImage; }
-
-    public byte[] getMotherAadharImage() { return motherAadharImage; }
-    public void setMotherAadharImage(byte[] motherAadharImage) { this.motherAadharImage = motherAadharImage; }
-
-    public byte[] getBirthCertificateImage() { return birthCertificateImage; }
-    public void setBirthCertificateImage(byte[] birthCertificateImage) { this.birthCertificateImage = birthCertificateImage; }
-
-    public byte[] getTransferCertificateImage() { return transferCertificateImage; }
-    public void setTransferCertificateImage(byte[] transferCertificateImage) { this.transferCertificateImage = transferCertificateImage; }
-
-    public byte[] getMarkSheetImage() { return markSheetImage; }
-    public void setMarkSheetImage(byte[] markSheetImage) { this.markSheetImage = markSheetImage; }
-
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
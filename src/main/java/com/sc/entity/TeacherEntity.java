@@ -1,9 +1,10 @@
 package com.sc.entity;
 
+import com.sc.util.BinaryContentUtils;
 import jakarta.persistence.*;
 import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.SQLDelete;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.MediaType;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -151,10 +152,22 @@ public class TeacherEntity {
 
     private Double grossSalary;
 
+    // Lazy (entities are bytecode-enhanced), so teacher lists never pull the photo bytes
     @Lob
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "teacher_photo", columnDefinition = "LONGBLOB")
     private byte[] teacherPhoto;
 
+    // Photo metadata, kept in step with teacherPhoto so it can be served without loading the bytes
+    @Column(name = "teacher_photo_hash", length = 64)
+    private String teacherPhotoHash;
+
+    @Column(name = "teacher_photo_size")
+    private Long teacherPhotoSize;
+
+    @Column(name = "teacher_photo_content_type", length = 100)
+    private String teacherPhotoContentType;
+
     private String status = "Active";
 
     @Column(name = "created_by")
@@ -270,11 +283,6 @@ public class TeacherEntity {
         public void setAmount(Double amount) { this.amount = amount; }
     }
 
-    // Specification for not deleted teachers
-    public static Specification<TeacherEntity> notDeleted() {
-        return (root, query, cb) -> cb.equal(root.get("isDeleted"), false);
-    }
-
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -388,7 +396,27 @@ public class TeacherEntity {
     public void setGrossSalary(Double grossSalary) { this.grossSalary = grossSalary; }
 
     public byte[] getTeacherPhoto() { return teacherPhoto; }
-    public void setTeacherPhoto(byte[] teacherPhoto) { this.teacherPhoto = teacherPhoto; }
+    public void setTeacherPhoto(byte[] teacherPhoto) {
+        this.teacherPhoto = teacherPhoto;
+        if (teacherPhoto != null && teacherPhoto.length > 0) {
+            this.teacherPhotoHash = BinaryContentUtils.sha256Hex(teacherPhoto);
+            this.teacherPhotoSize = (long) teacherPhoto.length;
+            this.teacherPhotoContentType = BinaryContentUtils.detectContentType(teacherPhoto, MediaType.IMAGE_JPEG).toString();
+        } else {
+            this.teacherPhotoHash = null;
+            this.teacherPhotoSize = null;
+            this.teacherPhotoContentType = null;
+        }
+    }
+
+    public String getTeacherPhotoHash() { return teacherPhotoHash; }
+    public void setTeacherPhotoHash(String teacherPhotoHash) { this.teacherPhotoHash = teacherPhotoHash; }
+
+    public Long getTeacherPhotoSize() { return teacherPhotoSize; }
+    public void setTeacherPhotoSize(Long teacherPhotoSize) { this.teacherPhotoSize = teacherPhotoSize; }
+
+    public String getTeacherPhotoContentType() { return teacherPhotoContentType; }
+    public void setTeacherPhotoContentType(String teacherPhotoContentType) { this.teacherPhotoContentType = teacherPhotoContentType; }
 
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
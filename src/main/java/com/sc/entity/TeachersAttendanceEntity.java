@@ -5,7 +5,9 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "teachers_attendance")
+@Table(name = "teachers_attendance",
+        uniqueConstraints = @UniqueConstraint(name = "uk_teachers_attendance_teacher_date",
+                columnNames = {"teacher_id", "attendance_date"}))
 public class TeachersAttendanceEntity {
 
 
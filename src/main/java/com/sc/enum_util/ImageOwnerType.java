@@ -0,0 +1,7 @@
+package com.sc.enum_util;
+
+// Whose photo an image variant was generated from
+public enum ImageOwnerType {
+    STUDENT,
+    TEACHER
+}
@@ -0,0 +1,24 @@
+package com.sc.enum_util;
+
+// Student document slots, with the URL segment they are served from
+// and the legacy LOB column on the students table they replaced
+public enum StudentDocumentType {
+    PROFILE_IMAGE("profile-image", "profile_image"),
+    STUDENT_AADHAR("aadhar-image", "student_aadhar_image"),
+    FATHER_AADHAR("father-aadhar-image", "father_aadhar_image"),
+    MOTHER_AADHAR("mother-aadhar-image", "mother_aadhar_image"),
+    BIRTH_CERTIFICATE("birth-certificate", "birth_certificate_image"),
+    TRANSFER_CERTIFICATE("transfer-certificate", "transfer_certificate_image"),
+    MARK_SHEET("marksheet", "mark_sheet_image");
+
+    private final String urlPath;
+    private final String legacyColumn;
+
+    StudentDocumentType(String urlPath, String legacyColumn) {
+        this.urlPath = urlPath;
+        this.legacyColumn = legacyColumn;
+    }
+
+    public String getUrlPath() { return urlPath; }
+    public String getLegacyColumn() { return legacyColumn; }
+}
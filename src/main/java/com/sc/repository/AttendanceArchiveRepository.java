@@ -0,0 +1,31 @@
+package com.sc.repository;
+
+import com.sc.entity.AttendanceArchiveEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AttendanceArchiveRepository extends JpaRepository<AttendanceArchiveEntity, Long> {
+
+    List<AttendanceArchiveEntity> findByStudentIdAndPeriodMonthBetweenOrderByPeriodMonthAsc(
+            Long studentId, Integer fromPeriod, Integer toPeriod);
+
+    List<AttendanceArchiveEntity> findByStudentIdInAndPeriodMonth(Collection<Long> studentIds, Integer periodMonth);
+
+    List<AttendanceArchiveEntity> findByPeriodMonth(Integer periodMonth);
+
+    // Archived months of one class-section's current students
+    @Query("SELECT a FROM AttendanceArchiveEntity a, StudentEntity s " +
+            "WHERE s.stdId = a.studentId AND s.currentClass = :className AND s.section = :section " +
+            "AND a.periodMonth BETWEEN :fromPeriod AND :toPeriod")
+    List<AttendanceArchiveEntity> findClassMonths(
+            @Param("className") String className,
+            @Param("section") String section,
+            @Param("fromPeriod") int fromPeriod,
+            @Param("toPeriod") int toPeriod);
+}
@@ -0,0 +1,73 @@
+package com.sc.repository;
+
+import com.sc.entity.AttendanceCounterEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AttendanceCounterRepository extends JpaRepository<AttendanceCounterEntity, Long> {
+
+    // [present, absent, leave, working] summed over whole months fromPeriod..toPeriod (yyyyMM)
+    @Query("SELECT COALESCE(SUM(c.presentDays), 0), COALESCE(SUM(c.absentDays), 0), " +
+            "COALESCE(SUM(c.leaveDays), 0), COALESCE(SUM(c.workingDays), 0) " +
+            "FROM AttendanceCounterEntity c " +
+            "WHERE c.studentId = :studentId AND c.periodMonth BETWEEN :fromPeriod AND :toPeriod")
+    List<Object[]> sumMonths(
+            @Param("studentId") Long studentId,
+            @Param("fromPeriod") int fromPeriod,
+            @Param("toPeriod") int toPeriod);
+
+    // Re-derives one month for the given students from their attendance rows (one grouped scan)
+    @Modifying
+    @Query(value = "INSERT INTO attendance_monthly_counters " +
+            "(student_id, period_month, present_days, absent_days, leave_days, working_days, updated_at) " +
+            "SELECT a.student_id, :period, " +
+            "SUM(a.status = 'PRESENT'), SUM(a.status = 'ABSENT'), SUM(a.status = 'LEAVE'), " +
+            "SUM(a.is_working_day = 1), NOW() " +
+            "FROM attendance a " +
+            "WHERE a.student_id IN (:studentIds) AND a.attendance_date BETWEEN :startDate AND :endDate " +
+            "GROUP BY a.student_id " +
+            "ON DUPLICATE KEY UPDATE present_days = VALUES(present_days), absent_days = VALUES(absent_days), " +
+            "leave_days = VALUES(leave_days), working_days = VALUES(working_days), updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int refreshMonth(
+            @Param("studentIds") Collection<Long> studentIds,
+            @Param("period") int period,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Backfill of every (student, month) present in the attendance table
+    @Modifying
+    @Query(value = "INSERT INTO attendance_monthly_counters " +
+            "(student_id, period_month, present_days, absent_days, leave_days, working_days, updated_at) " +
+            "SELECT a.student_id, YEAR(a.attendance_date) * 100 + MONTH(a.attendance_date), " +
+            "SUM(a.status = 'PRESENT'), SUM(a.status = 'ABSENT'), SUM(a.status = 'LEAVE'), " +
+            "SUM(a.is_working_day = 1), NOW() " +
+            "FROM attendance a " +
+            "GROUP BY a.student_id, YEAR(a.attendance_date) * 100 + MONTH(a.attendance_date) " +
+            "ON DUPLICATE KEY UPDATE present_days = VALUES(present_days), absent_days = VALUES(absent_days), " +
+            "leave_days = VALUES(leave_days), working_days = VALUES(working_days), updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int rebuildAll();
+
+    // Active students under the threshold over whole months fromPeriod..toPeriod, in one grouped pass -
+    // [stdId, firstName, lastName, currentClass, section, rollNumber, presentDays, workingDays]
+    @Query("SELECT s.stdId, s.firstName, s.lastName, s.currentClass, s.section, s.studentRollNumber, " +
+            "SUM(c.presentDays), SUM(c.workingDays) " +
+            "FROM AttendanceCounterEntity c, StudentEntity s " +
+            "WHERE s.stdId = c.studentId AND s.status = 'Active' " +
+            "AND c.periodMonth BETWEEN :fromPeriod AND :toPeriod " +
+            "GROUP BY s.stdId, s.firstName, s.lastName, s.currentClass, s.section, s.studentRollNumber " +
+            "HAVING SUM(c.workingDays) > 0 AND SUM(c.presentDays) * 100 < SUM(c.workingDays) * :thresholdPercent")
+    List<Object[]> findStudentsBelowThreshold(
+            @Param("fromPeriod") int fromPeriod,
+            @Param("toPeriod") int toPeriod,
+            @Param("thresholdPercent") long thresholdPercent);
+}
@@ -2,11 +2,13 @@ package com.sc.repository;
 
 import com.sc.entity.AttendanceEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -54,4 +56,79 @@ public interface AttendanceRepository extends JpaRepository<AttendanceEntity, Lo
     List<AttendanceEntity> findByDateRange(
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
-}
\ No newline at end of file
+
+    // Whole class-section month in one query - [stdId, attendanceDate, status]
+    @Query("SELECT a.student.stdId, a.attendanceDate, a.status FROM AttendanceEntity a " +
+            "WHERE a.student.currentClass = :className AND a.student.section = :section " +
+            "AND a.attendanceDate BETWEEN :startDate AND :endDate")
+    List<Object[]> findStatusByClassAndSectionAndDateRange(
+            @Param("className") String className,
+            @Param("section") String section,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // [stdId, id, markedAt] of the given students' rows on one date
+    @Query("SELECT a.student.stdId, a.id, a.markedAt FROM AttendanceEntity a " +
+            "WHERE a.attendanceDate = :date AND a.student.stdId IN :studentIds")
+    List<Object[]> findIdsByDateAndStudentIds(
+            @Param("date") LocalDate date,
+            @Param("studentIds") Collection<Long> studentIds);
+
+    // [present, absent, leave, working] for one student over a short date range (month edges)
+    @Query("SELECT SUM(CASE WHEN a.status = 'PRESENT' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.status = 'ABSENT' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.status = 'LEAVE' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.isWorkingDay = true THEN 1 ELSE 0 END) " +
+            "FROM AttendanceEntity a " +
+            "WHERE a.student.stdId = :studentId AND a.attendanceDate BETWEEN :startDate AND :endDate")
+    List<Object[]> countStatusTotals(
+            @Param("studentId") Long studentId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Oldest live attendance date before the cutoff, or null when everything older is archived
+    @Query("SELECT MIN(a.attendanceDate) FROM AttendanceEntity a WHERE a.attendanceDate < :before")
+    LocalDate findEarliestDateBefore(@Param("before") LocalDate before);
+
+    @Modifying
+    @Query("DELETE FROM AttendanceEntity a WHERE a.attendanceDate BETWEEN :startDate AND :endDate")
+    int deleteByDateRange(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Today's dashboard in one grouped scan - [currentClass, section, status, count]
+    @Query("SELECT s.currentClass, s.section, a.status, COUNT(a) FROM AttendanceEntity a JOIN a.student s " +
+            "WHERE a.attendanceDate = :date GROUP BY s.currentClass, s.section, a.status")
+    List<Object[]> countByClassSectionAndStatusOnDate(@Param("date") LocalDate date);
+
+    // [stdId, status] of the given students' existing rows on one date
+    @Query("SELECT a.student.stdId, a.status FROM AttendanceEntity a " +
+            "WHERE a.attendanceDate = :date AND a.student.stdId IN :studentIds")
+    List<Object[]> findStatusesByDateAndStudentIds(
+            @Param("date") LocalDate date,
+            @Param("studentIds") Collection<Long> studentIds);
+
+    // ============= 📋 LIST PROJECTIONS =============
+    // Attendance list rows with only the student columns shown, in one statement -
+    // [id, stdId, firstName, lastName, rollNumber, currentClass, section,
+    //  attendanceDate, status, leaveType, reason, isWorkingDay, markedBy, markedAt]
+    @Query("SELECT a.id, s.stdId, s.firstName, s.lastName, s.studentRollNumber, s.currentClass, s.section, " +
+            "a.attendanceDate, a.status, a.leaveType, a.reason, a.isWorkingDay, a.markedBy, a.markedAt " +
+            "FROM AttendanceEntity a JOIN a.student s " +
+            "WHERE s.currentClass = :className AND s.section = :section AND a.attendanceDate = :date " +
+            "ORDER BY s.studentRollNumber")
+    List<Object[]> findListRowsByClassAndSectionAndDate(
+            @Param("className") String className,
+            @Param("section") String section,
+            @Param("date") LocalDate date);
+
+    @Query("SELECT a.id, s.stdId, s.firstName, s.lastName, s.studentRollNumber, s.currentClass, s.section, " +
+            "a.attendanceDate, a.status, a.leaveType, a.reason, a.isWorkingDay, a.markedBy, a.markedAt " +
+            "FROM AttendanceEntity a JOIN a.student s " +
+            "WHERE s.stdId = :studentId AND a.attendanceDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY a.attendanceDate")
+    List<Object[]> findListRowsByStudentAndDateRange(
+            @Param("studentId") Long studentId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+}
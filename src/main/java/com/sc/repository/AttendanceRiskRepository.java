@@ -0,0 +1,32 @@
+package com.sc.repository;
+
+import com.sc.entity.AttendanceRiskEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AttendanceRiskRepository extends JpaRepository<AttendanceRiskEntity, Long> {
+
+    // ============= 📄 KEYSET PAGES (id order = rank order) =============
+    // Latest row by primary key, to learn the current run id
+    Optional<AttendanceRiskEntity> findFirstByOrderByIdDesc();
+
+    boolean existsByRunId(Long runId);
+
+    List<AttendanceRiskEntity> findByRunIdAndIdGreaterThanOrderByIdAsc(Long runId, Long afterId, Pageable pageable);
+
+    List<AttendanceRiskEntity> findByRunIdAndClassNameAndIdGreaterThanOrderByIdAsc(
+            Long runId, String className, Long afterId, Pageable pageable);
+
+    List<AttendanceRiskEntity> findByRunIdAndClassNameAndSectionAndIdGreaterThanOrderByIdAsc(
+            Long runId, String className, String section, Long afterId, Pageable pageable);
+
+    // Previous run's levels, to notify only students who are new or worse - [studentId, riskLevel]
+    @Query("SELECT r.studentId, r.riskLevel FROM AttendanceRiskEntity r")
+    List<Object[]> findStudentRiskLevels();
+}
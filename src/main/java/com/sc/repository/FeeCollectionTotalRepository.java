@@ -0,0 +1,69 @@
+package com.sc.repository;
+
+import com.sc.entity.FeeCollectionTotalEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface FeeCollectionTotalRepository extends JpaRepository<FeeCollectionTotalEntity, Long> {
+
+    List<FeeCollectionTotalEntity> findByAcademicYear(String academicYear);
+
+    // Adds signed amounts to one bucket row, creating it on first use; locks only that row
+    @Modifying
+    @Query(value = "INSERT INTO fee_collection_totals " +
+            "(academic_year, class_name, payment_mode, fees_count, billed_amount, collected_amount, " +
+            "pending_amount, overdue_amount, overdue_count, updated_at) " +
+            "VALUES (:academicYear, :className, :paymentMode, :feesCount, :billed, :collected, :pending, " +
+            ":overdueAmount, :overdueCount, NOW()) " +
+            "ON DUPLICATE KEY UPDATE fees_count = fees_count + VALUES(fees_count), " +
+            "billed_amount = billed_amount + VALUES(billed_amount), " +
+            "collected_amount = collected_amount + VALUES(collected_amount), " +
+            "pending_amount = pending_amount + VALUES(pending_amount), " +
+            "overdue_amount = overdue_amount + VALUES(overdue_amount), " +
+            "overdue_count = overdue_count + VALUES(overdue_count), updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int addToBucket(
+            @Param("academicYear") String academicYear,
+            @Param("className") String className,
+            @Param("paymentMode") String paymentMode,
+            @Param("feesCount") long feesCount,
+            @Param("billed") long billed,
+            @Param("collected") long collected,
+            @Param("pending") long pending,
+            @Param("overdueAmount") long overdueAmount,
+            @Param("overdueCount") long overdueCount);
+
+    @Modifying
+    @Query(value = "DELETE FROM fee_collection_totals", nativeQuery = true)
+    int deleteAllRows();
+
+    // Every bucket in one grouped pass over fees (nightly / on demand); overdue = unpaid and due before :today.
+    // Missing keys become 'UNKNOWN', as in FeeAnalyticsServiceImpl.contributionOf
+    @Modifying
+    @Query(value = "INSERT INTO fee_collection_totals " +
+            "(academic_year, class_name, payment_mode, fees_count, billed_amount, collected_amount, " +
+            "pending_amount, overdue_amount, overdue_count, updated_at) " +
+            "SELECT COALESCE(f.academic_year, 'UNKNOWN'), COALESCE(s.current_class, 'UNKNOWN'), " +
+            "COALESCE(f.payment_mode, 'UNKNOWN'), COUNT(*), " +
+            "COALESCE(SUM(f.total_fees), 0), " +
+            "COALESCE(SUM(COALESCE(f.total_fees, 0) - COALESCE(f.remaining_fees, 0)), 0), " +
+            "COALESCE(SUM(f.remaining_fees), 0), " +
+            "COALESCE(SUM(o.overdue_amount), 0), COALESCE(SUM(o.overdue_count), 0), NOW() " +
+            "FROM fees f " +
+            "JOIN students s ON s.std_id = f.student_std_id " +
+            "LEFT JOIN (SELECT i.fees_id, SUM(COALESCE(i.due_amount, i.amount)) AS overdue_amount, " +
+            "COUNT(*) AS overdue_count FROM fee_installments i " +
+            "WHERE i.status IN ('PENDING', 'OVERDUE') AND i.due_date < :today " +
+            "GROUP BY i.fees_id) o ON o.fees_id = f.id " +
+            "GROUP BY COALESCE(f.academic_year, 'UNKNOWN'), COALESCE(s.current_class, 'UNKNOWN'), " +
+            "COALESCE(f.payment_mode, 'UNKNOWN')",
+            nativeQuery = true)
+    int rebuildAll(@Param("today") LocalDate today);
+}
@@ -2,16 +2,25 @@ package com.sc.repository;
 
 import com.sc.entity.FeesEntity;
 import com.sc.entity.StudentEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FeesRepository extends JpaRepository<FeesEntity, Long> {
 
+    // SELECT ... FOR UPDATE: writers that adjust fee_collection_totals by a before/after delta
+    // must not both start from the same "before"
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM FeesEntity f WHERE f.id = :id")
+    Optional<FeesEntity> findByIdForUpdate(@Param("id") Long id);
+
     // Find by Student entity
     Optional<FeesEntity> findByStudent(StudentEntity student);
 
@@ -39,6 +48,15 @@ public interface FeesRepository extends JpaRepository<FeesEntity, Long> {
     @Query("SELECT f FROM FeesEntity f JOIN FETCH f.student WHERE f.student.stdId = :studentId")
     Optional<FeesEntity> findByStudentIdWithStudent(@Param("studentId") Long studentId);
 
+    // Batch load fees for a page of students (student + installments fetched in the same statement)
+    @Query("SELECT DISTINCT f FROM FeesEntity f JOIN FETCH f.student LEFT JOIN FETCH f.installmentsList " +
+            "WHERE f.student.stdId IN :studentIds ORDER BY f.id DESC")
+    List<FeesEntity> findAllByStudentIdsWithInstallments(@Param("studentIds") Collection<Long> studentIds);
+
+    // Initialize additional fees for already loaded fees (second bag cannot share the fetch above)
+    @Query("SELECT DISTINCT f FROM FeesEntity f LEFT JOIN FETCH f.additionalFeesList WHERE f IN :fees")
+    List<FeesEntity> fetchAdditionalFees(@Param("fees") Collection<FeesEntity> fees);
+
     // Find all pending fees (remaining > 0)
     @Query("SELECT f FROM FeesEntity f WHERE f.remainingFees > 0")
     List<FeesEntity> findAllPendingFees();
@@ -24,4 +24,7 @@ public interface HolidayRepository extends JpaRepository<HolidayEntity, Long> {
                                                  @Param("endDate") LocalDate endDate);
 
     boolean existsByHolidayDate(LocalDate date);
-}
\ No newline at end of file
+
+    // Repeat every year on the same month and day
+    List<HolidayEntity> findByIsRecurringTrue();
+}
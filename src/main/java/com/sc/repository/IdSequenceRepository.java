@@ -0,0 +1,27 @@
+package com.sc.repository;
+
+import com.sc.entity.IdSequenceEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface IdSequenceRepository extends JpaRepository<IdSequenceEntity, String> {
+
+    // SELECT ... FOR UPDATE: serialises block reservations across nodes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM IdSequenceEntity s WHERE s.sequenceName = :sequenceName")
+    Optional<IdSequenceEntity> findForUpdate(@Param("sequenceName") String sequenceName);
+
+    // First node to touch a sequence seeds it; concurrent seeders are ignored
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO id_sequences (sequence_name, next_value) VALUES (:sequenceName, :initialValue)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("sequenceName") String sequenceName, @Param("initialValue") long initialValue);
+}
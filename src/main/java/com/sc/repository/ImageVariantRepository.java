@@ -0,0 +1,26 @@
+package com.sc.repository;
+
+import com.sc.entity.ImageVariantEntity;
+import com.sc.enum_util.ImageOwnerType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImageVariantRepository extends JpaRepository<ImageVariantEntity, Long> {
+
+    // Metadata only - [contentType, sizeBytes, contentHash]
+    @Query("SELECT v.contentType, v.sizeBytes, v.contentHash FROM ImageVariantEntity v " +
+            "WHERE v.ownerType = :ownerType AND v.ownerId = :ownerId AND v.sizePx = :sizePx")
+    List<Object[]> findMetadata(@Param("ownerType") ImageOwnerType ownerType,
+                                @Param("ownerId") Long ownerId,
+                                @Param("sizePx") Integer sizePx);
+
+    @Modifying
+    @Query("DELETE FROM ImageVariantEntity v WHERE v.ownerType = :ownerType AND v.ownerId = :ownerId")
+    int deleteByOwner(@Param("ownerType") ImageOwnerType ownerType, @Param("ownerId") Long ownerId);
+}
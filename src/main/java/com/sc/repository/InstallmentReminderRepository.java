@@ -0,0 +1,30 @@
+package com.sc.repository;
+
+import com.sc.entity.InstallmentReminderEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface InstallmentReminderRepository extends JpaRepository<InstallmentReminderEntity, Long> {
+
+    // Records the reminder unless one exists for the key; 1 = this caller should send it, 0 = already sent
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO installment_reminders (student_id, installment_id, reminder_date, sent_at) " +
+            "VALUES (:studentId, :installmentId, :reminderDate, NOW())", nativeQuery = true)
+    int claim(@Param("studentId") Long studentId,
+              @Param("installmentId") Long installmentId,
+              @Param("reminderDate") LocalDate reminderDate);
+
+    // Gives the key back when sending failed, so the next run retries it
+    @Modifying
+    @Query("DELETE FROM InstallmentReminderEntity r WHERE r.studentId = :studentId " +
+            "AND r.installmentId = :installmentId AND r.reminderDate = :reminderDate")
+    int release(@Param("studentId") Long studentId,
+                @Param("installmentId") Long installmentId,
+                @Param("reminderDate") LocalDate reminderDate);
+}
@@ -0,0 +1,41 @@
+package com.sc.repository;
+
+import com.sc.entity.Installment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// "Unpaid" = PENDING or OVERDUE; listing both keeps the (status, due_date) index usable as two range scans.
+// Exact matches are safe because Installment normalises status on write (InstallmentMigration fixed older rows).
+@Repository
+public interface InstallmentRepository extends JpaRepository<Installment, Long> {
+
+    // Unpaid installments due on or before a date, with fees and student for the reminder text
+    @Query("SELECT i FROM Installment i JOIN FETCH i.fees f JOIN FETCH f.student " +
+            "WHERE i.status IN ('PENDING', 'OVERDUE') AND i.dueDate <= :date " +
+            "ORDER BY i.dueDate ASC, i.id ASC")
+    List<Installment> findUnpaidDueOnOrBefore(@Param("date") LocalDate date);
+
+    // Unpaid installments falling due inside a window (inclusive)
+    @Query("SELECT i FROM Installment i JOIN FETCH i.fees f JOIN FETCH f.student " +
+            "WHERE i.status IN ('PENDING', 'OVERDUE') AND i.dueDate BETWEEN :fromDate AND :toDate " +
+            "ORDER BY i.dueDate ASC, i.id ASC")
+    List<Installment> findUnpaidDueBetween(@Param("fromDate") LocalDate fromDate,
+                                           @Param("toDate") LocalDate toDate);
+
+    // Every unpaid installment of one student across their fees records
+    @Query("SELECT i FROM Installment i JOIN i.fees f " +
+            "WHERE f.student.stdId = :studentId AND i.status IN ('PENDING', 'OVERDUE') " +
+            "ORDER BY i.dueDate ASC, i.id ASC")
+    List<Installment> findUnpaidByStudentId(@Param("studentId") Long studentId);
+
+    // Installments whose next reminder day has come; settled ones have no next_reminder_on
+    @Query("SELECT i FROM Installment i JOIN FETCH i.fees f JOIN FETCH f.student " +
+            "WHERE i.nextReminderOn <= :date AND i.status IN ('PENDING', 'OVERDUE') " +
+            "ORDER BY i.nextReminderOn ASC, i.id ASC")
+    List<Installment> findReminderDue(@Param("date") LocalDate date);
+}
@@ -3,6 +3,7 @@ package com.sc.repository;
 import com.sc.entity.NotificationEntity;
 import com.sc.entity.StudentEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -44,4 +45,23 @@ public interface NotificationRepository extends JpaRepository<NotificationEntity
             @Param("installmentId") Long installmentId,
             @Param("startDate") Date startDate,
             @Param("endDate") Date endDate);
-}
\ No newline at end of file
+
+    // ============= 📬 EMAIL DELIVERY STATUS (written by the email queue) =============
+    // status is left alone: it tracks the in-app read state
+
+    @Modifying
+    @Query("UPDATE NotificationEntity n SET n.deliveredDate = :deliveredDate, n.recipientEmail = :recipient, " +
+            "n.retryCount = :retryCount, n.errorMessage = NULL, n.updatedAt = CURRENT_TIMESTAMP WHERE n.id = :id")
+    int markEmailDelivered(@Param("id") Long id,
+                           @Param("recipient") String recipient,
+                           @Param("deliveredDate") Date deliveredDate,
+                           @Param("retryCount") Integer retryCount);
+
+    @Modifying
+    @Query("UPDATE NotificationEntity n SET n.recipientEmail = :recipient, n.retryCount = :retryCount, " +
+            "n.errorMessage = :errorMessage, n.updatedAt = CURRENT_TIMESTAMP WHERE n.id = :id")
+    int recordEmailError(@Param("id") Long id,
+                         @Param("recipient") String recipient,
+                         @Param("errorMessage") String errorMessage,
+                         @Param("retryCount") Integer retryCount);
+}
@@ -0,0 +1,43 @@
+package com.sc.repository;
+
+import com.sc.entity.OutboundEmailEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmailEntity, Long> {
+
+    // Due emails, locked; rows another node is claiming are skipped rather than waited on
+    @Query(value = "SELECT id FROM outbound_emails WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // next_attempt_at doubles as the claim time while SENDING
+    @Modifying
+    @Query("UPDATE OutboundEmailEntity e SET e.status = 'SENDING', e.attempts = e.attempts + 1, e.nextAttemptAt = :now " +
+            "WHERE e.id IN :ids")
+    int markSending(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Rows left SENDING by a node that died mid-batch go back on the queue
+    @Modifying
+    @Query("UPDATE OutboundEmailEntity e SET e.status = 'PENDING' " +
+            "WHERE e.status = 'SENDING' AND e.nextAttemptAt < :staleBefore")
+    int requeueStale(@Param("staleBefore") LocalDateTime staleBefore);
+
+    // Delivered rows past retention, a slice at a time so the delete never holds locks for long
+    @Modifying
+    @Query(value = "DELETE FROM outbound_emails WHERE status = 'SENT' AND sent_at < :sentBefore LIMIT :limit",
+            nativeQuery = true)
+    int deleteSentBefore(@Param("sentBefore") LocalDateTime sentBefore, @Param("limit") int limit);
+
+    // [status, count]
+    @Query("SELECT e.status, COUNT(e) FROM OutboundEmailEntity e GROUP BY e.status")
+    List<Object[]> countByStatus();
+}
@@ -0,0 +1,50 @@
+package com.sc.repository;
+
+import com.sc.entity.StudentDocumentEntity;
+import com.sc.enum_util.StudentDocumentType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StudentDocumentRepository extends JpaRepository<StudentDocumentEntity, Long> {
+
+    // Metadata only - never selects the content column
+    interface DocumentMetadata {
+        Long getStdId();
+        StudentDocumentType getDocumentType();
+        String getContentType();
+        Long getSizeBytes();
+        String getContentHash();
+    }
+
+    @Query("SELECT d.stdId AS stdId, d.documentType AS documentType, d.contentType AS contentType, " +
+            "d.sizeBytes AS sizeBytes, d.contentHash AS contentHash " +
+            "FROM StudentDocumentEntity d WHERE d.stdId IN :stdIds")
+    List<DocumentMetadata> findMetadataByStdIds(@Param("stdIds") Collection<Long> stdIds);
+
+    @Query("SELECT d.stdId AS stdId, d.documentType AS documentType, d.contentType AS contentType, " +
+            "d.sizeBytes AS sizeBytes, d.contentHash AS contentHash " +
+            "FROM StudentDocumentEntity d WHERE d.stdId = :stdId AND d.documentType = :documentType")
+    Optional<DocumentMetadata> findMetadata(@Param("stdId") Long stdId,
+                                            @Param("documentType") StudentDocumentType documentType);
+
+    @Query("SELECT d.content FROM StudentDocumentEntity d WHERE d.stdId = :stdId AND d.documentType = :documentType")
+    Optional<byte[]> findContent(@Param("stdId") Long stdId,
+                                 @Param("documentType") StudentDocumentType documentType);
+
+    @Modifying
+    @Query("DELETE FROM StudentDocumentEntity d WHERE d.stdId = :stdId AND d.documentType = :documentType")
+    int deleteByStdIdAndDocumentType(@Param("stdId") Long stdId,
+                                     @Param("documentType") StudentDocumentType documentType);
+
+    @Modifying
+    @Query("DELETE FROM StudentDocumentEntity d WHERE d.stdId = :stdId")
+    int deleteByStdId(@Param("stdId") Long stdId);
+}
@@ -1,14 +1,20 @@
 package com.sc.repository;
 
 import com.sc.entity.StudentEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends JpaRepository<StudentEntity, Long> {
@@ -27,6 +33,29 @@ public interface StudentRepository extends JpaRepository<StudentEntity, Long> {
     List<StudentEntity> findByStatus(String status);
     List<StudentEntity> findByAdmissionDate(Date admissionDate);
 
+    // Unique keys of every student, used to pre-check bulk imports without per-row queries
+    @Query("SELECT s.studentId, s.studentRollNumber FROM StudentEntity s")
+    List<Object[]> findAllStudentKeys();
+
+    // Highest numeric suffix among IDs of the form <prefix><digits>; seeds the ID sequences
+    @Query(value = "SELECT COALESCE(MAX(CAST(SUBSTRING(student_id, LENGTH(:prefix) + 1) AS UNSIGNED)), 0) " +
+            "FROM students WHERE student_id REGEXP CONCAT('^', :prefix, '[0-9]+$')", nativeQuery = true)
+    long findMaxStudentIdSuffix(@Param("prefix") String prefix);
+
+    @Query(value = "SELECT COALESCE(MAX(CAST(SUBSTRING(student_roll_number, LENGTH(:prefix) + 1) AS UNSIGNED)), 0) " +
+            "FROM students WHERE student_roll_number REGEXP CONCAT('^', :prefix, '[0-9]+$')", nativeQuery = true)
+    long findMaxRollNumberSuffix(@Param("prefix") String prefix);
+
+    // Register columns for a class-section ordered by roll number - [stdId, firstName, lastName, rollNumber]
+    @Query("SELECT s.stdId, s.firstName, s.lastName, s.studentRollNumber FROM StudentEntity s " +
+            "WHERE s.currentClass = :currentClass AND s.section = :section ORDER BY s.studentRollNumber")
+    List<Object[]> findRegisterRows(@Param("currentClass") String currentClass, @Param("section") String section);
+
+    // Columns shown on attendance records - [stdId, firstName, lastName, currentClass, section, rollNumber]
+    @Query("SELECT s.stdId, s.firstName, s.lastName, s.currentClass, s.section, s.studentRollNumber " +
+            "FROM StudentEntity s WHERE s.stdId IN :ids")
+    List<Object[]> findAttendanceRowsByIds(@Param("ids") Collection<Long> ids);
+
     // ============= 📊 COUNT QUERIES =============
     long countByStatus(String status);
     long countByGender(String gender);
@@ -37,6 +66,16 @@ public interface StudentRepository extends JpaRepository<StudentEntity, Long> {
     @Query("SELECT s.currentClass, s.section, COUNT(s) FROM StudentEntity s GROUP BY s.currentClass, s.section")
     List<Object[]> getStudentCountByClassAndSection();
 
+    // One row per (class, section) carrying every dashboard counter:
+    // [currentClass, section, total, active, inactive, male, female]
+    @Query("SELECT s.currentClass, s.section, COUNT(s), " +
+            "SUM(CASE WHEN s.status = 'Active' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN s.status = 'Inactive' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN s.gender = 'Male' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN s.gender = 'Female' THEN 1 ELSE 0 END) " +
+            "FROM StudentEntity s GROUP BY s.currentClass, s.section")
+    List<Object[]> getStudentStatisticsByClassAndSection();
+
     // ============= 🔍 SEARCH =============
     @Query("SELECT s FROM StudentEntity s WHERE " +
             "(:name IS NULL OR LOWER(s.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
@@ -50,5 +89,70 @@ public interface StudentRepository extends JpaRepository<StudentEntity, Long> {
                                        @Param("studentId") String studentId,
                                        @Param("rollNumber") String rollNumber);
 
+    // Columns needed by the in-memory search index; avoids loading collections and fees
+    @Query("SELECT s.stdId, s.firstName, s.middleName, s.lastName, s.fatherName, s.studentId, " +
+            "s.studentRollNumber, s.currentClass, s.section, s.status FROM StudentEntity s")
+    List<Object[]> findSearchIndexRows();
+
+    // ============= 📄 KEYSET PAGES =============
+    // Pass PageRequest.of(0, n) to bound the page; the cursor replaces OFFSET
+
+    List<StudentEntity> findByStdIdGreaterThanOrderByStdIdAsc(Long afterId, Pageable pageable);
+    List<StudentEntity> findByStatusAndStdIdGreaterThanOrderByStdIdAsc(String status, Long afterId, Pageable pageable);
+    List<StudentEntity> findByAdmissionDateAndStdIdGreaterThanOrderByStdIdAsc(Date admissionDate, Long afterId, Pageable pageable);
+
+    // Class roster walks students without a section first, then the sections in order. Both queries
+    // compare and sort on the raw columns so (current_class, section, student_roll_number) serves them.
+    @Query("SELECT s FROM StudentEntity s WHERE s.currentClass = :currentClass AND s.section IS NULL " +
+            "AND s.studentRollNumber > :afterRollNumber ORDER BY s.studentRollNumber")
+    List<StudentEntity> findUnsectionedRosterPage(@Param("currentClass") String currentClass,
+                                                  @Param("afterRollNumber") String afterRollNumber,
+                                                  Pageable pageable);
+
+    @Query("SELECT s FROM StudentEntity s WHERE s.currentClass = :currentClass AND " +
+            "(s.section > :afterSection OR (s.section = :afterSection AND s.studentRollNumber > :afterRollNumber)) " +
+            "ORDER BY s.section, s.studentRollNumber")
+    List<StudentEntity> findClassRosterPage(@Param("currentClass") String currentClass,
+                                            @Param("afterSection") String afterSection,
+                                            @Param("afterRollNumber") String afterRollNumber,
+                                            Pageable pageable);
+
+    @Query("SELECT s FROM StudentEntity s WHERE s.currentClass = :currentClass AND s.section = :section " +
+            "AND s.studentRollNumber > :afterRollNumber ORDER BY s.studentRollNumber")
+    List<StudentEntity> findSectionRosterPage(@Param("currentClass") String currentClass,
+                                              @Param("section") String section,
+                                              @Param("afterRollNumber") String afterRollNumber,
+                                              Pageable pageable);
+
+    @Query("SELECT s FROM StudentEntity s WHERE s.stdId > :afterId AND " +
+            "(:name IS NULL OR LOWER(s.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
+            "LOWER(s.middleName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
+            "LOWER(s.lastName) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
+            "(:fatherName IS NULL OR LOWER(s.fatherName) LIKE LOWER(CONCAT('%', :fatherName, '%'))) AND " +
+            "(:studentId IS NULL OR s.studentId = :studentId) AND " +
+            "(:rollNumber IS NULL OR s.studentRollNumber = :rollNumber) " +
+            "ORDER BY s.stdId")
+    List<StudentEntity> searchStudentsPage(@Param("name") String name,
+                                           @Param("fatherName") String fatherName,
+                                           @Param("studentId") String studentId,
+                                           @Param("rollNumber") String rollNumber,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
 
-}
\ No newline at end of file
+    // ============= 📤 ROSTER EXPORT =============
+    // Scalar columns only, so no entities, collections or LOBs are loaded. A fetch size of
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the result.
+    // Must be consumed inside a transaction and closed.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT s.stdId, s.studentId, s.studentRollNumber, s.firstName, s.middleName, s.lastName, " +
+            "s.gender, s.dateOfBirth, s.currentClass, s.section, s.academicYear, s.admissionDate, s.status, " +
+            "s.fatherName, s.fatherPhone, s.motherName, s.motherPhone, s.guardianName, s.guardianPhone, " +
+            "s.localAddress, s.localCity FROM StudentEntity s WHERE " +
+            "(:currentClass IS NULL OR s.currentClass = :currentClass) AND " +
+            "(:section IS NULL OR s.section = :section) AND " +
+            "(:status IS NULL OR s.status = :status) " +
+            "ORDER BY s.currentClass, s.section, s.studentRollNumber")
+    Stream<Object[]> streamRoster(@Param("currentClass") String currentClass,
+                                  @Param("section") String section,
+                                  @Param("status") String status);
+}
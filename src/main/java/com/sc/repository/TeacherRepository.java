@@ -3,6 +3,7 @@ package com.sc.repository;
 import com.sc.entity.TeacherEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -90,9 +91,14 @@ public interface TeacherRepository extends JpaRepository<TeacherEntity, Long>, J
     @Query("SELECT t FROM TeacherEntity t WHERE t.id = ?1 AND t.isDeleted = true")
     Optional<TeacherEntity> findDeletedById(Long id);
 
+    // Specification for not deleted teachers
+    static Specification<TeacherEntity> notDeleted() {
+        return (root, query, cb) -> cb.equal(root.get("isDeleted"), false);
+    }
+
     // Default method for active teachers
     default List<TeacherEntity> findAllActive() {
-        return findAll(TeacherEntity.notDeleted());
+        return findAll(notDeleted());
     }
 
     // Pagination queries
@@ -167,6 +173,25 @@ public interface TeacherRepository extends JpaRepository<TeacherEntity, Long>, J
     @Query("SELECT t FROM TeacherEntity t WHERE YEAR(t.joiningDate) = :year AND t.isDeleted = false AND t.approved = true")
     List<TeacherEntity> findByJoiningYear(@Param("year") Integer year);
 
+    // Photo metadata only - [hash, size, contentType], never the photo bytes
+    @Query("SELECT t.teacherPhotoHash, t.teacherPhotoSize, t.teacherPhotoContentType FROM TeacherEntity t " +
+            "WHERE t.id = :id AND t.teacherPhoto IS NOT NULL")
+    List<Object[]> findPhotoMetadata(@Param("id") Long id);
+
+    @Query("SELECT t.teacherPhoto FROM TeacherEntity t WHERE t.id = :id")
+    Optional<byte[]> findPhotoById(@Param("id") Long id);
+
+    // Fill hash / size for photos stored before they were tracked, computed inside MySQL
+    @Modifying
+    @Query(value = "UPDATE teachers SET teacher_photo_hash = SHA2(teacher_photo, 256), " +
+            "teacher_photo_size = LENGTH(teacher_photo) WHERE teacher_id = :id AND teacher_photo IS NOT NULL",
+            nativeQuery = true)
+    int backfillPhotoMetadata(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE TeacherEntity t SET t.teacherPhotoContentType = :contentType WHERE t.id = :id")
+    int updatePhotoContentType(@Param("id") Long id, @Param("contentType") String contentType);
+
     // Remove or comment out problematic queries temporarily:
     /*
     // REMOVE THESE FOR NOW:
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -51,4 +52,31 @@ public interface TeachersAttendanceRepository extends JpaRepository<TeachersAtte
     // Get attendance summary for a month
     @Query("SELECT a.status, COUNT(a) FROM TeachersAttendanceEntity a WHERE YEAR(a.attendanceDate) = :year AND MONTH(a.attendanceDate) = :month GROUP BY a.status")
     List<Object[]> getAttendanceSummaryByMonth(@Param("year") int year, @Param("month") int month);
-}
\ No newline at end of file
+
+    // Existing rows for a bulk submission in one query - [teacherId, attendanceDate, id, createdAt]
+    @Query("SELECT a.teacherId, a.attendanceDate, a.id, a.createdAt FROM TeachersAttendanceEntity a " +
+            "WHERE a.teacherId IN :teacherIds AND a.attendanceDate IN :dates")
+    List<Object[]> findKeysByTeacherIdsAndDates(@Param("teacherIds") Collection<Long> teacherIds,
+                                                @Param("dates") Collection<LocalDate> dates);
+
+    // ============= 📊 AGGREGATES =============
+
+    // [status, count] for one date
+    @Query("SELECT a.status, COUNT(a) FROM TeachersAttendanceEntity a WHERE a.attendanceDate = :date GROUP BY a.status")
+    List<Object[]> countByStatusOnDate(@Param("date") LocalDate date);
+
+    // [status, count] for one teacher over a date range
+    @Query("SELECT a.status, COUNT(a) FROM TeachersAttendanceEntity a " +
+            "WHERE a.teacherId = :teacherId AND a.attendanceDate BETWEEN :startDate AND :endDate GROUP BY a.status")
+    List<Object[]> countByStatusForTeacherBetween(@Param("teacherId") Long teacherId,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+
+    // Staff-wide matrix cells - [teacherId, firstName, lastName, employeeId, attendanceDate, status]
+    @Query("SELECT a.teacherId, t.firstName, t.lastName, t.employeeId, a.attendanceDate, a.status " +
+            "FROM TeachersAttendanceEntity a LEFT JOIN TeacherEntity t ON t.id = a.teacherId " +
+            "WHERE a.attendanceDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY a.teacherId, a.attendanceDate")
+    List<Object[]> findStatusMatrixBetween(@Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate);
+}
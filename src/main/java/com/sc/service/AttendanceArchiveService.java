@@ -0,0 +1,23 @@
+package com.sc.service;
+
+import com.sc.entity.AttendanceEntity;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+
+public interface AttendanceArchiveService {
+
+    // ============= 📦 ARCHIVING =============
+    int archiveClosedMonths();
+    int archiveMonth(YearMonth month);
+
+    // Moves the students' archived month containing the date back to live rows before it is written
+    void restore(Collection<Long> studentIds, LocalDate date);
+
+    // ============= 📂 ARCHIVED READS =============
+    // Detached rows decoded from the archive whose student only carries stdId; live rows are not included
+    List<AttendanceEntity> findStudentDays(Long studentId, LocalDate startDate, LocalDate endDate);
+    List<AttendanceEntity> findClassDays(String className, String section, LocalDate startDate, LocalDate endDate);
+}
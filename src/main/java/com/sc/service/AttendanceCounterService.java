@@ -0,0 +1,18 @@
+package com.sc.service;
+
+import com.sc.dto.response.AttendanceCountsDto;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface AttendanceCounterService {
+
+    // ============= 📊 LOOKUP =============
+    // Whole months come from the counters; partial edge months from the attendance rows
+    AttendanceCountsDto getCounts(Long studentId, LocalDate startDate, LocalDate endDate);
+
+    // ============= 🔄 MAINTENANCE =============
+    // Call inside the transaction that wrote the students' attendance for that date
+    void refresh(Collection<Long> studentIds, LocalDate date);
+    void rebuildAll();
+}
@@ -0,0 +1,16 @@
+package com.sc.service;
+
+import com.sc.dto.response.DailyAttendanceDashboardDto;
+
+import java.time.LocalDate;
+
+public interface AttendanceDashboardService {
+
+    // ============= 📊 LIVE DASHBOARD =============
+    DailyAttendanceDashboardDto getTodayDashboard();
+
+    // ============= 🔄 COUNTER MAINTENANCE =============
+    // previousStatus is null for a first mark; applied after the surrounding transaction commits
+    void recordMarked(LocalDate date, String className, String section, String previousStatus, String status);
+    void rebuild();
+}
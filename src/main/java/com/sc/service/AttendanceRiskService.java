@@ -0,0 +1,15 @@
+package com.sc.service;
+
+import com.sc.dto.response.AttendanceRiskDto;
+import com.sc.dto.response.CursorPageResponse;
+
+public interface AttendanceRiskService {
+
+    // ============= ⚠️ AT-RISK SCAN =============
+    // Recomputes the ranked list; returns the number of students at risk
+    int runScan();
+
+    // ============= 📄 RESULTS =============
+    // Ordered by class, section, then rank; className/section are optional filters
+    CursorPageResponse<AttendanceRiskDto> getAtRiskPage(String className, String section, String cursor, int limit);
+}
@@ -5,6 +5,7 @@ import com.sc.dto.request.BulkAttendanceRequestDto;
 import com.sc.dto.request.HolidayRequestDto;
 import com.sc.dto.response.AttendancePercentageDto;
 import com.sc.dto.response.AttendanceResponseDto;
+import com.sc.dto.response.BulkAttendanceResultDto;
 import com.sc.dto.response.MonthlyAttendanceSummaryDto;
 
 import java.time.LocalDate;
@@ -15,8 +16,8 @@ public interface AttendanceService {
     // Single student attendance
     AttendanceResponseDto markAttendance(AttendanceRequestDto requestDto, String markedBy);
 
-    // Bulk attendance for whole class
-    List<AttendanceResponseDto> markBulkAttendance(BulkAttendanceRequestDto requestDto, String markedBy);
+    // Bulk attendance for whole class: one upsert batch, failures reported per row
+    BulkAttendanceResultDto<AttendanceResponseDto> markBulkAttendance(BulkAttendanceRequestDto requestDto, String markedBy);
 
     // Get attendance by class, section and date
     List<AttendanceResponseDto> getAttendanceByClassAndDate(String className, String section, LocalDate date);
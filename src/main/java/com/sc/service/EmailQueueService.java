@@ -0,0 +1,20 @@
+package com.sc.service;
+
+import java.util.Map;
+
+public interface EmailQueueService {
+
+    // ============= 📥 ENQUEUE =============
+    // Stored in the caller's transaction; delivery starts once that transaction commits
+    void enqueue(String recipient, String subject, String htmlBody, Long notificationId);
+
+    // ============= 📤 DELIVERY =============
+    // Sends what is due now within the rate limit; returns the number of emails sent
+    int deliverDue();
+
+    // Deletes SENT rows (and their bodies) older than the retention window; returns rows removed
+    int purgeSent();
+
+    // Queue size per status: PENDING, SENDING, SENT, FAILED
+    Map<String, Long> getQueueCounts();
+}
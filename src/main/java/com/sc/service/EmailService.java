@@ -3,26 +3,30 @@ package com.sc.service;
 import com.sc.dto.response.NotificationResponseDto;
 import com.sc.entity.StudentEntity;
 import com.sc.entity.FeesEntity;
+import com.sc.entity.Installment;
 
+// Emails are queued in the caller's transaction and delivered by EmailQueueService after it commits;
+// notificationId (nullable) is the in-app notification that receives the delivery status
 public interface EmailService {
 
     /**
      * Send fee reminder email to student with pending fees
      */
-    void sendFeeReminderEmail(StudentEntity student, FeesEntity fees);
+    void sendFeeReminderEmail(StudentEntity student, FeesEntity fees, Long notificationId);
 
     /**
      * Send installment due email
      */
-    void sendInstallmentDueEmail(StudentEntity student, FeesEntity fees, Long installmentId);
+    void sendInstallmentDueEmail(StudentEntity student, FeesEntity fees, Installment installment, Long notificationId);
 
     /**
      * Send overdue reminder email
      */
-    void sendOverdueReminderEmail(StudentEntity student, FeesEntity fees, Long installmentId);
+    void sendOverdueReminderEmail(StudentEntity student, FeesEntity fees, Installment installment, Long notificationId);
 
     /**
      * Send payment confirmation email
      */
-    void sendPaymentConfirmationEmail(StudentEntity student, FeesEntity fees, Integer amount, String transactionId);
+    void sendPaymentConfirmationEmail(StudentEntity student, FeesEntity fees, Integer amount, String transactionId,
+                                      Long notificationId);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.sc.service;
+
+import java.util.Map;
+import java.util.Set;
+
+public interface EmailTemplateService {
+
+    // Templates the application renders; loading fails if any of them is missing
+    String FEE_REMINDER = "fee-reminder";
+    String INSTALLMENT_DUE = "installment-due";
+    String OVERDUE_REMINDER = "overdue-reminder";
+    String PAYMENT_CONFIRMATION = "payment-confirmation";
+    Set<String> REQUIRED_TEMPLATES = Set.of(FEE_REMINDER, INSTALLMENT_DUE, OVERDUE_REMINDER, PAYMENT_CONFIRMATION);
+
+    // ============= 🖨️ RENDER =============
+    // templateName is the file name without .html, e.g. "fee-reminder"
+    String render(String templateName, Map<String, ?> model);
+
+    // ============= 🔄 RELOAD =============
+    // Re-reads every template from email.templates.location; the old set stays in use if any fails to
+    // parse or a required one is missing
+    void reload();
+}
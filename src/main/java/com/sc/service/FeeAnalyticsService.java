@@ -0,0 +1,29 @@
+package com.sc.service;
+
+import com.sc.dto.response.FeeCollectionSummaryDto;
+import com.sc.entity.FeesEntity;
+
+public interface FeeAnalyticsService {
+
+    // ============= 📊 SUMMARY =============
+    // academicYear null = every year
+    FeeCollectionSummaryDto getSummary(String academicYear);
+
+    // ============= 🔄 MAINTENANCE =============
+    // Take a contribution before changing a fees record (null for a new one) and after the write
+    // (null for a delete), then apply the pair inside the same transaction
+    Contribution contributionOf(FeesEntity fees);
+    void apply(Contribution before, Contribution after);
+    void rebuildAll();
+
+    // What one fees record adds to its (academic year, class, payment mode) bucket
+    record Contribution(String academicYear, String className, String paymentMode,
+                        long billedAmount, long collectedAmount, long pendingAmount,
+                        long overdueAmount, long overdueCount) {
+
+        public boolean sameBucket(Contribution other) {
+            return academicYear.equals(other.academicYear) && className.equals(other.className)
+                    && paymentMode.equals(other.paymentMode);
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.sc.service;
 
 import com.sc.dto.request.FeesRequestDto;
 import com.sc.dto.response.FeesResponseDto;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface FeesService {
 
@@ -10,6 +12,7 @@ public interface FeesService {
     FeesResponseDto createFees(FeesRequestDto requestDto);
     FeesResponseDto getFeesById(Long id);
     FeesResponseDto getFeesByStudentId(Long studentId);
+    Map<Long, FeesResponseDto> getFeesByStudentIds(Collection<Long> studentIds);
     List<FeesResponseDto> getAllFees();
     FeesResponseDto updateFees(Long id, FeesRequestDto requestDto);
     void deleteFees(Long id);
@@ -0,0 +1,41 @@
+package com.sc.service;
+
+import com.sc.enum_util.ImageOwnerType;
+import com.sc.util.StoredContentInfo;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Supplier;
+
+public interface ImageVariantService {
+
+    // ============= 🖼️ GENERATE =============
+
+    /**
+     * Replace the owner's variants with ones built from a newly stored original, once the
+     * surrounding transaction commits. Failures are logged, never thrown into the upload.
+     */
+    void refreshVariants(ImageOwnerType ownerType, Long ownerId, byte[] original);
+
+    // ============= 🔍 LOOKUP =============
+
+    /**
+     * Map a {@code ?size=} request value to a stored variant size.
+     * Returns null for the original image; throws IllegalArgumentException for bad input.
+     */
+    Integer resolveVariantSize(String size);
+
+    /**
+     * Metadata of the variant, generating variants from {@code originalLoader} first
+     * for photos uploaded before the pipeline existed. Null when no variant can be served.
+     */
+    StoredContentInfo getVariantInfo(ImageOwnerType ownerType, Long ownerId, int sizePx,
+                                     Supplier<byte[]> originalLoader);
+
+    // Aborts with an IOException if the variant was regenerated and no longer has contentHash
+    void streamVariant(ImageOwnerType ownerType, Long ownerId, int sizePx, String contentHash,
+                       long offset, long length, OutputStream out) throws IOException;
+
+    // ============= 🗑️ DELETE =============
+    void deleteVariants(ImageOwnerType ownerType, Long ownerId);
+}
@@ -0,0 +1,32 @@
+package com.sc.service;
+
+import com.sc.enum_util.StudentDocumentType;
+import com.sc.util.StoredContentInfo;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+public interface StudentDocumentService {
+
+    // ============= 📝 STORE =============
+    void storeDocument(Long stdId, StudentDocumentType type, MultipartFile file) throws IOException;
+    void storeDocument(Long stdId, StudentDocumentType type, byte[] content, String contentType);
+
+    // ============= 🔍 METADATA =============
+    Set<StudentDocumentType> getAvailableDocuments(Long stdId);
+    Map<Long, Set<StudentDocumentType>> getAvailableDocuments(Collection<Long> stdIds);
+
+    // ============= 🖼️ CONTENT =============
+    byte[] getDocumentContent(Long stdId, StudentDocumentType type);
+    StoredContentInfo getDocumentInfo(Long stdId, StudentDocumentType type);
+    // Aborts with an IOException if the stored content no longer has contentHash
+    void streamDocument(Long stdId, StudentDocumentType type, String contentHash, long offset, long length,
+                        OutputStream out) throws IOException;
+
+    // ============= 🗑️ DELETE =============
+    void deleteDocuments(Long stdId);
+}
@@ -0,0 +1,14 @@
+package com.sc.service;
+
+import com.sc.enum_util.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface StudentExportService {
+
+    // ============= 📤 ROSTER EXPORT =============
+    // Null filters are ignored; rows are streamed from the database straight into out
+    void exportRoster(String className, String section, String status, ExportFormat format, OutputStream out)
+            throws IOException;
+}
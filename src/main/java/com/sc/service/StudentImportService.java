@@ -0,0 +1,11 @@
+package com.sc.service;
+
+import com.sc.dto.response.StudentImportResultDto;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface StudentImportService {
+
+    // ============= 📥 BULK IMPORT =============
+    // Accepts .xlsx (first sheet) or .csv with a header row; valid rows are inserted, invalid rows reported
+    StudentImportResultDto importStudents(MultipartFile file);
+}
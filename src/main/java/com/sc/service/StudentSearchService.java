@@ -0,0 +1,20 @@
+package com.sc.service;
+
+import com.sc.dto.response.StudentSearchResultDto;
+import com.sc.entity.StudentEntity;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StudentSearchService {
+
+    // ============= 🔍 TYPEAHEAD =============
+    List<StudentSearchResultDto> typeahead(String query, int limit);
+
+    // ============= 🔄 INDEX MAINTENANCE =============
+    // Changes made inside a transaction are applied to the index after commit
+    void index(StudentEntity student);
+    void indexAll(Collection<StudentEntity> students);
+    void remove(Long stdId);
+    void rebuild();
+}
@@ -1,6 +1,7 @@
 package com.sc.service;
 
 import com.sc.dto.request.StudentRequestDto;
+import com.sc.dto.response.CursorPageResponse;
 import com.sc.dto.response.StudentResponseDto;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -24,10 +25,22 @@ public interface StudentService {
     List<StudentResponseDto> getStudentsByAdmissionDate(Date admissionDate);
     List<StudentResponseDto> searchStudents(String name, String fatherName, String studentId, String rollNumber);
 
+    // ============= 📄 KEYSET PAGINATION =============
+    // cursor is the nextCursor of the previous page (null for the first page)
+    CursorPageResponse<StudentResponseDto> getAllStudentsPage(String cursor, int limit);
+    CursorPageResponse<StudentResponseDto> getStudentsByClassPage(String className, String cursor, int limit);
+    CursorPageResponse<StudentResponseDto> getStudentsByClassAndSectionPage(String className, String section, String cursor, int limit);
+    CursorPageResponse<StudentResponseDto> getStudentsByStatusPage(String status, String cursor, int limit);
+    CursorPageResponse<StudentResponseDto> getStudentsByAdmissionDatePage(Date admissionDate, String cursor, int limit);
+    CursorPageResponse<StudentResponseDto> searchStudentsPage(String name, String fatherName, String studentId,
+                                                              String rollNumber, String cursor, int limit);
+
     // ============= 📊 STATISTICS =============
     Map<String, Long> getStudentCountByClass();
     Map<String, Map<String, Long>> getStudentCountByClassAndSection();
     Map<String, Object> getStudentStatistics();
+    // Drops the cached statistics snapshot after writes that bypass this service (e.g. bulk import)
+    void evictStudentStatistics();
 
     // ============= ✏️ UPDATE =============
     StudentResponseDto updateStudent(Long stdId, StudentRequestDto requestDto);
@@ -48,15 +61,6 @@ public interface StudentService {
                                               MultipartFile transferCertificateImage,
                                               MultipartFile markSheetImage);
 
-    // ============= 🖼️ IMAGE RETRIEVAL =============
-    byte[] getProfileImage(Long stdId);
-    byte[] getStudentAadharImage(Long stdId);
-    byte[] getFatherAadharImage(Long stdId);
-    byte[] getMotherAadharImage(Long stdId);
-    byte[] getBirthCertificateImage(Long stdId);
-    byte[] getTransferCertificateImage(Long stdId);
-    byte[] getMarkSheetImage(Long stdId);
-
     // ============= 💰 FEES =============
     StudentResponseDto updateStudentFees(Long stdId, StudentRequestDto requestDto);
 }
\ No newline at end of file
@@ -3,10 +3,13 @@ package com.sc.service;
 import com.sc.dto.request.TeacherRequestDto;
 import com.sc.dto.response.TeacherResponseDto;
 import com.sc.entity.TeacherEntity;
+import com.sc.util.StoredContentInfo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface TeacherService {
@@ -48,4 +51,14 @@ public interface TeacherService {
 
     //get list of subjects taught by teacher
     List<String> getSubjectsByTeacher(Long teacherId);
+
+    // Photo metadata (hash / size / type) without loading the photo, null when no photo
+    StoredContentInfo getTeacherPhotoInfo(Long teacherId);
+
+    // Full photo bytes, used to build thumbnails for photos uploaded before variants existed
+    byte[] getTeacherPhotoBytes(Long teacherId);
+
+    // Stream a byte range of the teacher photo in chunks; aborts if the photo no longer has contentHash
+    void streamTeacherPhoto(Long teacherId, String contentHash, long offset, long length,
+                            OutputStream out) throws IOException;
 }
\ No newline at end of file
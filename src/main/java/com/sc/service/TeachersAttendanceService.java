@@ -2,6 +2,8 @@ package com.sc.service;
 
 
 import com.sc.dto.request.TeachersAttendanceRequestDto;
+import com.sc.dto.response.BulkAttendanceResultDto;
+import com.sc.dto.response.TeacherAttendanceMatrixDto;
 import com.sc.dto.response.TeachersAttendanceResponseDto;
 
 import java.time.LocalDate;
@@ -38,10 +40,13 @@ public interface TeachersAttendanceService {
     // Get attendance statistics
     Object getAttendanceStatistics(LocalDate date);
 
-    // Mark bulk attendance (multiple teachers)
-    List<TeachersAttendanceResponseDto> markBulkAttendance(List<TeachersAttendanceRequestDto> requestDtos);
+    // Mark bulk attendance (multiple teachers / dates): one preload, batched insert + update, per-row failures
+    BulkAttendanceResultDto<TeachersAttendanceResponseDto> markBulkAttendance(List<TeachersAttendanceRequestDto> requestDtos);
 
     // Get monthly attendance summary for a teacher
     Object getMonthlyAttendanceSummary(Long teacherId, int year, int month);
+
+    // Day-by-day status of every teacher for a month, from one query
+    TeacherAttendanceMatrixDto getMonthlyAttendanceMatrix(int year, int month);
 }
 
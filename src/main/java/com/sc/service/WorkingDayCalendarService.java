@@ -0,0 +1,24 @@
+package com.sc.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface WorkingDayCalendarService {
+
+    // ============= 📅 SCHOOL-WIDE =============
+    // Saturday/Sunday off; every holiday that does not affect attendance is off
+    boolean isWorkingDay(LocalDate date);
+    int countWorkingDays(LocalDate startDate, LocalDate endDate);
+    List<LocalDate> getNonAffectingHolidays(LocalDate startDate, LocalDate endDate);
+
+    // ============= 🏫 PER CLASS =============
+    // Uses the class's configured working days and holidays applicable to it;
+    // falls back to the school-wide calendar when the class is unknown
+    boolean isWorkingDay(LocalDate date, String className, String section);
+    boolean isHoliday(LocalDate date, String className, String section);
+    int countWorkingDays(LocalDate startDate, LocalDate endDate, String className, String section);
+
+    // ============= 🔄 REFRESH =============
+    // Call after holidays or class working days change; applied after commit
+    void refresh();
+}
@@ -0,0 +1,187 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.entity.AttendanceArchiveEntity;
+import com.sc.entity.AttendanceEntity;
+import com.sc.entity.StudentEntity;
+import com.sc.repository.AttendanceArchiveRepository;
+import com.sc.repository.AttendanceRepository;
+import com.sc.repository.StudentRepository;
+import com.sc.service.AttendanceArchiveService;
+import com.sc.util.AttendanceMonthCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+@Service
+public class AttendanceArchiveServiceImpl implements AttendanceArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceArchiveServiceImpl.class);
+
+    @Autowired
+    private AttendanceArchiveRepository attendanceArchiveRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // The current month and this many before it stay in the live table
+    @Value("${attendance.archive.keep-months:2}")
+    private int keepMonths;
+
+    // ============= ⏰ SCHEDULED ARCHIVING =============
+
+    @Scheduled(cron = "${attendance.archive.cron:0 30 2 2 * ?}") // 02:30 on the 2nd of every month
+    public void scheduleArchiving() {
+        try {
+            archiveClosedMonths();
+        } catch (Exception e) {
+            logger.error("Error archiving attendance: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int archiveClosedMonths() {
+        LocalDate cutoff = YearMonth.now().minusMonths(keepMonths).atDay(1);
+        int archived = 0;
+        LocalDate earliest;
+        // One transaction per month so a failure leaves earlier months archived
+        while ((earliest = attendanceRepository.findEarliestDateBefore(cutoff)) != null) {
+            archived += archiveMonth(YearMonth.from(earliest));
+        }
+        logger.info("Attendance archiving done: {} student-months archived before {}", archived, cutoff);
+        return archived;
+    }
+
+    @Override
+    public int archiveMonth(YearMonth month) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Integer archived = transaction.execute(status -> {
+            long start = System.currentTimeMillis();
+            LocalDate startDate = month.atDay(1);
+            LocalDate endDate = month.atEndOfMonth();
+
+            Map<Long, List<AttendanceEntity>> byStudent = new HashMap<>();
+            for (AttendanceEntity row : attendanceRepository.findByDateRange(startDate, endDate)) {
+                byStudent.computeIfAbsent(row.getStudent().getStdId(), id -> new ArrayList<>()).add(row);
+            }
+            if (byStudent.isEmpty()) {
+                return 0;
+            }
+
+            // Merge into any archive row already written for the month
+            int period = AttendanceMonthCodec.period(month);
+            List<AttendanceArchiveEntity> existing = attendanceArchiveRepository.findByPeriodMonth(period);
+            Map<Long, AttendanceArchiveEntity> existingByStudent = new HashMap<>();
+            for (AttendanceArchiveEntity archive : existing) {
+                existingByStudent.put(archive.getStudentId(), archive);
+            }
+
+            List<AttendanceArchiveEntity> archives = new ArrayList<>(byStudent.size());
+            for (Map.Entry<Long, List<AttendanceEntity>> entry : byStudent.entrySet()) {
+                List<AttendanceEntity> rows = entry.getValue();
+                AttendanceArchiveEntity previous = existingByStudent.get(entry.getKey());
+                if (previous != null) {
+                    Set<LocalDate> liveDates = new HashSet<>();
+                    rows.forEach(row -> liveDates.add(row.getAttendanceDate()));
+                    rows = new ArrayList<>(rows);
+                    for (AttendanceEntity old : AttendanceMonthCodec.decode(previous, null, startDate, endDate)) {
+                        if (!liveDates.contains(old.getAttendanceDate())) {
+                            rows.add(old);
+                        }
+                    }
+                }
+                AttendanceArchiveEntity archive = AttendanceMonthCodec.encode(entry.getKey(), month, rows);
+                if (previous != null) {
+                    archive.setId(previous.getId());
+                    archive.setArchivedAt(previous.getArchivedAt());
+                }
+                archives.add(archive);
+            }
+
+            attendanceArchiveRepository.saveAll(archives);
+            int deleted = attendanceRepository.deleteByDateRange(startDate, endDate);
+            logger.info("Archived attendance for {}: {} rows into {} student-months in {} ms",
+                    month, deleted, archives.size(), System.currentTimeMillis() - start);
+            return archives.size();
+        });
+        return archived != null ? archived : 0;
+    }
+
+    @Override
+    @Transactional
+    public void restore(Collection<Long> studentIds, LocalDate date) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        List<AttendanceArchiveEntity> archives = attendanceArchiveRepository.findByStudentIdInAndPeriodMonth(
+                studentIds, AttendanceMonthCodec.period(YearMonth.from(date)));
+        if (archives.isEmpty()) {
+            return;
+        }
+
+        YearMonth month = YearMonth.from(date);
+        List<AttendanceEntity> rows = new ArrayList<>();
+        for (AttendanceArchiveEntity archive : archives) {
+            StudentEntity student = studentRepository.getReferenceById(archive.getStudentId());
+            rows.addAll(AttendanceMonthCodec.decode(archive, student, month.atDay(1), month.atEndOfMonth()));
+        }
+        // Flushed so JDBC writes later in the same transaction see the restored rows
+        attendanceRepository.saveAllAndFlush(rows);
+        attendanceArchiveRepository.deleteAllInBatch(archives);
+        logger.info("Restored {} archived attendance rows of {} students for {}", rows.size(), archives.size(), month);
+    }
+
+    // ============= 📂 ARCHIVED READS =============
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AttendanceEntity> findStudentDays(Long studentId, LocalDate startDate, LocalDate endDate) {
+        List<AttendanceArchiveEntity> archives = attendanceArchiveRepository
+                .findByStudentIdAndPeriodMonthBetweenOrderByPeriodMonthAsc(studentId,
+                        AttendanceMonthCodec.period(YearMonth.from(startDate)),
+                        AttendanceMonthCodec.period(YearMonth.from(endDate)));
+        if (archives.isEmpty()) {
+            return List.of();
+        }
+        StudentEntity student = studentStub(studentId);
+        List<AttendanceEntity> rows = new ArrayList<>();
+        for (AttendanceArchiveEntity archive : archives) {
+            rows.addAll(AttendanceMonthCodec.decode(archive, student, startDate, endDate));
+        }
+        return rows;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AttendanceEntity> findClassDays(String className, String section, LocalDate startDate, LocalDate endDate) {
+        List<AttendanceEntity> rows = new ArrayList<>();
+        for (AttendanceArchiveEntity archive : attendanceArchiveRepository.findClassMonths(className, section,
+                AttendanceMonthCodec.period(YearMonth.from(startDate)),
+                AttendanceMonthCodec.period(YearMonth.from(endDate)))) {
+            rows.addAll(AttendanceMonthCodec.decode(archive, studentStub(archive.getStudentId()), startDate, endDate));
+        }
+        return rows;
+    }
+
+    // Unmanaged student carrying only its id, so archived reads never load student rows
+    private static StudentEntity studentStub(Long studentId) {
+        StudentEntity student = new StudentEntity();
+        student.setStdId(studentId);
+        return student;
+    }
+}
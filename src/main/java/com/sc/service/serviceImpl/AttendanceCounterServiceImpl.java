@@ -0,0 +1,112 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.dto.response.AttendanceCountsDto;
+import com.sc.entity.AttendanceEntity;
+import com.sc.repository.AttendanceCounterRepository;
+import com.sc.repository.AttendanceRepository;
+import com.sc.service.AttendanceArchiveService;
+import com.sc.service.AttendanceCounterService;
+import com.sc.util.AttendanceMonthCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+
+@Service
+public class AttendanceCounterServiceImpl implements AttendanceCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceCounterServiceImpl.class);
+
+    @Autowired
+    private AttendanceCounterRepository attendanceCounterRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private AttendanceArchiveService attendanceArchiveService;
+
+    // Counters are only maintained from this release on; fill them once for existing attendance
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            if (attendanceCounterRepository.count() == 0 && attendanceRepository.count() > 0) {
+                rebuildAll();
+            }
+        } catch (Exception e) {
+            logger.error("Failed to backfill attendance counters: {}", e.getMessage(), e);
+        }
+    }
+
+    // ============= 📊 LOOKUP =============
+
+    @Override
+    @Transactional(readOnly = true)
+    public AttendanceCountsDto getCounts(Long studentId, LocalDate startDate, LocalDate endDate) {
+        AttendanceCountsDto counts = new AttendanceCountsDto();
+        if (startDate.isAfter(endDate)) {
+            return counts;
+        }
+
+        YearMonth firstFull = startDate.getDayOfMonth() == 1
+                ? YearMonth.from(startDate) : YearMonth.from(startDate).plusMonths(1);
+        YearMonth lastFull = endDate.equals(YearMonth.from(endDate).atEndOfMonth())
+                ? YearMonth.from(endDate) : YearMonth.from(endDate).minusMonths(1);
+
+        if (firstFull.isAfter(lastFull)) {
+            // No whole month inside the range: at most two partial months of rows
+            addRows(counts, studentId, startDate, endDate);
+            return counts;
+        }
+
+        counts.add(attendanceCounterRepository.sumMonths(studentId, AttendanceMonthCodec.period(firstFull),
+                AttendanceMonthCodec.period(lastFull)).get(0));
+        if (startDate.isBefore(firstFull.atDay(1))) {
+            addRows(counts, studentId, startDate, firstFull.atDay(1).minusDays(1));
+        }
+        if (endDate.isAfter(lastFull.atEndOfMonth())) {
+            addRows(counts, studentId, lastFull.atEndOfMonth().plusDays(1), endDate);
+        }
+        return counts;
+    }
+
+    private void addRows(AttendanceCountsDto counts, Long studentId, LocalDate startDate, LocalDate endDate) {
+        counts.add(attendanceRepository.countStatusTotals(studentId, startDate, endDate).get(0));
+        for (AttendanceEntity archived : attendanceArchiveService.findStudentDays(studentId, startDate, endDate)) {
+            String status = archived.getStatus();
+            counts.add(new Object[]{
+                    "PRESENT".equals(status) ? 1 : 0,
+                    "ABSENT".equals(status) ? 1 : 0,
+                    "LEAVE".equals(status) ? 1 : 0,
+                    Boolean.TRUE.equals(archived.getIsWorkingDay()) ? 1 : 0});
+        }
+    }
+
+    // ============= 🔄 MAINTENANCE =============
+
+    @Override
+    @Transactional
+    public void refresh(Collection<Long> studentIds, LocalDate date) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        YearMonth month = YearMonth.from(date);
+        attendanceCounterRepository.refreshMonth(studentIds, AttendanceMonthCodec.period(month),
+                month.atDay(1), month.atEndOfMonth());
+    }
+
+    @Override
+    @Transactional
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        int rows = attendanceCounterRepository.rebuildAll();
+        logger.info("Attendance counters rebuilt ({} rows affected) in {} ms", rows, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,212 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.dto.response.DailyAttendanceDashboardDto;
+import com.sc.repository.AttendanceRepository;
+import com.sc.service.AttendanceDashboardService;
+import com.sc.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Today's marks per class-section held in LongAdders; marking paths bump them after commit,
+// so a dashboard poll never touches the attendance table.
+@Service
+public class AttendanceDashboardServiceImpl implements AttendanceDashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceDashboardServiceImpl.class);
+
+    private static final int PRESENT = 0;
+    private static final int ABSENT = 1;
+    private static final int LEAVE = 2;
+    private static final int OTHER = 3;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    private final Object countersLock = new Object();
+
+    private volatile DayCounters today;
+    // Guarded by countersLock; non-null while a rebuild is counting: marks that may be missing from it
+    private List<MarkChange> pendingChanges;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("Failed to build attendance dashboard counters: {}", e.getMessage(), e);
+        }
+    }
+
+    // Reconciles with the table now and then, covering writes that raced a rebuild
+    @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+    public void scheduleReconcile() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("Error reconciling attendance dashboard counters: {}", e.getMessage());
+        }
+    }
+
+    // ============= 📊 LIVE DASHBOARD =============
+
+    @Override
+    public DailyAttendanceDashboardDto getTodayDashboard() {
+        DayCounters counters = today;
+        if (counters == null || !counters.date.equals(LocalDate.now())) {
+            rebuild();
+            counters = today;
+        }
+
+        DailyAttendanceDashboardDto dashboard = new DailyAttendanceDashboardDto();
+        dashboard.setDate(counters.date);
+        dashboard.setGeneratedAt(LocalDateTime.now());
+
+        List<DailyAttendanceDashboardDto.ClassAttendanceCountDto> classes = new ArrayList<>();
+        for (ClassCounters classCounters : counters.classes.values()) {
+            DailyAttendanceDashboardDto.ClassAttendanceCountDto dto = new DailyAttendanceDashboardDto.ClassAttendanceCountDto();
+            dto.setClassName(classCounters.className);
+            dto.setSection(classCounters.section);
+            dto.setPresent(classCounters.counts[PRESENT].sum());
+            dto.setAbsent(classCounters.counts[ABSENT].sum());
+            dto.setLeave(classCounters.counts[LEAVE].sum());
+            dto.setOther(classCounters.counts[OTHER].sum());
+            long marked = dto.getPresent() + dto.getAbsent() + dto.getLeave() + dto.getOther();
+            if (marked == 0) {
+                continue;
+            }
+            dto.setMarked(marked);
+            dto.setPresentPercentage(Math.round(dto.getPresent() * 10000.0 / marked) / 100.0);
+            classes.add(dto);
+
+            dashboard.setPresent(dashboard.getPresent() + dto.getPresent());
+            dashboard.setAbsent(dashboard.getAbsent() + dto.getAbsent());
+            dashboard.setLeave(dashboard.getLeave() + dto.getLeave());
+            dashboard.setOther(dashboard.getOther() + dto.getOther());
+            dashboard.setTotalMarked(dashboard.getTotalMarked() + marked);
+        }
+        classes.sort(Comparator.comparing(DailyAttendanceDashboardDto.ClassAttendanceCountDto::getClassName,
+                        Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(DailyAttendanceDashboardDto.ClassAttendanceCountDto::getSection,
+                        Comparator.nullsLast(Comparator.naturalOrder())));
+        dashboard.setClasses(classes);
+        return dashboard;
+    }
+
+    // ============= 🔄 COUNTER MAINTENANCE =============
+
+    @Override
+    public void recordMarked(LocalDate date, String className, String section, String previousStatus, String status) {
+        MarkChange change = new MarkChange(date, className, section, previousStatus, status);
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (countersLock) {
+                apply(change, today);
+                if (pendingChanges != null) {
+                    pendingChanges.add(change);
+                }
+            }
+        });
+    }
+
+    // The grouped count runs without countersLock so marking never waits on it. Marks committed
+    // meanwhile are recorded and replayed onto the new counters before they are swapped in; one
+    // whose commit the count already saw is counted twice until the next reconcile.
+    @Override
+    public synchronized void rebuild() {
+        synchronized (countersLock) {
+            pendingChanges = new ArrayList<>();
+        }
+
+        LocalDate date = LocalDate.now();
+        DayCounters counters = new DayCounters(date);
+        try {
+            // [currentClass, section, status, count]
+            for (Object[] row : attendanceRepository.countByClassSectionAndStatusOnDate(date)) {
+                counters.forClass((String) row[0], (String) row[1])
+                        .counts[slot((String) row[2])].add(((Number) row[3]).longValue());
+            }
+        } catch (RuntimeException e) {
+            // Keep serving the current counters, which already have every mark applied
+            synchronized (countersLock) {
+                pendingChanges = null;
+            }
+            throw e;
+        }
+
+        int replayed;
+        synchronized (countersLock) {
+            replayed = pendingChanges.size();
+            for (MarkChange change : pendingChanges) {
+                apply(change, counters);
+            }
+            pendingChanges = null;
+            today = counters;
+        }
+        logger.debug("Attendance dashboard counters rebuilt for {}: {} class-sections, {} marks replayed",
+                date, counters.classes.size(), replayed);
+    }
+
+    private static void apply(MarkChange change, DayCounters counters) {
+        if (counters == null || !counters.date.equals(change.date())) {
+            return;
+        }
+        ClassCounters classCounters = counters.forClass(change.className(), change.section());
+        if (change.previousStatus() != null) {
+            classCounters.counts[slot(change.previousStatus())].decrement();
+        }
+        classCounters.counts[slot(change.status())].increment();
+    }
+
+    private static int slot(String status) {
+        if (status == null) {
+            return OTHER;
+        }
+        return switch (status) {
+            case "PRESENT" -> PRESENT;
+            case "ABSENT" -> ABSENT;
+            case "LEAVE" -> LEAVE;
+            default -> OTHER;
+        };
+    }
+
+    private record MarkChange(LocalDate date, String className, String section, String previousStatus,
+                              String status) {
+    }
+
+    private static final class DayCounters {
+        final LocalDate date;
+        final ConcurrentHashMap<String, ClassCounters> classes = new ConcurrentHashMap<>();
+
+        DayCounters(LocalDate date) {
+            this.date = date;
+        }
+
+        ClassCounters forClass(String className, String section) {
+            String key = className + "|" + (section != null ? section : "");
+            return classes.computeIfAbsent(key, k -> new ClassCounters(className, section));
+        }
+    }
+
+    private static final class ClassCounters {
+        final String className;
+        final String section;
+        final LongAdder[] counts = {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+
+        ClassCounters(String className, String section) {
+            this.className = className;
+            this.section = section;
+        }
+    }
+}
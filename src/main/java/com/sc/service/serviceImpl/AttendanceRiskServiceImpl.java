@@ -0,0 +1,249 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.dto.response.AttendanceRiskDto;
+import com.sc.dto.response.CursorPageResponse;
+import com.sc.entity.AttendanceRiskEntity;
+import com.sc.repository.AttendanceCounterRepository;
+import com.sc.repository.AttendanceRiskRepository;
+import com.sc.service.AttendanceRiskService;
+import com.sc.util.AttendanceMonthCodec;
+import com.sc.util.HiLoSequenceAllocator;
+import com.sc.util.KeysetCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+
+@Service
+public class AttendanceRiskServiceImpl implements AttendanceRiskService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceRiskServiceImpl.class);
+
+    // Same bands as calculateAttendancePercentage: GOOD >= 75, AVERAGE >= 60, POOR below
+    private static final int AT_RISK_THRESHOLD = 75;
+    private static final int POOR_THRESHOLD = 60;
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int NOTIFICATION_BATCH_SIZE = 500;
+    private static final String RUN_SEQUENCE = "attendance_risk_run";
+
+    private static final String INSERT_NOTIFICATION_SQL =
+            "INSERT INTO notifications (student_id, title, message, notification_type, channel, status, priority, " +
+            "sent_date, created_by, created_at, updated_at, retry_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    @Autowired
+    private AttendanceCounterRepository attendanceCounterRepository;
+
+    @Autowired
+    private AttendanceRiskRepository attendanceRiskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private HiLoSequenceAllocator sequenceAllocator;
+
+    // First month of the academic session; percentages run from its 1st to today
+    @Value("${attendance.at-risk.session-start-month:4}")
+    private int sessionStartMonth;
+
+    @Value("${attendance.at-risk.notify:false}")
+    private boolean notifyStudents;
+
+    // ============= ⏰ SCHEDULED SCAN =============
+
+    @Scheduled(cron = "${attendance.at-risk.cron:0 0 19 * * ?}") // Every day at 7 PM, after the day's marking
+    public void scheduleScan() {
+        try {
+            runScan();
+        } catch (Exception e) {
+            logger.error("Error in scheduled at-risk scan: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int runScan() {
+        long start = System.currentTimeMillis();
+        LocalDate windowEnd = LocalDate.now();
+        LocalDate windowStart = LocalDate.of(windowEnd.getYear(), sessionStartMonth, 1);
+        if (windowStart.isAfter(windowEnd)) {
+            windowStart = windowStart.minusYears(1);
+        }
+
+        // Monthly counters already hold month-to-date totals, so whole months cover the window exactly
+        List<Object[]> rows = attendanceCounterRepository.findStudentsBelowThreshold(
+                AttendanceMonthCodec.period(YearMonth.from(windowStart)),
+                AttendanceMonthCodec.period(YearMonth.from(windowEnd)), AT_RISK_THRESHOLD);
+
+        long runId = sequenceAllocator.next(RUN_SEQUENCE, 1, () -> 1L);
+        LocalDateTime computedAt = LocalDateTime.now();
+        List<AttendanceRiskEntity> ranked = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            int present = ((Number) row[6]).intValue();
+            int working = ((Number) row[7]).intValue();
+            double percentage = present * 100.0 / working;
+
+            AttendanceRiskEntity risk = new AttendanceRiskEntity();
+            risk.setRunId(runId);
+            risk.setStudentId((Long) row[0]);
+            risk.setStudentName(row[1] + " " + row[2]);
+            risk.setClassName((String) row[3]);
+            risk.setSection((String) row[4]);
+            risk.setRollNumber((String) row[5]);
+            risk.setPresentDays(present);
+            risk.setWorkingDays(working);
+            risk.setPercentage(Math.round(percentage * 100.0) / 100.0);
+            risk.setRiskLevel(percentage < POOR_THRESHOLD ? "POOR" : "AVERAGE");
+            risk.setWindowStart(windowStart);
+            risk.setWindowEnd(windowEnd);
+            risk.setComputedAt(computedAt);
+            ranked.add(risk);
+        }
+
+        // Class, section, then lowest attendance first; ids are assigned in this order
+        ranked.sort(Comparator.comparing(AttendanceRiskEntity::getClassName, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(AttendanceRiskEntity::getSection, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(AttendanceRiskEntity::getPercentage)
+                .thenComparing(AttendanceRiskEntity::getRollNumber, Comparator.nullsLast(Comparator.naturalOrder())));
+        int rank = 0;
+        String previousGroup = null;
+        for (AttendanceRiskEntity risk : ranked) {
+            String group = risk.getClassName() + "|" + risk.getSection();
+            rank = group.equals(previousGroup) ? rank + 1 : 1;
+            previousGroup = group;
+            risk.setClassRank(rank);
+        }
+
+        Map<Long, String> previousLevels = new HashMap<>();
+        if (notifyStudents) {
+            for (Object[] row : attendanceRiskRepository.findStudentRiskLevels()) {
+                previousLevels.put((Long) row[0], (String) row[1]);
+            }
+        }
+
+        // Readers keep seeing the previous list until this transaction commits
+        attendanceRiskRepository.deleteAllInBatch();
+        attendanceRiskRepository.saveAll(ranked);
+
+        int notified = notifyStudents ? queueNotifications(ranked, previousLevels) : 0;
+        logger.info("At-risk scan {} ({} to {}): {} students below {}%, {} notified in {} ms",
+                runId, windowStart, windowEnd, ranked.size(), AT_RISK_THRESHOLD, notified, System.currentTimeMillis() - start);
+        return ranked.size();
+    }
+
+    // In-app notification for students who are newly at risk or dropped from AVERAGE to POOR
+    private int queueNotifications(List<AttendanceRiskEntity> ranked, Map<Long, String> previousLevels) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(NOTIFICATION_BATCH_SIZE);
+        int queued = 0;
+        for (AttendanceRiskEntity risk : ranked) {
+            String previous = previousLevels.get(risk.getStudentId());
+            if (risk.getRiskLevel().equals(previous) || "POOR".equals(previous)) {
+                continue;
+            }
+            boolean poor = "POOR".equals(risk.getRiskLevel());
+            String message = String.format(
+                    "Dear %s,\n\nYour attendance since %s is %.2f%% (%d of %d working days), " +
+                            "below the required %d%%.\nPlease ensure regular attendance.\n\n" +
+                            "Thank you,\nSchool Administration",
+                    risk.getStudentName(), risk.getWindowStart(), risk.getPercentage(),
+                    risk.getPresentDays(), risk.getWorkingDays(), AT_RISK_THRESHOLD);
+            batch.add(new Object[]{risk.getStudentId(), poor ? "⚠️ Low Attendance Warning" : "Attendance Alert",
+                    message, "ATTENDANCE_WARNING", "IN_APP", "SENT", poor ? "HIGH" : "MEDIUM",
+                    now, "SYSTEM", now, now});
+            if (batch.size() == NOTIFICATION_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_NOTIFICATION_SQL, batch);
+                queued += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_NOTIFICATION_SQL, batch);
+            queued += batch.size();
+        }
+        return queued;
+    }
+
+    // ============= 📄 RESULTS =============
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<AttendanceRiskDto> getAtRiskPage(String className, String section, String cursor, int limit) {
+        // Cursor = [runId, last id]; ids of different runs are unrelated, so the run must match
+        long runId;
+        long afterId;
+        if (cursor != null) {
+            String[] keys = KeysetCursor.decode(cursor, 2);
+            try {
+                runId = Long.parseLong(keys[0]);
+                afterId = Long.parseLong(keys[1]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        } else {
+            Optional<AttendanceRiskEntity> latest = attendanceRiskRepository.findFirstByOrderByIdDesc();
+            if (latest.isEmpty()) {
+                return new CursorPageResponse<>(List.of(), null);
+            }
+            runId = latest.get().getRunId();
+            afterId = 0L;
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        PageRequest probe = PageRequest.of(0, pageSize + 1);
+
+        List<AttendanceRiskEntity> rows;
+        if (className == null || className.isBlank()) {
+            rows = attendanceRiskRepository.findByRunIdAndIdGreaterThanOrderByIdAsc(runId, afterId, probe);
+        } else if (section == null || section.isBlank()) {
+            rows = attendanceRiskRepository.findByRunIdAndClassNameAndIdGreaterThanOrderByIdAsc(
+                    runId, className, afterId, probe);
+        } else {
+            rows = attendanceRiskRepository.findByRunIdAndClassNameAndSectionAndIdGreaterThanOrderByIdAsc(
+                    runId, className, section, afterId, probe);
+        }
+        if (rows.isEmpty() && cursor != null && !attendanceRiskRepository.existsByRunId(runId)) {
+            throw new IllegalArgumentException("The at-risk list was recomputed; reload it without a cursor");
+        }
+
+        if (rows.size() <= pageSize) {
+            return new CursorPageResponse<>(toDtos(rows), null);
+        }
+        List<AttendanceRiskEntity> page = rows.subList(0, pageSize);
+        return new CursorPageResponse<>(toDtos(page),
+                KeysetCursor.encode(String.valueOf(runId), String.valueOf(page.get(pageSize - 1).getId())));
+    }
+
+    private static List<AttendanceRiskDto> toDtos(List<AttendanceRiskEntity> rows) {
+        List<AttendanceRiskDto> dtos = new ArrayList<>(rows.size());
+        for (AttendanceRiskEntity risk : rows) {
+            AttendanceRiskDto dto = new AttendanceRiskDto();
+            dto.setStudentId(risk.getStudentId());
+            dto.setStudentName(risk.getStudentName());
+            dto.setClassName(risk.getClassName());
+            dto.setSection(risk.getSection());
+            dto.setRollNumber(risk.getRollNumber());
+            dto.setPresentDays(risk.getPresentDays());
+            dto.setWorkingDays(risk.getWorkingDays());
+            dto.setPercentage(risk.getPercentage());
+            dto.setRiskLevel(risk.getRiskLevel());
+            dto.setClassRank(risk.getClassRank());
+            dto.setWindowStart(risk.getWindowStart());
+            dto.setWindowEnd(risk.getWindowEnd());
+            dto.setComputedAt(risk.getComputedAt());
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+}
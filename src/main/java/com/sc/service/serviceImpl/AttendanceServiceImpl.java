@@ -3,23 +3,35 @@ package com.sc.service.serviceImpl;
 import com.sc.dto.request.AttendanceRequestDto;
 import com.sc.dto.request.BulkAttendanceRequestDto;
 import com.sc.dto.request.HolidayRequestDto;
+import com.sc.dto.response.AttendanceCountsDto;
 import com.sc.dto.response.AttendancePercentageDto;
 import com.sc.dto.response.AttendanceResponseDto;
+import com.sc.dto.response.BulkAttendanceResultDto;
 import com.sc.dto.response.MonthlyAttendanceSummaryDto;
 import com.sc.entity.AttendanceEntity;
 import com.sc.entity.HolidayEntity;
 import com.sc.entity.StudentEntity;
+import com.sc.enum_util.AttendanceStatus;
 import com.sc.repository.AttendanceRepository;
 import com.sc.repository.HolidayRepository;
 import com.sc.repository.StudentRepository;
+import com.sc.service.AttendanceArchiveService;
+import com.sc.service.AttendanceCounterService;
+import com.sc.service.AttendanceDashboardService;
 import com.sc.service.AttendanceService;
+import com.sc.service.WorkingDayCalendarService;
+import com.sc.util.AttendanceMatrix;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -39,7 +51,27 @@ public class AttendanceServiceImpl implements AttendanceService {
     @Autowired
     private HolidayRepository holidayRepository;
 
-    private static final List<Integer> WEEKEND_DAYS = Arrays.asList(6, 7); // Saturday=6, Sunday=7
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WorkingDayCalendarService workingDayCalendarService;
+
+    @Autowired
+    private AttendanceCounterService attendanceCounterService;
+
+    @Autowired
+    private AttendanceArchiveService attendanceArchiveService;
+
+    @Autowired
+    private AttendanceDashboardService attendanceDashboardService;
+
+    // Relies on the (student_id, attendance_date) unique key; marked_at keeps its first value like markAttendance
+    private static final String UPSERT_ATTENDANCE_SQL =
+            "INSERT INTO attendance (student_id, attendance_date, status, leave_type, reason, is_working_day, " +
+            "marked_by, marked_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE status = VALUES(status), leave_type = VALUES(leave_type), " +
+            "reason = VALUES(reason), is_working_day = VALUES(is_working_day), marked_by = VALUES(marked_by)";
 
     @Override
     @Transactional
@@ -49,13 +81,18 @@ public class AttendanceServiceImpl implements AttendanceService {
         StudentEntity student = studentRepository.findById(requestDto.getStudentId())
                 .orElseThrow(() -> new RuntimeException("Student not found"));
 
-        // Check if date is working day
-        boolean isWorkingDay = isWorkingDay(requestDto.getDate());
+        // Check if date is working day for the student's class
+        boolean isWorkingDay = workingDayCalendarService.isWorkingDay(requestDto.getDate(),
+                student.getCurrentClass(), student.getSection());
+
+        // A write into an archived month brings that month back to the live table first
+        attendanceArchiveService.restore(List.of(student.getStdId()), requestDto.getDate());
 
         // Check if attendance already exists
         AttendanceEntity attendance = attendanceRepository
                 .findByStudentIdAndAttendanceDate(requestDto.getStudentId(), requestDto.getDate())
                 .orElse(new AttendanceEntity());
+        String previousStatus = attendance.getStatus();
 
         attendance.setStudent(student);
         attendance.setAttendanceDate(requestDto.getDate());
@@ -65,7 +102,10 @@ public class AttendanceServiceImpl implements AttendanceService {
         attendance.setIsWorkingDay(isWorkingDay);
         attendance.setMarkedBy(markedBy);
 
-        AttendanceEntity saved = attendanceRepository.save(attendance);
+        AttendanceEntity saved = attendanceRepository.saveAndFlush(attendance);
+        attendanceCounterService.refresh(List.of(student.getStdId()), saved.getAttendanceDate());
+        attendanceDashboardService.recordMarked(saved.getAttendanceDate(), student.getCurrentClass(),
+                student.getSection(), previousStatus, saved.getStatus());
         logger.info("Attendance marked successfully with ID: {}", saved.getId());
 
         return convertToDto(saved);
@@ -73,49 +113,232 @@ public class AttendanceServiceImpl implements AttendanceService {
 
     @Override
     @Transactional
-    public List<AttendanceResponseDto> markBulkAttendance(BulkAttendanceRequestDto requestDto, String markedBy) {
+    public BulkAttendanceResultDto<AttendanceResponseDto> markBulkAttendance(BulkAttendanceRequestDto requestDto,
+                                                                             String markedBy) {
         logger.info("Marking bulk attendance for class: {} section: {} on date: {}",
                 requestDto.getClassName(), requestDto.getSection(), requestDto.getDate());
 
-        List<AttendanceResponseDto> responses = new ArrayList<>();
-
-        for (BulkAttendanceRequestDto.StudentAttendanceDto dto : requestDto.getAttendanceList()) {
-            try {
-                AttendanceRequestDto singleRequest = new AttendanceRequestDto();
-                singleRequest.setStudentId(dto.getStudentId());
-                singleRequest.setDate(requestDto.getDate());
-                singleRequest.setStatus(dto.getStatus());
-                singleRequest.setLeaveType(dto.getLeaveType());
-                singleRequest.setReason(dto.getReason());
-
-                AttendanceResponseDto response = markAttendance(singleRequest, markedBy);
-                responses.add(response);
-            } catch (Exception e) {
-                logger.error("Failed to mark attendance for student: {}", dto.getStudentId());
+        LocalDate date = requestDto.getDate();
+        if (date == null) {
+            throw new IllegalArgumentException("Date is required");
+        }
+        List<BulkAttendanceRequestDto.StudentAttendanceDto> rows =
+                requestDto.getAttendanceList() != null ? requestDto.getAttendanceList() : List.of();
+
+        BulkAttendanceResultDto<AttendanceResponseDto> result = new BulkAttendanceResultDto<>();
+        result.setDate(date);
+        result.setRequestedCount(rows.size());
+        if (rows.isEmpty()) {
+            return result;
+        }
+
+        // Resolved once for the whole submission instead of once per student
+        boolean workingDay = workingDayCalendarService.isWorkingDay(date,
+                requestDto.getClassName(), requestDto.getSection());
+
+        // One query for every student in the submission - [stdId, firstName, lastName, class, section, roll]
+        Set<Long> requestedIds = new HashSet<>();
+        for (BulkAttendanceRequestDto.StudentAttendanceDto dto : rows) {
+            if (dto.getStudentId() != null) {
+                requestedIds.add(dto.getStudentId());
+            }
+        }
+        Map<Long, Object[]> students = new HashMap<>();
+        if (!requestedIds.isEmpty()) {
+            for (Object[] row : studentRepository.findAttendanceRowsByIds(requestedIds)) {
+                students.put((Long) row[0], row);
+            }
+        }
+
+        // Validate rows; the survivors are upserted as one batch
+        List<Integer> accepted = new ArrayList<>(rows.size());
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            BulkAttendanceRequestDto.StudentAttendanceDto dto = rows.get(i);
+            Long studentId = dto.getStudentId();
+            String status = normalizeStatus(dto.getStatus());
+            if (studentId == null) {
+                result.addFailure(i, null, "Student ID is required");
+            } else if (!students.containsKey(studentId)) {
+                result.addFailure(i, studentId, "Student not found");
+            } else if (status == null) {
+                result.addFailure(i, studentId, "Invalid status: " + dto.getStatus());
+            } else if (!seen.add(studentId)) {
+                result.addFailure(i, studentId, "Duplicate entry for student");
+            } else {
+                dto.setStatus(status);
+                accepted.add(i);
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(accepted.size());
+        for (int i : accepted) {
+            BulkAttendanceRequestDto.StudentAttendanceDto dto = rows.get(i);
+            batch.add(new Object[]{dto.getStudentId(), date, dto.getStatus(), dto.getLeaveType(),
+                    dto.getReason(), workingDay, markedBy, now});
+        }
+
+        Set<Long> acceptedIds = new HashSet<>();
+        for (int i : accepted) {
+            acceptedIds.add(rows.get(i).getStudentId());
+        }
+        attendanceArchiveService.restore(acceptedIds, date);
+
+        // Statuses being overwritten, for the dashboard counters
+        Map<Long, String> previousStatuses = new HashMap<>();
+        if (!acceptedIds.isEmpty()) {
+            for (Object[] row : attendanceRepository.findStatusesByDateAndStudentIds(date, acceptedIds)) {
+                previousStatuses.put((Long) row[0], (String) row[1]);
+            }
+        }
+
+        List<Integer> upserted = new ArrayList<>(accepted.size());
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_ATTENDANCE_SQL, batch);
+            upserted.addAll(accepted);
+        } catch (DataAccessException batchError) {
+            // Retry singly so the failure is attributed to the offending row
+            logger.warn("Bulk attendance batch failed, retrying row by row: {}", batchError.getMessage());
+            for (int j = 0; j < accepted.size(); j++) {
+                int i = accepted.get(j);
+                try {
+                    jdbcTemplate.update(UPSERT_ATTENDANCE_SQL, batch.get(j));
+                    upserted.add(i);
+                } catch (DataAccessException rowError) {
+                    result.addFailure(i, rows.get(i).getStudentId(),
+                            "Save failed: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        // Read back generated ids and original markedAt in one query
+        Map<Long, Object[]> stored = new HashMap<>();
+        if (!upserted.isEmpty()) {
+            Set<Long> upsertedIds = new HashSet<>();
+            for (int i : upserted) {
+                upsertedIds.add(rows.get(i).getStudentId());
+            }
+            for (Object[] row : attendanceRepository.findIdsByDateAndStudentIds(date, upsertedIds)) {
+                stored.put((Long) row[0], row);
             }
+            attendanceCounterService.refresh(upsertedIds, date);
+        }
+
+        for (int i : upserted) {
+            BulkAttendanceRequestDto.StudentAttendanceDto dto = rows.get(i);
+            Object[] student = students.get(dto.getStudentId());
+            Object[] row = stored.get(dto.getStudentId());
+
+            AttendanceResponseDto response = new AttendanceResponseDto();
+            response.setId(row != null ? (Long) row[1] : null);
+            response.setStudentId(dto.getStudentId());
+            response.setStudentName(student[1] + " " + student[2]);
+            response.setClassName((String) student[3]);
+            response.setSection((String) student[4]);
+            response.setRollNumber((String) student[5]);
+            response.setDate(date);
+            response.setStatus(dto.getStatus());
+            response.setLeaveType(dto.getLeaveType());
+            response.setReason(dto.getReason());
+            response.setIsWorkingDay(workingDay);
+            response.setMarkedAt(row != null ? (LocalDateTime) row[2] : now.toLocalDateTime());
+            response.setMarkedBy(markedBy);
+            result.addSaved(response);
+            attendanceDashboardService.recordMarked(date, response.getClassName(), response.getSection(),
+                    previousStatuses.get(dto.getStudentId()), dto.getStatus());
         }
 
-        return responses;
+        logger.info("Bulk attendance on {}: {} saved, {} failed", date, result.getSavedCount(), result.getFailedCount());
+        return result;
+    }
+
+    // Upper-cased AttendanceStatus name, or null if the value is not a known status
+    private static String normalizeStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return AttendanceStatus.valueOf(status.trim().toUpperCase(Locale.ROOT)).name();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 
     @Override
     public List<AttendanceResponseDto> getAttendanceByClassAndDate(String className, String section, LocalDate date) {
         logger.info("Getting attendance for class: {} section: {} on date: {}", className, section, date);
 
-        return attendanceRepository.findByClassAndSectionAndDate(className, section, date)
+        // Projection rows: no entity or lazy student load per record
+        List<AttendanceResponseDto> records = attendanceRepository
+                .findListRowsByClassAndSectionAndDate(className, section, date)
                 .stream()
-                .map(this::convertToDto)
+                .map(AttendanceServiceImpl::toListDto)
                 .collect(Collectors.toList());
+        records.addAll(archivedListDtos(attendanceArchiveService.findClassDays(className, section, date, date)));
+        return records;
     }
 
     @Override
     public List<AttendanceResponseDto> getStudentAttendance(Long studentId, LocalDate startDate, LocalDate endDate) {
         logger.info("Getting attendance for student: {} from {} to {}", studentId, startDate, endDate);
 
-        return attendanceRepository.findByStudentIdAndAttendanceDateBetween(studentId, startDate, endDate)
+        // Live rows plus closed months decoded from the archive
+        List<AttendanceResponseDto> records = attendanceRepository
+                .findListRowsByStudentAndDateRange(studentId, startDate, endDate)
                 .stream()
-                .map(this::convertToDto)
+                .map(AttendanceServiceImpl::toListDto)
                 .collect(Collectors.toList());
+        records.addAll(archivedListDtos(attendanceArchiveService.findStudentDays(studentId, startDate, endDate)));
+        records.sort(Comparator.comparing(AttendanceResponseDto::getDate));
+        return records;
+    }
+
+    // Row layout of AttendanceRepository.findListRowsBy*
+    private static AttendanceResponseDto toListDto(Object[] row) {
+        AttendanceResponseDto dto = new AttendanceResponseDto();
+        dto.setId((Long) row[0]);
+        dto.setStudentId((Long) row[1]);
+        dto.setStudentName(row[2] + " " + row[3]);
+        dto.setRollNumber((String) row[4]);
+        dto.setClassName((String) row[5]);
+        dto.setSection((String) row[6]);
+        dto.setDate((LocalDate) row[7]);
+        dto.setStatus((String) row[8]);
+        dto.setLeaveType((String) row[9]);
+        dto.setReason((String) row[10]);
+        dto.setIsWorkingDay((Boolean) row[11]);
+        dto.setMarkedBy((String) row[12]);
+        dto.setMarkedAt((LocalDateTime) row[13]);
+        return dto;
+    }
+
+    // Archived rows only carry the student id; names come from one projection query
+    private List<AttendanceResponseDto> archivedListDtos(List<AttendanceEntity> archived) {
+        if (archived.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> studentIds = new HashSet<>();
+        for (AttendanceEntity record : archived) {
+            studentIds.add(record.getStudent().getStdId());
+        }
+        // [stdId, firstName, lastName, currentClass, section, rollNumber]
+        Map<Long, Object[]> students = new HashMap<>();
+        for (Object[] row : studentRepository.findAttendanceRowsByIds(studentIds)) {
+            students.put((Long) row[0], row);
+        }
+
+        List<AttendanceResponseDto> dtos = new ArrayList<>(archived.size());
+        for (AttendanceEntity record : archived) {
+            Object[] student = students.get(record.getStudent().getStdId());
+            if (student == null) {
+                continue;
+            }
+            dtos.add(toListDto(new Object[]{null, student[0], student[1], student[2], student[5], student[3],
+                    student[4], record.getAttendanceDate(), record.getStatus(), record.getLeaveType(),
+                    record.getReason(), record.getIsWorkingDay(), record.getMarkedBy(), record.getMarkedAt()}));
+        }
+        return dtos;
     }
 
     @Override
@@ -125,8 +348,10 @@ public class AttendanceServiceImpl implements AttendanceService {
         StudentEntity student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
 
-        long workingDays = attendanceRepository.countWorkingDays(studentId, startDate, endDate);
-        long presentDays = attendanceRepository.countPresentDays(studentId, startDate, endDate);
+        // Monthly counters plus partial-month edges instead of two COUNTs over the raw rows
+        AttendanceCountsDto counts = attendanceCounterService.getCounts(studentId, startDate, endDate);
+        long workingDays = counts.getWorkingDays();
+        long presentDays = counts.getPresentDays();
 
         double percentage = workingDays > 0 ? (presentDays * 100.0) / workingDays : 0;
 
@@ -138,6 +363,7 @@ public class AttendanceServiceImpl implements AttendanceService {
         dto.setRollNumber(student.getStudentRollNumber());
         dto.setTotalWorkingDays((int) workingDays);
         dto.setPresentDays((int) presentDays);
+        dto.setLeaveDays((int) counts.getLeaveDays());
         dto.setAbsentDays((int) (workingDays - presentDays));
         dto.setPercentage(Math.round(percentage * 100.0) / 100.0);
 
@@ -161,52 +387,59 @@ public class AttendanceServiceImpl implements AttendanceService {
         // Month name
         YearMonth yearMonth = YearMonth.of(year, month);
         summary.setMonthName(yearMonth.getMonth().toString());
+        int daysInMonth = yearMonth.lengthOfMonth();
+        LocalDate startDate = yearMonth.atDay(1);
+        LocalDate endDate = yearMonth.atEndOfMonth();
+
+        // Register rows, ordered by roll number: [stdId, firstName, lastName, rollNumber]
+        List<Object[]> students = studentRepository.findRegisterRows(className, section);
+        int studentCount = students.size();
+        summary.setTotalStudents(studentCount);
+
+        Map<Long, Integer> rowByStudent = new HashMap<>(studentCount * 2);
+        for (int row = 0; row < studentCount; row++) {
+            rowByStudent.put((Long) students.get(row)[0], row);
+        }
 
-        // Get all students
-        List<StudentEntity> students = studentRepository.findByCurrentClassAndSection(className, section);
-        summary.setTotalStudents(students.size());
-
-        // Get holidays that DON'T affect attendance
-        LocalDate startDate = LocalDate.of(year, month, 1);
-        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-        List<LocalDate> nonAffectingHolidays = getNonAffectingHolidays(startDate, endDate);
-
-        // Calculate working days and prepare daily summary
-        Map<LocalDate, MonthlyAttendanceSummaryDto.DailySummaryDto> dailySummary = new LinkedHashMap<>();
-        Map<Long, MonthlyAttendanceSummaryDto.StudentMonthlySummaryDto> studentSummaryMap = new HashMap<>();
-
-        // Initialize student summaries
-        for (StudentEntity student : students) {
-            MonthlyAttendanceSummaryDto.StudentMonthlySummaryDto studentSummary =
-                    new MonthlyAttendanceSummaryDto.StudentMonthlySummaryDto();
-            studentSummary.setStudentId(student.getStdId());
-            studentSummary.setStudentName(student.getFirstName() + " " + student.getLastName());
-            studentSummary.setRollNumber(student.getStudentRollNumber());
-            studentSummary.setDailyStatus(new LinkedHashMap<>());
-            studentSummary.setPresentCount(0);
-            studentSummary.setAbsentCount(0);
-            studentSummary.setLeaveCount(0);
-            studentSummaryMap.put(student.getStdId(), studentSummary);
+        // Whole month in one query, folded into a students x days byte matrix
+        AttendanceMatrix matrix = new AttendanceMatrix(studentCount, daysInMonth);
+        for (Object[] record : attendanceRepository.findStatusByClassAndSectionAndDateRange(
+                className, section, startDate, endDate)) {
+            Integer row = rowByStudent.get((Long) record[0]);
+            if (row != null) {
+                matrix.set(row, ((LocalDate) record[1]).getDayOfMonth(), AttendanceMatrix.code((String) record[2]));
+            }
+        }
+        for (AttendanceEntity archived : attendanceArchiveService.findClassDays(className, section, startDate, endDate)) {
+            Integer row = rowByStudent.get(archived.getStudent().getStdId());
+            if (row != null) {
+                matrix.set(row, archived.getAttendanceDate().getDayOfMonth(), AttendanceMatrix.code(archived.getStatus()));
+            }
         }
 
+        int[] presentCounts = new int[studentCount];
+        int[] absentCounts = new int[studentCount];
+        int[] leaveCounts = new int[studentCount];
+        int[] workingDays = new int[daysInMonth];
         int totalWorkingDays = 0;
         int totalHolidays = 0;
 
+        Map<LocalDate, MonthlyAttendanceSummaryDto.DailySummaryDto> dailySummary = new LinkedHashMap<>();
+
         // Process each day of the month
-        for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
-            LocalDate currentDate = LocalDate.of(year, month, day);
-            String dayOfWeek = currentDate.getDayOfWeek().toString();
-            int dayOfWeekValue = currentDate.getDayOfWeek().getValue(); // 1-7
+        for (int day = 1; day <= daysInMonth; day++) {
+            LocalDate currentDate = yearMonth.atDay(day);
 
             MonthlyAttendanceSummaryDto.DailySummaryDto dailyDto =
                     new MonthlyAttendanceSummaryDto.DailySummaryDto();
             dailyDto.setDate(currentDate);
-            dailyDto.setDayOfWeek(dayOfWeek);
+            dailyDto.setDayOfWeek(currentDate.getDayOfWeek().toString());
 
-            // Check if holiday (non-affecting)
-            if (nonAffectingHolidays.contains(currentDate)) {
+            // Class calendar: its own weekly offs plus holidays applicable to it
+            if (!workingDayCalendarService.isWorkingDay(currentDate, className, section)) {
+                boolean holiday = workingDayCalendarService.isHoliday(currentDate, className, section);
                 dailyDto.setHoliday(true);
-                dailyDto.setHolidayName("Holiday");
+                dailyDto.setHolidayName(holiday ? "Holiday" : "Weekend");
                 dailyDto.setWorkingDay(false);
                 dailyDto.setPresent(0);
                 dailyDto.setAbsent(0);
@@ -216,58 +449,17 @@ public class AttendanceServiceImpl implements AttendanceService {
                 continue;
             }
 
-            // Check if weekend (Saturday/Sunday)
-            if (WEEKEND_DAYS.contains(dayOfWeekValue)) {
-                dailyDto.setHoliday(true);
-                dailyDto.setHolidayName("Weekend");
-                dailyDto.setWorkingDay(false);
-                dailyDto.setPresent(0);
-                dailyDto.setAbsent(0);
-                dailyDto.setLeave(0);
-                dailySummary.put(currentDate, dailyDto);
-                totalHolidays++;
-                continue;
-            }
-
-            // Working day
+            // Working day: unmarked and unknown statuses count as absent
             dailyDto.setWorkingDay(true);
-            totalWorkingDays++;
-
-            // Get attendance for this day
-            List<AttendanceEntity> dayAttendance = attendanceRepository
-                    .findByClassAndSectionAndDate(className, section, currentDate);
-
-            Map<Long, AttendanceEntity> attendanceMap = dayAttendance.stream()
-                    .collect(Collectors.toMap(a -> a.getStudent().getStdId(), a -> a));
+            workingDays[totalWorkingDays++] = day;
 
             int present = 0, absent = 0, leave = 0;
-
-            // Update each student's daily status
-            for (StudentEntity student : students) {
-                MonthlyAttendanceSummaryDto.StudentMonthlySummaryDto studentSummary =
-                        studentSummaryMap.get(student.getStdId());
-                AttendanceEntity att = attendanceMap.get(student.getStdId());
-
-                String statusCode;
-                if (att == null || "ABSENT".equals(att.getStatus())) {
-                    statusCode = "A";
-                    absent++;
-                    studentSummary.setAbsentCount(studentSummary.getAbsentCount() + 1);
-                } else if ("PRESENT".equals(att.getStatus())) {
-                    statusCode = "P";
-                    present++;
-                    studentSummary.setPresentCount(studentSummary.getPresentCount() + 1);
-                } else if ("LEAVE".equals(att.getStatus())) {
-                    statusCode = "L";
-                    leave++;
-                    studentSummary.setLeaveCount(studentSummary.getLeaveCount() + 1);
-                } else {
-                    statusCode = "A";
-                    absent++;
-                    studentSummary.setAbsentCount(studentSummary.getAbsentCount() + 1);
+            for (int row = 0; row < studentCount; row++) {
+                switch (matrix.get(row, day)) {
+                    case AttendanceMatrix.PRESENT -> { present++; presentCounts[row]++; }
+                    case AttendanceMatrix.LEAVE -> { leave++; leaveCounts[row]++; }
+                    default -> { absent++; absentCounts[row]++; }
                 }
-
-                studentSummary.getDailyStatus().put(currentDate, statusCode);
             }
 
             dailyDto.setPresent(present);
@@ -280,13 +472,32 @@ public class AttendanceServiceImpl implements AttendanceService {
         summary.setTotalHolidays(totalHolidays);
         summary.setDailySummary(dailySummary);
 
-        // Calculate percentages and create student list
-        List<MonthlyAttendanceSummaryDto.StudentMonthlySummaryDto> studentSummaries = new ArrayList<>();
+        // Render student rows from the matrix
+        List<MonthlyAttendanceSummaryDto.StudentMonthlySummaryDto> studentSummaries = new ArrayList<>(studentCount);
         int totalPresent = 0, totalAbsent = 0, totalLeave = 0;
 
-        for (MonthlyAttendanceSummaryDto.StudentMonthlySummaryDto studentSummary : studentSummaryMap.values()) {
+        for (int row = 0; row < studentCount; row++) {
+            Object[] student = students.get(row);
+            MonthlyAttendanceSummaryDto.StudentMonthlySummaryDto studentSummary =
+                    new MonthlyAttendanceSummaryDto.StudentMonthlySummaryDto();
+            studentSummary.setStudentId((Long) student[0]);
+            studentSummary.setStudentName(student[1] + " " + student[2]);
+            studentSummary.setRollNumber((String) student[3]);
+            studentSummary.setPresentCount(presentCounts[row]);
+            studentSummary.setAbsentCount(absentCounts[row]);
+            studentSummary.setLeaveCount(leaveCounts[row]);
+
+            Map<LocalDate, String> dailyStatus = new LinkedHashMap<>();
+            for (int i = 0; i < totalWorkingDays; i++) {
+                int day = workingDays[i];
+                byte code = matrix.get(row, day);
+                dailyStatus.put(yearMonth.atDay(day),
+                        code == AttendanceMatrix.PRESENT ? "P" : code == AttendanceMatrix.LEAVE ? "L" : "A");
+            }
+            studentSummary.setDailyStatus(dailyStatus);
+
             double percentage = totalWorkingDays > 0 ?
-                    ((studentSummary.getPresentCount() + studentSummary.getLeaveCount()) * 100.0) / totalWorkingDays : 0;
+                    ((presentCounts[row] + leaveCounts[row]) * 100.0) / totalWorkingDays : 0;
             studentSummary.setAttendancePercentage(Math.round(percentage * 100.0) / 100.0);
 
             if (percentage >= 75) studentSummary.setAttendanceStatus("GOOD");
@@ -295,9 +506,9 @@ public class AttendanceServiceImpl implements AttendanceService {
 
             studentSummaries.add(studentSummary);
 
-            totalPresent += studentSummary.getPresentCount();
-            totalAbsent += studentSummary.getAbsentCount();
-            totalLeave += studentSummary.getLeaveCount();
+            totalPresent += presentCounts[row];
+            totalAbsent += absentCounts[row];
+            totalLeave += leaveCounts[row];
         }
 
         summary.setStudentSummaries(studentSummaries);
@@ -308,7 +519,7 @@ public class AttendanceServiceImpl implements AttendanceService {
         overallStats.setTotalPresent(totalPresent);
         overallStats.setTotalAbsent(totalAbsent);
         overallStats.setTotalLeave(totalLeave);
-        overallStats.setAverageAttendance(students.size() > 0 ?
+        overallStats.setAverageAttendance(studentCount > 0 ?
                 studentSummaries.stream()
                         .mapToDouble(MonthlyAttendanceSummaryDto.StudentMonthlySummaryDto::getAttendancePercentage)
                         .average().orElse(0) : 0);
@@ -335,29 +546,18 @@ public class AttendanceServiceImpl implements AttendanceService {
         holiday.setCreatedBy(createdBy);
 
         holidayRepository.save(holiday);
+        workingDayCalendarService.refresh();
         logger.info("Holiday added successfully");
     }
 
     @Override
     public List<LocalDate> getNonAffectingHolidays(LocalDate startDate, LocalDate endDate) {
-        return holidayRepository.findNonAffectingHolidayDates(startDate, endDate);
+        return workingDayCalendarService.getNonAffectingHolidays(startDate, endDate);
     }
 
     @Override
     public boolean isWorkingDay(LocalDate date) {
-        // Check if holiday (non-affecting)
-        Optional<HolidayEntity> holiday = holidayRepository.findByHolidayDate(date);
-        if (holiday.isPresent() && !holiday.get().getAffectsAttendance()) {
-            return false;
-        }
-
-        // Check if weekend
-        int dayOfWeek = date.getDayOfWeek().getValue();
-        if (WEEKEND_DAYS.contains(dayOfWeek)) {
-            return false;
-        }
-
-        return true;
+        return workingDayCalendarService.isWorkingDay(date);
     }
 
     @Override
@@ -368,12 +568,16 @@ public class AttendanceServiceImpl implements AttendanceService {
         AttendanceEntity attendance = attendanceRepository.findById(attendanceId)
                 .orElseThrow(() -> new RuntimeException("Attendance not found"));
 
+        String previousStatus = attendance.getStatus();
         if (requestDto.getStatus() != null) attendance.setStatus(requestDto.getStatus());
         if (requestDto.getLeaveType() != null) attendance.setLeaveType(requestDto.getLeaveType());
         if (requestDto.getReason() != null) attendance.setReason(requestDto.getReason());
         attendance.setMarkedBy(updatedBy);
 
-        AttendanceEntity updated = attendanceRepository.save(attendance);
+        AttendanceEntity updated = attendanceRepository.saveAndFlush(attendance);
+        attendanceCounterService.refresh(List.of(updated.getStudent().getStdId()), updated.getAttendanceDate());
+        attendanceDashboardService.recordMarked(updated.getAttendanceDate(), updated.getStudent().getCurrentClass(),
+                updated.getStudent().getSection(), previousStatus, updated.getStatus());
         return convertToDto(updated);
     }
 
@@ -7,6 +7,7 @@ import com.sc.dto.request.TeacherSubjectAssignmentDTO;
 import com.sc.entity.ClassEntity;
 import com.sc.repository.ClassRepository;
 import com.sc.service.ClassService;
+import com.sc.service.WorkingDayCalendarService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +22,9 @@ public class ClassServiceImpl implements ClassService {
     @Autowired
     private ClassRepository classRepository;
 
+    @Autowired
+    private WorkingDayCalendarService workingDayCalendarService;
+
     @Override
     public ClassResponseDTO createClass(ClassCreateRequestDTO request) {
         // Validate class code uniqueness
@@ -34,6 +38,7 @@ public class ClassServiceImpl implements ClassService {
 
         // Save to database
         ClassEntity savedEntity = classRepository.save(classEntity);
+        workingDayCalendarService.refresh();
 
         // Convert to response DTO
         return mapEntityToResponse(savedEntity);
@@ -69,6 +74,7 @@ public class ClassServiceImpl implements ClassService {
 
         // Save to database
         ClassEntity savedEntity = classRepository.save(classEntity);
+        workingDayCalendarService.refresh();
 
         // Convert to response DTO
         return mapEntityToResponse(savedEntity);
@@ -149,6 +155,7 @@ public class ClassServiceImpl implements ClassService {
 
         // Save updated entity
         ClassEntity updatedEntity = classRepository.save(classEntity);
+        workingDayCalendarService.refresh();
 
         return mapEntityToResponse(updatedEntity);
     }
@@ -262,6 +269,7 @@ public class ClassServiceImpl implements ClassService {
     @Override
     public void deleteClass(Long classId) {
         classRepository.deleteById(classId);
+        workingDayCalendarService.refresh();
     }
 
     @Override
@@ -271,6 +279,7 @@ public class ClassServiceImpl implements ClassService {
 
         classEntity.setIsDeleted(true);
         classRepository.save(classEntity);
+        workingDayCalendarService.refresh();
     }
 
     @Override
@@ -285,6 +294,7 @@ public class ClassServiceImpl implements ClassService {
         classEntity.setStatus(status);
 
         ClassEntity updatedEntity = classRepository.save(classEntity);
+        workingDayCalendarService.refresh();
         return mapEntityToResponse(updatedEntity);
     }
 
@@ -0,0 +1,377 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.entity.OutboundEmailEntity;
+import com.sc.repository.NotificationRepository;
+import com.sc.repository.OutboundEmailRepository;
+import com.sc.service.EmailQueueService;
+import com.sc.util.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Outbound mail queue: rows in outbound_emails are claimed in batches (SKIP LOCKED, so several
+// nodes can drain together), split across a few virtual threads, and each thread sends its share
+// through JavaMailSender.send(MimeMessage...), which keeps one SMTP connection open for the lot.
+@Service
+public class EmailQueueServiceImpl implements EmailQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailQueueServiceImpl.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final long MAX_BACKOFF_SECONDS = 6 * 3600;
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    @Autowired
+    private OutboundEmailRepository outboundEmailRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${email.queue.enabled:true}")
+    private boolean enabled;
+
+    @Value("${email.queue.batch-size:50}")
+    private int batchSize;
+
+    // Parallel SMTP sessions per batch
+    @Value("${email.queue.connections:2}")
+    private int connections;
+
+    @Value("${email.queue.rate-per-minute:60}")
+    private int ratePerMinute;
+
+    @Value("${email.queue.max-attempts:5}")
+    private int maxAttempts;
+
+    // Retry n waits base * 2^(n-1), capped at six hours
+    @Value("${email.queue.retry-base-seconds:60}")
+    private long retryBaseSeconds;
+
+    // A row still SENDING after this long belonged to a node that stopped mid-batch
+    @Value("${email.queue.stale-minutes:10}")
+    private long staleMinutes;
+
+    // Delivered rows (bodies included) are kept this long; delivery details stay on the notification
+    @Value("${email.queue.sent-retention-days:7}")
+    private long sentRetentionDays;
+
+    // Virtual threads (JDK 21): each SMTP session mostly waits on the network
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean wakeRequested = new AtomicBoolean();
+
+    // Fixed one-minute window for the rate limit on this node
+    private long rateWindowMinute;
+    private int sentInRateWindow;
+
+    // ============= 📥 ENQUEUE =============
+
+    @Override
+    public void enqueue(String recipient, String subject, String htmlBody, Long notificationId) {
+        if (recipient == null || recipient.isBlank()) {
+            logger.warn("Email '{}' not queued: no recipient address", subject);
+            return;
+        }
+        OutboundEmailEntity email = new OutboundEmailEntity();
+        email.setRecipient(recipient.trim());
+        email.setSubject(subject);
+        email.setHtmlBody(htmlBody);
+        email.setNotificationId(notificationId);
+        outboundEmailRepository.save(email);
+
+        TransactionCallbacks.afterCommit(this::wakeUp);
+    }
+
+    // ============= 📤 DELIVERY =============
+
+    // Safety net for wake-ups lost to a restart, retries coming due and rate-limited leftovers
+    @Scheduled(fixedDelayString = "${email.queue.poll-ms:15000}")
+    public void poll() {
+        if (enabled) {
+            drainQuietly();
+        }
+    }
+
+    private void wakeUp() {
+        if (enabled) {
+            workers.execute(this::drainQuietly);
+        }
+    }
+
+    // One drain per node at a time; a wake-up arriving mid-drain makes it go round once more
+    private void drainQuietly() {
+        wakeRequested.set(true);
+        while (wakeRequested.get() && draining.compareAndSet(false, true)) {
+            wakeRequested.set(false);
+            try {
+                deliverDue();
+            } catch (Exception e) {
+                logger.error("Email queue drain failed: {}", e.getMessage(), e);
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    @Override
+    public int deliverDue() {
+        int sent = 0;
+        while (true) {
+            int limit = takePermits(batchSize);
+            if (limit <= 0) {
+                break;
+            }
+            List<OutboundEmailEntity> batch = claim(limit);
+            returnPermits(limit - batch.size());
+            if (batch.isEmpty()) {
+                break;
+            }
+            sent += deliverBatch(batch);
+            if (batch.size() < limit) {
+                break;
+            }
+        }
+        return sent;
+    }
+
+    private List<OutboundEmailEntity> claim(int limit) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            outboundEmailRepository.requeueStale(now.minusMinutes(staleMinutes));
+            List<Long> ids = outboundEmailRepository.lockDueIds(now, limit);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            outboundEmailRepository.markSending(ids, now);
+            return outboundEmailRepository.findAllById(ids);
+        });
+    }
+
+    private int deliverBatch(List<OutboundEmailEntity> batch) {
+        long start = System.currentTimeMillis();
+        int sessions = Math.max(1, Math.min(connections, batch.size()));
+        int chunkSize = (batch.size() + sessions - 1) / sessions;
+
+        List<ChunkResult> results = new ArrayList<>(sessions);
+        for (int from = 0; from < batch.size(); from += chunkSize) {
+            List<OutboundEmailEntity> chunk = List.copyOf(batch.subList(from, Math.min(from + chunkSize, batch.size())));
+            results.add(new ChunkResult(chunk, workers.submit(() -> sendChunk(chunk))));
+        }
+
+        Map<Long, String> failures = new HashMap<>();
+        for (ChunkResult result : results) {
+            try {
+                failures.putAll(result.failures().get());
+            } catch (Exception e) {
+                // Cannot tell which of the chunk went out; retry all of it
+                logger.error("Email worker failed: {}", describe(e));
+                for (OutboundEmailEntity email : result.chunk()) {
+                    failures.putIfAbsent(email.getId(), describe(e));
+                }
+            }
+        }
+
+        recordOutcome(batch, failures);
+        logger.info("Email queue: {} sent, {} failed in {} ms over {} SMTP session(s)",
+                batch.size() - failures.size(), failures.size(), System.currentTimeMillis() - start, sessions);
+        return batch.size() - failures.size();
+    }
+
+    // Sends a chunk over a single SMTP connection; returns id -> error for the ones that did not go
+    private Map<Long, String> sendChunk(List<OutboundEmailEntity> chunk) {
+        Map<Long, String> failures = new HashMap<>();
+        Map<MimeMessage, OutboundEmailEntity> byMessage = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>();
+
+        for (OutboundEmailEntity email : chunk) {
+            try {
+                MimeMessage message = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+                helper.setFrom(fromEmail);
+                helper.setTo(email.getRecipient());
+                helper.setSubject(email.getSubject());
+                helper.setText(email.getHtmlBody(), true);
+                byMessage.put(message, email);
+                messages.add(message);
+            } catch (MessagingException e) {
+                failures.put(email.getId(), describe(e));
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                byMessage.values().forEach(email -> failures.put(email.getId(), describe(e)));
+            }
+            e.getFailedMessages().forEach((message, cause) -> {
+                OutboundEmailEntity email = byMessage.get(message);
+                if (email != null) {
+                    failures.put(email.getId(), describe(cause));
+                }
+            });
+        } catch (MailException e) {
+            // Authentication or connection trouble: nothing in this chunk was sent
+            byMessage.values().forEach(email -> failures.put(email.getId(), describe(e)));
+        }
+        return failures;
+    }
+
+    private void recordOutcome(List<OutboundEmailEntity> batch, Map<Long, String> failures) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (OutboundEmailEntity email : batch) {
+                String error = failures.get(email.getId());
+                if (error == null) {
+                    email.setStatus("SENT");
+                    email.setSentAt(now);
+                    email.setLastError(null);
+                    if (email.getNotificationId() != null) {
+                        notificationRepository.markEmailDelivered(email.getNotificationId(), email.getRecipient(),
+                                Date.from(now.atZone(ZoneId.systemDefault()).toInstant()), email.getAttempts() - 1);
+                    }
+                    continue;
+                }
+
+                String message = truncate(error);
+                email.setLastError(message);
+                if (email.getAttempts() >= maxAttempts) {
+                    email.setStatus("FAILED");
+                    logger.warn("Email {} to {} failed after {} attempts: {}",
+                            email.getId(), email.getRecipient(), email.getAttempts(), message);
+                } else {
+                    email.setStatus("PENDING");
+                    email.setNextAttemptAt(now.plusSeconds(backoffSeconds(email.getAttempts())));
+                }
+                if (email.getNotificationId() != null) {
+                    notificationRepository.recordEmailError(email.getNotificationId(), email.getRecipient(),
+                            ("FAILED".equals(email.getStatus()) ? "Email failed: " : "Email retrying: ") + message,
+                            email.getAttempts());
+                }
+            }
+            outboundEmailRepository.saveAll(batch);
+        });
+    }
+
+    // ============= 🧹 RETENTION =============
+
+    @Scheduled(cron = "${email.queue.purge-cron:0 45 3 * * ?}") // Every day at 03:45
+    public void scheduledPurge() {
+        try {
+            purgeSent();
+        } catch (Exception e) {
+            logger.error("Email queue purge failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int purgeSent() {
+        LocalDateTime sentBefore = LocalDateTime.now().minusDays(sentRetentionDays);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = transaction.execute(status -> outboundEmailRepository.deleteSentBefore(sentBefore, PURGE_BATCH_SIZE));
+            purged += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        if (purged > 0) {
+            logger.info("Email queue: purged {} sent emails older than {} days", purged, sentRetentionDays);
+        }
+        return purged;
+    }
+
+    // ============= 📊 STATUS =============
+
+    @Override
+    public Map<String, Long> getQueueCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String status : List.of("PENDING", "SENDING", "SENT", "FAILED")) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : outboundEmailRepository.countByStatus()) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    // ============= 🔧 HELPERS =============
+
+    private synchronized int takePermits(int wanted) {
+        long minute = System.currentTimeMillis() / 60_000;
+        if (minute != rateWindowMinute) {
+            rateWindowMinute = minute;
+            sentInRateWindow = 0;
+        }
+        int granted = Math.max(0, Math.min(wanted, ratePerMinute - sentInRateWindow));
+        sentInRateWindow += granted;
+        return granted;
+    }
+
+    private synchronized void returnPermits(int unused) {
+        sentInRateWindow = Math.max(0, sentInRateWindow - unused);
+    }
+
+    private long backoffSeconds(int attempts) {
+        long seconds = retryBaseSeconds << Math.min(Math.max(attempts - 1, 0), 20);
+        return Math.min(seconds, MAX_BACKOFF_SECONDS);
+    }
+
+    private record ChunkResult(List<OutboundEmailEntity> chunk, Future<Map<Long, String>> failures) {
+    }
+
+    private static String describe(Throwable e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                // Unfinished rows stay SENDING and are requeued once they go stale
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.service.EmailTemplateService;
+import com.sc.util.HtmlTemplate;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Email templates are parsed once into HtmlTemplate segment lists; rendering only appends
+// static chunks and values into a per-thread buffer that is reused from one email to the next.
+@Service
+public class EmailTemplateServiceImpl implements EmailTemplateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailTemplateServiceImpl.class);
+
+    // Buffers that grew past this are dropped rather than kept alive on the thread
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(8 * 1024));
+
+    @Autowired
+    private ResourcePatternResolver resourcePatternResolver;
+
+    // Any Spring resource location, e.g. file:/opt/school/email-templates/ to edit templates without a rebuild
+    @Value("${email.templates.location:classpath:templates/email/}")
+    private String location;
+
+    private volatile Map<String, HtmlTemplate> templates = Map.of();
+
+    // A bad location fails startup here rather than silently dropping every email later
+    @PostConstruct
+    public void init() {
+        templates = load();
+    }
+
+    // ============= 🖨️ RENDER =============
+
+    @Override
+    public String render(String templateName, Map<String, ?> model) {
+        HtmlTemplate template = templates.get(templateName);
+        if (template == null) {
+            throw new IllegalArgumentException("Email template not found: " + templateName);
+        }
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        buffer.ensureCapacity(template.getStaticLength() + 512);
+        template.render(model, buffer);
+        String html = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return html;
+    }
+
+    // ============= 🔄 RELOAD =============
+
+    @Override
+    public void reload() {
+        try {
+            templates = load();
+        } catch (RuntimeException e) {
+            logger.error("Email templates not reloaded, keeping the previous set: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    private Map<String, HtmlTemplate> load() {
+        String base = location.endsWith("/") ? location : location + "/";
+        Map<String, HtmlTemplate> loaded = new HashMap<>();
+        try {
+            for (Resource resource : resourcePatternResolver.getResources(base + "*.html")) {
+                String fileName = resource.getFilename();
+                if (fileName == null) {
+                    continue;
+                }
+                String name = fileName.substring(0, fileName.length() - ".html".length());
+                try (InputStream in = resource.getInputStream()) {
+                    loaded.put(name, HtmlTemplate.compile(name, new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read email templates from " + base + ": " + e.getMessage(), e);
+        }
+        if (loaded.isEmpty()) {
+            throw new IllegalStateException("No email templates (*.html) found in " + base);
+        }
+        Set<String> missing = new TreeSet<>(REQUIRED_TEMPLATES);
+        missing.removeAll(loaded.keySet());
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Email templates missing from " + base + ": " + missing);
+        }
+        logger.info("Loaded {} email templates from {}", loaded.size(), base);
+        return Map.copyOf(loaded);
+    }
+}
@@ -0,0 +1,195 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.dto.response.FeeCollectionSummaryDto;
+import com.sc.dto.response.FeeCollectionSummaryDto.FeeCollectionTotalsDto;
+import com.sc.entity.FeeCollectionTotalEntity;
+import com.sc.entity.FeesEntity;
+import com.sc.entity.Installment;
+import com.sc.repository.FeeCollectionTotalRepository;
+import com.sc.repository.FeesRepository;
+import com.sc.service.FeeAnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Fee collection totals per (academic year, class, payment mode) in fee_collection_totals.
+// A write to a fees record adds the difference between its before and after contributions to
+// the bucket row (a single-row upsert by unique key), so neither the write nor the summary
+// scans fees. Overdue amounts are taken as of today; the nightly rebuild re-bases them.
+@Service
+public class FeeAnalyticsServiceImpl implements FeeAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeeAnalyticsServiceImpl.class);
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private static final Comparator<Contribution> BUCKET_ORDER = Comparator
+            .comparing(Contribution::academicYear)
+            .thenComparing(Contribution::className)
+            .thenComparing(Contribution::paymentMode);
+
+    @Autowired
+    private FeeCollectionTotalRepository feeCollectionTotalRepository;
+
+    @Autowired
+    private FeesRepository feesRepository;
+
+    // Totals are only maintained from this release on; fill them once for existing fees
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            if (feeCollectionTotalRepository.count() == 0 && feesRepository.count() > 0) {
+                rebuildAll();
+            }
+        } catch (Exception e) {
+            logger.error("Failed to backfill fee collection totals: {}", e.getMessage(), e);
+        }
+    }
+
+    // Overdue amounts move with the calendar, and class changes on students are not hooked
+    @Scheduled(cron = "${fees.analytics.rebuild-cron:0 15 0 * * ?}") // Every day at 00:15
+    public void nightlyRebuild() {
+        try {
+            rebuildAll();
+        } catch (Exception e) {
+            logger.error("Nightly fee collection rebuild failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // ============= 📊 SUMMARY =============
+
+    @Override
+    @Transactional(readOnly = true)
+    public FeeCollectionSummaryDto getSummary(String academicYear) {
+        List<FeeCollectionTotalEntity> rows = academicYear == null || academicYear.isBlank()
+                ? feeCollectionTotalRepository.findAll()
+                : feeCollectionTotalRepository.findByAcademicYear(academicYear.trim());
+
+        FeeCollectionSummaryDto summary = new FeeCollectionSummaryDto();
+        summary.setAcademicYear(academicYear == null || academicYear.isBlank() ? null : academicYear.trim());
+        summary.setGeneratedAt(LocalDateTime.now());
+
+        Map<String, FeeCollectionTotalsDto> byClass = new TreeMap<>();
+        Map<String, FeeCollectionTotalsDto> byPaymentMode = new TreeMap<>();
+        for (FeeCollectionTotalEntity row : rows) {
+            if (row.getFeesCount() <= 0) {
+                continue; // emptied by moves / deletes; dropped at the next rebuild
+            }
+            add(summary.getTotals(), row);
+            add(byClass.computeIfAbsent(row.getClassName(), FeeCollectionTotalsDto::new), row);
+            add(byPaymentMode.computeIfAbsent(row.getPaymentMode(), FeeCollectionTotalsDto::new), row);
+        }
+
+        summary.setByClass(finish(byClass.values()));
+        summary.setByPaymentMode(finish(byPaymentMode.values()));
+        finish(List.of(summary.getTotals()));
+        return summary;
+    }
+
+    private void add(FeeCollectionTotalsDto totals, FeeCollectionTotalEntity row) {
+        totals.setFeesCount(totals.getFeesCount() + row.getFeesCount());
+        totals.setBilledAmount(totals.getBilledAmount() + row.getBilledAmount());
+        totals.setCollectedAmount(totals.getCollectedAmount() + row.getCollectedAmount());
+        totals.setPendingAmount(totals.getPendingAmount() + row.getPendingAmount());
+        totals.setOverdueAmount(totals.getOverdueAmount() + row.getOverdueAmount());
+        totals.setOverdueCount(totals.getOverdueCount() + row.getOverdueCount());
+    }
+
+    private List<FeeCollectionTotalsDto> finish(Collection<FeeCollectionTotalsDto> totals) {
+        for (FeeCollectionTotalsDto dto : totals) {
+            dto.setCollectionPercentage(dto.getBilledAmount() > 0
+                    ? Math.round(dto.getCollectedAmount() * 10000.0 / dto.getBilledAmount()) / 100.0
+                    : 0.0);
+        }
+        return new ArrayList<>(totals);
+    }
+
+    // ============= 🔄 MAINTENANCE =============
+
+    @Override
+    public Contribution contributionOf(FeesEntity fees) {
+        LocalDate today = LocalDate.now();
+        long billed = fees.getTotalFees() != null ? fees.getTotalFees() : 0;
+        long pending = fees.getRemainingFees() != null ? fees.getRemainingFees() : 0;
+        long overdueAmount = 0;
+        long overdueCount = 0;
+        // Same rule as rebuildAll(): unpaid and due before today
+        for (Installment installment : fees.getInstallmentsList()) {
+            String status = Installment.normalizeStatus(installment.getStatus());
+            if (("PENDING".equals(status) || "OVERDUE".equals(status))
+                    && installment.getDueDate() != null && installment.getDueDate().isBefore(today)) {
+                Integer due = installment.getDueAmount() != null ? installment.getDueAmount() : installment.getAmount();
+                overdueAmount += due != null ? due : 0;
+                overdueCount++;
+            }
+        }
+        String className = fees.getStudent() != null ? fees.getStudent().getCurrentClass() : null;
+        return new Contribution(key(fees.getAcademicYear()), key(className), key(fees.getPaymentMode()),
+                billed, billed - pending, pending, overdueAmount, overdueCount);
+    }
+
+    @Override
+    @Transactional
+    public void apply(Contribution before, Contribution after) {
+        if (before != null && after != null && before.sameBucket(after)) {
+            add(after, 0, after.billedAmount() - before.billedAmount(),
+                    after.collectedAmount() - before.collectedAmount(),
+                    after.pendingAmount() - before.pendingAmount(),
+                    after.overdueAmount() - before.overdueAmount(),
+                    after.overdueCount() - before.overdueCount());
+            return;
+        }
+        // Moved between buckets (or created / deleted): take it out of one, put it into the other.
+        // The two rows are locked in key order so opposite moves cannot deadlock.
+        if (before != null && after != null && BUCKET_ORDER.compare(after, before) < 0) {
+            add(after, 1);
+            add(before, -1);
+            return;
+        }
+        if (before != null) {
+            add(before, -1);
+        }
+        if (after != null) {
+            add(after, 1);
+        }
+    }
+
+    private void add(Contribution contribution, int sign) {
+        add(contribution, sign, sign * contribution.billedAmount(), sign * contribution.collectedAmount(),
+                sign * contribution.pendingAmount(), sign * contribution.overdueAmount(),
+                sign * contribution.overdueCount());
+    }
+
+    private void add(Contribution bucket, long feesCount, long billed, long collected, long pending,
+                     long overdueAmount, long overdueCount) {
+        if (feesCount == 0 && billed == 0 && collected == 0 && pending == 0 && overdueAmount == 0 && overdueCount == 0) {
+            return;
+        }
+        feeCollectionTotalRepository.addToBucket(bucket.academicYear(), bucket.className(), bucket.paymentMode(),
+                feesCount, billed, collected, pending, overdueAmount, overdueCount);
+    }
+
+    @Override
+    @Transactional
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        feeCollectionTotalRepository.deleteAllRows();
+        int buckets = feeCollectionTotalRepository.rebuildAll(LocalDate.now());
+        logger.info("Rebuilt fee collection totals: {} bucket rows in {} ms",
+                buckets, System.currentTimeMillis() - start);
+    }
+
+    // Same normalisation as the COALESCE in the bucket queries
+    private static String key(String value) {
+        return value != null ? value : UNKNOWN;
+    }
+}
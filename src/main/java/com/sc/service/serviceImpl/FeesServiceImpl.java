@@ -8,6 +8,7 @@ import com.sc.entity.Installment;
 import com.sc.entity.StudentEntity;
 import com.sc.repository.FeesRepository;
 import com.sc.repository.StudentRepository;
+import com.sc.service.FeeAnalyticsService;
 import com.sc.service.FeesService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,12 +24,18 @@ public class FeesServiceImpl implements FeesService {
 
     private static final Logger logger = LoggerFactory.getLogger(FeesServiceImpl.class);
 
+    // Keeps IN (...) lists well below driver / optimizer limits
+    private static final int BATCH_FETCH_SIZE = 500;
+
     @Autowired
     private FeesRepository feesRepository;
 
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private FeeAnalyticsService feeAnalyticsService;
+
     // ============= 🎯 CREATE FEES =============
 
     @Override
@@ -57,8 +64,9 @@ public class FeesServiceImpl implements FeesService {
             entity.calculateTotalFees();
             entity.calculateRemainingFees();
 
-            // 5. Save fees
+            // 5. Save fees and add it to its collection bucket
             FeesEntity saved = feesRepository.save(entity);
+            feeAnalyticsService.apply(null, feeAnalyticsService.contributionOf(saved));
 
             // 6. Add to student's fees list (bidirectional)
             student.getFeesList().add(saved);
@@ -119,6 +127,45 @@ public class FeesServiceImpl implements FeesService {
         }
     }
 
+    // ============= 🔍 GET FEES BY STUDENT IDS (BATCH) =============
+
+    /**
+     * Load fees for many students in a constant number of queries.
+     * Keyed by student stdId; when a student has fees for several academic
+     * years the latest record wins.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, FeesResponseDto> getFeesByStudentIds(Collection<Long> studentIds) {
+        Map<Long, FeesResponseDto> feesByStudent = new HashMap<>();
+        if (studentIds == null || studentIds.isEmpty()) {
+            return feesByStudent;
+        }
+
+        try {
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(studentIds));
+            for (int from = 0; from < ids.size(); from += BATCH_FETCH_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + BATCH_FETCH_SIZE, ids.size()));
+
+                List<FeesEntity> entities = feesRepository.findAllByStudentIdsWithInstallments(chunk);
+                if (entities.isEmpty()) {
+                    continue;
+                }
+                feesRepository.fetchAdditionalFees(entities);
+
+                // Ordered by id DESC, so the first record per student is the latest
+                for (FeesEntity entity : entities) {
+                    feesByStudent.putIfAbsent(entity.getStudentId(), toResponseDto(entity));
+                }
+            }
+            logger.debug("Loaded fees for {} of {} students", feesByStudent.size(), ids.size());
+            return feesByStudent;
+        } catch (Exception e) {
+            logger.error("Error fetching fees for {} students: {}", studentIds.size(), e.getMessage());
+            throw new RuntimeException("Failed to fetch fees: " + e.getMessage());
+        }
+    }
+
     // ============= 📋 GET ALL FEES =============
 
     @Override
@@ -144,9 +191,10 @@ public class FeesServiceImpl implements FeesService {
         logger.info("Updating fees with ID: {}", id);
 
         try {
-            Optional<FeesEntity> optional = feesRepository.findById(id);
+            Optional<FeesEntity> optional = feesRepository.findByIdForUpdate(id);
             if (optional.isPresent()) {
                 FeesEntity entity = optional.get();
+                FeeAnalyticsService.Contribution before = feeAnalyticsService.contributionOf(entity);
 
                 // Update entity with DTO data
                 updateEntity(entity, requestDto);
@@ -156,6 +204,8 @@ public class FeesServiceImpl implements FeesService {
                 entity.calculateRemainingFees();
 
                 FeesEntity updated = feesRepository.save(entity);
+                // Moves between buckets when the year, payment mode or student (class) changed
+                feeAnalyticsService.apply(before, feeAnalyticsService.contributionOf(updated));
                 logger.info("Fees updated successfully with ID: {}", updated.getId());
 
                 return toResponseDto(updated);
@@ -178,22 +228,20 @@ public class FeesServiceImpl implements FeesService {
         logger.info("Deleting fees with ID: {}", id);
 
         try {
-            if (!feesRepository.existsById(id)) {
-                throw new RuntimeException("Fees not found with ID: " + id);
-            }
+            // Locked, so a concurrent write or delete can't subtract the same contribution again
+            FeesEntity fees = feesRepository.findByIdForUpdate(id)
+                    .orElseThrow(() -> new RuntimeException("Fees not found with ID: " + id));
+            FeeAnalyticsService.Contribution before = feeAnalyticsService.contributionOf(fees);
 
             // Optional: Remove from student's fees list
-            Optional<FeesEntity> feesOpt = feesRepository.findById(id);
-            if (feesOpt.isPresent()) {
-                FeesEntity fees = feesOpt.get();
-                StudentEntity student = fees.getStudent();
-                if (student != null) {
-                    student.getFeesList().remove(fees);
-                    studentRepository.save(student);
-                }
+            StudentEntity student = fees.getStudent();
+            if (student != null) {
+                student.getFeesList().remove(fees);
+                studentRepository.save(student);
             }
 
             feesRepository.deleteById(id);
+            feeAnalyticsService.apply(before, null);
             logger.info("Fees deleted successfully with ID: {}", id);
 
         } catch (Exception e) {
@@ -261,7 +309,8 @@ public class FeesServiceImpl implements FeesService {
         logger.info("Processing installment payment for Fees ID: {}, Installment ID: {}", feesId, installmentId);
 
         try {
-            FeesEntity fees = feesRepository.findById(feesId)
+            // Locked, so a double-submitted payment sees the first one and contributes no second delta
+            FeesEntity fees = feesRepository.findByIdForUpdate(feesId)
                     .orElseThrow(() -> new RuntimeException("Fees not found with ID: " + feesId));
 
             Optional<Installment> installmentOpt = fees.getInstallmentsList().stream()
@@ -270,10 +319,12 @@ public class FeesServiceImpl implements FeesService {
 
             if (installmentOpt.isPresent()) {
                 Installment installment = installmentOpt.get();
+                FeeAnalyticsService.Contribution before = feeAnalyticsService.contributionOf(fees);
                 installment.markAsPaid(paymentMode, transactionRef);
                 fees.calculateRemainingFees();
 
                 FeesEntity updated = feesRepository.save(fees);
+                feeAnalyticsService.apply(before, feeAnalyticsService.contributionOf(updated));
                 logger.info("Installment payment processed successfully");
                 return toResponseDto(updated);
             } else {
@@ -470,11 +521,22 @@ public class FeesServiceImpl implements FeesService {
         if (dto.getTransactionId() != null) entity.setTransactionId(dto.getTransactionId());
         if (dto.getAcademicYear() != null) entity.setAcademicYear(dto.getAcademicYear());
 
-        // Update installments
+        // Update installments in place, matched on installmentId, so row ids and next_reminder_on
+        // survive an edit; reminder claims are keyed on the row id
         if (dto.getInstallmentsList() != null) {
+            Map<Long, Installment> existing = new HashMap<>();
+            for (Installment inst : entity.getInstallmentsList()) {
+                if (inst.getInstallmentId() != null) {
+                    existing.putIfAbsent(inst.getInstallmentId(), inst);
+                }
+            }
+
             List<Installment> installments = new ArrayList<>();
             for (FeesRequestDto.InstallmentDto instDto : dto.getInstallmentsList()) {
-                Installment inst = new Installment();
+                Installment inst = instDto.getInstallmentId() != null ? existing.remove(instDto.getInstallmentId()) : null;
+                if (inst == null) {
+                    inst = new Installment();
+                }
                 inst.setInstallmentId(instDto.getInstallmentId());
                 inst.setAmount(instDto.getAmount());
                 inst.setAddonAmount(instDto.getAddonAmount() != null ? instDto.getAddonAmount() : 0);
@@ -488,6 +550,7 @@ public class FeesServiceImpl implements FeesService {
                 inst.setRemarks(instDto.getRemarks());
                 installments.add(inst);
             }
+            // Rows left out of the request are removed as orphans
             entity.setInstallmentsList(installments);
         }
     }
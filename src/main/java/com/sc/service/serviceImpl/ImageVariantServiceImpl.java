@@ -0,0 +1,287 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.entity.ImageVariantEntity;
+import com.sc.enum_util.ImageOwnerType;
+import com.sc.repository.ImageVariantRepository;
+import com.sc.service.ImageVariantService;
+import com.sc.util.BinaryContentUtils;
+import com.sc.util.BlobStreamer;
+import com.sc.util.StoredContentInfo;
+import com.sc.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Service
+public class ImageVariantServiceImpl implements ImageVariantService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantServiceImpl.class);
+
+    // Longest side of each generated variant, ascending
+    private static final int[] VARIANT_SIZES = {64, 256};
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private static final String CHUNK_SQL = "SELECT SUBSTRING(content, ?, ?) FROM image_variants " +
+            "WHERE owner_type = ? AND owner_id = ? AND size_px = ? AND content_hash = ?";
+
+    @Autowired
+    private ImageVariantRepository variantRepository;
+
+    @Autowired
+    private BlobStreamer blobStreamer;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Owners whose photo could not be decoded, so lookups don't retry the decode on every request
+    private final Set<String> undecodable = ConcurrentHashMap.newKeySet();
+
+    // ============= 🖼️ GENERATE =============
+
+    @Override
+    public void refreshVariants(ImageOwnerType ownerType, Long ownerId, byte[] original) {
+        // After commit and in its own transaction, so a variant failure never rolls back the upload
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                generateInNewTransaction(ownerType, ownerId, original);
+            } catch (RuntimeException e) {
+                logger.error("Failed to generate image variants for {} {}: {}", ownerType, ownerId, e.getMessage(), e);
+                // Whatever is stored may belong to the previous photo; the next request regenerates
+                try {
+                    newTransaction().executeWithoutResult(status -> deleteVariants(ownerType, ownerId));
+                } catch (RuntimeException cleanup) {
+                    logger.error("Failed to drop stale image variants for {} {}: {}",
+                            ownerType, ownerId, cleanup.getMessage());
+                }
+            }
+        });
+    }
+
+    private boolean generateInNewTransaction(ImageOwnerType ownerType, Long ownerId, byte[] original) {
+        return Boolean.TRUE.equals(newTransaction().execute(status -> generateVariants(ownerType, ownerId, original)));
+    }
+
+    // The upload has already committed when afterCommit work runs, so it needs a transaction of its own
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transaction;
+    }
+
+    /**
+     * Decode the original once and store every variant size. Existing variants
+     * for the owner are replaced. Returns false when the content is not an image
+     * or a variant cannot be encoded; callers then serve the original.
+     */
+    private boolean generateVariants(ImageOwnerType ownerType, Long ownerId, byte[] original) {
+        variantRepository.deleteByOwner(ownerType, ownerId);
+        String key = ownerKey(ownerType, ownerId);
+
+        if (original == null || original.length == 0) {
+            return false;
+        }
+
+        BufferedImage source;
+        try {
+            source = ImageIO.read(new ByteArrayInputStream(original));
+        } catch (IOException | RuntimeException e) {
+            source = null;
+        }
+        if (source == null) {
+            undecodable.add(key);
+            logger.warn("Could not decode photo for {} {}, no variants generated", ownerType, ownerId);
+            return false;
+        }
+
+        // Encode every size before storing any, so a failure leaves no partial set
+        boolean alpha = source.getColorModel().hasAlpha();
+        List<ImageVariantEntity> variants = new ArrayList<>(VARIANT_SIZES.length);
+        try {
+            for (int sizePx : VARIANT_SIZES) {
+                byte[] encoded = encode(scaleToFit(source, sizePx, alpha), alpha);
+
+                ImageVariantEntity variant = new ImageVariantEntity();
+                variant.setOwnerType(ownerType);
+                variant.setOwnerId(ownerId);
+                variant.setSizePx(sizePx);
+                variant.setContentType(alpha ? MediaType.IMAGE_PNG_VALUE : MediaType.IMAGE_JPEG_VALUE);
+                variant.setSizeBytes((long) encoded.length);
+                variant.setContentHash(BinaryContentUtils.sha256Hex(encoded));
+                variant.setContent(encoded);
+                variants.add(variant);
+            }
+        } catch (IOException | RuntimeException e) {
+            undecodable.add(key);
+            logger.warn("Could not encode variants for {} {}, serving the original only: {}",
+                    ownerType, ownerId, e.getMessage());
+            return false;
+        }
+        variantRepository.saveAll(variants);
+        undecodable.remove(key);
+
+        logger.info("Generated {} image variants for {} {} ({}x{} original)",
+                VARIANT_SIZES.length, ownerType, ownerId, source.getWidth(), source.getHeight());
+        return true;
+    }
+
+    // ============= 🔍 LOOKUP =============
+
+    @Override
+    public Integer resolveVariantSize(String size) {
+        if (size == null || size.isBlank() || "original".equalsIgnoreCase(size.trim())) {
+            return null;
+        }
+
+        int requested;
+        try {
+            requested = Integer.parseInt(size.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid size: " + size);
+        }
+        if (requested <= 0) {
+            throw new IllegalArgumentException("Invalid size: " + size);
+        }
+
+        // Smallest variant that is at least as large as requested, else the original
+        for (int sizePx : VARIANT_SIZES) {
+            if (sizePx >= requested) {
+                return sizePx;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public StoredContentInfo getVariantInfo(ImageOwnerType ownerType, Long ownerId, int sizePx,
+                                            Supplier<byte[]> originalLoader) {
+        List<Object[]> rows = variantRepository.findMetadata(ownerType, ownerId, sizePx);
+
+        if (rows.isEmpty()) {
+            if (undecodable.contains(ownerKey(ownerType, ownerId))) {
+                return null;
+            }
+            // No photo at all - nothing to generate, so don't open a write transaction
+            byte[] original = originalLoader.get();
+            if (original == null || original.length == 0) {
+                return null;
+            }
+            // Uploaded before variants existed - generate them once from the original
+            try {
+                if (!generateInNewTransaction(ownerType, ownerId, original)) {
+                    return null;
+                }
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent first request stored them first (unique owner/size); read theirs
+                logger.debug("Image variants for {} {} were generated concurrently", ownerType, ownerId);
+            }
+            rows = variantRepository.findMetadata(ownerType, ownerId, sizePx);
+            if (rows.isEmpty()) {
+                return null;
+            }
+        }
+
+        Object[] row = rows.get(0);
+        return new StoredContentInfo((String) row[0], (Long) row[1], (String) row[2]);
+    }
+
+    @Override
+    public void streamVariant(ImageOwnerType ownerType, Long ownerId, int sizePx, String contentHash,
+                              long offset, long length, OutputStream out) throws IOException {
+        blobStreamer.stream(CHUNK_SQL, new Object[]{ownerType.name(), ownerId, sizePx}, contentHash,
+                offset, length, out);
+    }
+
+    // ============= 🗑️ DELETE =============
+
+    @Override
+    @Transactional
+    public void deleteVariants(ImageOwnerType ownerType, Long ownerId) {
+        variantRepository.deleteByOwner(ownerType, ownerId);
+        undecodable.remove(ownerKey(ownerType, ownerId));
+    }
+
+    // ============= 🎯 PRIVATE HELPER METHODS =============
+
+    private String ownerKey(ImageOwnerType ownerType, Long ownerId) {
+        return ownerType.name() + ":" + ownerId;
+    }
+
+    /**
+     * Downscale so the longest side is at most maxSide, halving in steps so
+     * bilinear filtering keeps detail. Never upscales.
+     */
+    private BufferedImage scaleToFit(BufferedImage source, int maxSide, boolean alpha) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxSide / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        int imageType = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, imageType);
+            Graphics2D g = next.createGraphics();
+            if (!alpha) {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, currentWidth, currentHeight);
+            }
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            g.dispose();
+            current = next;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+
+        return current;
+    }
+
+    private byte[] encode(BufferedImage image, boolean alpha) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (alpha) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
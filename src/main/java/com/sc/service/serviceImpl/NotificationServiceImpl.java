@@ -33,6 +33,12 @@ public class NotificationServiceImpl implements NotificationService {
     @Autowired
     private FeesRepository feesRepository;
 
+    @Autowired
+    private InstallmentRepository installmentRepository;
+
+    @Autowired
+    private InstallmentReminderRepository installmentReminderRepository;
+
     @Autowired
     private FeesService feesService;
 
@@ -81,7 +87,7 @@ public class NotificationServiceImpl implements NotificationService {
             notificationRepository.save(savedNotification);
 
             // 7. Send EMAIL notification
-            emailService.sendFeeReminderEmail(student, feesEntity);
+            emailService.sendFeeReminderEmail(student, feesEntity, savedNotification.getId());
 
             logger.info("✅✅ Fee reminder sent successfully to student: {} (Pending: ₹{}) - [IN-APP + EMAIL]",
                     student.getStudentId(), feesDto.getRemainingFees());
@@ -151,40 +157,31 @@ public class NotificationServiceImpl implements NotificationService {
         logger.info("🔍🔍 SEARCHING FOR STUDENTS WITH OVERDUE INSTALLMENTS...");
 
         try {
-            List<FeesResponseDto> pendingFeesList = feesService.getAllPendingFees();
+            // Due before today and still unpaid, straight off the (status, due_date) index
+            List<Installment> overdueInstallments = installmentRepository
+                    .findUnpaidDueOnOrBefore(LocalDate.now().minusDays(1));
             List<NotificationResponseDto> sentNotifications = new ArrayList<>();
 
-            for (FeesResponseDto fees : pendingFeesList) {
-                StudentEntity student = studentRepository.findById(fees.getStudentId()).orElse(null);
-                if (student == null) continue;
-
-                FeesEntity feesEntity = feesRepository.findByStudentId(fees.getStudentId()).orElse(null);
-                if (feesEntity == null) continue;
-
-                List<Installment> overdueInstallments = feesEntity.getInstallmentsList().stream()
-                        .filter(i -> !"PAID".equalsIgnoreCase(i.getStatus()))
-                        .filter(i -> i.getDueDate() != null && LocalDate.now().isAfter(i.getDueDate()))
-                        .collect(Collectors.toList());
-
-                for (Installment installment : overdueInstallments) {
-                    try {
-                        // Create IN-APP notification for overdue
-                        NotificationEntity notification = createOverdueNotification(student, fees, installment);
-                        NotificationEntity saved = notificationRepository.save(notification);
-                        saved.setStatus("SENT");
-                        saved.setSentDate(new Date());
-                        notificationRepository.save(saved);
-
-                        // Send EMAIL for overdue
-                        emailService.sendOverdueReminderEmail(student, feesEntity, installment.getInstallmentId());
-
-                        sentNotifications.add(convertToDto(saved));
-                        logger.info("✅ Overdue reminder sent to student: {} for installment #{}",
-                                student.getStudentId(), installment.getInstallmentId());
-
-                    } catch (Exception e) {
-                        logger.error("❌ Failed to send overdue reminder: {}", e.getMessage());
-                    }
+            for (Installment installment : overdueInstallments) {
+                FeesEntity feesEntity = installment.getFees();
+                StudentEntity student = feesEntity.getStudent();
+                try {
+                    // Create IN-APP notification for overdue
+                    NotificationEntity notification = createOverdueNotification(student, feesEntity, installment);
+                    NotificationEntity saved = notificationRepository.save(notification);
+                    saved.setStatus("SENT");
+                    saved.setSentDate(new Date());
+                    notificationRepository.save(saved);
+
+                    // Send EMAIL for overdue
+                    emailService.sendOverdueReminderEmail(student, feesEntity, installment, saved.getId());
+
+                    sentNotifications.add(convertToDto(saved));
+                    logger.info("✅ Overdue reminder sent to student: {} for installment #{}",
+                            student.getStudentId(), installment.getInstallmentId());
+
+                } catch (Exception e) {
+                    logger.error("❌ Failed to send overdue reminder: {}", e.getMessage());
                 }
             }
 
@@ -221,7 +218,7 @@ public class NotificationServiceImpl implements NotificationService {
             notificationRepository.save(saved);
 
             // Send EMAIL confirmation
-            emailService.sendPaymentConfirmationEmail(student, fees, amount, transactionId);
+            emailService.sendPaymentConfirmationEmail(student, fees, amount, transactionId, saved.getId());
 
             logger.info("✅ Payment confirmation sent to student: {}", student.getStudentId());
 
@@ -324,7 +321,8 @@ public class NotificationServiceImpl implements NotificationService {
 
     /**
      * Check for installments where due date has passed and send reminders
-     * Runs every hour to check for newly expired due dates
+     * Runs every hour but only reads installments whose next_reminder_on has arrived,
+     * so a run with nothing due is a single empty index range scan
      */
     @Scheduled(cron = "0 0 * * * ?") // Runs every hour at minute 0
     @Transactional
@@ -336,52 +334,50 @@ public class NotificationServiceImpl implements NotificationService {
             LocalDate today = LocalDate.now();
             logger.info("Current date: {}", today);
 
-            // Get all fees records
-            List<FeesEntity> allFees = feesRepository.findAll();
+            // Only installments whose reminder day has come, fees and student fetched in the same query
+            List<Installment> dueInstallments = installmentRepository.findReminderDue(today);
             int totalDueInstallments = 0;
             int emailsSent = 0;
 
-            for (FeesEntity fees : allFees) {
+            for (Installment installment : dueInstallments) {
+                FeesEntity fees = installment.getFees();
                 StudentEntity student = fees.getStudent();
-                if (student == null) continue;
-
-                // Find installments with due date passed and NOT paid
-                List<Installment> dueInstallments = fees.getInstallmentsList().stream()
-                        .filter(i -> !"PAID".equalsIgnoreCase(i.getStatus()))
-                        .filter(i -> i.getDueDate() != null)
-                        .filter(i -> i.getDueDate().isBefore(today) || i.getDueDate().isEqual(today))
-                        .filter(i -> !isReminderSentToday(student.getStdId(), i.getInstallmentId()))
-                        .collect(Collectors.toList());
-
-                if (!dueInstallments.isEmpty()) {
-                    totalDueInstallments += dueInstallments.size();
-                    logger.info("Found {} due installments for student: {}",
-                            dueInstallments.size(), student.getStudentId());
-
-                    for (Installment installment : dueInstallments) {
-                        try {
-                            // Calculate days overdue
-                            int daysOverdue = calculateDaysOverdue(installment.getDueDate());
-
-                            // Check if already overdue (more than 1 day)
-                            if (daysOverdue > 0) {
-                                // Send OVERDUE reminder
-                                sendOverdueReminderForInstallment(student, fees, installment);
-                                logger.info("✅ Overdue reminder sent for installment #{} ({} days overdue)",
-                                        installment.getInstallmentId(), daysOverdue);
-                            } else {
-                                // Send DUE TODAY reminder
-                                sendDueTodayReminder(student, fees, installment);
-                                logger.info("✅ Due today reminder sent for installment #{}",
-                                        installment.getInstallmentId());
-                            }
-                            emailsSent++;
-
-                        } catch (Exception e) {
-                            logger.error("❌ Failed to send reminder for installment #{}: {}",
-                                    installment.getInstallmentId(), e.getMessage());
-                        }
+                Long studentId = student.getStdId();
+
+                // At most one reminder per (student, installment row, day), whichever run gets there first.
+                // Keyed on the fee_installments id: installmentId is only the number within its fees record.
+                if (installmentReminderRepository.claim(studentId, installment.getId(), today) == 0) {
+                    // Lost to another run that already reminded this very row today
+                    installment.setNextReminderOn(today.plusDays(1));
+                    continue;
+                }
+                totalDueInstallments++;
+
+                try {
+                    // Calculate days overdue
+                    int daysOverdue = calculateDaysOverdue(installment.getDueDate());
+
+                    // Check if already overdue (more than 1 day)
+                    if (daysOverdue > 0) {
+                        // Send OVERDUE reminder
+                        sendOverdueReminderForInstallment(student, fees, installment);
+                        logger.info("✅ Overdue reminder sent for installment #{} ({} days overdue)",
+                                installment.getInstallmentId(), daysOverdue);
+                    } else {
+                        // Send DUE TODAY reminder
+                        sendDueTodayReminder(student, fees, installment);
+                        logger.info("✅ Due today reminder sent for installment #{}",
+                                installment.getInstallmentId());
                     }
+                    emailsSent++;
+
+                    // Unpaid installments are reminded again tomorrow
+                    installment.setNextReminderOn(today.plusDays(1));
+
+                } catch (Exception e) {
+                    installmentReminderRepository.release(studentId, installment.getId(), today);
+                    logger.error("❌ Failed to send reminder for installment #{}: {}",
+                            installment.getInstallmentId(), e.getMessage());
                 }
             }
 
@@ -393,21 +389,6 @@ public class NotificationServiceImpl implements NotificationService {
         }
     }
 
-    /**
-     * Check if reminder already sent today for this installment
-     */
-    private boolean isReminderSentToday(Long studentId, Long installmentId) {
-        LocalDate today = LocalDate.now();
-        Date startOfDay = convertToDate(today);
-        Date endOfDay = convertToDate(today.plusDays(1));
-
-        List<NotificationEntity> todaysReminders = notificationRepository
-                .findByStudentIdAndInstallmentIdAndDateRange(
-                        studentId, installmentId, startOfDay, endOfDay);
-
-        return !todaysReminders.isEmpty();
-    }
-
     /**
      * Send reminder for installment due today
      */
@@ -444,25 +425,22 @@ public class NotificationServiceImpl implements NotificationService {
         notificationRepository.save(saved);
 
         // Send EMAIL for due today
-        emailService.sendInstallmentDueEmail(student, fees, installment.getInstallmentId());
+        emailService.sendInstallmentDueEmail(student, fees, installment, saved.getId());
     }
 
     /**
      * Send overdue reminder for installment (reuse existing method but ensure email is sent)
      */
     private void sendOverdueReminderForInstallment(StudentEntity student, FeesEntity fees, Installment installment) {
-        // Get fees DTO for the method
-        FeesResponseDto feesDto = feesService.getFeesByStudentId(student.getStdId());
-
         // Create overdue notification using existing method
-        NotificationEntity notification = createOverdueNotification(student, feesDto, installment);
+        NotificationEntity notification = createOverdueNotification(student, fees, installment);
         NotificationEntity saved = notificationRepository.save(notification);
         saved.setStatus("SENT");
         saved.setSentDate(new Date());
         notificationRepository.save(saved);
 
         // Send EMAIL for overdue
-        emailService.sendOverdueReminderEmail(student, fees, installment.getInstallmentId());
+        emailService.sendOverdueReminderEmail(student, fees, installment, saved.getId());
     }
 
     // ============= 🆕 NEW METHODS TO GET DUE INSTALLMENTS SEPARATELY =============
@@ -478,45 +456,38 @@ public class NotificationServiceImpl implements NotificationService {
             StudentEntity student = studentRepository.findById(studentId)
                     .orElseThrow(() -> new RuntimeException("Student not found"));
 
-            FeesEntity fees = feesRepository.findByStudentId(studentId)
-                    .orElse(null);
-
-            if (fees == null) {
-                return new ArrayList<>();
-            }
+            List<Installment> unpaid = installmentRepository.findUnpaidByStudentId(student.getStdId());
 
             LocalDate today = LocalDate.now();
             List<Map<String, Object>> dueInstallments = new ArrayList<>();
 
-            for (Installment inst : fees.getInstallmentsList()) {
-                if (!"PAID".equalsIgnoreCase(inst.getStatus())) {
-                    Map<String, Object> dueInfo = new HashMap<>();
-                    dueInfo.put("installmentId", inst.getInstallmentId());
-                    dueInfo.put("amount", inst.getAmount());
-                    dueInfo.put("dueDate", formatDate(inst.getDueDate()));
-                    dueInfo.put("dueAmount", inst.getDueAmount());
-                    dueInfo.put("status", inst.getStatus());
-
-                    if (inst.getDueDate() != null) {
-                        if (inst.getDueDate().isBefore(today)) {
-                            int daysOverdue = calculateDaysOverdue(inst.getDueDate());
-                            dueInfo.put("daysOverdue", daysOverdue);
-                            dueInfo.put("lateFee", daysOverdue * 100);
-                            dueInfo.put("totalDue", inst.getDueAmount() + (daysOverdue * 100));
-                            dueInfo.put("isOverdue", true);
-                        } else if (inst.getDueDate().isEqual(today)) {
-                            dueInfo.put("daysRemaining", 0);
-                            dueInfo.put("dueToday", true);
-                            dueInfo.put("isOverdue", false);
-                        } else {
-                            long daysRemaining = today.until(inst.getDueDate()).getDays();
-                            dueInfo.put("daysRemaining", daysRemaining);
-                            dueInfo.put("isOverdue", false);
-                        }
-                    }
+            for (Installment inst : unpaid) {
+                Map<String, Object> dueInfo = new HashMap<>();
+                dueInfo.put("installmentId", inst.getInstallmentId());
+                dueInfo.put("amount", inst.getAmount());
+                dueInfo.put("dueDate", formatDate(inst.getDueDate()));
+                dueInfo.put("dueAmount", inst.getDueAmount());
+                dueInfo.put("status", inst.getStatus());
 
-                    dueInstallments.add(dueInfo);
+                if (inst.getDueDate() != null) {
+                    if (inst.getDueDate().isBefore(today)) {
+                        int daysOverdue = calculateDaysOverdue(inst.getDueDate());
+                        dueInfo.put("daysOverdue", daysOverdue);
+                        dueInfo.put("lateFee", daysOverdue * 100);
+                        dueInfo.put("totalDue", inst.getDueAmount() + (daysOverdue * 100));
+                        dueInfo.put("isOverdue", true);
+                    } else if (inst.getDueDate().isEqual(today)) {
+                        dueInfo.put("daysRemaining", 0);
+                        dueInfo.put("dueToday", true);
+                        dueInfo.put("isOverdue", false);
+                    } else {
+                        long daysRemaining = today.until(inst.getDueDate()).getDays();
+                        dueInfo.put("daysRemaining", daysRemaining);
+                        dueInfo.put("isOverdue", false);
+                    }
                 }
+
+                dueInstallments.add(dueInfo);
             }
 
             return dueInstallments;
@@ -535,38 +506,26 @@ public class NotificationServiceImpl implements NotificationService {
         logger.info("🔍 Getting total due amount for student ID: {}", studentId);
 
         try {
-            FeesEntity fees = feesRepository.findByStudentId(studentId)
-                    .orElse(null);
+            List<Installment> unpaid = installmentRepository.findUnpaidByStudentId(studentId);
 
             Map<String, Object> dueInfo = new HashMap<>();
             dueInfo.put("studentId", studentId);
 
-            if (fees == null) {
-                dueInfo.put("totalDueAmount", 0);
-                dueInfo.put("totalLateFee", 0);
-                dueInfo.put("grandTotal", 0);
-                dueInfo.put("dueInstallments", 0);
-                dueInfo.put("overdueInstallments", 0);
-                return dueInfo;
-            }
-
             LocalDate today = LocalDate.now();
             int totalDueAmount = 0;
             int totalLateFee = 0;
             int dueCount = 0;
             int overdueCount = 0;
 
-            for (Installment inst : fees.getInstallmentsList()) {
-                if (!"PAID".equalsIgnoreCase(inst.getStatus())) {
-                    dueCount++;
-                    totalDueAmount += inst.getDueAmount();
+            for (Installment inst : unpaid) {
+                dueCount++;
+                totalDueAmount += inst.getDueAmount();
 
-                    if (inst.getDueDate() != null && inst.getDueDate().isBefore(today)) {
-                        int daysOverdue = calculateDaysOverdue(inst.getDueDate());
-                        int lateFee = daysOverdue * 100;
-                        totalLateFee += lateFee;
-                        overdueCount++;
-                    }
+                if (inst.getDueDate() != null && inst.getDueDate().isBefore(today)) {
+                    int daysOverdue = calculateDaysOverdue(inst.getDueDate());
+                    int lateFee = daysOverdue * 100;
+                    totalLateFee += lateFee;
+                    overdueCount++;
                 }
             }
 
@@ -614,7 +573,7 @@ public class NotificationServiceImpl implements NotificationService {
         return notification;
     }
 
-    private NotificationEntity createOverdueNotification(StudentEntity student, FeesResponseDto fees, Installment installment) {
+    private NotificationEntity createOverdueNotification(StudentEntity student, FeesEntity fees, Installment installment) {
         NotificationEntity notification = new NotificationEntity();
         notification.setStudent(student);
         notification.setTitle("⚠️ URGENT: Payment Overdue");
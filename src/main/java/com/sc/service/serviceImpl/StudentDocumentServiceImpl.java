@@ -0,0 +1,153 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.entity.StudentDocumentEntity;
+import com.sc.enum_util.ImageOwnerType;
+import com.sc.enum_util.StudentDocumentType;
+import com.sc.repository.StudentDocumentRepository;
+import com.sc.service.ImageVariantService;
+import com.sc.service.StudentDocumentService;
+import com.sc.util.BinaryContentUtils;
+import com.sc.util.BlobStreamer;
+import com.sc.util.StoredContentInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+
+@Service
+public class StudentDocumentServiceImpl implements StudentDocumentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentDocumentServiceImpl.class);
+
+    private static final String CHUNK_SQL =
+            "SELECT SUBSTRING(content, ?, ?) FROM student_documents " +
+                    "WHERE student_std_id = ? AND document_type = ? AND content_hash = ?";
+
+    @Autowired
+    private StudentDocumentRepository documentRepository;
+
+    @Autowired
+    private BlobStreamer blobStreamer;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    // ============= 📝 STORE =============
+
+    @Override
+    @Transactional
+    public void storeDocument(Long stdId, StudentDocumentType type, MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            return;
+        }
+        storeDocument(stdId, type, file.getBytes(), file.getContentType());
+    }
+
+    /**
+     * Replace the document in the given slot. The previous row is removed with a
+     * bulk delete so its content is never read back into memory.
+     */
+    @Override
+    @Transactional
+    public void storeDocument(Long stdId, StudentDocumentType type, byte[] content, String contentType) {
+        if (content == null || content.length == 0) {
+            return;
+        }
+
+        documentRepository.deleteByStdIdAndDocumentType(stdId, type);
+
+        StudentDocumentEntity document = new StudentDocumentEntity();
+        document.setStdId(stdId);
+        document.setDocumentType(type);
+        // Trust the file signature over the client supplied type when we recognise it
+        MediaType detected = BinaryContentUtils.detectContentType(content, null);
+        document.setContentType(detected != null ? detected.toString()
+                : contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        document.setSizeBytes((long) content.length);
+        document.setContentHash(BinaryContentUtils.sha256Hex(content));
+        document.setContent(content);
+        documentRepository.save(document);
+
+        if (type == StudentDocumentType.PROFILE_IMAGE) {
+            imageVariantService.refreshVariants(ImageOwnerType.STUDENT, stdId, content);
+        }
+
+        logger.info("Stored {} for student {} ({} bytes)", type, stdId, content.length);
+    }
+
+    // ============= 🔍 METADATA =============
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<StudentDocumentType> getAvailableDocuments(Long stdId) {
+        return getAvailableDocuments(Collections.singletonList(stdId))
+                .getOrDefault(stdId, EnumSet.noneOf(StudentDocumentType.class));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Set<StudentDocumentType>> getAvailableDocuments(Collection<Long> stdIds) {
+        Map<Long, Set<StudentDocumentType>> available = new HashMap<>();
+        if (stdIds == null || stdIds.isEmpty()) {
+            return available;
+        }
+
+        for (StudentDocumentRepository.DocumentMetadata metadata : documentRepository.findMetadataByStdIds(stdIds)) {
+            if (metadata.getSizeBytes() != null && metadata.getSizeBytes() > 0) {
+                available.computeIfAbsent(metadata.getStdId(), k -> EnumSet.noneOf(StudentDocumentType.class))
+                        .add(metadata.getDocumentType());
+            }
+        }
+        return available;
+    }
+
+    // ============= 🖼️ CONTENT =============
+
+    @Override
+    @Transactional(readOnly = true)
+    public byte[] getDocumentContent(Long stdId, StudentDocumentType type) {
+        return documentRepository.findContent(stdId, type).orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StoredContentInfo getDocumentInfo(Long stdId, StudentDocumentType type) {
+        Optional<StudentDocumentRepository.DocumentMetadata> metadata = documentRepository.findMetadata(stdId, type);
+        if (metadata.isEmpty() || metadata.get().getSizeBytes() == null || metadata.get().getSizeBytes() == 0) {
+            return null;
+        }
+
+        String contentType = metadata.get().getContentType();
+        if (contentType == null) {
+            // Only rows StudentDocumentMigration has not reached yet - sniff without storing it
+            byte[] head = blobStreamer.readChunk(CHUNK_SQL,
+                    new Object[]{stdId, type.name(), metadata.get().getContentHash()},
+                    0, BinaryContentUtils.SIGNATURE_LENGTH);
+            contentType = BinaryContentUtils.detectContentType(head, MediaType.APPLICATION_OCTET_STREAM).toString();
+        }
+        return new StoredContentInfo(contentType, metadata.get().getSizeBytes(), metadata.get().getContentHash());
+    }
+
+    @Override
+    public void streamDocument(Long stdId, StudentDocumentType type, String contentHash, long offset, long length,
+                               OutputStream out) throws IOException {
+        blobStreamer.stream(CHUNK_SQL, new Object[]{stdId, type.name()}, contentHash, offset, length, out);
+    }
+
+    // ============= 🗑️ DELETE =============
+
+    @Override
+    @Transactional
+    public void deleteDocuments(Long stdId) {
+        int removed = documentRepository.deleteByStdId(stdId);
+        imageVariantService.deleteVariants(ImageOwnerType.STUDENT, stdId);
+        logger.info("Deleted {} documents for student {}", removed, stdId);
+    }
+}
@@ -0,0 +1,146 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.enum_util.ExportFormat;
+import com.sc.repository.StudentRepository;
+import com.sc.service.StudentExportService;
+import com.sc.util.CsvRowWriter;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class StudentExportServiceImpl implements StudentExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentExportServiceImpl.class);
+
+    // Rows kept in memory by SXSSF before flushing to its temp file
+    private static final int XLSX_WINDOW_SIZE = 100;
+
+    // Same order as StudentRepository.streamRoster; headers are accepted by the bulk import
+    private static final String[] HEADERS = {
+            "Std ID", "Student ID", "Roll Number", "First Name", "Middle Name", "Last Name",
+            "Gender", "Date Of Birth", "Class", "Section", "Academic Year", "Admission Date", "Status",
+            "Father Name", "Father Phone", "Mother Name", "Mother Phone", "Guardian Name", "Guardian Phone",
+            "Local Address", "Local City"
+    };
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    // ============= 📤 EXPORT ROSTER =============
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportRoster(String className, String section, String status, ExportFormat format, OutputStream out)
+            throws IOException {
+        long start = System.currentTimeMillis();
+        int rows;
+        try (Stream<Object[]> roster = studentRepository.streamRoster(blankToNull(className),
+                blankToNull(section), blankToNull(status))) {
+            rows = format == ExportFormat.XLSX
+                    ? writeXlsx(roster.iterator(), out)
+                    : writeCsv(roster.iterator(), out);
+        }
+        logger.info("Exported {} students as {} (class={}, section={}, status={}) in {} ms",
+                rows, format, className, section, status, System.currentTimeMillis() - start);
+    }
+
+    private int writeCsv(Iterator<Object[]> roster, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        CsvRowWriter csv = new CsvRowWriter(writer);
+        csv.writeByteOrderMark();
+        csv.writeRow((Object[]) HEADERS);
+
+        int count = 0;
+        while (roster.hasNext()) {
+            Object[] row = roster.next();
+            for (int i = 0; i < row.length; i++) {
+                if (row[i] instanceof Date date) {
+                    row[i] = toLocalDate(date);
+                }
+            }
+            csv.writeRow(row);
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private int writeXlsx(Iterator<Object[]> roster, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_WINDOW_SIZE);
+        workbook.setCompressTempFiles(true);
+        try {
+            SXSSFSheet sheet = workbook.createSheet("Students");
+
+            CellStyle headerStyle = workbook.createCellStyle();
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            headerStyle.setFont(bold);
+
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                Cell cell = header.createCell(i);
+                cell.setCellValue(HEADERS[i]);
+                cell.setCellStyle(headerStyle);
+            }
+            sheet.createFreezePane(0, 1);
+
+            int rowIndex = 1;
+            while (roster.hasNext()) {
+                Object[] values = roster.next();
+                Row row = sheet.createRow(rowIndex++);
+                for (int i = 0; i < values.length; i++) {
+                    Object value = values[i];
+                    if (value == null) {
+                        continue;
+                    }
+                    Cell cell = row.createCell(i);
+                    if (value instanceof Number number) {
+                        cell.setCellValue(number.doubleValue());
+                    } else if (value instanceof Date date) {
+                        cell.setCellValue(toLocalDate(date));
+                        cell.setCellStyle(dateStyle);
+                    } else {
+                        cell.setCellValue(value.toString());
+                    }
+                }
+            }
+
+            workbook.write(out);
+            out.flush();
+            return rowIndex - 1;
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    // ============= 🔧 HELPERS =============
+
+    private static LocalDate toLocalDate(Date date) {
+        if (date instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,491 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.dto.response.StudentImportResultDto;
+import com.sc.repository.StudentRepository;
+import com.sc.service.StudentImportService;
+import com.sc.service.StudentSearchService;
+import com.sc.service.StudentService;
+import com.sc.util.CsvRowReader;
+import com.sc.util.CsvRowWriter;
+import com.sc.util.StudentIdGenerator;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+@Service
+public class StudentImportServiceImpl implements StudentImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentImportServiceImpl.class);
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_FIELD_LENGTH = 255;
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+
+    // Importable columns; the header is matched case-insensitively ignoring spaces, '_' and '-'
+    private enum ImportField {
+        STUDENT_ID("student_id", false, false),
+        STUDENT_ROLL_NUMBER("student_roll_number", false, false, "rollnumber", "roll"),
+        FIRST_NAME("first_name", true, false),
+        MIDDLE_NAME("middle_name", false, false),
+        LAST_NAME("last_name", false, false),
+        STUDENT_PASSWORD("student_password", false, false, "password"),
+        DATE_OF_BIRTH("date_of_birth", false, true, "dob"),
+        GENDER("gender", false, false),
+        BLOOD_GROUP("blood_group", false, false),
+        AADHAR_NUMBER("aadhar_number", false, false, "aadhar"),
+        CASTE_CATEGORY("caste_category", false, false),
+        MEDICAL_INFO("medical_info", false, false),
+        LOCAL_ADDRESS("local_address", false, false),
+        LOCAL_CITY("local_city", false, false),
+        LOCAL_STATE("local_state", false, false),
+        LOCAL_PINCODE("local_pincode", false, false),
+        PERMANENT_ADDRESS("permanent_address", false, false),
+        PERMANENT_CITY("permanent_city", false, false),
+        PERMANENT_STATE("permanent_state", false, false),
+        PERMANENT_PINCODE("permanent_pincode", false, false),
+        FATHER_NAME("father_name", false, false),
+        FATHER_OCCUPATION("father_occupation", false, false),
+        FATHER_PHONE("father_phone", false, false),
+        FATHER_EMAIL("father_email", false, false),
+        MOTHER_NAME("mother_name", false, false),
+        MOTHER_OCCUPATION("mother_occupation", false, false),
+        MOTHER_PHONE("mother_phone", false, false),
+        MOTHER_EMAIL("mother_email", false, false),
+        GUARDIAN_NAME("guardian_name", false, false),
+        GUARDIAN_RELATION("guardian_relation", false, false),
+        GUARDIAN_PHONE("guardian_phone", false, false),
+        GUARDIAN_EMAIL("guardian_email", false, false),
+        EMERGENCY_CONTACT("emergency_contact", false, false),
+        EMERGENCY_RELATION("emergency_relation", false, false),
+        CURRENT_CLASS("current_class", false, false, "class"),
+        SECTION("section", false, false),
+        ACADEMIC_YEAR("academic_year", false, false),
+        ADMISSION_DATE("admission_date", false, true),
+        CLASS_TEACHER("class_teacher", false, false),
+        PREVIOUS_SCHOOL("previous_school", false, false),
+        STUDENT_CREATE_BY("student_create_by", false, false),
+        REFERENCE_BY("reference_by", false, false),
+        STUDENT_REFERRAL("student_referral", false, false),
+        STATUS("status", false, false);
+
+        final String column;
+        final boolean required;
+        final boolean date;
+        final String[] aliases;
+
+        ImportField(String column, boolean required, boolean date, String... aliases) {
+            this.column = column;
+            this.required = required;
+            this.date = date;
+            this.aliases = aliases;
+        }
+    }
+
+    private static final Map<String, ImportField> HEADER_LOOKUP = new HashMap<>();
+    private static final String INSERT_SQL;
+
+    static {
+        StringJoiner columns = new StringJoiner(", ");
+        StringJoiner params = new StringJoiner(", ");
+        for (ImportField field : ImportField.values()) {
+            HEADER_LOOKUP.put(normalizeHeader(field.name()), field);
+            HEADER_LOOKUP.put(normalizeHeader(field.column), field);
+            for (String alias : field.aliases) {
+                HEADER_LOOKUP.put(alias, field);
+            }
+            columns.add(field.column);
+            params.add("?");
+        }
+        columns.add("created_by").add("created_at").add("updated_at");
+        params.add("?").add("?").add("?");
+        INSERT_SQL = "INSERT INTO students (" + columns + ") VALUES (" + params + ")";
+    }
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentSearchService studentSearchService;
+
+    @Autowired
+    private StudentIdGenerator studentIdGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // ============= 📥 IMPORT STUDENTS =============
+
+    @Override
+    public StudentImportResultDto importStudents(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Import file is empty");
+        }
+        String fileName = file.getOriginalFilename() != null
+                ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+        boolean xlsx = fileName.endsWith(".xlsx");
+        if (!xlsx && !fileName.endsWith(".csv")) {
+            throw new IllegalArgumentException("Only .xlsx and .csv files are supported");
+        }
+
+        long start = System.currentTimeMillis();
+        ImportRun run = new ImportRun();
+        try {
+            if (xlsx) {
+                readXlsx(file, run);
+            } else {
+                readCsv(file, run);
+            }
+            run.flush();
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error importing students from {}: {}", fileName, e.getMessage(), e);
+            throw new RuntimeException("Failed to import students: " + e.getMessage());
+        } finally {
+            // Rows committed before a failure are live, so derived state must catch up either way
+            if (run.result.getImportedCount() > 0) {
+                refreshDerivedState();
+            }
+        }
+
+        run.result.setDurationMs(System.currentTimeMillis() - start);
+        logger.info("Student import of {}: {} rows, {} imported, {} failed in {} ms", fileName,
+                run.result.getTotalRows(), run.result.getImportedCount(), run.result.getFailedCount(),
+                run.result.getDurationMs());
+        return run.result;
+    }
+
+    private void refreshDerivedState() {
+        try {
+            studentSearchService.rebuild();
+        } catch (Exception e) {
+            logger.error("Failed to rebuild student search index after import: {}", e.getMessage());
+        }
+        studentService.evictStudentStatistics();
+    }
+
+    // ============= 📄 READERS =============
+
+    private void readCsv(MultipartFile file, ImportRun run) throws IOException {
+        try (Reader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            CsvRowReader csv = new CsvRowReader(reader);
+            List<String> cells;
+            int rowNumber = 0;
+            while ((cells = csv.readRow()) != null) {
+                // Our own exports prefix formula-like text with '; strip it so a re-import round-trips
+                cells.replaceAll(cell -> cell != null ? CsvRowWriter.unguardFormula(cell) : null);
+                run.accept(++rowNumber, cells);
+            }
+        }
+    }
+
+    // Streams the first sheet through POI's SAX handler; only one row is materialised at a time
+    private void readXlsx(MultipartFile file, ImportRun run) throws Exception {
+        Path tempFile = Files.createTempFile("student-import-", ".xlsx");
+        try {
+            file.transferTo(tempFile);
+            try (OPCPackage pkg = OPCPackage.open(tempFile.toFile(), PackageAccess.READ)) {
+                XSSFReader reader = new XSSFReader(pkg);
+                ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+                Iterator<InputStream> sheets = reader.getSheetsData();
+                if (!sheets.hasNext()) {
+                    throw new IllegalArgumentException("Workbook has no sheets");
+                }
+                try (InputStream sheet = sheets.next()) {
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null, strings,
+                            new SheetRowHandler(run), new IsoDateFormatter(), false));
+                    parser.parse(new InputSource(sheet));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static final class SheetRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final ImportRun run;
+        private final List<String> cells = new ArrayList<>();
+
+        SheetRowHandler(ImportRun run) {
+            this.run = run;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            run.accept(rowNum + 1, cells);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // Empty cells are omitted from the sheet XML, so place values by column index
+            int column = new CellReference(cellReference).getCol();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue);
+        }
+    }
+
+    // Renders date-formatted cells as yyyy-MM-dd regardless of the sheet's display format
+    private static final class IsoDateFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().toString();
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString, use1904Windowing);
+        }
+    }
+
+    // ============= ✅ VALIDATION & BATCHING =============
+
+    // State of one import: header mapping, known keys and the pending insert batch
+    private final class ImportRun {
+
+        final StudentImportResultDto result = new StudentImportResultDto();
+        final Set<String> knownStudentIds = new HashSet<>();
+        final Set<String> knownRollNumbers = new HashSet<>();
+        final List<PendingRow> pending = new ArrayList<>(BATCH_SIZE);
+        ImportField[] columnFields;
+
+        ImportRun() {
+            for (Object[] keys : studentRepository.findAllStudentKeys()) {
+                knownStudentIds.add((String) keys[0]);
+                knownRollNumbers.add((String) keys[1]);
+            }
+        }
+
+        void accept(int rowNumber, List<String> cells) {
+            if (columnFields == null) {
+                readHeader(cells);
+                return;
+            }
+            if (cells.stream().allMatch(cell -> cell == null || cell.isBlank())) {
+                return;
+            }
+            result.setTotalRows(result.getTotalRows() + 1);
+
+            Object[] values = new Object[ImportField.values().length];
+            for (int i = 0; i < cells.size() && i < columnFields.length; i++) {
+                ImportField field = columnFields[i];
+                String cell = cells.get(i) != null ? cells.get(i).trim() : "";
+                if (field != null && !cell.isEmpty()) {
+                    values[field.ordinal()] = cell;
+                }
+            }
+
+            String error = validate(values);
+            if (error == null) {
+                error = assignMissingIds(values);
+            }
+            String studentId = (String) values[ImportField.STUDENT_ID.ordinal()];
+            if (error != null) {
+                result.addError(rowNumber, studentId, error);
+                return;
+            }
+
+            String rollNumber = (String) values[ImportField.STUDENT_ROLL_NUMBER.ordinal()];
+            if (!knownStudentIds.add(studentId)) {
+                result.addError(rowNumber, studentId, "Student ID already exists");
+                return;
+            }
+            if (!knownRollNumbers.add(rollNumber)) {
+                knownStudentIds.remove(studentId);
+                result.addError(rowNumber, studentId, "Roll number already exists");
+                return;
+            }
+
+            pending.add(new PendingRow(rowNumber, studentId, values));
+            if (pending.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void readHeader(List<String> cells) {
+            columnFields = new ImportField[cells.size()];
+            Set<ImportField> present = EnumSet.noneOf(ImportField.class);
+            for (int i = 0; i < cells.size(); i++) {
+                ImportField field = cells.get(i) != null ? HEADER_LOOKUP.get(normalizeHeader(cells.get(i))) : null;
+                if (field != null && present.add(field)) {
+                    columnFields[i] = field;
+                }
+            }
+            for (ImportField field : ImportField.values()) {
+                if (field.required && !present.contains(field)) {
+                    throw new IllegalArgumentException("Missing required column: " + field.column);
+                }
+            }
+        }
+
+        // Blank IDs are drawn from the same sequences as single admissions; supplied ones in the
+        // generated namespace move those sequences past them. Returns an error message or null
+        private String assignMissingIds(Object[] values) {
+            String currentClass = (String) values[ImportField.CURRENT_CLASS.ordinal()];
+            String section = (String) values[ImportField.SECTION.ordinal()];
+
+            String studentId = (String) values[ImportField.STUDENT_ID.ordinal()];
+            if (studentId != null) {
+                studentIdGenerator.reserveStudentId(studentId);
+            } else {
+                studentId = studentIdGenerator.generateUniqueStudentId();
+                if (knownStudentIds.contains(studentId)) {
+                    // Clashes with a row stored outside the sequence: move past the table and retry once
+                    studentIdGenerator.resyncStudentIds();
+                    studentId = studentIdGenerator.generateUniqueStudentId();
+                }
+                values[ImportField.STUDENT_ID.ordinal()] = studentId;
+            }
+
+            String rollNumber = (String) values[ImportField.STUDENT_ROLL_NUMBER.ordinal()];
+            if (rollNumber != null) {
+                studentIdGenerator.reserveRollNumber(rollNumber, currentClass, section);
+            } else {
+                if (currentClass == null || section == null) {
+                    return "Missing student_roll_number (class and section are needed to generate one)";
+                }
+                rollNumber = studentIdGenerator.generateUniqueRollNumber(currentClass, section);
+                if (knownRollNumbers.contains(rollNumber)) {
+                    studentIdGenerator.resyncRollNumbers(currentClass, section);
+                    rollNumber = studentIdGenerator.generateUniqueRollNumber(currentClass, section);
+                }
+                values[ImportField.STUDENT_ROLL_NUMBER.ordinal()] = rollNumber;
+            }
+            return null;
+        }
+
+        // Normalises values in place; returns an error message or null
+        private String validate(Object[] values) {
+            for (ImportField field : ImportField.values()) {
+                String value = (String) values[field.ordinal()];
+                if (value == null) {
+                    if (field.required) {
+                        return "Missing " + field.column;
+                    }
+                    continue;
+                }
+                if (value.length() > MAX_FIELD_LENGTH) {
+                    return field.column + " exceeds " + MAX_FIELD_LENGTH + " characters";
+                }
+                if (field.date) {
+                    LocalDate date = parseDate(value);
+                    if (date == null) {
+                        return "Invalid " + field.column + ": " + value;
+                    }
+                    values[field.ordinal()] = java.sql.Date.valueOf(date);
+                }
+            }
+            if (values[ImportField.STATUS.ordinal()] == null) {
+                values[ImportField.STATUS.ordinal()] = "Active";
+            }
+            return null;
+        }
+
+        // Inserts the pending rows as one JDBC batch in one transaction. If the batch fails
+        // (e.g. a concurrent insert took a key), rows are retried singly to pinpoint the failures.
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            List<Object[]> batch = new ArrayList<>(pending.size());
+            for (PendingRow row : pending) {
+                batch.add(withAudit(row.values(), now));
+            }
+
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            try {
+                tx.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch));
+                result.setImportedCount(result.getImportedCount() + pending.size());
+            } catch (DataAccessException batchError) {
+                logger.warn("Import batch of {} rows failed, retrying row by row: {}",
+                        pending.size(), batchError.getMessage());
+                for (int i = 0; i < pending.size(); i++) {
+                    PendingRow row = pending.get(i);
+                    Object[] args = batch.get(i);
+                    try {
+                        tx.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, args));
+                        result.setImportedCount(result.getImportedCount() + 1);
+                    } catch (DataAccessException rowError) {
+                        result.addError(row.rowNumber(), row.studentId(),
+                                "Insert failed: " + rowError.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+            pending.clear();
+        }
+    }
+
+    private record PendingRow(int rowNumber, String studentId, Object[] values) {
+    }
+
+    // ============= 🔧 HELPERS =============
+
+    private static Object[] withAudit(Object[] values, Timestamp now) {
+        Object[] args = Arrays.copyOf(values, values.length + 3);
+        args[values.length] = "System";
+        args[values.length + 1] = now;
+        args[values.length + 2] = now;
+        return args;
+    }
+
+    private static LocalDate parseDate(String value) {
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(value, format);
+            } catch (DateTimeParseException ignored) {
+                // try the next format
+            }
+        }
+        return null;
+    }
+
+    private static String normalizeHeader(String header) {
+        return header.trim().toLowerCase(Locale.ROOT).replaceAll("[\\s_\\-]", "");
+    }
+}
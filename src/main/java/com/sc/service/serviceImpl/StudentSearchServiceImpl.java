@@ -0,0 +1,452 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.dto.response.StudentSearchResultDto;
+import com.sc.entity.StudentEntity;
+import com.sc.repository.StudentRepository;
+import com.sc.service.StudentSearchService;
+import com.sc.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory typeahead index over student names, father name, student ID and roll number.
+// Terms of 3+ characters are resolved through a trigram index (substring match), shorter
+// terms through a sorted token map (prefix match); candidates are then verified and ranked.
+@Service
+public class StudentSearchServiceImpl implements StudentSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentSearchServiceImpl.class);
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int MAX_LIMIT = 50;
+
+    // Per-term scores; a student must match every term of the query
+    private static final int SCORE_ID_EXACT = 100;
+    private static final int SCORE_NAME_EXACT = 60;
+    private static final int SCORE_ID_PREFIX = 50;
+    private static final int SCORE_NAME_PREFIX = 40;
+    private static final int SCORE_FATHER_EXACT = 30;
+    private static final int SCORE_FATHER_PREFIX = 20;
+    private static final int SCORE_SUBSTRING = 10;
+
+    private static final Comparator<ScoredEntry> RANKING = Comparator
+            .comparingInt(ScoredEntry::score).reversed()
+            .thenComparing(scored -> scored.entry().fullName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(scored -> scored.entry().stdId);
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildLock = new Object();
+
+    // Guarded by lock
+    private Map<Long, Entry> entries = new HashMap<>();
+    private Map<String, Set<Long>> grams = new HashMap<>();
+    private NavigableMap<String, Set<Long>> tokens = new TreeMap<>();
+    // Non-null while a rebuild is reading its snapshot: changes that may be missing from it
+    private List<PendingChange> pendingChanges;
+
+    // ============= 🔄 BUILD =============
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("Failed to build student search index: {}", e.getMessage(), e);
+        }
+    }
+
+    // The snapshot is read without the index lock so searches keep working. Changes committed
+    // meanwhile are recorded and replayed onto the new maps before they are swapped in.
+    @Override
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.currentTimeMillis();
+            lock.writeLock().lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Map<Long, Entry> newEntries = new HashMap<>();
+            Map<String, Set<Long>> newGrams = new HashMap<>();
+            NavigableMap<String, Set<Long>> newTokens = new TreeMap<>();
+            try {
+                for (Object[] row : studentRepository.findSearchIndexRows()) {
+                    Entry entry = new Entry((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                            (String) row[4], (String) row[5], (String) row[6], (String) row[7], (String) row[8],
+                            (String) row[9]);
+                    newEntries.put(entry.stdId, entry);
+                    addPostings(entry, newGrams, newTokens);
+                }
+            } catch (RuntimeException e) {
+                // Keep serving the current index, which already has every change applied
+                lock.writeLock().lock();
+                try {
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            int replayed;
+            lock.writeLock().lock();
+            try {
+                replayed = pendingChanges.size();
+                for (PendingChange change : pendingChanges) {
+                    apply(change, newEntries, newGrams, newTokens);
+                }
+                pendingChanges = null;
+                entries = newEntries;
+                grams = newGrams;
+                tokens = newTokens;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Student search index built: {} students, {} grams, {} changes replayed in {} ms",
+                    newEntries.size(), newGrams.size(), replayed, System.currentTimeMillis() - start);
+        }
+    }
+
+    // ============= 🔄 MAINTENANCE =============
+    // Applied after commit so rolled-back changes never reach the index
+
+    @Override
+    public void index(StudentEntity student) {
+        if (student == null || student.getStdId() == null) {
+            return;
+        }
+        Entry entry = Entry.of(student);
+        TransactionCallbacks.afterCommit(() -> put(entry));
+    }
+
+    @Override
+    public void indexAll(Collection<StudentEntity> students) {
+        List<Entry> batch = new ArrayList<>(students.size());
+        for (StudentEntity student : students) {
+            if (student != null && student.getStdId() != null) {
+                batch.add(Entry.of(student));
+            }
+        }
+        TransactionCallbacks.afterCommit(() -> batch.forEach(this::put));
+    }
+
+    @Override
+    public void remove(Long stdId) {
+        TransactionCallbacks.afterCommit(() -> record(new PendingChange(stdId, null)));
+    }
+
+    private void put(Entry entry) {
+        record(new PendingChange(entry.stdId, entry));
+    }
+
+    private void record(PendingChange change) {
+        lock.writeLock().lock();
+        try {
+            apply(change, entries, grams, tokens);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Replaces or removes one student's entry; replaying the same change twice is harmless
+    private static void apply(PendingChange change, Map<Long, Entry> entryMap, Map<String, Set<Long>> gramMap,
+                              NavigableMap<String, Set<Long>> tokenMap) {
+        Entry previous = change.entry() != null
+                ? entryMap.put(change.stdId(), change.entry())
+                : entryMap.remove(change.stdId());
+        removePostings(previous, gramMap, tokenMap);
+        if (change.entry() != null) {
+            addPostings(change.entry(), gramMap, tokenMap);
+        }
+    }
+
+    private static void addPostings(Entry entry, Map<String, Set<Long>> gramMap,
+                                    NavigableMap<String, Set<Long>> tokenMap) {
+        for (String token : entry.allTokens()) {
+            tokenMap.computeIfAbsent(token, k -> new HashSet<>()).add(entry.stdId);
+            for (String gram : gramsOf(token)) {
+                gramMap.computeIfAbsent(gram, k -> new HashSet<>()).add(entry.stdId);
+            }
+        }
+    }
+
+    private static void removePostings(Entry entry, Map<String, Set<Long>> gramMap,
+                                       NavigableMap<String, Set<Long>> tokenMap) {
+        if (entry == null) {
+            return;
+        }
+        for (String token : entry.allTokens()) {
+            removePosting(tokenMap, token, entry.stdId);
+            for (String gram : gramsOf(token)) {
+                removePosting(gramMap, gram, entry.stdId);
+            }
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, String key, Long stdId) {
+        Set<Long> ids = postings.get(key);
+        if (ids != null) {
+            ids.remove(stdId);
+            if (ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    // ============= 🔍 TYPEAHEAD =============
+
+    @Override
+    public List<StudentSearchResultDto> typeahead(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = null;
+            for (String term : terms) {
+                candidates = intersect(candidates, candidatesFor(term));
+                if (candidates.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            // Min-heap of the best max entries seen so far
+            PriorityQueue<ScoredEntry> top = new PriorityQueue<>(max + 1, RANKING.reversed());
+            for (Long stdId : candidates) {
+                Entry entry = entries.get(stdId);
+                int score = entry != null ? entry.score(terms) : 0;
+                if (score > 0) {
+                    top.offer(new ScoredEntry(entry, score));
+                    if (top.size() > max) {
+                        top.poll();
+                    }
+                }
+            }
+
+            List<ScoredEntry> ranked = new ArrayList<>(top);
+            ranked.sort(RANKING);
+            List<StudentSearchResultDto> results = new ArrayList<>(ranked.size());
+            for (ScoredEntry scored : ranked) {
+                results.add(scored.entry().toDto(scored.score()));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> candidatesFor(String term) {
+        if (term.length() < GRAM_LENGTH) {
+            Set<Long> ids = new HashSet<>();
+            for (Set<Long> posting : tokens.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                ids.addAll(posting);
+            }
+            return ids;
+        }
+
+        List<Set<Long>> postings = new ArrayList<>();
+        for (String gram : gramsOf(term)) {
+            Set<Long> posting = grams.get(gram);
+            if (posting == null) {
+                return Set.of();
+            }
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<Long> ids = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !ids.isEmpty(); i++) {
+            ids.retainAll(postings.get(i));
+        }
+        return ids;
+    }
+
+    private static Set<Long> intersect(Set<Long> current, Set<Long> next) {
+        if (current == null) {
+            return next;
+        }
+        current.retainAll(next);
+        return current;
+    }
+
+    // ============= 🔧 HELPERS =============
+
+    private static List<String> tokenize(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>();
+        for (String part : value.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (!part.isEmpty()) {
+                result.add(part);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> gramsOf(String token) {
+        if (token.length() < GRAM_LENGTH) {
+            return Set.of();
+        }
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+            result.add(token.substring(i, i + GRAM_LENGTH));
+        }
+        return result;
+    }
+
+    private record ScoredEntry(Entry entry, int score) {
+    }
+
+    // entry is null for a removal
+    private record PendingChange(Long stdId, Entry entry) {
+    }
+
+    // Immutable snapshot of the searchable columns of one student
+    private static final class Entry {
+
+        final Long stdId;
+        final String fullName;
+        final String fatherName;
+        final String studentId;
+        final String rollNumber;
+        final String currentClass;
+        final String section;
+        final String status;
+
+        final List<String> nameTokens;
+        final List<String> fatherTokens;
+        final String studentIdKey;
+        final String rollNumberKey;
+
+        Entry(Long stdId, String firstName, String middleName, String lastName, String fatherName,
+              String studentId, String rollNumber, String currentClass, String section, String status) {
+            this.stdId = stdId;
+            this.fullName = joinName(firstName, middleName, lastName);
+            this.fatherName = fatherName;
+            this.studentId = studentId;
+            this.rollNumber = rollNumber;
+            this.currentClass = currentClass;
+            this.section = section;
+            this.status = status;
+            this.nameTokens = tokenize(fullName);
+            this.fatherTokens = tokenize(fatherName);
+            this.studentIdKey = studentId != null ? studentId.toLowerCase(Locale.ROOT) : "";
+            this.rollNumberKey = rollNumber != null ? rollNumber.toLowerCase(Locale.ROOT) : "";
+        }
+
+        static Entry of(StudentEntity s) {
+            return new Entry(s.getStdId(), s.getFirstName(), s.getMiddleName(), s.getLastName(),
+                    s.getFatherName(), s.getStudentId(), s.getStudentRollNumber(), s.getCurrentClass(),
+                    s.getSection(), s.getStatus());
+        }
+
+        Set<String> allTokens() {
+            Set<String> all = new HashSet<>(nameTokens);
+            all.addAll(fatherTokens);
+            if (!studentIdKey.isEmpty()) {
+                all.add(studentIdKey);
+            }
+            if (!rollNumberKey.isEmpty()) {
+                all.add(rollNumberKey);
+            }
+            return all;
+        }
+
+        int score(List<String> terms) {
+            int total = 0;
+            for (String term : terms) {
+                int termScore = score(term);
+                if (termScore == 0) {
+                    return 0;
+                }
+                total += termScore;
+            }
+            return total;
+        }
+
+        private int score(String term) {
+            if (term.equals(studentIdKey) || term.equals(rollNumberKey)) {
+                return SCORE_ID_EXACT;
+            }
+            if (nameTokens.contains(term)) {
+                return SCORE_NAME_EXACT;
+            }
+            if (studentIdKey.startsWith(term) || rollNumberKey.startsWith(term)) {
+                return SCORE_ID_PREFIX;
+            }
+            if (anyStartsWith(nameTokens, term)) {
+                return SCORE_NAME_PREFIX;
+            }
+            if (fatherTokens.contains(term)) {
+                return SCORE_FATHER_EXACT;
+            }
+            if (anyStartsWith(fatherTokens, term)) {
+                return SCORE_FATHER_PREFIX;
+            }
+            if (anyContains(nameTokens, term) || anyContains(fatherTokens, term)
+                    || studentIdKey.contains(term) || rollNumberKey.contains(term)) {
+                return SCORE_SUBSTRING;
+            }
+            return 0;
+        }
+
+        StudentSearchResultDto toDto(int score) {
+            StudentSearchResultDto dto = new StudentSearchResultDto();
+            dto.setStdId(stdId);
+            dto.setStudentId(studentId);
+            dto.setRollNumber(rollNumber);
+            dto.setFullName(fullName);
+            dto.setFatherName(fatherName);
+            dto.setCurrentClass(currentClass);
+            dto.setSection(section);
+            dto.setStatus(status);
+            dto.setScore(score);
+            return dto;
+        }
+
+        private static boolean anyStartsWith(List<String> values, String term) {
+            for (String value : values) {
+                if (value.startsWith(term)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean anyContains(List<String> values, String term) {
+            for (String value : values) {
+                if (value.contains(term)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String joinName(String... parts) {
+            StringJoiner joiner = new StringJoiner(" ");
+            for (String part : parts) {
+                if (part != null && !part.isBlank()) {
+                    joiner.add(part.trim());
+                }
+            }
+            return joiner.toString();
+        }
+    }
+}
@@ -2,21 +2,35 @@ package com.sc.service.serviceImpl;
 
 import com.sc.dto.request.FeesRequestDto;
 import com.sc.dto.request.StudentRequestDto;
+import com.sc.dto.response.CursorPageResponse;
 import com.sc.dto.response.FeesResponseDto;
 import com.sc.dto.response.StudentResponseDto;
 import com.sc.entity.StudentEntity;
+import com.sc.enum_util.StudentDocumentType;
 import com.sc.repository.StudentRepository;
 import com.sc.service.FeesService;
+import com.sc.service.StudentDocumentService;
+import com.sc.service.StudentSearchService;
 import com.sc.service.StudentService;
+import com.sc.util.KeysetCursor;
+import com.sc.util.StudentIdGenerator;
+import com.sc.util.TransactionCallbacks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,50 +38,109 @@ public class StudentServiceImpl implements StudentService {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentServiceImpl.class);
 
+    private static final int MAX_PAGE_SIZE = 500;
+    // Class roster cursor groups: students without a section sort before every section
+    private static final String NO_SECTION = "N";
+    private static final String IN_SECTION = "S";
+    private static final long STATISTICS_TTL_MS = 30_000;
+
     @Autowired
     private StudentRepository studentRepository;
 
     @Autowired
     private FeesService feesService;
 
+    @Autowired
+    private StudentDocumentService studentDocumentService;
+
+    @Autowired
+    private StudentSearchService studentSearchService;
+
+    @Autowired
+    private StudentIdGenerator studentIdGenerator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private volatile StatisticsSnapshot statisticsCache;
+    private final AtomicLong statisticsGeneration = new AtomicLong();
+
     // ============= 📝 CREATE STUDENT =============
 
     @Override
-    @Transactional
     public StudentResponseDto createStudent(StudentRequestDto requestDto) {
         logger.info("Creating student: {}", requestDto.getStudentId());
 
+        boolean generatedId = isBlank(requestDto.getStudentId());
+        boolean generatedRollNumber = isBlank(requestDto.getStudentRollNumber());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
         try {
-            // 1. Validate student ID and roll number
-            if (studentRepository.existsByStudentId(requestDto.getStudentId())) {
-                throw new IllegalArgumentException("Student ID already exists");
+            try {
+                return transaction.execute(status -> insertStudent(requestDto));
+            } catch (DataIntegrityViolationException e) {
+                if (!generatedId && !generatedRollNumber) {
+                    throw e;
+                }
+                // A generated ID clashed with a row stored outside the sequence: move past the table and retry once
+                logger.warn("Generated student ID / roll number clashed, retrying: {}", e.getMostSpecificCause().getMessage());
+                if (generatedId) {
+                    studentIdGenerator.resyncStudentIds();
+                    requestDto.setStudentId(null);
+                }
+                if (generatedRollNumber) {
+                    studentIdGenerator.resyncRollNumbers(requestDto.getCurrentClass(), requestDto.getSection());
+                    requestDto.setStudentRollNumber(null);
+                }
+                return transaction.execute(status -> insertStudent(requestDto));
             }
-            if (studentRepository.existsByStudentRollNumber(requestDto.getStudentRollNumber())) {
-                throw new IllegalArgumentException("Roll number already exists");
-            }
-
-            // 2. Convert DTO to Entity
-            StudentEntity student = convertToEntity(requestDto);
+        } catch (Exception e) {
+            logger.error("Error creating student: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to create student: " + e.getMessage());
+        }
+    }
 
-            // 3. Process images (MultipartFile to byte[])
-            processImages(student, requestDto);
+    private StudentResponseDto insertStudent(StudentRequestDto requestDto) {
+        // 1. Generate missing IDs from the sequences; validate IDs supplied by the caller
+        if (isBlank(requestDto.getStudentId())) {
+            requestDto.setStudentId(studentIdGenerator.generateUniqueStudentId());
+        } else if (studentRepository.existsByStudentId(requestDto.getStudentId())) {
+            throw new IllegalArgumentException("Student ID already exists");
+        } else {
+            studentIdGenerator.reserveStudentId(requestDto.getStudentId());
+        }
+        if (isBlank(requestDto.getStudentRollNumber())) {
+            requestDto.setStudentRollNumber(studentIdGenerator.generateUniqueRollNumber(
+                    requestDto.getCurrentClass(), requestDto.getSection()));
+        } else if (studentRepository.existsByStudentRollNumber(requestDto.getStudentRollNumber())) {
+            throw new IllegalArgumentException("Roll number already exists");
+        } else {
+            studentIdGenerator.reserveRollNumber(requestDto.getStudentRollNumber(),
+                    requestDto.getCurrentClass(), requestDto.getSection());
+        }
 
-            // 4. Save student
-            StudentEntity savedStudent = studentRepository.save(student);
-            logger.info("Student saved with ID: {}", savedStudent.getStdId());
+        // 2. Convert DTO to Entity
+        StudentEntity student = convertToEntity(requestDto);
 
-            // 5. Check if fees data exists
-            if (hasFeesData(requestDto)) {
-                createFeesForStudent(savedStudent.getStdId(), requestDto);
-            }
+        // 3. Save student (IDENTITY: the insert, and any unique-key clash, happens here)
+        StudentEntity savedStudent = studentRepository.save(student);
+        logger.info("Student saved with ID: {}", savedStudent.getStdId());
+        studentSearchService.index(savedStudent);
+        invalidateStatistics();
 
-            // 6. Return response with RELATIVE URLs
-            return convertToDto(savedStudent);
+        // 4. Store uploaded documents against the new stdId
+        try {
+            processImages(savedStudent.getStdId(), requestDto);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
 
-        } catch (Exception e) {
-            logger.error("Error creating student: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to create student: " + e.getMessage());
+        // 5. Check if fees data exists
+        if (hasFeesData(requestDto)) {
+            createFeesForStudent(savedStudent.getStdId(), requestDto);
         }
+
+        // 6. Return response with RELATIVE URLs
+        return convertToDto(savedStudent);
     }
 
     // ============= 🔍 GET ALL STUDENTS =============
@@ -75,9 +148,7 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public List<StudentResponseDto> getAllStudents() {
         try {
-            return studentRepository.findAll().stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            return convertToDtoList(studentRepository.findAll());
         } catch (Exception e) {
             logger.error("Error getting all students: {}", e.getMessage());
             throw new RuntimeException("Failed to get students: " + e.getMessage());
@@ -129,9 +200,7 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public List<StudentResponseDto> getStudentsByClass(String className) {
         try {
-            return studentRepository.findByCurrentClass(className).stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            return convertToDtoList(studentRepository.findByCurrentClass(className));
         } catch (Exception e) {
             logger.error("Error getting students by class {}: {}", className, e.getMessage());
             throw new RuntimeException("Failed to get students: " + e.getMessage());
@@ -143,9 +212,7 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public List<StudentResponseDto> getStudentsByClassAndSection(String className, String section) {
         try {
-            return studentRepository.findByCurrentClassAndSection(className, section).stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            return convertToDtoList(studentRepository.findByCurrentClassAndSection(className, section));
         } catch (Exception e) {
             logger.error("Error getting students by class {} and section {}: {}", className, section, e.getMessage());
             throw new RuntimeException("Failed to get students: " + e.getMessage());
@@ -157,9 +224,7 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public List<StudentResponseDto> getStudentsByStatus(String status) {
         try {
-            return studentRepository.findByStatus(status).stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            return convertToDtoList(studentRepository.findByStatus(status));
         } catch (Exception e) {
             logger.error("Error getting students by status {}: {}", status, e.getMessage());
             throw new RuntimeException("Failed to get students: " + e.getMessage());
@@ -171,9 +236,7 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public List<StudentResponseDto> getStudentsByAdmissionDate(Date admissionDate) {
         try {
-            return studentRepository.findByAdmissionDate(admissionDate).stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            return convertToDtoList(studentRepository.findByAdmissionDate(admissionDate));
         } catch (Exception e) {
             logger.error("Error getting students by admission date {}: {}", admissionDate, e.getMessage());
             throw new RuntimeException("Failed to get students: " + e.getMessage());
@@ -185,28 +248,139 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public List<StudentResponseDto> searchStudents(String name, String fatherName, String studentId, String rollNumber) {
         try {
-            return studentRepository.searchStudents(name, fatherName, studentId, rollNumber).stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            return convertToDtoList(studentRepository.searchStudents(name, fatherName, studentId, rollNumber));
         } catch (Exception e) {
             logger.error("Error searching students: {}", e.getMessage());
             throw new RuntimeException("Failed to search students: " + e.getMessage());
         }
     }
 
+    // ============= 📄 KEYSET PAGINATION =============
+    // Each query fetches one row past the page size to learn whether another page exists.
+    // Cursors are decoded before the try block so a malformed cursor surfaces as IllegalArgumentException.
+
+    @Override
+    public CursorPageResponse<StudentResponseDto> getAllStudentsPage(String cursor, int limit) {
+        Long afterId = cursor != null ? KeysetCursor.decodeId(cursor) : 0L;
+        int pageSize = clampPageSize(limit);
+        try {
+            return toPage(studentRepository.findByStdIdGreaterThanOrderByStdIdAsc(afterId, probe(pageSize)),
+                    pageSize, StudentServiceImpl::idCursor);
+        } catch (Exception e) {
+            logger.error("Error getting students page: {}", e.getMessage());
+            throw new RuntimeException("Failed to get students: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public CursorPageResponse<StudentResponseDto> getStudentsByClassPage(String className, String cursor, int limit) {
+        // Cursor: [NO_SECTION | IN_SECTION, section, roll number]
+        String[] after = cursor != null ? KeysetCursor.decode(cursor, 3) : new String[]{NO_SECTION, "", ""};
+        int pageSize = clampPageSize(limit);
+        try {
+            List<StudentEntity> rows = new ArrayList<>(pageSize + 1);
+            if (NO_SECTION.equals(after[0])) {
+                rows.addAll(studentRepository.findUnsectionedRosterPage(className, after[2], probe(pageSize)));
+                if (rows.size() <= pageSize) {
+                    // Students without a section are done; carry on from the first section
+                    rows.addAll(studentRepository.findClassRosterPage(
+                            className, "", "", probe(pageSize - rows.size())));
+                }
+            } else {
+                rows.addAll(studentRepository.findClassRosterPage(className, after[1], after[2], probe(pageSize)));
+            }
+            return toPage(rows, pageSize, s -> s.getSection() == null
+                    ? KeysetCursor.encode(NO_SECTION, "", s.getStudentRollNumber())
+                    : KeysetCursor.encode(IN_SECTION, s.getSection(), s.getStudentRollNumber()));
+        } catch (Exception e) {
+            logger.error("Error getting students page by class {}: {}", className, e.getMessage());
+            throw new RuntimeException("Failed to get students: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public CursorPageResponse<StudentResponseDto> getStudentsByClassAndSectionPage(String className, String section,
+                                                                                  String cursor, int limit) {
+        String afterRollNumber = cursor != null ? KeysetCursor.decode(cursor, 1)[0] : "";
+        int pageSize = clampPageSize(limit);
+        try {
+            List<StudentEntity> rows = studentRepository.findSectionRosterPage(
+                    className, section, afterRollNumber, probe(pageSize));
+            return toPage(rows, pageSize, s -> KeysetCursor.encode(s.getStudentRollNumber()));
+        } catch (Exception e) {
+            logger.error("Error getting students page by class {} and section {}: {}", className, section, e.getMessage());
+            throw new RuntimeException("Failed to get students: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public CursorPageResponse<StudentResponseDto> getStudentsByStatusPage(String status, String cursor, int limit) {
+        Long afterId = cursor != null ? KeysetCursor.decodeId(cursor) : 0L;
+        int pageSize = clampPageSize(limit);
+        try {
+            return toPage(studentRepository.findByStatusAndStdIdGreaterThanOrderByStdIdAsc(status, afterId, probe(pageSize)),
+                    pageSize, StudentServiceImpl::idCursor);
+        } catch (Exception e) {
+            logger.error("Error getting students page by status {}: {}", status, e.getMessage());
+            throw new RuntimeException("Failed to get students: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public CursorPageResponse<StudentResponseDto> getStudentsByAdmissionDatePage(Date admissionDate, String cursor, int limit) {
+        Long afterId = cursor != null ? KeysetCursor.decodeId(cursor) : 0L;
+        int pageSize = clampPageSize(limit);
+        try {
+            return toPage(studentRepository.findByAdmissionDateAndStdIdGreaterThanOrderByStdIdAsc(
+                    admissionDate, afterId, probe(pageSize)), pageSize, StudentServiceImpl::idCursor);
+        } catch (Exception e) {
+            logger.error("Error getting students page by admission date {}: {}", admissionDate, e.getMessage());
+            throw new RuntimeException("Failed to get students: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public CursorPageResponse<StudentResponseDto> searchStudentsPage(String name, String fatherName, String studentId,
+                                                                     String rollNumber, String cursor, int limit) {
+        Long afterId = cursor != null ? KeysetCursor.decodeId(cursor) : 0L;
+        int pageSize = clampPageSize(limit);
+        try {
+            return toPage(studentRepository.searchStudentsPage(
+                    name, fatherName, studentId, rollNumber, afterId, probe(pageSize)),
+                    pageSize, StudentServiceImpl::idCursor);
+        } catch (Exception e) {
+            logger.error("Error searching students page: {}", e.getMessage());
+            throw new RuntimeException("Failed to search students: " + e.getMessage());
+        }
+    }
+
+    private static int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private static PageRequest probe(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    private static String idCursor(StudentEntity student) {
+        return KeysetCursor.encode(String.valueOf(student.getStdId()));
+    }
+
+    private CursorPageResponse<StudentResponseDto> toPage(List<StudentEntity> rows, int pageSize,
+                                                          Function<StudentEntity, String> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPageResponse<>(convertToDtoList(rows), null);
+        }
+        List<StudentEntity> page = rows.subList(0, pageSize);
+        return new CursorPageResponse<>(convertToDtoList(page), cursorOf.apply(page.get(pageSize - 1)));
+    }
+
     // ============= 📊 GET STUDENT COUNT BY CLASS =============
 
     @Override
     public Map<String, Long> getStudentCountByClass() {
         try {
-            List<Object[]> results = studentRepository.getStudentCountByClass();
-            Map<String, Long> countMap = new HashMap<>();
-            for (Object[] result : results) {
-                String className = (String) result[0];
-                Long count = (Long) result[1];
-                countMap.put(className, count);
-            }
-            return countMap;
+            return new HashMap<>(loadStatistics().byClass);
         } catch (Exception e) {
             logger.error("Error getting student count by class: {}", e.getMessage());
             throw new RuntimeException("Failed to get student count: " + e.getMessage());
@@ -218,17 +392,9 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public Map<String, Map<String, Long>> getStudentCountByClassAndSection() {
         try {
-            List<Object[]> results = studentRepository.getStudentCountByClassAndSection();
             Map<String, Map<String, Long>> classSectionMap = new HashMap<>();
-
-            for (Object[] result : results) {
-                String className = (String) result[0];
-                String section = (String) result[1];
-                Long count = (Long) result[2];
-
-                classSectionMap.computeIfAbsent(className, k -> new HashMap<>());
-                classSectionMap.get(className).put(section, count);
-            }
+            loadStatistics().byClassSection.forEach((className, sections) ->
+                    classSectionMap.put(className, new HashMap<>(sections)));
             return classSectionMap;
         } catch (Exception e) {
             logger.error("Error getting student count by class and section: {}", e.getMessage());
@@ -241,41 +407,87 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public Map<String, Object> getStudentStatistics() {
         try {
+            StatisticsSnapshot snapshot = loadStatistics();
             Map<String, Object> statistics = new HashMap<>();
+            statistics.put("totalStudents", snapshot.totalStudents);
+            statistics.put("activeStudents", snapshot.activeStudents);
+            statistics.put("inactiveStudents", snapshot.inactiveStudents);
+            statistics.put("studentsByClass", snapshot.byClass);
+            statistics.put("studentsByClassSection", snapshot.byClassSection);
+            statistics.put("maleStudents", snapshot.maleStudents);
+            statistics.put("femaleStudents", snapshot.femaleStudents);
+            return statistics;
+        } catch (Exception e) {
+            logger.error("Error getting student statistics: {}", e.getMessage());
+            throw new RuntimeException("Failed to get statistics: " + e.getMessage());
+        }
+    }
 
-            // Total students
-            long totalStudents = studentRepository.count();
-            statistics.put("totalStudents", totalStudents);
-
-            // Active students
-            long activeStudents = studentRepository.countByStatus("Active");
-            statistics.put("activeStudents", activeStudents);
-
-            // Inactive students
-            long inactiveStudents = studentRepository.countByStatus("Inactive");
-            statistics.put("inactiveStudents", inactiveStudents);
+    // ============= 📊 STATISTICS CACHE =============
+    // Dashboards poll these counters; they are computed by one grouped query and kept for
+    // STATISTICS_TTL_MS, or until a create/delete/status/class change commits.
 
-            // Students by class
-            Map<String, Long> byClass = getStudentCountByClass();
-            statistics.put("studentsByClass", byClass);
+    private StatisticsSnapshot loadStatistics() {
+        StatisticsSnapshot snapshot = statisticsCache;
+        if (snapshot != null && System.currentTimeMillis() - snapshot.loadedAt < STATISTICS_TTL_MS) {
+            return snapshot;
+        }
+        long generation = statisticsGeneration.get();
+        snapshot = new StatisticsSnapshot(studentRepository.getStudentStatisticsByClassAndSection());
+        // An invalidation that landed while the query ran makes this snapshot stale; don't cache it
+        if (statisticsGeneration.get() == generation) {
+            statisticsCache = snapshot;
+        }
+        return snapshot;
+    }
 
-            // Students by class and section
-            Map<String, Map<String, Long>> byClassSection = getStudentCountByClassAndSection();
-            statistics.put("studentsByClassSection", byClassSection);
+    @Override
+    public void evictStudentStatistics() {
+        invalidateStatistics();
+    }
 
-            // Gender distribution
-            long maleStudents = studentRepository.countByGender("Male");
-            long femaleStudents = studentRepository.countByGender("Female");
-            statistics.put("maleStudents", maleStudents);
-            statistics.put("femaleStudents", femaleStudents);
+    private void invalidateStatistics() {
+        TransactionCallbacks.afterCommit(() -> {
+            statisticsGeneration.incrementAndGet();
+            statisticsCache = null;
+        });
+    }
 
-            // Total fees collection (if needed)
-            // This would come from FeesService
+    private static final class StatisticsSnapshot {
+
+        final long loadedAt = System.currentTimeMillis();
+        long totalStudents;
+        long activeStudents;
+        long inactiveStudents;
+        long maleStudents;
+        long femaleStudents;
+        final Map<String, Long> byClass;
+        final Map<String, Map<String, Long>> byClassSection;
+
+        StatisticsSnapshot(List<Object[]> rows) {
+            Map<String, Long> classCounts = new HashMap<>();
+            Map<String, Map<String, Long>> sectionCounts = new HashMap<>();
+            for (Object[] row : rows) {
+                String className = (String) row[0];
+                String section = (String) row[1];
+                long count = toLong(row[2]);
+
+                totalStudents += count;
+                activeStudents += toLong(row[3]);
+                inactiveStudents += toLong(row[4]);
+                maleStudents += toLong(row[5]);
+                femaleStudents += toLong(row[6]);
+
+                classCounts.merge(className, count, Long::sum);
+                sectionCounts.computeIfAbsent(className, k -> new HashMap<>()).put(section, count);
+            }
+            sectionCounts.replaceAll((className, sections) -> Collections.unmodifiableMap(sections));
+            this.byClass = Collections.unmodifiableMap(classCounts);
+            this.byClassSection = Collections.unmodifiableMap(sectionCounts);
+        }
 
-            return statistics;
-        } catch (Exception e) {
-            logger.error("Error getting student statistics: {}", e.getMessage());
-            throw new RuntimeException("Failed to get statistics: " + e.getMessage());
+        private static long toLong(Object value) {
+            return value != null ? ((Number) value).longValue() : 0L;
         }
     }
 
@@ -289,11 +501,13 @@ public class StudentServiceImpl implements StudentService {
                     .map(student -> {
                         updateStudentFields(student, requestDto);
                         try {
-                            processImages(student, requestDto);
+                            processImages(id, requestDto);
                         } catch (IOException e) {
                             logger.error("Error processing images: {}", e.getMessage());
                         }
                         StudentEntity updated = studentRepository.save(student);
+                        studentSearchService.index(updated);
+                        invalidateStatistics();
 
                         if (hasFeesData(requestDto)) {
                             updateOrCreateFees(id, requestDto);
@@ -390,6 +604,8 @@ public class StudentServiceImpl implements StudentService {
                 });
 
                 StudentEntity updated = studentRepository.save(student);
+                studentSearchService.index(updated);
+                invalidateStatistics();
                 return convertToDto(updated);
             }
             return null;
@@ -410,6 +626,8 @@ public class StudentServiceImpl implements StudentService {
                 StudentEntity student = optional.get();
                 student.setStatus(status);
                 StudentEntity updated = studentRepository.save(student);
+                studentSearchService.index(updated);
+                invalidateStatistics();
                 return convertToDto(updated);
             }
             return null;
@@ -431,6 +649,8 @@ public class StudentServiceImpl implements StudentService {
                 student.setCurrentClass(currentClass);
                 student.setSection(section);
                 StudentEntity updated = studentRepository.save(student);
+                studentSearchService.index(updated);
+                invalidateStatistics();
                 return convertToDto(updated);
             }
             return null;
@@ -449,10 +669,10 @@ public class StudentServiceImpl implements StudentService {
             List<StudentEntity> students = studentRepository.findAllById(studentIds);
             students.forEach(student -> student.setStatus(status));
             List<StudentEntity> updatedStudents = studentRepository.saveAll(students);
+            studentSearchService.indexAll(updatedStudents);
+            invalidateStatistics();
 
-            return updatedStudents.stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            return convertToDtoList(updatedStudents);
         } catch (Exception e) {
             logger.error("Error bulk updating student status: {}", e.getMessage());
             throw new RuntimeException("Failed to bulk update status: " + e.getMessage());
@@ -468,7 +688,10 @@ public class StudentServiceImpl implements StudentService {
             if (!studentRepository.existsById(id)) {
                 throw new IllegalArgumentException("Student not found with ID: " + id);
             }
+            studentDocumentService.deleteDocuments(id);
             studentRepository.deleteById(id);
+            studentSearchService.remove(id);
+            invalidateStatistics();
             logger.info("Student deleted successfully with ID: {}", id);
         } catch (Exception e) {
             logger.error("Error deleting student {}: {}", id, e.getMessage());
@@ -482,19 +705,10 @@ public class StudentServiceImpl implements StudentService {
     @Transactional
     public StudentResponseDto uploadStudentImage(Long id, MultipartFile profileImage) {
         try {
-            return studentRepository.findById(id)
-                    .map(student -> {
-                        try {
-                            if (profileImage != null && !profileImage.isEmpty()) {
-                                student.setProfileImage(profileImage.getBytes());
-                                return convertToDto(studentRepository.save(student));
-                            }
-                            return convertToDto(student);
-                        } catch (IOException e) {
-                            throw new RuntimeException("Failed to upload image");
-                        }
-                    })
+            StudentEntity student = studentRepository.findById(id)
                     .orElseThrow(() -> new IllegalArgumentException("Student not found with ID: " + id));
+            studentDocumentService.storeDocument(id, StudentDocumentType.PROFILE_IMAGE, profileImage);
+            return convertToDto(student);
         } catch (Exception e) {
             logger.error("Error uploading profile image for student {}: {}", id, e.getMessage());
             throw new RuntimeException("Failed to upload image: " + e.getMessage());
@@ -510,125 +724,21 @@ public class StudentServiceImpl implements StudentService {
                                                      MultipartFile transferCertificateImage,
                                                      MultipartFile markSheetImage) {
         try {
-            return studentRepository.findById(id)
-                    .map(student -> {
-                        try {
-                            if (studentAadharImage != null && !studentAadharImage.isEmpty()) {
-                                student.setStudentAadharImage(studentAadharImage.getBytes());
-                            }
-                            if (fatherAadharImage != null && !fatherAadharImage.isEmpty()) {
-                                student.setFatherAadharImage(fatherAadharImage.getBytes());
-                            }
-                            if (motherAadharImage != null && !motherAadharImage.isEmpty()) {
-                                student.setMotherAadharImage(motherAadharImage.getBytes());
-                            }
-                            if (birthCertificateImage != null && !birthCertificateImage.isEmpty()) {
-                                student.setBirthCertificateImage(birthCertificateImage.getBytes());
-                            }
-                            if (transferCertificateImage != null && !transferCertificateImage.isEmpty()) {
-                                student.setTransferCertificateImage(transferCertificateImage.getBytes());
-                            }
-                            if (markSheetImage != null && !markSheetImage.isEmpty()) {
-                                student.setMarkSheetImage(markSheetImage.getBytes());
-                            }
-                            return convertToDto(studentRepository.save(student));
-                        } catch (IOException e) {
-                            throw new RuntimeException("Failed to upload documents");
-                        }
-                    })
+            StudentEntity student = studentRepository.findById(id)
                     .orElseThrow(() -> new IllegalArgumentException("Student not found with ID: " + id));
+            studentDocumentService.storeDocument(id, StudentDocumentType.STUDENT_AADHAR, studentAadharImage);
+            studentDocumentService.storeDocument(id, StudentDocumentType.FATHER_AADHAR, fatherAadharImage);
+            studentDocumentService.storeDocument(id, StudentDocumentType.MOTHER_AADHAR, motherAadharImage);
+            studentDocumentService.storeDocument(id, StudentDocumentType.BIRTH_CERTIFICATE, birthCertificateImage);
+            studentDocumentService.storeDocument(id, StudentDocumentType.TRANSFER_CERTIFICATE, transferCertificateImage);
+            studentDocumentService.storeDocument(id, StudentDocumentType.MARK_SHEET, markSheetImage);
+            return convertToDto(student);
         } catch (Exception e) {
             logger.error("Error uploading documents for student {}: {}", id, e.getMessage());
             throw new RuntimeException("Failed to upload documents: " + e.getMessage());
         }
     }
 
-    // ============= 🖼️ IMAGE RETRIEVAL METHODS =============
-
-    @Override
-    public byte[] getProfileImage(Long id) {
-        try {
-            return studentRepository.findById(id)
-                    .map(StudentEntity::getProfileImage)
-                    .orElse(null);
-        } catch (Exception e) {
-            logger.error("Error getting profile image for student {}: {}", id, e.getMessage());
-            throw new RuntimeException("Failed to get profile image: " + e.getMessage());
-        }
-    }
-
-    @Override
-    public byte[] getStudentAadharImage(Long id) {
-        try {
-            return studentRepository.findById(id)
-                    .map(StudentEntity::getStudentAadharImage)
-                    .orElse(null);
-        } catch (Exception e) {
-            logger.error("Error getting aadhar image for student {}: {}", id, e.getMessage());
-            throw new RuntimeException("Failed to get aadhar image: " + e.getMessage());
-        }
-    }
-
-    @Override
-    public byte[] getFatherAadharImage(Long id) {
-        try {
-            return studentRepository.findById(id)
-                    .map(StudentEntity::getFatherAadharImage)
-                    .orElse(null);
-        } catch (Exception e) {
-            logger.error("Error getting father aadhar image for student {}: {}", id, e.getMessage());
-            throw new RuntimeException("Failed to get father aadhar image: " + e.getMessage());
-        }
-    }
-
-    @Override
-    public byte[] getMotherAadharImage(Long id) {
-        try {
-            return studentRepository.findById(id)
-                    .map(StudentEntity::getMotherAadharImage)
-                    .orElse(null);
-        } catch (Exception e) {
-            logger.error("Error getting mother aadhar image for student {}: {}", id, e.getMessage());
-            throw new RuntimeException("Failed to get mother aadhar image: " + e.getMessage());
-        }
-    }
-
-    @Override
-    public byte[] getBirthCertificateImage(Long id) {
-        try {
-            return studentRepository.findById(id)
-                    .map(StudentEntity::getBirthCertificateImage)
-                    .orElse(null);
-        } catch (Exception e) {
-            logger.error("Error getting birth certificate for student {}: {}", id, e.getMessage());
-            throw new RuntimeException("Failed to get birth certificate: " + e.getMessage());
-        }
-    }
-
-    @Override
-    public byte[] getTransferCertificateImage(Long id) {
-        try {
-            return studentRepository.findById(id)
-                    .map(StudentEntity::getTransferCertificateImage)
-                    .orElse(null);
-        } catch (Exception e) {
-            logger.error("Error getting transfer certificate for student {}: {}", id, e.getMessage());
-            throw new RuntimeException("Failed to get transfer certificate: " + e.getMessage());
-        }
-    }
-
-    @Override
-    public byte[] getMarkSheetImage(Long id) {
-        try {
-            return studentRepository.findById(id)
-                    .map(StudentEntity::getMarkSheetImage)
-                    .orElse(null);
-        } catch (Exception e) {
-            logger.error("Error getting marksheet for student {}: {}", id, e.getMessage());
-            throw new RuntimeException("Failed to get marksheet: " + e.getMessage());
-        }
-    }
-
     // ============= 💰 FEES METHODS =============
 
     @Override
@@ -648,6 +758,10 @@ public class StudentServiceImpl implements StudentService {
 
     // ============= 🎯 PRIVATE HELPER METHODS =============
 
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
     private boolean hasFeesData(StudentRequestDto dto) {
         return dto.getAdmissionFees() != null ||
                 dto.getUniformFees() != null ||
@@ -806,28 +920,14 @@ public class StudentServiceImpl implements StudentService {
         return entity;
     }
 
-    private void processImages(StudentEntity entity, StudentRequestDto dto) throws IOException {
-        if (dto.getProfileImage() != null && !dto.getProfileImage().isEmpty()) {
-            entity.setProfileImage(dto.getProfileImage().getBytes());
-        }
-        if (dto.getStudentAadharImage() != null && !dto.getStudentAadharImage().isEmpty()) {
-            entity.setStudentAadharImage(dto.getStudentAadharImage().getBytes());
-        }
-        if (dto.getFatherAadharImage() != null && !dto.getFatherAadharImage().isEmpty()) {
-            entity.setFatherAadharImage(dto.getFatherAadharImage().getBytes());
-        }
-        if (dto.getMotherAadharImage() != null && !dto.getMotherAadharImage().isEmpty()) {
-            entity.setMotherAadharImage(dto.getMotherAadharImage().getBytes());
-        }
-        if (dto.getBirthCertificateImage() != null && !dto.getBirthCertificateImage().isEmpty()) {
-            entity.setBirthCertificateImage(dto.getBirthCertificateImage().getBytes());
-        }
-        if (dto.getTransferCertificateImage() != null && !dto.getTransferCertificateImage().isEmpty()) {
-            entity.setTransferCertificateImage(dto.getTransferCertificateImage().getBytes());
-        }
-        if (dto.getMarkSheetImage() != null && !dto.getMarkSheetImage().isEmpty()) {
-            entity.setMarkSheetImage(dto.getMarkSheetImage().getBytes());
-        }
+    private void processImages(Long stdId, StudentRequestDto dto) throws IOException {
+        studentDocumentService.storeDocument(stdId, StudentDocumentType.PROFILE_IMAGE, dto.getProfileImage());
+        studentDocumentService.storeDocument(stdId, StudentDocumentType.STUDENT_AADHAR, dto.getStudentAadharImage());
+        studentDocumentService.storeDocument(stdId, StudentDocumentType.FATHER_AADHAR, dto.getFatherAadharImage());
+        studentDocumentService.storeDocument(stdId, StudentDocumentType.MOTHER_AADHAR, dto.getMotherAadharImage());
+        studentDocumentService.storeDocument(stdId, StudentDocumentType.BIRTH_CERTIFICATE, dto.getBirthCertificateImage());
+        studentDocumentService.storeDocument(stdId, StudentDocumentType.TRANSFER_CERTIFICATE, dto.getTransferCertificateImage());
+        studentDocumentService.storeDocument(stdId, StudentDocumentType.MARK_SHEET, dto.getMarkSheetImage());
     }
 
     private void updateStudentFields(StudentEntity entity, StudentRequestDto dto) {
@@ -878,7 +978,50 @@ public class StudentServiceImpl implements StudentService {
         if (dto.getStudentReferral() != null) entity.setStudentReferral(dto.getStudentReferral());
     }
 
+    /**
+     * Convert a page of students, loading all their fees and document metadata
+     * in one batch instead of one lookup per student.
+     */
+    private List<StudentResponseDto> convertToDtoList(List<StudentEntity> entities) {
+        if (entities.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> stdIds = entities.stream()
+                .map(StudentEntity::getStdId)
+                .collect(Collectors.toList());
+
+        Map<Long, FeesResponseDto> feesByStudent;
+        try {
+            feesByStudent = feesService.getFeesByStudentIds(stdIds);
+        } catch (Exception e) {
+            logger.debug("Batch fees lookup failed for {} students: {}", stdIds.size(), e.getMessage());
+            feesByStudent = Collections.emptyMap();
+        }
+
+        Map<Long, Set<StudentDocumentType>> documentsByStudent = studentDocumentService.getAvailableDocuments(stdIds);
+
+        List<StudentResponseDto> dtos = new ArrayList<>(entities.size());
+        for (StudentEntity entity : entities) {
+            dtos.add(convertToDto(entity, feesByStudent.get(entity.getStdId()),
+                    documentsByStudent.getOrDefault(entity.getStdId(), Collections.emptySet())));
+        }
+        return dtos;
+    }
+
     private StudentResponseDto convertToDto(StudentEntity entity) {
+        // Get fees from existing FeesService
+        FeesResponseDto fees = null;
+        try {
+            fees = feesService.getFeesByStudentId(entity.getStdId());
+        } catch (Exception e) {
+            logger.debug("No fees found for student {}", entity.getStdId());
+        }
+        return convertToDto(entity, fees, studentDocumentService.getAvailableDocuments(entity.getStdId()));
+    }
+
+    private StudentResponseDto convertToDto(StudentEntity entity, FeesResponseDto fees,
+                                            Set<StudentDocumentType> documents) {
         StudentResponseDto dto = new StudentResponseDto();
 
         // Map all student fields
@@ -940,33 +1083,28 @@ public class StudentServiceImpl implements StudentService {
             dto.setSubjects(new ArrayList<>());
         }
 
-        // ============= ✅ RELATIVE URLs ONLY =============
-        if (entity.getProfileImage() != null && entity.getProfileImage().length > 0) {
-            dto.setProfileImageUrl("/api/students/" + entity.getStdId() + "/profile-image");
+        // ============= ✅ RELATIVE URLs ONLY (from document metadata) =============
+        String baseUrl = "/api/students/" + entity.getStdId() + "/";
+        if (documents.contains(StudentDocumentType.PROFILE_IMAGE)) {
+            dto.setProfileImageUrl(baseUrl + StudentDocumentType.PROFILE_IMAGE.getUrlPath());
         }
-
-        if (entity.getStudentAadharImage() != null && entity.getStudentAadharImage().length > 0) {
-            dto.setStudentAadharImageUrl("/api/students/" + entity.getStdId() + "/aadhar-image");
+        if (documents.contains(StudentDocumentType.STUDENT_AADHAR)) {
+            dto.setStudentAadharImageUrl(baseUrl + StudentDocumentType.STUDENT_AADHAR.getUrlPath());
         }
-
-        if (entity.getFatherAadharImage() != null && entity.getFatherAadharImage().length > 0) {
-            dto.setFatherAadharImageUrl("/api/students/" + entity.getStdId() + "/father-aadhar-image");
+        if (documents.contains(StudentDocumentType.FATHER_AADHAR)) {
+            dto.setFatherAadharImageUrl(baseUrl + StudentDocumentType.FATHER_AADHAR.getUrlPath());
         }
-
-        if (entity.getMotherAadharImage() != null && entity.getMotherAadharImage().length > 0) {
-            dto.setMotherAadharImageUrl("/api/students/" + entity.getStdId() + "/mother-aadhar-image");
+        if (documents.contains(StudentDocumentType.MOTHER_AADHAR)) {
+            dto.setMotherAadharImageUrl(baseUrl + StudentDocumentType.MOTHER_AADHAR.getUrlPath());
         }
-
-        if (entity.getBirthCertificateImage() != null && entity.getBirthCertificateImage().length > 0) {
-            dto.setBirthCertificateImageUrl("/api/students/" + entity.getStdId() + "/birth-certificate");
+        if (documents.contains(StudentDocumentType.BIRTH_CERTIFICATE)) {
+            dto.setBirthCertificateImageUrl(baseUrl + StudentDocumentType.BIRTH_CERTIFICATE.getUrlPath());
         }
-
-        if (entity.getTransferCertificateImage() != null && entity.getTransferCertificateImage().length > 0) {
-            dto.setTransferCertificateImageUrl("/api/students/" + entity.getStdId() + "/transfer-certificate");
+        if (documents.contains(StudentDocumentType.TRANSFER_CERTIFICATE)) {
+            dto.setTransferCertificateImageUrl(baseUrl + StudentDocumentType.TRANSFER_CERTIFICATE.getUrlPath());
         }
-
-        if (entity.getMarkSheetImage() != null && entity.getMarkSheetImage().length > 0) {
-            dto.setMarkSheetImageUrl("/api/students/" + entity.getStdId() + "/marksheet");
+        if (documents.contains(StudentDocumentType.MARK_SHEET)) {
+            dto.setMarkSheetImageUrl(baseUrl + StudentDocumentType.MARK_SHEET.getUrlPath());
         }
 
         dto.setStatus(entity.getStatus());
@@ -975,13 +1113,7 @@ public class StudentServiceImpl implements StudentService {
         dto.setCreatedAt(entity.getCreatedAt());
         dto.setUpdatedAt(entity.getUpdatedAt());
 
-        // Get fees from existing FeesService
-        try {
-            FeesResponseDto fees = feesService.getFeesByStudentId(entity.getStdId());
-            dto.setFeesDetails(fees);
-        } catch (Exception e) {
-            logger.debug("No fees found for student {}", entity.getStdId());
-        }
+        dto.setFeesDetails(fees);
 
         return dto;
     }
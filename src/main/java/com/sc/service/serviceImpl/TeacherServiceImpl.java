@@ -3,17 +3,25 @@ package com.sc.service.serviceImpl;
 import com.sc.dto.request.TeacherRequestDto;
 import com.sc.dto.response.TeacherResponseDto;
 import com.sc.entity.TeacherEntity;
+import com.sc.enum_util.ImageOwnerType;
 import com.sc.repository.TeacherRepository;
+import com.sc.service.ImageVariantService;
 import com.sc.service.TeacherService;
+import com.sc.util.BinaryContentUtils;
+import com.sc.util.BlobStreamer;
+import com.sc.util.StoredContentInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 @Service
@@ -21,9 +29,18 @@ public class TeacherServiceImpl implements TeacherService {
 
     private static final Logger logger = LoggerFactory.getLogger(TeacherServiceImpl.class);
 
+    private static final String PHOTO_CHUNK_SQL =
+            "SELECT SUBSTRING(teacher_photo, ?, ?) FROM teachers WHERE teacher_id = ? AND teacher_photo_hash = ?";
+
     @Autowired
     private TeacherRepository repo;
 
+    @Autowired
+    private BlobStreamer blobStreamer;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
     @Override
     @Transactional
     public TeacherResponseDto createTeacher(TeacherRequestDto dto) {
@@ -56,6 +73,7 @@ public class TeacherServiceImpl implements TeacherService {
             entity.calculateGrossSalary();
 
             entity = repo.save(entity);
+            refreshPhotoVariants(dto, entity);
 
             TeacherResponseDto response = toDto(entity);
             logger.info("Teacher created successfully with ID: {}, Name: {}", response.getId(), response.getTeacherName());
@@ -112,6 +130,7 @@ public class TeacherServiceImpl implements TeacherService {
             entity.calculateGrossSalary();
 
             entity = repo.save(entity);
+            refreshPhotoVariants(dto, entity);
 
             TeacherResponseDto response = toDto(entity);
             logger.info("Teacher fully updated successfully with ID: {}, Name: {}", response.getId(), response.getTeacherName());
@@ -158,6 +177,7 @@ public class TeacherServiceImpl implements TeacherService {
             }
 
             entity = repo.save(entity);
+            refreshPhotoVariants(dto, entity);
 
             TeacherResponseDto response = toDto(entity);
             logger.info("Teacher patched successfully with ID: {}, Name: {}", response.getId(), response.getTeacherName());
@@ -453,8 +473,8 @@ public class TeacherServiceImpl implements TeacherService {
         d.setApproved(e.isApproved());
         d.setDeleted(e.isDeleted());
 
-        // Set photo URL
-        if (e.getTeacherPhoto() != null) {
+        // Set photo URL; the size column answers this without loading the lazy photo
+        if (e.getTeacherPhotoSize() != null && e.getTeacherPhotoSize() > 0) {
             d.setTeacherPhotoUrl("/api/teachers/" + e.getId() + "/photo");
         }
 
@@ -485,6 +505,55 @@ public class TeacherServiceImpl implements TeacherService {
         return subjects;
     }
 
+    @Override
+    @Transactional
+    public StoredContentInfo getTeacherPhotoInfo(Long teacherId) {
+        List<Object[]> rows = repo.findPhotoMetadata(teacherId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        Object[] row = rows.get(0);
+        if (row[0] == null || row[1] == null) {
+            // Photo uploaded before hash / size were tracked
+            repo.backfillPhotoMetadata(teacherId);
+            row = repo.findPhotoMetadata(teacherId).get(0);
+        }
+
+        long size = row[1] != null ? (Long) row[1] : 0L;
+        if (size == 0) {
+            return null;
+        }
+
+        String contentType = (String) row[2];
+        if (contentType == null) {
+            byte[] head = blobStreamer.readChunk(PHOTO_CHUNK_SQL, new Object[]{teacherId, row[0]},
+                    0, BinaryContentUtils.SIGNATURE_LENGTH);
+            contentType = BinaryContentUtils.detectContentType(head, MediaType.IMAGE_JPEG).toString();
+            repo.updatePhotoContentType(teacherId, contentType);
+        }
+        return new StoredContentInfo(contentType, size, (String) row[0]);
+    }
+
+    @Override
+    public void streamTeacherPhoto(Long teacherId, String contentHash, long offset, long length,
+                                   OutputStream out) throws IOException {
+        blobStreamer.stream(PHOTO_CHUNK_SQL, new Object[]{teacherId}, contentHash, offset, length, out);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public byte[] getTeacherPhotoBytes(Long teacherId) {
+        return repo.findPhotoById(teacherId).orElse(null);
+    }
+
+    // Regenerate thumbnails when the request carried a new photo
+    private void refreshPhotoVariants(TeacherRequestDto d, TeacherEntity e) {
+        if (d.getTeacherPhoto() != null && !d.getTeacherPhoto().isEmpty()) {
+            imageVariantService.refreshVariants(ImageOwnerType.TEACHER, e.getId(), e.getTeacherPhoto());
+        }
+    }
+
     private TeacherEntity toEntity(TeacherRequestDto d, TeacherEntity e) {
         logger.debug("Converting DTO to Entity for teacher");
 
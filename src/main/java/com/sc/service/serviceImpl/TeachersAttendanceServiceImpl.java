@@ -1,19 +1,23 @@
 package com.sc.service.serviceImpl;
 
 import com.sc.dto.request.TeachersAttendanceRequestDto;
+import com.sc.dto.response.BulkAttendanceResultDto;
+import com.sc.dto.response.TeacherAttendanceMatrixDto;
 import com.sc.dto.response.TeachersAttendanceResponseDto;
 import com.sc.entity.TeachersAttendanceEntity;
 import com.sc.repository.TeachersAttendanceRepository;
 import com.sc.service.TeachersAttendanceService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Time;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.*;
 
 @Service
 public class TeachersAttendanceServiceImpl implements TeachersAttendanceService {
@@ -21,6 +25,19 @@ public class TeachersAttendanceServiceImpl implements TeachersAttendanceService
     @Autowired
     private TeachersAttendanceRepository attendanceRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Relies on the (teacher_id, attendance_date) unique key, so overlapping syncs can't insert a day twice.
+    // Same semantics as markAttendance: a re-mark resets the salary-processed flag and keeps created_at
+    private static final String UPSERT_ATTENDANCE_SQL =
+            "INSERT INTO teachers_attendance (teacher_id, attendance_date, status, time_in, time_out, " +
+            "late_by_minutes, remarks, marked_by, created_at, is_processed_for_salary) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, false) " +
+            "ON DUPLICATE KEY UPDATE status = VALUES(status), time_in = VALUES(time_in), " +
+            "time_out = VALUES(time_out), late_by_minutes = VALUES(late_by_minutes), remarks = VALUES(remarks), " +
+            "marked_by = VALUES(marked_by), updated_at = VALUES(created_at), is_processed_for_salary = false";
+
     @Override
     public TeachersAttendanceResponseDto markAttendance(TeachersAttendanceRequestDto requestDto) {
         // Check if attendance already exists for this teacher and date
@@ -156,18 +173,12 @@ public class TeachersAttendanceServiceImpl implements TeachersAttendanceService
 
     @Override
     public Object getAttendanceStatistics(LocalDate date) {
-        List<TeachersAttendanceEntity> todaysAttendance = attendanceRepository.findByAttendanceDate(date);
+        // One GROUP BY status instead of loading every row of the day
+        Map<String, Long> statusCount = tally(attendanceRepository.countByStatusOnDate(date));
+        long totalTeachers = statusCount.values().stream().mapToLong(Long::longValue).sum();
 
         Map<String, Object> statistics = new HashMap<>();
-
-        // Count by status
-        Map<String, Long> statusCount = new HashMap<>();
-        for (TeachersAttendanceEntity attendance : todaysAttendance) {
-            String status = attendance.getStatus();
-            statusCount.put(status, statusCount.getOrDefault(status, 0L) + 1);
-        }
-
-        statistics.put("totalTeachers", todaysAttendance.size());
+        statistics.put("totalTeachers", totalTeachers);
         statistics.put("attendanceDate", date);
         statistics.put("statusBreakdown", statusCount);
 
@@ -177,9 +188,8 @@ public class TeachersAttendanceServiceImpl implements TeachersAttendanceService
         long lateCount = statusCount.getOrDefault("Late", 0L);
         long leaveCount = statusCount.getOrDefault("On Leave", 0L);
 
-        long effectivePresent = presentCount + (halfDayCount / 2) + (lateCount / 2) + leaveCount;
-        double attendancePercentage = todaysAttendance.size() > 0 ?
-                (effectivePresent * 100.0) / todaysAttendance.size() : 0.0;
+        double attendancePercentage = totalTeachers > 0 ?
+                (effectivePresent(statusCount) * 100.0) / totalTeachers : 0.0;
 
         statistics.put("attendancePercentage", Math.round(attendancePercentage * 100.0) / 100.0);
         statistics.put("presentCount", presentCount);
@@ -192,15 +202,117 @@ public class TeachersAttendanceServiceImpl implements TeachersAttendanceService
     }
 
     @Override
-    public List<TeachersAttendanceResponseDto> markBulkAttendance(List<TeachersAttendanceRequestDto> requestDtos) {
-        List<TeachersAttendanceResponseDto> responseDtos = new ArrayList<>();
+    @Transactional
+    public BulkAttendanceResultDto<TeachersAttendanceResponseDto> markBulkAttendance(
+            List<TeachersAttendanceRequestDto> requestDtos) {
+        List<TeachersAttendanceRequestDto> rows = requestDtos != null ? requestDtos : List.of();
+        BulkAttendanceResultDto<TeachersAttendanceResponseDto> result = new BulkAttendanceResultDto<>();
+        result.setRequestedCount(rows.size());
+
+        // Validate; a (teacher, date) pair may appear only once per submission
+        List<Integer> accepted = new ArrayList<>(rows.size());
+        Set<String> seen = new HashSet<>();
+        Set<Long> teacherIds = new HashSet<>();
+        Set<LocalDate> dates = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            TeachersAttendanceRequestDto dto = rows.get(i);
+            if (dto.getTeacherId() == null) {
+                result.addFailure(i, null, "Teacher ID is required");
+            } else if (dto.getAttendanceDate() == null) {
+                result.addFailure(i, dto.getTeacherId(), "Attendance date is required");
+            } else if (dto.getStatus() == null || dto.getStatus().isBlank()) {
+                result.addFailure(i, dto.getTeacherId(), "Status is required");
+            } else if (!seen.add(key(dto.getTeacherId(), dto.getAttendanceDate()))) {
+                result.addFailure(i, dto.getTeacherId(), "Duplicate entry for teacher and date");
+            } else {
+                accepted.add(i);
+                teacherIds.add(dto.getTeacherId());
+                dates.add(dto.getAttendanceDate());
+            }
+        }
+        if (accepted.isEmpty()) {
+            return result;
+        }
+        if (dates.size() == 1) {
+            result.setDate(dates.iterator().next());
+        }
+
+        // Rows already stored, to tell re-marks (updatedAt) from new days in the response
+        Set<String> existing = existingKeys(teacherIds, dates);
 
-        for (TeachersAttendanceRequestDto requestDto : requestDtos) {
-            TeachersAttendanceResponseDto responseDto = markAttendance(requestDto);
-            responseDtos.add(responseDto);
+        LocalDate today = LocalDate.now();
+        List<Object[]> batch = new ArrayList<>(accepted.size());
+        for (int i : accepted) {
+            TeachersAttendanceRequestDto dto = rows.get(i);
+            batch.add(new Object[]{dto.getTeacherId(), dto.getAttendanceDate(), dto.getStatus(),
+                    toTime(dto.getTimeIn()), toTime(dto.getTimeOut()), dto.getLateByMinutes(),
+                    dto.getRemarks(), dto.getMarkedBy(), today});
         }
 
-        return responseDtos;
+        List<Integer> upserted = new ArrayList<>(accepted.size());
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_ATTENDANCE_SQL, batch);
+            upserted.addAll(accepted);
+        } catch (DataAccessException batchError) {
+            // Retry singly so the failure is attributed to the offending row; upserts are safe to repeat
+            for (int j = 0; j < accepted.size(); j++) {
+                int i = accepted.get(j);
+                try {
+                    jdbcTemplate.update(UPSERT_ATTENDANCE_SQL, batch.get(j));
+                    upserted.add(i);
+                } catch (DataAccessException rowError) {
+                    result.addFailure(i, rows.get(i).getTeacherId(),
+                            "Save failed: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        if (upserted.isEmpty()) {
+            return result;
+        }
+
+        // Generated ids and original created_at in one query - [teacherId, attendanceDate, id, createdAt]
+        Map<String, Object[]> stored = new HashMap<>();
+        for (Object[] row : attendanceRepository.findKeysByTeacherIdsAndDates(teacherIds, dates)) {
+            stored.put(key((Long) row[0], (LocalDate) row[1]), row);
+        }
+
+        for (int i : upserted) {
+            TeachersAttendanceRequestDto dto = rows.get(i);
+            String key = key(dto.getTeacherId(), dto.getAttendanceDate());
+            Object[] row = stored.get(key);
+
+            TeachersAttendanceEntity entity = new TeachersAttendanceEntity();
+            entity.setId(row != null ? (Long) row[2] : null);
+            entity.setTeacherId(dto.getTeacherId());
+            entity.setAttendanceDate(dto.getAttendanceDate());
+            entity.setStatus(dto.getStatus());
+            entity.setTimeIn(dto.getTimeIn());
+            entity.setTimeOut(dto.getTimeOut());
+            entity.setLateByMinutes(dto.getLateByMinutes());
+            entity.setRemarks(dto.getRemarks());
+            entity.setMarkedBy(dto.getMarkedBy());
+            entity.setCreatedAt(row != null ? (LocalDate) row[3] : today);
+            entity.setUpdatedAt(existing.contains(key) ? today : null);
+            entity.setIsProcessedForSalary(false);
+            result.addSaved(convertToResponseDto(entity));
+        }
+        return result;
+    }
+
+    private Set<String> existingKeys(Collection<Long> teacherIds, Collection<LocalDate> dates) {
+        Set<String> keys = new HashSet<>();
+        for (Object[] row : attendanceRepository.findKeysByTeacherIdsAndDates(teacherIds, dates)) {
+            keys.add(key((Long) row[0], (LocalDate) row[1]));
+        }
+        return keys;
+    }
+
+    private static String key(Long teacherId, LocalDate date) {
+        return teacherId + "|" + date;
+    }
+
+    private static Time toTime(LocalTime time) {
+        return time != null ? Time.valueOf(time) : null;
     }
 
     @Override
@@ -208,21 +320,14 @@ public class TeachersAttendanceServiceImpl implements TeachersAttendanceService
         LocalDate startDate = LocalDate.of(year, month, 1);
         LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
 
-        List<TeachersAttendanceEntity> monthlyAttendance =
-                attendanceRepository.findByTeacherIdAndAttendanceDateBetween(teacherId, startDate, endDate);
+        Map<String, Long> statusCount = tally(
+                attendanceRepository.countByStatusForTeacherBetween(teacherId, startDate, endDate));
+        long totalDays = statusCount.values().stream().mapToLong(Long::longValue).sum();
 
         Map<String, Object> summary = new HashMap<>();
-
-        // Count days by status
-        Map<String, Long> statusCount = new HashMap<>();
-        for (TeachersAttendanceEntity attendance : monthlyAttendance) {
-            String status = attendance.getStatus();
-            statusCount.put(status, statusCount.getOrDefault(status, 0L) + 1);
-        }
-
         summary.put("teacherId", teacherId);
         summary.put("month", year + "-" + String.format("%02d", month));
-        summary.put("totalDays", monthlyAttendance.size());
+        summary.put("totalDays", totalDays);
         summary.put("statusBreakdown", statusCount);
 
         // Calculate working days and attendance percentage
@@ -231,9 +336,9 @@ public class TeachersAttendanceServiceImpl implements TeachersAttendanceService
         long lateDays = statusCount.getOrDefault("Late", 0L);
         long leaveDays = statusCount.getOrDefault("On Leave", 0L);
 
-        long workingDays = presentDays + (halfDays / 2) + (lateDays / 2) + leaveDays;
-        double attendancePercentage = monthlyAttendance.size() > 0 ?
-                (workingDays * 100.0) / monthlyAttendance.size() : 0.0;
+        long workingDays = effectivePresent(statusCount);
+        double attendancePercentage = totalDays > 0 ?
+                (workingDays * 100.0) / totalDays : 0.0;
 
         summary.put("workingDays", workingDays);
         summary.put("attendancePercentage", Math.round(attendancePercentage * 100.0) / 100.0);
@@ -246,6 +351,67 @@ public class TeachersAttendanceServiceImpl implements TeachersAttendanceService
         return summary;
     }
 
+    @Override
+    public TeacherAttendanceMatrixDto getMonthlyAttendanceMatrix(int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        int daysInMonth = yearMonth.lengthOfMonth();
+
+        TeacherAttendanceMatrixDto matrix = new TeacherAttendanceMatrixDto();
+        matrix.setYear(year);
+        matrix.setMonth(month);
+        matrix.setDaysInMonth(daysInMonth);
+
+        // Rows arrive ordered by teacher, so each teacher's cells are contiguous
+        TeacherAttendanceMatrixDto.TeacherRowDto current = null;
+        String[] days = null;
+        for (Object[] cell : attendanceRepository.findStatusMatrixBetween(yearMonth.atDay(1), yearMonth.atEndOfMonth())) {
+            Long teacherId = (Long) cell[0];
+            if (current == null || !current.getTeacherId().equals(teacherId)) {
+                finishMatrixRow(current, days);
+                current = new TeacherAttendanceMatrixDto.TeacherRowDto();
+                current.setTeacherId(teacherId);
+                current.setTeacherName(cell[1] != null ? cell[1] + " " + cell[2] : null);
+                current.setEmployeeId((String) cell[3]);
+                current.setStatusBreakdown(new HashMap<>());
+                days = new String[daysInMonth];
+                matrix.getTeachers().add(current);
+            }
+            String status = (String) cell[5];
+            days[((LocalDate) cell[4]).getDayOfMonth() - 1] = status;
+            current.getStatusBreakdown().merge(status, 1L, Long::sum);
+        }
+        finishMatrixRow(current, days);
+        return matrix;
+    }
+
+    private static void finishMatrixRow(TeacherAttendanceMatrixDto.TeacherRowDto row, String[] days) {
+        if (row == null) {
+            return;
+        }
+        row.setDays(Arrays.asList(days));
+        long totalDays = row.getStatusBreakdown().values().stream().mapToLong(Long::longValue).sum();
+        row.setTotalDays(totalDays);
+        double percentage = totalDays > 0 ? (effectivePresent(row.getStatusBreakdown()) * 100.0) / totalDays : 0.0;
+        row.setAttendancePercentage(Math.round(percentage * 100.0) / 100.0);
+    }
+
+    // [status, count] rows to a status -> count map
+    private static Map<String, Long> tally(List<Object[]> rows) {
+        Map<String, Long> statusCount = new HashMap<>();
+        for (Object[] row : rows) {
+            statusCount.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return statusCount;
+    }
+
+    // Present and leave count in full; half days and late arrivals count as half
+    private static long effectivePresent(Map<String, Long> statusCount) {
+        return statusCount.getOrDefault("Present", 0L)
+                + (statusCount.getOrDefault("Half Day", 0L) / 2)
+                + (statusCount.getOrDefault("Late", 0L) / 2)
+                + statusCount.getOrDefault("On Leave", 0L);
+    }
+
     // Helper method to convert entity to response DTO
     private TeachersAttendanceResponseDto convertToResponseDto(TeachersAttendanceEntity entity) {
         TeachersAttendanceResponseDto responseDto = new TeachersAttendanceResponseDto();
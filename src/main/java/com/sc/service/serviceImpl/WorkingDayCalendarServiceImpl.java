@@ -0,0 +1,275 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.entity.ClassEntity;
+import com.sc.entity.HolidayEntity;
+import com.sc.repository.ClassRepository;
+import com.sc.repository.HolidayRepository;
+import com.sc.service.WorkingDayCalendarService;
+import com.sc.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Holidays and weekly offs held as one bitset per (calendar, year): bit set = non-working day.
+// A prefix count per year turns working-day counts over any range into two array lookups.
+// Years are built on first use from one holiday query; refresh() drops everything.
+@Service
+public class WorkingDayCalendarServiceImpl implements WorkingDayCalendarService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkingDayCalendarServiceImpl.class);
+
+    private static final Set<DayOfWeek> DEFAULT_WORKING_DAYS = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+    private static final String SCHOOL_CALENDAR = "*";
+
+    @Autowired
+    private HolidayRepository holidayRepository;
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    private volatile Snapshot snapshot;
+    private final AtomicLong snapshotGeneration = new AtomicLong();
+
+    // ============= 📅 SCHOOL-WIDE =============
+
+    @Override
+    public boolean isWorkingDay(LocalDate date) {
+        return !calendar(date.getYear(), null).nonWorking.get(date.getDayOfYear());
+    }
+
+    @Override
+    public int countWorkingDays(LocalDate startDate, LocalDate endDate) {
+        return countWorkingDays(startDate, endDate, null);
+    }
+
+    @Override
+    public List<LocalDate> getNonAffectingHolidays(LocalDate startDate, LocalDate endDate) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            YearCalendar calendar = calendar(year, null);
+            int from = year == startDate.getYear() ? startDate.getDayOfYear() : 1;
+            int to = year == endDate.getYear() ? endDate.getDayOfYear() : calendar.length;
+            for (int day = calendar.holidays.nextSetBit(from); day >= 0 && day <= to;
+                 day = calendar.holidays.nextSetBit(day + 1)) {
+                dates.add(LocalDate.ofYearDay(year, day));
+            }
+        }
+        return dates;
+    }
+
+    // ============= 🏫 PER CLASS =============
+
+    @Override
+    public boolean isWorkingDay(LocalDate date, String className, String section) {
+        return !calendar(date.getYear(), classFor(className, section)).nonWorking.get(date.getDayOfYear());
+    }
+
+    @Override
+    public boolean isHoliday(LocalDate date, String className, String section) {
+        return calendar(date.getYear(), classFor(className, section)).holidays.get(date.getDayOfYear());
+    }
+
+    @Override
+    public int countWorkingDays(LocalDate startDate, LocalDate endDate, String className, String section) {
+        return countWorkingDays(startDate, endDate, classFor(className, section));
+    }
+
+    private int countWorkingDays(LocalDate startDate, LocalDate endDate, ClassCalendar classCalendar) {
+        int count = 0;
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            YearCalendar calendar = calendar(year, classCalendar);
+            int from = year == startDate.getYear() ? startDate.getDayOfYear() : 1;
+            int to = year == endDate.getYear() ? endDate.getDayOfYear() : calendar.length;
+            if (from <= to) {
+                count += calendar.workingDaysUpTo[to] - calendar.workingDaysUpTo[from - 1];
+            }
+        }
+        return count;
+    }
+
+    // ============= 🔄 REFRESH =============
+
+    @Override
+    public void refresh() {
+        TransactionCallbacks.afterCommit(() -> {
+            snapshotGeneration.incrementAndGet();
+            snapshot = null;
+            logger.info("Working-day calendar invalidated");
+        });
+    }
+
+    // ============= 🔧 BUILD =============
+
+    private ClassCalendar classFor(String className, String section) {
+        if (className == null) {
+            return null;
+        }
+        return snapshot().classes.get(classKey(className, section));
+    }
+
+    private YearCalendar calendar(int year, ClassCalendar classCalendar) {
+        Snapshot current = snapshot();
+        String key = year + "|" + (classCalendar != null ? classCalendar.key : SCHOOL_CALENDAR);
+        return current.years.computeIfAbsent(key, k -> buildYear(current, year, classCalendar));
+    }
+
+    private YearCalendar buildYear(Snapshot current, int year, ClassCalendar classCalendar) {
+        List<HolidayRule> rules = current.holidaysByYear.computeIfAbsent(year, y -> loadHolidays(current, y));
+        Set<DayOfWeek> workingDays = classCalendar != null ? classCalendar.workingDays : DEFAULT_WORKING_DAYS;
+
+        int length = Year.of(year).length();
+        BitSet holidays = new BitSet(length + 1);
+        for (HolidayRule rule : rules) {
+            if (classCalendar == null || rule.appliesTo(classCalendar)) {
+                holidays.set(rule.dayOfYear);
+            }
+        }
+
+        BitSet nonWorking = (BitSet) holidays.clone();
+        int[] workingDaysUpTo = new int[length + 1];
+        LocalDate date = LocalDate.ofYearDay(year, 1);
+        for (int day = 1; day <= length; day++, date = date.plusDays(1)) {
+            if (!workingDays.contains(date.getDayOfWeek())) {
+                nonWorking.set(day);
+            }
+            workingDaysUpTo[day] = workingDaysUpTo[day - 1] + (nonWorking.get(day) ? 0 : 1);
+        }
+        return new YearCalendar(length, holidays, nonWorking, workingDaysUpTo);
+    }
+
+    // Non-affecting holidays dated in the year plus recurring ones projected onto it
+    private List<HolidayRule> loadHolidays(Snapshot current, int year) {
+        List<HolidayRule> rules = new ArrayList<>();
+        for (HolidayEntity holiday : holidayRepository.findByDateRange(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31))) {
+            if (!Boolean.TRUE.equals(holiday.getAffectsAttendance())) {
+                rules.add(new HolidayRule(holiday.getHolidayDate().getDayOfYear(),
+                        parseApplicableClasses(holiday.getApplicableClasses())));
+            }
+        }
+        for (HolidayEntity holiday : current.recurring) {
+            MonthDay monthDay = MonthDay.from(holiday.getHolidayDate());
+            if (monthDay.isValidYear(year)) {
+                rules.add(new HolidayRule(monthDay.atYear(year).getDayOfYear(),
+                        parseApplicableClasses(holiday.getApplicableClasses())));
+            }
+        }
+        return rules;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            long generation = snapshotGeneration.get();
+            current = loadSnapshot();
+            // A refresh that landed while the queries ran makes this snapshot stale; use it once, don't cache it
+            if (snapshotGeneration.get() == generation) {
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private Snapshot loadSnapshot() {
+        List<HolidayEntity> recurring = new ArrayList<>();
+        for (HolidayEntity holiday : holidayRepository.findByIsRecurringTrue()) {
+            if (!Boolean.TRUE.equals(holiday.getAffectsAttendance())) {
+                recurring.add(holiday);
+            }
+        }
+
+        // Several academic years can share a class name and section; the newest class wins
+        Map<String, ClassCalendar> classes = new HashMap<>();
+        for (ClassEntity entity : classRepository.findAllActiveClasses()) {
+            String key = classKey(entity.getClassName(), entity.getSection());
+            ClassCalendar existing = classes.get(key);
+            if (existing == null || existing.classId < entity.getClassId()) {
+                classes.put(key, new ClassCalendar(key, entity.getClassId(), entity.getClassName(),
+                        parseWorkingDays(entity.getWorkingDays())));
+            }
+        }
+        logger.info("Working-day calendar loaded: {} recurring holidays, {} classes", recurring.size(), classes.size());
+        return new Snapshot(recurring, classes);
+    }
+
+    private static String classKey(String className, String section) {
+        return className.trim().toLowerCase(Locale.ROOT) + "|"
+                + (section != null ? section.trim().toLowerCase(Locale.ROOT) : "");
+    }
+
+    // Accepts MONDAY / Monday / Mon; an empty or unreadable list means Monday to Friday
+    private static Set<DayOfWeek> parseWorkingDays(List<String> days) {
+        Set<DayOfWeek> result = EnumSet.noneOf(DayOfWeek.class);
+        if (days != null) {
+            for (String day : days) {
+                if (day == null || day.trim().length() < 3) {
+                    continue;
+                }
+                String prefix = day.trim().substring(0, 3).toUpperCase(Locale.ROOT);
+                for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                    if (dayOfWeek.name().startsWith(prefix)) {
+                        result.add(dayOfWeek);
+                    }
+                }
+            }
+        }
+        return result.isEmpty() ? DEFAULT_WORKING_DAYS : result;
+    }
+
+    // null = applies to every class; otherwise lower-cased class ids / names
+    private static Set<String> parseApplicableClasses(String applicableClasses) {
+        if (applicableClasses == null || applicableClasses.isBlank()
+                || applicableClasses.trim().equalsIgnoreCase("ALL")) {
+            return null;
+        }
+        Set<String> result = new HashSet<>();
+        for (String token : applicableClasses.split("[,;]")) {
+            if (!token.isBlank()) {
+                result.add(token.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return result.isEmpty() ? null : result;
+    }
+
+    private record HolidayRule(int dayOfYear, Set<String> applicableClasses) {
+
+        boolean appliesTo(ClassCalendar classCalendar) {
+            return applicableClasses == null
+                    || applicableClasses.contains(String.valueOf(classCalendar.classId))
+                    || applicableClasses.contains(classCalendar.className.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private record ClassCalendar(String key, Long classId, String className, Set<DayOfWeek> workingDays) {
+    }
+
+    private record YearCalendar(int length, BitSet holidays, BitSet nonWorking, int[] workingDaysUpTo) {
+    }
+
+    private static final class Snapshot {
+        final List<HolidayEntity> recurring;
+        final Map<String, ClassCalendar> classes;
+        final Map<Integer, List<HolidayRule>> holidaysByYear = new ConcurrentHashMap<>();
+        final Map<String, YearCalendar> years = new ConcurrentHashMap<>();
+
+        Snapshot(List<HolidayEntity> recurring, Map<String, ClassCalendar> classes) {
+            this.recurring = recurring;
+            this.classes = classes;
+        }
+    }
+}
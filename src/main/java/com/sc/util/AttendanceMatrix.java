@@ -0,0 +1,51 @@
+package com.sc.util;
+
+import java.util.Objects;
+
+// Dense students x days grid of attendance codes, one byte per cell.
+// A 40-student class over a 31-day month is 1,240 bytes.
+public class AttendanceMatrix {
+
+    public static final byte NONE = 0;
+    public static final byte PRESENT = 1;
+    public static final byte ABSENT = 2;
+    public static final byte LEAVE = 3;
+    public static final byte OTHER = 4;
+
+    private final int days;
+    private final byte[] cells;
+
+    public AttendanceMatrix(int rows, int days) {
+        this.days = days;
+        this.cells = new byte[rows * days];
+    }
+
+    public int getDays() { return days; }
+    public int getRows() { return days == 0 ? 0 : cells.length / days; }
+
+    // day is 1-based (day of month)
+    public void set(int row, int day, byte code) {
+        cells[index(row, day)] = code;
+    }
+
+    public byte get(int row, int day) {
+        return cells[index(row, day)];
+    }
+
+    // An out-of-range day would otherwise land silently in the neighbouring student's row
+    private int index(int row, int day) {
+        return row * days + Objects.checkIndex(day - 1, days);
+    }
+
+    public static byte code(String status) {
+        if (status == null) {
+            return NONE;
+        }
+        return switch (status) {
+            case "PRESENT" -> PRESENT;
+            case "ABSENT" -> ABSENT;
+            case "LEAVE" -> LEAVE;
+            default -> OTHER;
+        };
+    }
+}
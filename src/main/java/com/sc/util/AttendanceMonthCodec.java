@@ -0,0 +1,191 @@
+package com.sc.util;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sc.entity.AttendanceArchiveEntity;
+import com.sc.entity.AttendanceEntity;
+import com.sc.entity.StudentEntity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Packs a student's month of attendance rows into one AttendanceArchiveEntity and back.
+ * PRESENT / ABSENT / LEAVE fit the 2-bit code; any other status, a leave type, a reason or
+ * a marker other than the month's usual one goes to the exceptions list. markedAt is kept once
+ * per month as the latest marking, so decoded days carry an upper bound of when they were marked.
+ */
+public final class AttendanceMonthCodec {
+
+    private static final int NONE = 0;
+    private static final int PRESENT = 1;
+    private static final int ABSENT = 2;
+    private static final int LEAVE = 3;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private static final TypeReference<List<DayException>> EXCEPTIONS_TYPE = new TypeReference<>() {};
+
+    private AttendanceMonthCodec() {
+    }
+
+    public static int period(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    public static YearMonth month(int period) {
+        return YearMonth.of(period / 100, period % 100);
+    }
+
+    // ============= 📦 ENCODE =============
+
+    public static AttendanceArchiveEntity encode(Long studentId, YearMonth month, List<AttendanceEntity> rows) {
+        Map<String, Integer> markers = new HashMap<>();
+        LocalDateTime lastMarkedAt = null;
+        for (AttendanceEntity row : rows) {
+            if (row.getMarkedBy() != null) {
+                markers.merge(row.getMarkedBy(), 1, Integer::sum);
+            }
+            if (row.getMarkedAt() != null && (lastMarkedAt == null || row.getMarkedAt().isAfter(lastMarkedAt))) {
+                lastMarkedAt = row.getMarkedAt();
+            }
+        }
+        String usualMarker = markers.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+
+        long statusBits = 0L;
+        int nonWorkingDays = 0;
+        List<DayException> exceptions = new ArrayList<>();
+        for (AttendanceEntity row : rows) {
+            int day = row.getAttendanceDate().getDayOfMonth();
+            int code = code(row.getStatus());
+            statusBits |= (long) code << (2 * (day - 1));
+            if (Boolean.FALSE.equals(row.getIsWorkingDay())) {
+                nonWorkingDays |= 1 << (day - 1);
+            }
+
+            boolean otherMarker = !Objects.equals(row.getMarkedBy(), usualMarker);
+            if (code == NONE || row.getLeaveType() != null || row.getReason() != null || otherMarker) {
+                DayException exception = new DayException();
+                exception.day = day;
+                exception.status = code == NONE ? row.getStatus() : null;
+                exception.leaveType = row.getLeaveType();
+                exception.reason = row.getReason();
+                exception.markedBy = otherMarker ? row.getMarkedBy() : null;
+                exception.noMarker = otherMarker && row.getMarkedBy() == null ? Boolean.TRUE : null;
+                exceptions.add(exception);
+            }
+        }
+
+        AttendanceArchiveEntity archive = new AttendanceArchiveEntity();
+        archive.setStudentId(studentId);
+        archive.setPeriodMonth(period(month));
+        archive.setStatusBits(statusBits);
+        archive.setNonWorkingDays(nonWorkingDays);
+        archive.setMarkedBy(usualMarker);
+        archive.setMarkedAt(lastMarkedAt);
+        archive.setExceptions(exceptions.isEmpty() ? null : write(exceptions));
+        return archive;
+    }
+
+    // ============= 📂 DECODE =============
+
+    // Detached, id-less rows in date order; only days within [from, to] are returned
+    public static List<AttendanceEntity> decode(AttendanceArchiveEntity archive, StudentEntity student,
+                                                LocalDate from, LocalDate to) {
+        YearMonth month = month(archive.getPeriodMonth());
+        Map<Integer, DayException> exceptions = new HashMap<>();
+        if (archive.getExceptions() != null) {
+            for (DayException exception : read(archive.getExceptions())) {
+                exceptions.put(exception.day, exception);
+            }
+        }
+
+        // Months archived before markedAt was kept fall back to when they were archived
+        LocalDateTime markedAt = archive.getMarkedAt() != null ? archive.getMarkedAt() : archive.getArchivedAt();
+
+        List<AttendanceEntity> rows = new ArrayList<>();
+        long statusBits = archive.getStatusBits();
+        int nonWorkingDays = archive.getNonWorkingDays();
+        for (int day = 1; day <= month.lengthOfMonth(); day++) {
+            LocalDate date = month.atDay(day);
+            int code = (int) (statusBits >>> (2 * (day - 1))) & 0b11;
+            DayException exception = exceptions.get(day);
+            if ((code == NONE && (exception == null || exception.status == null))
+                    || date.isBefore(from) || date.isAfter(to)) {
+                continue;
+            }
+
+            AttendanceEntity row = new AttendanceEntity();
+            row.setStudent(student);
+            row.setAttendanceDate(date);
+            row.setStatus(code == NONE ? exception.status : status(code));
+            row.setIsWorkingDay((nonWorkingDays & (1 << (day - 1))) == 0);
+            row.setMarkedBy(archive.getMarkedBy());
+            row.setMarkedAt(markedAt);
+            if (exception != null) {
+                row.setLeaveType(exception.leaveType);
+                row.setReason(exception.reason);
+                if (exception.markedBy != null || Boolean.TRUE.equals(exception.noMarker)) {
+                    row.setMarkedBy(exception.markedBy);
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // ============= 🔧 HELPERS =============
+
+    private static int code(String status) {
+        if (status == null) {
+            return NONE;
+        }
+        return switch (status) {
+            case "PRESENT" -> PRESENT;
+            case "ABSENT" -> ABSENT;
+            case "LEAVE" -> LEAVE;
+            default -> NONE;
+        };
+    }
+
+    private static String status(int code) {
+        return switch (code) {
+            case PRESENT -> "PRESENT";
+            case ABSENT -> "ABSENT";
+            default -> "LEAVE";
+        };
+    }
+
+    private static String write(List<DayException> exceptions) {
+        try {
+            return MAPPER.writeValueAsString(exceptions);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode attendance exceptions: " + e.getMessage(), e);
+        }
+    }
+
+    private static List<DayException> read(String json) {
+        try {
+            return MAPPER.readValue(json, EXCEPTIONS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to decode attendance exceptions: " + e.getMessage(), e);
+        }
+    }
+
+    // Short property names keep the JSON small; it is never exposed through the API
+    public static class DayException {
+        public int day;
+        public String status;
+        public String leaveType;
+        public String reason;
+        public String markedBy;
+        public Boolean noMarker;
+    }
+}
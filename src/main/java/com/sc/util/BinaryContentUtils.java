@@ -0,0 +1,45 @@
+package com.sc.util;
+
+import org.springframework.http.MediaType;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class BinaryContentUtils {
+
+    // Enough leading bytes to recognise every signature below
+    public static final int SIGNATURE_LENGTH = 8;
+
+    private BinaryContentUtils() {
+    }
+
+    // SHA-256 of the content as lower-case hex (same format as MySQL SHA2(x, 256))
+    public static String sha256Hex(byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Detect PDF / JPEG / PNG / GIF from the leading bytes
+    public static MediaType detectContentType(byte[] head, MediaType fallback) {
+        if (head != null && head.length >= 4) {
+            if (head[0] == (byte) 0x25 && head[1] == (byte) 0x50 &&
+                    head[2] == (byte) 0x44 && head[3] == (byte) 0x46) {
+                return MediaType.APPLICATION_PDF;
+            } else if (head[0] == (byte) 0xFF && head[1] == (byte) 0xD8) {
+                return MediaType.IMAGE_JPEG;
+            } else if (head[0] == (byte) 0x89 && head[1] == (byte) 0x50 &&
+                    head[2] == (byte) 0x4E && head[3] == (byte) 0x47) {
+                return MediaType.IMAGE_PNG;
+            } else if (head[0] == (byte) 0x47 && head[1] == (byte) 0x49 &&
+                    head[2] == (byte) 0x46) {
+                return MediaType.IMAGE_GIF;
+            }
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,63 @@
+package com.sc.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Copies a BLOB column to an output stream in fixed-size SUBSTRING chunks,
+ * so only one chunk is ever held in memory regardless of the file size.
+ * Every chunk is pinned to the content hash being served: if the blob is
+ * replaced mid-download the stream aborts instead of mixing two versions
+ * under one ETag / Content-Length.
+ */
+@Component
+public class BlobStreamer {
+
+    // MySQL reads the whole LONGBLOB for each SUBSTRING, so keep the number of chunks low
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param chunkSql    query of the form {@code SELECT SUBSTRING(col, ?, ?) FROM ... WHERE ... AND hash_col = ?};
+     *                    the first two parameters are the 1-based position and length,
+     *                    followed by {@code keys} and then {@code contentHash}
+     * @param contentHash hash of the version whose metadata was served; a chunk from any other version aborts
+     */
+    public void stream(String chunkSql, Object[] keys, String contentHash, long offset, long length,
+                       OutputStream out) throws IOException {
+        Object[] pinnedKeys = Arrays.copyOf(keys, keys.length + 1);
+        pinnedKeys[keys.length] = contentHash;
+
+        long position = offset;
+        long remaining = length;
+
+        while (remaining > 0) {
+            byte[] chunk = readChunk(chunkSql, pinnedKeys, position, (int) Math.min(CHUNK_SIZE, remaining));
+            if (chunk == null) {
+                throw new IOException("Content was replaced while streaming");
+            }
+            if (chunk.length == 0) {
+                throw new IOException("Content ended " + remaining + " bytes before the requested range");
+            }
+            out.write(chunk);
+            position += chunk.length;
+            remaining -= chunk.length;
+        }
+        out.flush();
+    }
+
+    public byte[] readChunk(String chunkSql, Object[] keys, long offset, int length) {
+        Object[] args = new Object[keys.length + 2];
+        args[0] = offset + 1;
+        args[1] = length;
+        System.arraycopy(keys, 0, args, 2, keys.length);
+        return jdbcTemplate.query(chunkSql, rs -> rs.next() ? rs.getBytes(1) : null, args);
+    }
+}
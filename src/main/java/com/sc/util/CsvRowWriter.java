@@ -0,0 +1,71 @@
+package com.sc.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Writes RFC 4180 records; fields are quoted only when they contain a delimiter, quote or line break.
+// Text that a spreadsheet would run as a formula (=, +, -, @, tab, CR first) is prefixed with '.
+public class CsvRowWriter {
+
+    private static final char FORMULA_GUARD = '\'';
+
+    private final Writer writer;
+
+    public CsvRowWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    // Lets Excel detect UTF-8; CsvRowReader skips it on the way back in
+    public void writeByteOrderMark() throws IOException {
+        writer.write('\uFEFF');
+    }
+
+    public void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] instanceof CharSequence text) {
+                writeField(guardFormula(text.toString()));
+            } else if (values[i] != null) {
+                // Numbers and dates are not user-entered text; a negative amount stays a number
+                writeField(values[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    static String guardFormula(String value) {
+        return startsLikeFormula(value, 0) ? FORMULA_GUARD + value : value;
+    }
+
+    // Undoes guardFormula for a cell read back from one of our exports
+    public static String unguardFormula(String value) {
+        return !value.isEmpty() && value.charAt(0) == FORMULA_GUARD && startsLikeFormula(value, 1)
+                ? value.substring(1) : value;
+    }
+
+    // Leading quotes are skipped so text that already looks guarded gets one more ' and survives unguardFormula
+    private static boolean startsLikeFormula(String value, int index) {
+        while (index < value.length() && value.charAt(index) == FORMULA_GUARD) {
+            index++;
+        }
+        if (value.length() <= index) {
+            return false;
+        }
+        char first = value.charAt(index);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,128 @@
+package com.sc.util;
+
+import com.sc.entity.IdSequenceEntity;
+import com.sc.repository.IdSequenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Hi/lo allocator: values come from an in-memory block with an atomic counter; only when a
+// block runs out is the next one reserved from id_sequences in its own short transaction.
+// Reserved values are never reused, so a restart or rollback leaves gaps but never duplicates.
+@Component
+public class HiLoSequenceAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(HiLoSequenceAllocator.class);
+
+    private final IdSequenceRepository idSequenceRepository;
+    private final TransactionTemplate reserveTransaction;
+    private final ConcurrentHashMap<String, Block> blocks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Object> locks = new ConcurrentHashMap<>();
+
+    @Autowired
+    public HiLoSequenceAllocator(IdSequenceRepository idSequenceRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.idSequenceRepository = idSequenceRepository;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        // Commit the reservation even if the caller's transaction later rolls back
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Next value of the named sequence.
+     *
+     * @param blockSize     values reserved per database round trip
+     * @param initialValue  first value if the sequence does not exist yet; only called once per sequence
+     */
+    public long next(String sequenceName, int blockSize, LongSupplier initialValue) {
+        Block block = blocks.get(sequenceName);
+        if (block != null) {
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                return value;
+            }
+        }
+
+        synchronized (lockFor(sequenceName)) {
+            // Another thread may have refilled while we waited
+            block = blocks.get(sequenceName);
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    return value;
+                }
+            }
+            long start = reserve(sequenceName, blockSize, initialValue);
+            Block fresh = new Block(start + 1, start + blockSize);
+            blocks.put(sequenceName, fresh);
+            return start;
+        }
+    }
+
+    /**
+     * Makes sure the named sequence never hands out {@code value} or anything below it,
+     * e.g. after a caller stored an ID of its own choosing in the generated namespace.
+     */
+    public void advancePast(String sequenceName, long value, LongSupplier initialValue) {
+        synchronized (lockFor(sequenceName)) {
+            Block block = blocks.get(sequenceName);
+            if (block != null && value < block.end) {
+                // The table is already reserved past value; only the in-memory block has to skip
+                block.next.accumulateAndGet(value + 1, Math::max);
+                return;
+            }
+            reserveTransaction.executeWithoutResult(status -> {
+                IdSequenceEntity sequence = lockSequence(sequenceName, () -> Math.max(initialValue.getAsLong(), value + 1));
+                if (sequence.getNextValue() <= value) {
+                    sequence.setNextValue(value + 1);
+                }
+            });
+            // Everything left in the current block is at or below value
+            blocks.remove(sequenceName);
+            logger.debug("Sequence {} advanced past {}", sequenceName, value);
+        }
+    }
+
+    private long reserve(String sequenceName, int blockSize, LongSupplier initialValue) {
+        Long start = reserveTransaction.execute(status -> {
+            IdSequenceEntity sequence = lockSequence(sequenceName, initialValue);
+            long first = sequence.getNextValue();
+            sequence.setNextValue(first + blockSize);
+            return first;
+        });
+        logger.debug("Reserved {} values of sequence {} starting at {}", blockSize, sequenceName, start);
+        return start;
+    }
+
+    private IdSequenceEntity lockSequence(String sequenceName, LongSupplier initialValue) {
+        IdSequenceEntity sequence = idSequenceRepository.findForUpdate(sequenceName).orElse(null);
+        if (sequence == null) {
+            idSequenceRepository.insertIfAbsent(sequenceName, initialValue.getAsLong());
+            sequence = idSequenceRepository.findForUpdate(sequenceName)
+                    .orElseThrow(() -> new IllegalStateException("Sequence not created: " + sequenceName));
+        }
+        return sequence;
+    }
+
+    private Object lockFor(String sequenceName) {
+        return locks.computeIfAbsent(sequenceName, k -> new Object());
+    }
+
+    private static final class Block {
+        final AtomicLong next;
+        final long end; // exclusive
+
+        Block(long next, long end) {
+            this.next = new AtomicLong(next);
+            this.end = end;
+        }
+    }
+}
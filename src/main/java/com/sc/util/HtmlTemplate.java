@@ -0,0 +1,189 @@
+package com.sc.util;
+
+import java.util.*;
+
+// A template parsed once into a flat list of segments: static text, {{value}} (HTML-escaped),
+// {{{value}}} (inserted as is) and {{#section}}...{{/section}} blocks. {{! ... }} is a comment.
+// A section renders once for true / a non-null value, once per element for a collection
+// (each Map element becomes the innermost scope), and not at all for null, false or empty.
+public final class HtmlTemplate {
+
+    private final String name;
+    private final Segment[] segments;
+    private final int staticLength;
+
+    private HtmlTemplate(String name, Segment[] segments) {
+        this.name = name;
+        this.segments = segments;
+        this.staticLength = staticLength(segments);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Static text length, a good starting capacity for the output buffer
+    public int getStaticLength() {
+        return staticLength;
+    }
+
+    // ============= 🧩 COMPILE =============
+
+    public static HtmlTemplate compile(String name, String source) {
+        Deque<List<Segment>> open = new ArrayDeque<>();
+        Deque<String> openNames = new ArrayDeque<>();
+        List<Segment> current = new ArrayList<>();
+
+        int pos = 0;
+        while (pos < source.length()) {
+            int start = source.indexOf("{{", pos);
+            if (start < 0) {
+                current.add(new Text(source.substring(pos)));
+                break;
+            }
+            if (start > pos) {
+                current.add(new Text(source.substring(pos, start)));
+            }
+
+            boolean raw = source.startsWith("{{{", start);
+            String close = raw ? "}}}" : "}}";
+            int end = source.indexOf(close, start);
+            if (end < 0) {
+                throw new IllegalArgumentException(name + ": unclosed tag at offset " + start);
+            }
+            String tag = source.substring(start + (raw ? 3 : 2), end).trim();
+            pos = end + close.length();
+
+            if (raw) {
+                current.add(new Value(tag, false));
+            } else if (tag.startsWith("!")) {
+                // comment
+            } else if (tag.startsWith("#")) {
+                open.push(current);
+                openNames.push(tag.substring(1).trim());
+                current = new ArrayList<>();
+            } else if (tag.startsWith("/")) {
+                String sectionName = tag.substring(1).trim();
+                if (openNames.isEmpty() || !openNames.peek().equals(sectionName)) {
+                    throw new IllegalArgumentException(name + ": unexpected {{/" + sectionName + "}} at offset " + start);
+                }
+                Segment section = new Section(openNames.pop(), merge(current));
+                current = open.pop();
+                current.add(section);
+            } else {
+                current.add(new Value(tag, true));
+            }
+        }
+        if (!openNames.isEmpty()) {
+            throw new IllegalArgumentException(name + ": unclosed section {{#" + openNames.peek() + "}}");
+        }
+        return new HtmlTemplate(name, merge(current));
+    }
+
+    // Joins neighbouring text left over after comments so rendering appends one chunk per run
+    private static Segment[] merge(List<Segment> segments) {
+        List<Segment> merged = new ArrayList<>(segments.size());
+        for (Segment segment : segments) {
+            if (segment instanceof Text text && !merged.isEmpty()
+                    && merged.get(merged.size() - 1) instanceof Text previous) {
+                merged.set(merged.size() - 1, new Text(previous.text() + text.text()));
+            } else {
+                merged.add(segment);
+            }
+        }
+        return merged.toArray(new Segment[0]);
+    }
+
+    private static int staticLength(Segment[] segments) {
+        int length = 0;
+        for (Segment segment : segments) {
+            if (segment instanceof Text text) {
+                length += text.text().length();
+            }
+        }
+        return length;
+    }
+
+    // ============= 🖨️ RENDER =============
+
+    public void render(Map<String, ?> model, StringBuilder out) {
+        List<Map<String, ?>> scopes = new ArrayList<>(4);
+        scopes.add(model);
+        render(segments, scopes, out);
+    }
+
+    private static void render(Segment[] segments, List<Map<String, ?>> scopes, StringBuilder out) {
+        for (Segment segment : segments) {
+            if (segment instanceof Text text) {
+                out.append(text.text());
+            } else if (segment instanceof Value value) {
+                Object resolved = lookup(scopes, value.name());
+                if (resolved != null) {
+                    if (value.escape()) {
+                        escape(resolved.toString(), out);
+                    } else {
+                        out.append(resolved);
+                    }
+                }
+            } else if (segment instanceof Section section) {
+                renderSection(section, lookup(scopes, section.name()), scopes, out);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void renderSection(Section section, Object value, List<Map<String, ?>> scopes, StringBuilder out) {
+        if (value == null || Boolean.FALSE.equals(value)) {
+            return;
+        }
+        if (value instanceof Collection<?> items) {
+            for (Object item : items) {
+                if (item instanceof Map<?, ?> itemScope) {
+                    scopes.add((Map<String, ?>) itemScope);
+                    render(section.body(), scopes, out);
+                    scopes.remove(scopes.size() - 1);
+                } else {
+                    render(section.body(), scopes, out);
+                }
+            }
+            return;
+        }
+        render(section.body(), scopes, out);
+    }
+
+    private static Object lookup(List<Map<String, ?>> scopes, String name) {
+        for (int i = scopes.size() - 1; i >= 0; i--) {
+            Map<String, ?> scope = scopes.get(i);
+            if (scope.containsKey(name)) {
+                return scope.get(name);
+            }
+        }
+        return null;
+    }
+
+    private static void escape(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private sealed interface Segment permits Text, Value, Section {
+    }
+
+    private record Text(String text) implements Segment {
+    }
+
+    private record Value(String name, boolean escape) implements Segment {
+    }
+
+    private record Section(String name, Segment[] body) implements Segment {
+    }
+}
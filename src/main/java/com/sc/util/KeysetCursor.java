@@ -0,0 +1,42 @@
+package com.sc.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque cursor for keyset pagination: the sort-key values of the last row of a page
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = "\u001F";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(String... keys) {
+        String joined = String.join(SEPARATOR, keys);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns exactly expectedKeys values, or throws IllegalArgumentException for a malformed cursor
+    public static String[] decode(String cursor, int expectedKeys) {
+        String joined;
+        try {
+            joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] keys = joined.split(SEPARATOR, -1);
+        if (keys.length != expectedKeys) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return keys;
+    }
+
+    public static Long decodeId(String cursor) {
+        try {
+            return Long.parseLong(decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
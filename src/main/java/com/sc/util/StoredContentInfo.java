@@ -0,0 +1,19 @@
+package com.sc.util;
+
+// Metadata needed to serve a stored binary without loading it
+public class StoredContentInfo {
+
+    private final String contentType;
+    private final long sizeBytes;
+    private final String contentHash;
+
+    public StoredContentInfo(String contentType, long sizeBytes, String contentHash) {
+        this.contentType = contentType;
+        this.sizeBytes = sizeBytes;
+        this.contentHash = contentHash;
+    }
+
+    public String getContentType() { return contentType; }
+    public long getSizeBytes() { return sizeBytes; }
+    public String getContentHash() { return contentHash; }
+}
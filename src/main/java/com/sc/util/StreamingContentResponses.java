@@ -0,0 +1,115 @@
+package com.sc.util;
+
+import org.springframework.http.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Builds conditional / ranged streaming responses for stored files:
+ * strong ETag from the stored content hash, 304 on If-None-Match,
+ * single byte ranges (206 / 416) and private caching.
+ */
+public final class StreamingContentResponses {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(1)).cachePrivate();
+
+    @FunctionalInterface
+    public interface RangeWriter {
+        void write(long offset, long length, OutputStream out) throws IOException;
+    }
+
+    private StreamingContentResponses() {
+    }
+
+    public static ResponseEntity<StreamingResponseBody> build(StoredContentInfo info, String fileName,
+                                                              HttpHeaders requestHeaders, RangeWriter writer) {
+        String eTag = "\"" + info.getContentHash() + "\"";
+        long size = info.getSizeBytes();
+
+        if (matchesAny(requestHeaders.getFirst(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(CACHE_CONTROL)
+                    .build();
+        }
+
+        MediaType contentType = parseContentType(info.getContentType());
+
+        String rangeHeader = requestHeaders.getFirst(HttpHeaders.RANGE);
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        boolean rangeApplies = rangeHeader != null && (ifRange == null || ifRange.trim().equals(eTag));
+
+        if (rangeApplies) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+
+            // Multi-range requests are answered with the full body
+            if (ranges.size() == 1) {
+                long start;
+                long end;
+                try {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                            .build();
+                }
+                long length = end - start + 1;
+                return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                        .contentType(contentType)
+                        .contentLength(length)
+                        .eTag(eTag)
+                        .cacheControl(CACHE_CONTROL)
+                        .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + fileName + "\"")
+                        .body(out -> writer.write(start, length, out));
+            }
+        }
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .contentLength(size)
+                .eTag(eTag)
+                .cacheControl(CACHE_CONTROL)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + fileName + "\"")
+                .body(out -> writer.write(0, size, out));
+    }
+
+    private static MediaType parseContentType(String contentType) {
+        if (contentType == null) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
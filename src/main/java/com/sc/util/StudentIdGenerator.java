@@ -4,58 +4,112 @@ import com.sc.repository.StudentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.security.SecureRandom;
+import java.util.Locale;
 
+// Sequential student IDs and per class-section roll numbers backed by HiLoSequenceAllocator.
+// Sequences start after the highest existing number, so earlier random IDs are never reissued.
 @Component
 public class StudentIdGenerator {
 
     private static final String STUDENT_ID_PREFIX = "STD";
     private static final String ROLL_NUMBER_PREFIX = "ROLL";
-    private static final int RANDOM_DIGITS = 4;
-    private static final int MAX_ATTEMPTS = 10;
+    private static final String STUDENT_ID_SEQUENCE = "student_id";
+    private static final String ROLL_NUMBER_SEQUENCE = "roll_number:";
+    private static final int STUDENT_ID_BLOCK_SIZE = 50;
+    private static final int ROLL_NUMBER_BLOCK_SIZE = 10;
 
     private final StudentRepository studentRepository;
-    private final SecureRandom random = new SecureRandom();
+    private final HiLoSequenceAllocator sequenceAllocator;
 
     @Autowired
-    public StudentIdGenerator(StudentRepository studentRepository) {
+    public StudentIdGenerator(StudentRepository studentRepository, HiLoSequenceAllocator sequenceAllocator) {
         this.studentRepository = studentRepository;
+        this.sequenceAllocator = sequenceAllocator;
     }
 
     // Generate unique student ID
     public String generateUniqueStudentId() {
-        int attempts = 0;
-        while (attempts < MAX_ATTEMPTS) {
-            String candidate = generateStudentIdCandidate();
-            if (!studentRepository.existsByStudentId(candidate)) {
-                return candidate;
-            }
-            attempts++;
-        }
-        throw new RuntimeException("Failed to generate unique studentId after " + MAX_ATTEMPTS + " attempts.");
+        long number = sequenceAllocator.next(STUDENT_ID_SEQUENCE, STUDENT_ID_BLOCK_SIZE, this::firstStudentNumber);
+        return STUDENT_ID_PREFIX + String.format("%04d", number);
     }
 
     // Generate unique roll number
     public String generateUniqueRollNumber(String currentClass, String section) {
-        int attempts = 0;
-        while (attempts < MAX_ATTEMPTS) {
-            String candidate = generateRollNumberCandidate(currentClass, section);
-            if (!studentRepository.existsByStudentRollNumber(candidate)) {
-                return candidate;
-            }
-            attempts++;
+        String prefix = rollNumberPrefix(currentClass, section);
+        long number = sequenceAllocator.next(ROLL_NUMBER_SEQUENCE + prefix, ROLL_NUMBER_BLOCK_SIZE,
+                () -> firstRollNumber(prefix));
+        return prefix + String.format("%03d", number);
+    }
+
+    // ============= 🔒 CALLER-SUPPLIED IDS =============
+
+    // A supplied ID in the generated namespace (STD + digits) moves the sequence past it
+    public void reserveStudentId(String studentId) {
+        long number = suffix(studentId, STUDENT_ID_PREFIX);
+        if (number > 0) {
+            sequenceAllocator.advancePast(STUDENT_ID_SEQUENCE, number, this::firstStudentNumber);
         }
-        throw new RuntimeException("Failed to generate unique roll number after " + MAX_ATTEMPTS + " attempts.");
     }
 
-    private String generateStudentIdCandidate() {
-        int number = random.nextInt(10000);
-        return STUDENT_ID_PREFIX + String.format("%04d", number);
+    public void reserveRollNumber(String rollNumber, String currentClass, String section) {
+        if (isBlank(currentClass) || isBlank(section)) {
+            return;
+        }
+        String prefix = rollNumberPrefix(currentClass, section);
+        long number = suffix(rollNumber, prefix);
+        if (number > 0) {
+            sequenceAllocator.advancePast(ROLL_NUMBER_SEQUENCE + prefix, number, () -> firstRollNumber(prefix));
+        }
+    }
+
+    // After a unique-key clash: skip every number already in the students table
+    public void resyncStudentIds() {
+        sequenceAllocator.advancePast(STUDENT_ID_SEQUENCE, firstStudentNumber() - 1, this::firstStudentNumber);
+    }
+
+    public void resyncRollNumbers(String currentClass, String section) {
+        String prefix = rollNumberPrefix(currentClass, section);
+        sequenceAllocator.advancePast(ROLL_NUMBER_SEQUENCE + prefix, firstRollNumber(prefix) - 1,
+                () -> firstRollNumber(prefix));
     }
 
-    private String generateRollNumberCandidate(String currentClass, String section) {
-        int number = random.nextInt(1000);
+    // ============= 🔧 HELPERS =============
+
+    private long firstStudentNumber() {
+        return studentRepository.findMaxStudentIdSuffix(STUDENT_ID_PREFIX) + 1;
+    }
+
+    private long firstRollNumber(String prefix) {
+        return studentRepository.findMaxRollNumberSuffix(prefix) + 1;
+    }
+
+    private static String rollNumberPrefix(String currentClass, String section) {
+        if (isBlank(currentClass) || isBlank(section)) {
+            throw new IllegalArgumentException("Class and section are required to generate a roll number");
+        }
         return ROLL_NUMBER_PREFIX + currentClass.replaceAll("[^0-9]", "") +
-                section.toUpperCase() + String.format("%03d", number);
+                section.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "");
+    }
+
+    // Numeric part of prefix + digits (case-insensitive prefix), or -1 for anything else
+    private static long suffix(String value, String prefix) {
+        if (value == null) {
+            return -1;
+        }
+        String trimmed = value.trim();
+        if (trimmed.length() <= prefix.length() || trimmed.length() > prefix.length() + 18
+                || !trimmed.regionMatches(true, 0, prefix, 0, prefix.length())) {
+            return -1;
+        }
+        for (int i = prefix.length(); i < trimmed.length(); i++) {
+            if (trimmed.charAt(i) < '0' || trimmed.charAt(i) > '9') {
+                return -1;
+            }
+        }
+        return Long.parseLong(trimmed.substring(prefix.length()));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
     }
-}
\ No newline at end of file
+}
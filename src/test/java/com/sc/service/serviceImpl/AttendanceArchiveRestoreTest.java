@@ -0,0 +1,78 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.entity.AttendanceEntity;
+import com.sc.entity.StudentEntity;
+import com.sc.repository.AttendanceRepository;
+import com.sc.repository.StudentRepository;
+import com.sc.service.AttendanceArchiveService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// archiveMonth() runs its own transaction, so the writes have to commit
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AttendanceArchiveServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "test.database.name=attendance_archive")
+class AttendanceArchiveRestoreTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 1);
+    private static final LocalDateTime MARKED_AT = LocalDateTime.of(2024, 1, 10, 9, 15);
+
+    @Autowired
+    private AttendanceArchiveService archiveService;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    void restoredRowsKeepTheirMarkingTime() {
+        StudentEntity student = new StudentEntity();
+        student.setStudentId("STD9201");
+        student.setStudentRollNumber("ROLL5A920");
+        student.setFirstName("Test");
+        student.setCurrentClass("5");
+        student.setSection("A");
+        student = studentRepository.save(student);
+        attendanceRepository.saveAll(List.of(
+                row(student, MONTH.atDay(9), MARKED_AT.minusDays(1)),
+                row(student, MONTH.atDay(10), MARKED_AT)));
+
+        assertThat(archiveService.archiveMonth(MONTH)).isEqualTo(1);
+        assertThat(attendanceRepository.count()).isZero();
+
+        archiveService.restore(List.of(student.getStdId()), MONTH.atDay(10));
+
+        assertThat(attendanceRepository.findAll()).hasSize(2)
+                .extracting(AttendanceEntity::getMarkedAt)
+                .containsOnly(MARKED_AT);
+    }
+
+    private static AttendanceEntity row(StudentEntity student, LocalDate date, LocalDateTime markedAt) {
+        AttendanceEntity row = new AttendanceEntity();
+        row.setStudent(student);
+        row.setAttendanceDate(date);
+        row.setStatus("PRESENT");
+        row.setMarkedBy("teacher");
+        row.setMarkedAt(markedAt);
+        return row;
+    }
+}
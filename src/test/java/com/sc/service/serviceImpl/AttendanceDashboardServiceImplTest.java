@@ -0,0 +1,77 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.dto.response.DailyAttendanceDashboardDto;
+import com.sc.repository.AttendanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// No transaction is active, so recordMarked() applies immediately: a call made while the
+// grouped count runs stands in for a mark committed during the rebuild
+class AttendanceDashboardServiceImplTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final AttendanceRepository attendanceRepository = mock(AttendanceRepository.class);
+    private final AttendanceDashboardServiceImpl service = new AttendanceDashboardServiceImpl();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "attendanceRepository", attendanceRepository);
+    }
+
+    @Test
+    void marksCommittedDuringRebuildSurviveTheSwap() {
+        when(attendanceRepository.countByClassSectionAndStatusOnDate(any())).thenReturn(rows(row("PRESENT", 10)));
+        service.rebuild();
+
+        // The count was read before these commits: it has neither the new mark nor the correction
+        when(attendanceRepository.countByClassSectionAndStatusOnDate(any())).thenAnswer(invocation -> {
+            service.recordMarked(TODAY, "5", "A", null, "ABSENT");
+            service.recordMarked(TODAY, "5", "A", "PRESENT", "LEAVE");
+            return rows(row("PRESENT", 10));
+        });
+        service.rebuild();
+
+        DailyAttendanceDashboardDto dashboard = service.getTodayDashboard();
+        assertThat(dashboard.getPresent()).isEqualTo(9);
+        assertThat(dashboard.getAbsent()).isEqualTo(1);
+        assertThat(dashboard.getLeave()).isEqualTo(1);
+        assertThat(dashboard.getTotalMarked()).isEqualTo(11);
+    }
+
+    @Test
+    void failedRebuildKeepsTheCurrentCounters() {
+        when(attendanceRepository.countByClassSectionAndStatusOnDate(any())).thenReturn(rows(row("PRESENT", 10)));
+        service.rebuild();
+
+        when(attendanceRepository.countByClassSectionAndStatusOnDate(any())).thenAnswer(invocation -> {
+            service.recordMarked(TODAY, "5", "A", null, "ABSENT");
+            throw new IllegalStateException("connection lost");
+        });
+        assertThatThrownBy(service::rebuild).isInstanceOf(IllegalStateException.class);
+
+        DailyAttendanceDashboardDto dashboard = service.getTodayDashboard();
+        assertThat(dashboard.getPresent()).isEqualTo(10);
+        assertThat(dashboard.getAbsent()).isEqualTo(1);
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    // [currentClass, section, status, count]
+    private static Object[] row(String status, long count) {
+        return new Object[]{"5", "A", status, count};
+    }
+}
@@ -0,0 +1,89 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.dto.response.AttendanceRiskDto;
+import com.sc.dto.response.CursorPageResponse;
+import com.sc.repository.AttendanceCounterRepository;
+import com.sc.service.AttendanceRiskService;
+import com.sc.util.HiLoSequenceAllocator;
+import com.sc.util.KeysetCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+// Each scan commits on its own, as the nightly job does
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AttendanceRiskServiceImpl.class, HiLoSequenceAllocator.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "test.database.name=attendance_risk")
+class AttendanceRiskPagingTest {
+
+    @Autowired
+    private AttendanceRiskService attendanceRiskService;
+
+    @MockitoBean
+    private AttendanceCounterRepository attendanceCounterRepository;
+
+    @Test
+    void cursorWalksOneRunAndIsRejectedAfterARescan() {
+        scanWith(row(1L, "Asha", "1", 10, 20), row(2L, "Ravi", "2", 14, 20), row(3L, "Meera", "3", 5, 20));
+
+        CursorPageResponse<AttendanceRiskDto> first = attendanceRiskService.getAtRiskPage("5", "A", null, 2);
+        assertThat(first.getContent()).extracting(AttendanceRiskDto::getStudentId).containsExactly(3L, 1L);
+        assertThat(first.getContent()).extracting(AttendanceRiskDto::getClassRank).containsExactly(1, 2);
+
+        CursorPageResponse<AttendanceRiskDto> second = attendanceRiskService.getAtRiskPage("5", "A", first.getNextCursor(), 2);
+        assertThat(second.getContent()).extracting(AttendanceRiskDto::getStudentId).containsExactly(2L);
+        assertThat(second.getNextCursor()).isNull();
+
+        // The rescan replaces every row, so the old cursor's id means nothing any more
+        scanWith(row(1L, "Asha", "1", 10, 20), row(2L, "Ravi", "2", 14, 20), row(3L, "Meera", "3", 5, 20));
+
+        assertThatThrownBy(() -> attendanceRiskService.getAtRiskPage("5", "A", first.getNextCursor(), 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("recomputed");
+        assertThat(attendanceRiskService.getAtRiskPage("5", "A", null, 2).getContent())
+                .extracting(AttendanceRiskDto::getStudentId).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void emptyListAndMalformedCursors() {
+        scanWith();
+
+        assertThat(attendanceRiskService.getAtRiskPage(null, null, null, 10).getContent()).isEmpty();
+        assertThatThrownBy(() -> attendanceRiskService.getAtRiskPage(null, null, KeysetCursor.encode("7"), 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> attendanceRiskService.getAtRiskPage(null, null, KeysetCursor.encode("x", "1"), 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    private void scanWith(Object[]... rows) {
+        when(attendanceCounterRepository.findStudentsBelowThreshold(anyInt(), anyInt(), anyLong()))
+                .thenReturn(new ArrayList<>(List.of(rows)));
+        attendanceRiskService.runScan();
+    }
+
+    // [stdId, firstName, lastName, class, section, rollNumber, presentDays, workingDays]
+    private static Object[] row(Long stdId, String firstName, String rollNumber, int present, int working) {
+        return new Object[]{stdId, firstName, "Kumar", "5", "A", rollNumber, (long) present, (long) working};
+    }
+}
@@ -0,0 +1,162 @@
+package com.sc.service.serviceImpl;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.sc.entity.OutboundEmailEntity;
+import com.sc.repository.OutboundEmailRepository;
+import com.sc.service.EmailQueueService;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Queue -> SMTP round trip against an in-process GreenMail server; every step commits for real
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EmailQueueServiceImpl.class, EmailQueueServiceTest.MailConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "test.database.name=email_queue",
+        "spring.mail.username=school@test.local",
+        // No background wake-ups: the test drives deliverDue() itself
+        "email.queue.enabled=false",
+        "email.queue.retry-base-seconds=0",
+        "email.queue.max-attempts=2"
+})
+class EmailQueueServiceTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailQueueService emailQueueService;
+
+    @Autowired
+    private OutboundEmailRepository outboundEmailRepository;
+
+    @Autowired
+    private JavaMailSenderImpl mailSender;
+
+    @BeforeEach
+    void pointAtGreenMail() {
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+    }
+
+    @AfterEach
+    void clearQueue() {
+        outboundEmailRepository.deleteAll();
+    }
+
+    @Test
+    void enqueuedEmailIsSentAndMarkedSent() throws Exception {
+        emailQueueService.enqueue("parent@example.com", "Fee reminder", "<p>Due soon</p>", null);
+
+        assertThat(emailQueueService.deliverDue()).isEqualTo(1);
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        assertThat(received[0].getSubject()).isEqualTo("Fee reminder");
+        assertThat(received[0].getAllRecipients()[0].toString()).isEqualTo("parent@example.com");
+
+        OutboundEmailEntity email = onlyEmail();
+        assertThat(email.getStatus()).isEqualTo("SENT");
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getSentAt()).isNotNull();
+        assertThat(email.getLastError()).isNull();
+    }
+
+    @Test
+    void failedSendIsRetriedOnTheNextDrain() throws Exception {
+        emailQueueService.enqueue("parent@example.com", "Payment received", "<p>Thanks</p>", null);
+
+        mailSender.setPort(closedPort());
+        assertThat(emailQueueService.deliverDue()).isZero();
+
+        OutboundEmailEntity failed = onlyEmail();
+        assertThat(failed.getStatus()).isEqualTo("PENDING");
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).isNotBlank();
+
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        assertThat(emailQueueService.deliverDue()).isEqualTo(1);
+
+        OutboundEmailEntity sent = onlyEmail();
+        assertThat(sent.getStatus()).isEqualTo("SENT");
+        assertThat(sent.getAttempts()).isEqualTo(2);
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    }
+
+    @Test
+    void emailIsFailedOnceAttemptsRunOut() throws Exception {
+        emailQueueService.enqueue("parent@example.com", "Overdue", "<p>Overdue</p>", null);
+
+        mailSender.setPort(closedPort());
+        emailQueueService.deliverDue();
+        emailQueueService.deliverDue();
+
+        OutboundEmailEntity email = onlyEmail();
+        assertThat(email.getStatus()).isEqualTo("FAILED");
+        assertThat(email.getAttempts()).isEqualTo(2);
+        assertThat(emailQueueService.deliverDue()).isZero();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    void sentEmailsArePurgedAfterRetention() {
+        emailQueueService.enqueue("parent@example.com", "Old", "<p>Old</p>", null);
+        emailQueueService.deliverDue();
+
+        assertThat(emailQueueService.purgeSent()).isZero();
+
+        OutboundEmailEntity email = onlyEmail();
+        email.setSentAt(LocalDateTime.now().minusDays(8));
+        outboundEmailRepository.save(email);
+
+        assertThat(emailQueueService.purgeSent()).isEqualTo(1);
+        assertThat(outboundEmailRepository.count()).isZero();
+    }
+
+    private OutboundEmailEntity onlyEmail() {
+        List<OutboundEmailEntity> emails = outboundEmailRepository.findAll();
+        assertThat(emails).hasSize(1);
+        return emails.get(0);
+    }
+
+    private static int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @TestConfiguration
+    static class MailConfig {
+
+        @Bean
+        JavaMailSenderImpl mailSender() {
+            JavaMailSenderImpl sender = new JavaMailSenderImpl();
+            sender.setHost("localhost");
+            sender.setPort(ServerSetupTest.SMTP.getPort());
+            return sender;
+        }
+    }
+}
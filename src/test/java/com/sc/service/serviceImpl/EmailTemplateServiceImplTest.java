@@ -0,0 +1,67 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.service.EmailTemplateService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailTemplateServiceImplTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void bundledTemplatesLoadAndRender() {
+        EmailTemplateServiceImpl service = service("classpath:templates/email/");
+        service.init();
+
+        String html = service.render(EmailTemplateService.FEE_REMINDER, Map.of("studentName", "Asha & Co"));
+
+        assertThat(html).contains("Asha &amp; Co");
+    }
+
+    @Test
+    void emptyLocationFailsStartup() {
+        EmailTemplateServiceImpl service = service(directory.toUri().toString());
+
+        assertThatThrownBy(service::init)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("No email templates");
+    }
+
+    @Test
+    void missingRequiredTemplateFailsStartup() throws Exception {
+        Files.writeString(directory.resolve("fee-reminder.html"), "<p>{{studentName}}</p>");
+        EmailTemplateServiceImpl service = service(directory.toUri().toString());
+
+        assertThatThrownBy(service::init)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("payment-confirmation");
+    }
+
+    @Test
+    void failedReloadKeepsThePreviousTemplates() throws Exception {
+        EmailTemplateServiceImpl service = service("classpath:templates/email/");
+        service.init();
+
+        ReflectionTestUtils.setField(service, "location", directory.toUri().toString());
+        assertThatThrownBy(service::reload).isInstanceOf(IllegalStateException.class);
+
+        assertThat(service.render(EmailTemplateService.PAYMENT_CONFIRMATION, Map.of())).isNotBlank();
+    }
+
+    private static EmailTemplateServiceImpl service(String location) {
+        EmailTemplateServiceImpl service = new EmailTemplateServiceImpl();
+        ReflectionTestUtils.setField(service, "resourcePatternResolver", new PathMatchingResourcePatternResolver());
+        ReflectionTestUtils.setField(service, "location", location);
+        return service;
+    }
+}
@@ -0,0 +1,114 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.dto.request.FeesRequestDto;
+import com.sc.dto.response.FeesResponseDto;
+import com.sc.entity.FeeCollectionTotalEntity;
+import com.sc.entity.StudentEntity;
+import com.sc.repository.FeeCollectionTotalRepository;
+import com.sc.repository.StudentRepository;
+import com.sc.service.FeeAnalyticsService;
+import com.sc.service.FeesService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Concurrent writes to one fees record each commit on their own, like two cashier clicks
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({FeesServiceImpl.class, FeeAnalyticsServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "test.database.name=fee_totals_concurrency")
+class FeeCollectionTotalsConcurrencyTest {
+
+    @Autowired
+    private FeesService feesService;
+
+    @Autowired
+    private FeeAnalyticsService feeAnalyticsService;
+
+    @Autowired
+    private FeeCollectionTotalRepository feeCollectionTotalRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    void doubleSubmittedPaymentIsCollectedOnce() throws Exception {
+        StudentEntity student = new StudentEntity();
+        student.setStudentId("STD9201");
+        student.setStudentRollNumber("ROLL5A920");
+        student.setFirstName("Test");
+        student.setCurrentClass("5");
+        student.setSection("A");
+        student = studentRepository.save(student);
+
+        FeesRequestDto request = new FeesRequestDto();
+        request.setStudentId(student.getStdId());
+        request.setAcademicYear("2026-2027");
+        request.setPaymentMode("CASH");
+        request.setTuitionFees(10000);
+        request.setInitialAmount(1000);
+        FeesRequestDto.InstallmentDto installment = new FeesRequestDto.InstallmentDto();
+        installment.setInstallmentId(1L);
+        installment.setAmount(4000);
+        installment.setDueDate(LocalDate.now().plusDays(5));
+        installment.setStatus("PENDING");
+        request.setInstallmentsList(new ArrayList<>(List.of(installment)));
+        FeesResponseDto fees = feesService.createFees(request);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<FeesResponseDto>> payments = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                payments.add(pool.submit(() -> {
+                    start.await();
+                    return feesService.processInstallmentPayment(fees.getId(), 1L, "CASH", "TXN-1");
+                }));
+            }
+            start.countDown();
+            for (Future<FeesResponseDto> payment : payments) {
+                payment.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<String, List<Long>> maintained = bucketTotals();
+        feeAnalyticsService.rebuildAll();
+        assertThat(maintained).isEqualTo(bucketTotals());
+    }
+
+    // key -> [count, billed, collected, pending, overdue amount, overdue count]; emptied buckets left out
+    private Map<String, List<Long>> bucketTotals() {
+        Map<String, List<Long>> totals = new TreeMap<>();
+        for (FeeCollectionTotalEntity row : feeCollectionTotalRepository.findAll()) {
+            if (row.getFeesCount() == 0) {
+                continue;
+            }
+            totals.put(row.getAcademicYear() + "|" + row.getClassName() + "|" + row.getPaymentMode(),
+                    List.of(row.getFeesCount(), row.getBilledAmount(), row.getCollectedAmount(),
+                            row.getPendingAmount(), row.getOverdueAmount(), row.getOverdueCount()));
+        }
+        return totals;
+    }
+}
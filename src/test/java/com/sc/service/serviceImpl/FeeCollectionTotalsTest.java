@@ -0,0 +1,144 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.dto.request.FeesRequestDto;
+import com.sc.dto.response.FeesResponseDto;
+import com.sc.entity.FeeCollectionTotalEntity;
+import com.sc.entity.StudentEntity;
+import com.sc.repository.FeeCollectionTotalRepository;
+import com.sc.repository.StudentRepository;
+import com.sc.service.FeeAnalyticsService;
+import com.sc.service.FeesService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The per-write deltas must leave fee_collection_totals exactly where a full rebuild puts it
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({FeesServiceImpl.class, FeeAnalyticsServiceImpl.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = "test.database.name=fee_totals")
+class FeeCollectionTotalsTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private FeesService feesService;
+
+    @Autowired
+    private FeeAnalyticsService feeAnalyticsService;
+
+    @Autowired
+    private FeeCollectionTotalRepository feeCollectionTotalRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void deltasMatchRebuildAcrossCreateUpdatePayAndDelete() {
+        StudentEntity classFive = student("STD9001", "ROLL5A901", "5");
+        StudentEntity classSix = student("STD9002", "ROLL6A902", "6");
+
+        // create: one overdue installment, one due later
+        FeesResponseDto first = feesService.createFees(request(classFive.getStdId(), "2026-2027", "CASH",
+                installment(1L, 4000, TODAY.minusDays(10), "PENDING"),
+                installment(2L, 6000, TODAY.plusDays(20), "Pending")));
+        FeesResponseDto second = feesService.createFees(request(classSix.getStdId(), "2026-2027", "ONLINE",
+                installment(1L, 5000, TODAY.minusDays(3), "OVERDUE")));
+        assertMatchesRebuild();
+
+        // pay the overdue installment
+        feesService.processInstallmentPayment(first.getId(), 1L, "CASH", "TXN-1");
+        assertMatchesRebuild();
+
+        // update in place, then move to another student (class) and academic year
+        FeesRequestDto raise = new FeesRequestDto();
+        raise.setTuitionFees(12000);
+        feesService.updateFees(first.getId(), raise);
+        assertMatchesRebuild();
+
+        FeesRequestDto move = new FeesRequestDto();
+        move.setStudentId(classSix.getStdId());
+        move.setAcademicYear("2027-2028");
+        feesService.updateFees(first.getId(), move);
+        assertMatchesRebuild();
+
+        FeesRequestDto switchMode = new FeesRequestDto();
+        switchMode.setPaymentMode("CHEQUE");
+        feesService.updateFees(second.getId(), switchMode);
+        assertMatchesRebuild();
+
+        // delete
+        feesService.deleteFees(second.getId());
+        assertMatchesRebuild();
+    }
+
+    private void assertMatchesRebuild() {
+        Map<String, List<Long>> maintained = bucketTotals();
+        feeAnalyticsService.rebuildAll();
+        assertThat(maintained).isEqualTo(bucketTotals());
+    }
+
+    // key -> [count, billed, collected, pending, overdue amount, overdue count]; emptied buckets left out
+    private Map<String, List<Long>> bucketTotals() {
+        entityManager.flush();
+        entityManager.clear();
+        Map<String, List<Long>> totals = new TreeMap<>();
+        for (FeeCollectionTotalEntity row : feeCollectionTotalRepository.findAll()) {
+            if (row.getFeesCount() == 0) {
+                continue;
+            }
+            totals.put(row.getAcademicYear() + "|" + row.getClassName() + "|" + row.getPaymentMode(),
+                    List.of(row.getFeesCount(), row.getBilledAmount(), row.getCollectedAmount(),
+                            row.getPendingAmount(), row.getOverdueAmount(), row.getOverdueCount()));
+        }
+        return totals;
+    }
+
+    private StudentEntity student(String studentId, String rollNumber, String currentClass) {
+        StudentEntity student = new StudentEntity();
+        student.setStudentId(studentId);
+        student.setStudentRollNumber(rollNumber);
+        student.setFirstName("Test");
+        student.setCurrentClass(currentClass);
+        student.setSection("A");
+        return studentRepository.save(student);
+    }
+
+    private static FeesRequestDto request(Long studentId, String academicYear, String paymentMode,
+                                          FeesRequestDto.InstallmentDto... installments) {
+        FeesRequestDto request = new FeesRequestDto();
+        request.setStudentId(studentId);
+        request.setAcademicYear(academicYear);
+        request.setPaymentMode(paymentMode);
+        request.setTuitionFees(10000);
+        request.setInitialAmount(1000);
+        request.setInstallmentsList(new ArrayList<>(List.of(installments)));
+        return request;
+    }
+
+    private static FeesRequestDto.InstallmentDto installment(Long number, int amount, LocalDate dueDate, String status) {
+        FeesRequestDto.InstallmentDto installment = new FeesRequestDto.InstallmentDto();
+        installment.setInstallmentId(number);
+        installment.setAmount(amount);
+        installment.setDueDate(dueDate);
+        installment.setStatus(status);
+        return installment;
+    }
+}
@@ -0,0 +1,135 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.dto.request.FeesRequestDto;
+import com.sc.dto.response.FeesResponseDto;
+import com.sc.entity.Installment;
+import com.sc.entity.StudentEntity;
+import com.sc.repository.InstallmentRepository;
+import com.sc.repository.StudentRepository;
+import com.sc.service.FeesService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Reminder claims are keyed on the fee_installments row id, so an edit must not recreate the rows
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({FeesServiceImpl.class, FeeAnalyticsServiceImpl.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = "test.database.name=fee_installments")
+class FeesInstallmentUpdateTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private FeesService feesService;
+
+    @Autowired
+    private InstallmentRepository installmentRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void editKeepsInstallmentRowsAndReminderState() {
+        StudentEntity student = student("STD9101", "ROLL5A910");
+        FeesResponseDto fees = feesService.createFees(request(student.getStdId(),
+                installment(1L, 4000, TODAY.minusDays(10)),
+                installment(2L, 6000, TODAY.plusDays(20))));
+        Map<Long, Installment> created = installmentsByNumber();
+
+        // #1 was reminded today, so its next reminder is tomorrow
+        created.get(1L).setNextReminderOn(TODAY.plusDays(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        feesService.updateFees(fees.getId(), request(student.getStdId(),
+                installment(1L, 4500, TODAY.minusDays(10)),
+                installment(2L, 6000, TODAY.plusDays(30)),
+                installment(3L, 2000, TODAY.plusDays(60))));
+        Map<Long, Installment> updated = installmentsByNumber();
+
+        assertThat(updated.get(1L).getId()).isEqualTo(created.get(1L).getId());
+        assertThat(updated.get(1L).getAmount()).isEqualTo(4500);
+        assertThat(updated.get(1L).getNextReminderOn()).isEqualTo(TODAY.plusDays(1));
+        // A moved due date restarts the schedule from the new date
+        assertThat(updated.get(2L).getId()).isEqualTo(created.get(2L).getId());
+        assertThat(updated.get(2L).getNextReminderOn()).isEqualTo(TODAY.plusDays(30));
+        assertThat(updated.get(3L).getNextReminderOn()).isEqualTo(TODAY.plusDays(60));
+
+        feesService.updateFees(fees.getId(), request(student.getStdId(), installment(1L, 4500, TODAY.minusDays(10))));
+
+        assertThat(installmentsByNumber().keySet()).containsExactly(1L);
+        assertThat(installmentsByNumber().get(1L).getId()).isEqualTo(created.get(1L).getId());
+    }
+
+    @Test
+    void installmentsOfDifferentFeesRecordsAreDistinct() {
+        feesService.createFees(request(student("STD9102", "ROLL5A911").getStdId(),
+                installment(1L, 4000, TODAY.plusDays(10))));
+        feesService.createFees(request(student("STD9103", "ROLL5A912").getStdId(),
+                installment(1L, 4000, TODAY.plusDays(10))));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Installment> rows = installmentRepository.findAll();
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).isNotEqualTo(rows.get(1));
+        assertThat(new HashSet<>(rows)).hasSize(2);
+    }
+
+    private Map<Long, Installment> installmentsByNumber() {
+        entityManager.flush();
+        entityManager.clear();
+        return installmentRepository.findAll().stream()
+                .collect(Collectors.toMap(Installment::getInstallmentId, installment -> installment));
+    }
+
+    private StudentEntity student(String studentId, String rollNumber) {
+        StudentEntity student = new StudentEntity();
+        student.setStudentId(studentId);
+        student.setStudentRollNumber(rollNumber);
+        student.setFirstName("Test");
+        student.setCurrentClass("5");
+        student.setSection("A");
+        return studentRepository.save(student);
+    }
+
+    private static FeesRequestDto request(Long studentId, FeesRequestDto.InstallmentDto... installments) {
+        FeesRequestDto request = new FeesRequestDto();
+        request.setStudentId(studentId);
+        request.setAcademicYear("2026-2027");
+        request.setPaymentMode("CASH");
+        request.setTuitionFees(10000);
+        request.setInitialAmount(1000);
+        request.setInstallmentsList(new ArrayList<>(List.of(installments)));
+        return request;
+    }
+
+    private static FeesRequestDto.InstallmentDto installment(Long number, int amount, LocalDate dueDate) {
+        FeesRequestDto.InstallmentDto installment = new FeesRequestDto.InstallmentDto();
+        installment.setInstallmentId(number);
+        installment.setAmount(amount);
+        installment.setDueDate(dueDate);
+        installment.setStatus("PENDING");
+        return installment;
+    }
+}
@@ -0,0 +1,131 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.enum_util.ImageOwnerType;
+import com.sc.repository.ImageVariantRepository;
+import com.sc.service.ImageVariantService;
+import com.sc.util.BlobStreamer;
+import com.sc.util.StoredContentInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// Variants are written after the upload commits, so the test drives real transactions
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ImageVariantServiceImpl.class, BlobStreamer.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "test.database.name=image_variants")
+class ImageVariantServiceImplTest {
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @MockitoSpyBean
+    private ImageVariantRepository variantRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void variantsAreStoredOnlyOnceTheUploadCommits() throws IOException {
+        byte[] photo = png(400, 200);
+
+        upload(1L, photo, true);
+        assertThat(variantRepository.findMetadata(ImageOwnerType.STUDENT, 1L, 64)).isEmpty();
+
+        upload(1L, photo, false);
+        assertThat(variantRepository.findMetadata(ImageOwnerType.STUDENT, 1L, 64)).hasSize(1);
+        assertThat(variantRepository.findMetadata(ImageOwnerType.STUDENT, 1L, 256)).hasSize(1);
+    }
+
+    @Test
+    void unreadableUploadStillCommitsAndServesTheOriginal() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Boolean committed = transaction.execute(status -> {
+            imageVariantService.refreshVariants(ImageOwnerType.STUDENT, 2L, new byte[]{1, 2, 3});
+            return true;
+        });
+
+        assertThat(committed).isTrue();
+        assertThat(imageVariantService.getVariantInfo(ImageOwnerType.STUDENT, 2L, 64, () -> new byte[]{1, 2, 3}))
+                .isNull();
+    }
+
+    @Test
+    void failedRefreshDropsThePreviousPhotosVariants() throws IOException {
+        upload(4L, png(300, 300), false);
+        assertThat(variantRepository.findMetadata(ImageOwnerType.STUDENT, 4L, 64)).hasSize(1);
+
+        // The new photo's variants cannot be stored; the old thumbnails must not outlive it
+        doThrow(new DataIntegrityViolationException("duplicate")).when(variantRepository).saveAll(anyList());
+        upload(4L, png(500, 100), false);
+
+        assertThat(variantRepository.findMetadata(ImageOwnerType.STUDENT, 4L, 64)).isEmpty();
+        assertThat(variantRepository.findMetadata(ImageOwnerType.STUDENT, 4L, 256)).isEmpty();
+    }
+
+    @Test
+    void ownerWithoutPhotoDoesNotTouchTheTable() {
+        assertThat(imageVariantService.getVariantInfo(ImageOwnerType.TEACHER, 5L, 64, () -> null)).isNull();
+        assertThat(imageVariantService.getVariantInfo(ImageOwnerType.TEACHER, 5L, 64, () -> new byte[0])).isNull();
+
+        verify(variantRepository, never()).deleteByOwner(any(), any());
+    }
+
+    @Test
+    void lookupGeneratesMissingVariantsOnce() throws IOException {
+        byte[] photo = png(100, 300);
+        int[] loads = {0};
+
+        StoredContentInfo first = imageVariantService.getVariantInfo(ImageOwnerType.TEACHER, 3L, 256, () -> {
+            loads[0]++;
+            return photo;
+        });
+        StoredContentInfo second = imageVariantService.getVariantInfo(ImageOwnerType.TEACHER, 3L, 256, () -> {
+            loads[0]++;
+            return photo;
+        });
+
+        assertThat(first).isNotNull();
+        assertThat(second.getContentHash()).isEqualTo(first.getContentHash());
+        assertThat(loads[0]).isEqualTo(1);
+    }
+
+    private void upload(Long ownerId, byte[] photo, boolean rollback) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            imageVariantService.refreshVariants(ImageOwnerType.STUDENT, ownerId, photo);
+            if (rollback) {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
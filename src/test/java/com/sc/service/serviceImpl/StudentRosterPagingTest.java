@@ -0,0 +1,93 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.dto.response.CursorPageResponse;
+import com.sc.dto.response.StudentResponseDto;
+import com.sc.entity.StudentEntity;
+import com.sc.repository.StudentRepository;
+import com.sc.service.FeesService;
+import com.sc.service.StudentDocumentService;
+import com.sc.service.StudentSearchService;
+import com.sc.service.StudentService;
+import com.sc.util.StudentIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Walking the class roster page by page visits every student once: no section first, then by section and roll
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(StudentServiceImpl.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "test.database.name=roster")
+class StudentRosterPagingTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @MockitoBean
+    private FeesService feesService;
+
+    @MockitoBean
+    private StudentDocumentService studentDocumentService;
+
+    @MockitoBean
+    private StudentSearchService studentSearchService;
+
+    @MockitoBean
+    private StudentIdGenerator studentIdGenerator;
+
+    @Test
+    void classRosterPagesCoverUnsectionedAndSectionedStudents() {
+        student("R03", null);
+        student("R01", null);
+        student("R05", "B");
+        student("R02", "A");
+        student("R04", "A");
+        student("R06", "");
+        student("R99", "A", "6");
+
+        for (int pageSize : new int[]{1, 2, 3, 10}) {
+            assertThat(walk(pageSize)).as("page size %d", pageSize)
+                    .containsExactly("R01", "R03", "R06", "R02", "R04", "R05");
+        }
+    }
+
+    private List<String> walk(int pageSize) {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<StudentResponseDto> page = studentService.getStudentsByClassPage("5", cursor, pageSize);
+            assertThat(page.getContent().size()).isLessThanOrEqualTo(pageSize);
+            page.getContent().forEach(student -> seen.add(student.getStudentRollNumber()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private void student(String rollNumber, String section) {
+        student(rollNumber, section, "5");
+    }
+
+    private void student(String rollNumber, String section, String currentClass) {
+        StudentEntity student = new StudentEntity();
+        student.setStudentId("STD-" + rollNumber + "-" + currentClass);
+        student.setStudentRollNumber(rollNumber);
+        student.setFirstName("Test");
+        student.setCurrentClass(currentClass);
+        student.setSection(section);
+        studentRepository.save(student);
+    }
+}
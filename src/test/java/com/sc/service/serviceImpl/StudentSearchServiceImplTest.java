@@ -0,0 +1,101 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.dto.response.StudentSearchResultDto;
+import com.sc.entity.StudentEntity;
+import com.sc.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// No transaction is active, so index()/remove() apply immediately: a call made while the
+// snapshot query runs stands in for a write committed during the rebuild
+class StudentSearchServiceImplTest {
+
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+    private final StudentSearchServiceImpl service = new StudentSearchServiceImpl();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "studentRepository", studentRepository);
+    }
+
+    @Test
+    void rebuildReplacesTheIndex() {
+        when(studentRepository.findSearchIndexRows()).thenReturn(rows(row(1L, "Asha", "STD001")));
+        service.rebuild();
+
+        when(studentRepository.findSearchIndexRows()).thenReturn(rows(row(2L, "Ravi", "STD002")));
+        service.rebuild();
+
+        assertThat(names("asha")).isEmpty();
+        assertThat(names("ravi")).containsExactly("Ravi Kumar");
+    }
+
+    @Test
+    void writesCommittedDuringRebuildSurviveTheSwap() {
+        when(studentRepository.findSearchIndexRows()).thenReturn(rows(row(1L, "Asha", "STD001"), row(2L, "Ravi", "STD002")));
+        service.rebuild();
+
+        // The snapshot was read before these commits: it still has Ravi and lacks Meera and the rename
+        when(studentRepository.findSearchIndexRows()).thenAnswer(invocation -> {
+            service.index(student(3L, "Meera", "STD003"));
+            service.index(student(1L, "Anita", "STD001"));
+            service.remove(2L);
+            return rows(row(1L, "Asha", "STD001"), row(2L, "Ravi", "STD002"));
+        });
+        service.rebuild();
+
+        assertThat(names("meera")).containsExactly("Meera Kumar");
+        assertThat(names("anita")).containsExactly("Anita Kumar");
+        assertThat(names("asha")).isEmpty();
+        assertThat(names("ravi")).isEmpty();
+    }
+
+    @Test
+    void failedRebuildKeepsTheCurrentIndex() {
+        when(studentRepository.findSearchIndexRows()).thenReturn(rows(row(1L, "Asha", "STD001")));
+        service.rebuild();
+
+        when(studentRepository.findSearchIndexRows()).thenAnswer(invocation -> {
+            service.index(student(3L, "Meera", "STD003"));
+            throw new IllegalStateException("connection lost");
+        });
+        assertThatThrownBy(service::rebuild).isInstanceOf(IllegalStateException.class);
+
+        assertThat(names("kumar")).containsExactlyInAnyOrder("Asha Kumar", "Meera Kumar");
+    }
+
+    private List<String> names(String query) {
+        return service.typeahead(query, 10).stream().map(StudentSearchResultDto::getFullName).toList();
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    // [stdId, firstName, middleName, lastName, fatherName, studentId, rollNumber, class, section, status]
+    private static Object[] row(Long stdId, String firstName, String studentId) {
+        return new Object[]{stdId, firstName, null, "Kumar", "Father", studentId, null, "5", "A", "ACTIVE"};
+    }
+
+    private static StudentEntity student(Long stdId, String firstName, String studentId) {
+        StudentEntity student = new StudentEntity();
+        student.setStdId(stdId);
+        student.setFirstName(firstName);
+        student.setLastName("Kumar");
+        student.setFatherName("Father");
+        student.setStudentId(studentId);
+        student.setCurrentClass("5");
+        student.setSection("A");
+        student.setStatus("ACTIVE");
+        return student;
+    }
+}
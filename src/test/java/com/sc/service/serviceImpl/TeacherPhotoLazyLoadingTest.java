@@ -0,0 +1,84 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.dto.response.TeacherResponseDto;
+import com.sc.entity.TeacherEntity;
+import com.sc.repository.TeacherRepository;
+import com.sc.service.ImageVariantService;
+import com.sc.service.TeacherService;
+import com.sc.util.BlobStreamer;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// Relies on the build's bytecode enhancement; without it Hibernate loads LAZY basics eagerly
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TeacherServiceImpl.class, BlobStreamer.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = "test.database.name=teacher_photo")
+class TeacherPhotoLazyLoadingTest {
+
+    private static final byte[] PHOTO = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x01, 0x02, 0x03};
+
+    @Autowired
+    private TeacherService teacherService;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private ImageVariantService imageVariantService;
+
+    @Test
+    void teacherListDoesNotLoadThePhoto() {
+        Long withPhoto = teacherRepository.saveAndFlush(teacher("T001", PHOTO)).getId();
+        teacherRepository.saveAndFlush(teacher("T002", null));
+        entityManager.clear();
+
+        List<TeacherEntity> loaded = teacherRepository.findAll();
+        List<TeacherResponseDto> dtos = teacherService.getAllTeachersList();
+
+        assertThat(loaded).allSatisfy(teacher ->
+                assertThat(Hibernate.isPropertyInitialized(teacher, "teacherPhoto")).isFalse());
+        assertThat(dtos).extracting(TeacherResponseDto::getEmployeeId, TeacherResponseDto::getTeacherPhotoUrl)
+                .containsExactlyInAnyOrder(tuple("T001", "/api/teachers/" + withPhoto + "/photo"), tuple("T002", null));
+    }
+
+    @Test
+    void photoIsStillReadableOnDemand() {
+        Long id = teacherRepository.saveAndFlush(teacher("T003", PHOTO)).getId();
+        entityManager.clear();
+
+        TeacherEntity teacher = teacherRepository.findById(id).orElseThrow();
+
+        assertThat(teacher.getTeacherPhoto()).isEqualTo(PHOTO);
+        assertThat(teacherRepository.findPhotoById(id)).contains(PHOTO);
+    }
+
+    private static TeacherEntity teacher(String employeeId, byte[] photo) {
+        TeacherEntity teacher = new TeacherEntity();
+        teacher.setEmployeeId(employeeId);
+        teacher.setTeacherName("Teacher " + employeeId);
+        teacher.setEmail(employeeId.toLowerCase() + "@school.test");
+        teacher.setContactNumber("9000000000");
+        teacher.setAadharNumber("AADHAR-" + employeeId);
+        teacher.setPanNumber("PAN-" + employeeId);
+        teacher.setTeacherPhoto(photo);
+        return teacher;
+    }
+}
@@ -0,0 +1,99 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.dto.request.TeachersAttendanceRequestDto;
+import com.sc.dto.response.BulkAttendanceResultDto;
+import com.sc.dto.response.TeachersAttendanceResponseDto;
+import com.sc.repository.TeachersAttendanceRepository;
+import com.sc.service.TeachersAttendanceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Device syncs commit independently and may overlap
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TeachersAttendanceServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "test.database.name=teachers_attendance")
+class TeachersAttendanceBulkTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 9, 14);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+
+    @Autowired
+    private TeachersAttendanceService attendanceService;
+
+    @Autowired
+    private TeachersAttendanceRepository attendanceRepository;
+
+    @Test
+    void resubmittedDayIsUpdatedNotDuplicated() {
+        BulkAttendanceResultDto<TeachersAttendanceResponseDto> first =
+                attendanceService.markBulkAttendance(List.of(mark(1L, MONDAY, "Present"), mark(2L, MONDAY, "Absent")));
+        BulkAttendanceResultDto<TeachersAttendanceResponseDto> second =
+                attendanceService.markBulkAttendance(List.of(mark(1L, MONDAY, "Late"), mark(3L, MONDAY, "Present")));
+
+        assertThat(first.getSavedCount()).isEqualTo(2);
+        assertThat(second.getSaved()).extracting(TeachersAttendanceResponseDto::getId)
+                .containsExactly(first.getSaved().get(0).getId(), second.getSaved().get(1).getId());
+        assertThat(attendanceRepository.findByAttendanceDate(MONDAY)).hasSize(3);
+        assertThat(attendanceRepository.findByTeacherIdAndAttendanceDate(1L, MONDAY))
+                .hasValueSatisfying(row -> assertThat(row.getStatus()).isEqualTo("Late"));
+    }
+
+    @Test
+    void overlappingSyncsStoreEachDayOnce() throws Exception {
+        List<TeachersAttendanceRequestDto> sync = new ArrayList<>();
+        for (long teacherId = 10; teacherId < 40; teacherId++) {
+            sync.add(mark(teacherId, TUESDAY, "Present"));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<BulkAttendanceResultDto<TeachersAttendanceResponseDto>>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return attendanceService.markBulkAttendance(sync);
+                }));
+            }
+            start.countDown();
+            for (Future<BulkAttendanceResultDto<TeachersAttendanceResponseDto>> result : results) {
+                assertThat(result.get().getFailedCount()).isZero();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(attendanceRepository.findByAttendanceDate(TUESDAY)).hasSize(30);
+        // The single-mark lookup is an Optional and would fail on a duplicated day
+        assertThat(attendanceService.markAttendance(mark(10L, TUESDAY, "Late")).getStatus()).isEqualTo("Late");
+    }
+
+    private static TeachersAttendanceRequestDto mark(Long teacherId, LocalDate date, String status) {
+        TeachersAttendanceRequestDto dto = new TeachersAttendanceRequestDto();
+        dto.setTeacherId(teacherId);
+        dto.setAttendanceDate(date);
+        dto.setStatus(status);
+        dto.setMarkedBy("device");
+        return dto;
+    }
+}
@@ -0,0 +1,57 @@
+package com.sc.service.serviceImpl;
+
+import com.sc.entity.HolidayEntity;
+import com.sc.repository.ClassRepository;
+import com.sc.repository.HolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// No transaction is active, so refresh() applies immediately: a call made while the
+// snapshot query runs stands in for a holiday committed during the load
+class WorkingDayCalendarServiceImplTest {
+
+    // A Monday
+    private static final LocalDate REPUBLIC_DAY = LocalDate.of(2026, 1, 26);
+
+    private final HolidayRepository holidayRepository = mock(HolidayRepository.class);
+    private final ClassRepository classRepository = mock(ClassRepository.class);
+    private final WorkingDayCalendarServiceImpl service = new WorkingDayCalendarServiceImpl();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "holidayRepository", holidayRepository);
+        ReflectionTestUtils.setField(service, "classRepository", classRepository);
+    }
+
+    @Test
+    void snapshotLoadedAcrossARefreshIsNotCached() {
+        // The first load read the holidays before the new one committed
+        when(holidayRepository.findByIsRecurringTrue())
+                .thenAnswer(invocation -> {
+                    service.refresh();
+                    return List.of();
+                })
+                .thenReturn(List.of(recurringHoliday(REPUBLIC_DAY)));
+
+        assertThat(service.isWorkingDay(REPUBLIC_DAY)).isTrue();
+        assertThat(service.isWorkingDay(REPUBLIC_DAY)).isFalse();
+        assertThat(service.isWorkingDay(REPUBLIC_DAY.plusYears(1))).isFalse();
+    }
+
+    private static HolidayEntity recurringHoliday(LocalDate date) {
+        HolidayEntity holiday = new HolidayEntity();
+        holiday.setHolidayName("Republic Day");
+        holiday.setHolidayDate(date);
+        holiday.setIsRecurring(true);
+        holiday.setAffectsAttendance(false);
+        return holiday;
+    }
+}
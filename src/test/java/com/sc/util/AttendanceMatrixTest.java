@@ -0,0 +1,62 @@
+package com.sc.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AttendanceMatrixTest {
+
+    @Test
+    void cellsStartUnmarkedAndAreIndependent() {
+        AttendanceMatrix matrix = new AttendanceMatrix(3, 31);
+
+        matrix.set(0, 31, AttendanceMatrix.PRESENT);
+        matrix.set(1, 1, AttendanceMatrix.ABSENT);
+        matrix.set(2, 15, AttendanceMatrix.LEAVE);
+
+        assertThat(matrix.get(0, 31)).isEqualTo(AttendanceMatrix.PRESENT);
+        assertThat(matrix.get(1, 1)).isEqualTo(AttendanceMatrix.ABSENT);
+        assertThat(matrix.get(2, 15)).isEqualTo(AttendanceMatrix.LEAVE);
+        assertThat(matrix.get(0, 1)).isEqualTo(AttendanceMatrix.NONE);
+        assertThat(matrix.get(1, 31)).isEqualTo(AttendanceMatrix.NONE);
+    }
+
+    @Test
+    void laterMarkOverwritesEarlierOne() {
+        AttendanceMatrix matrix = new AttendanceMatrix(1, 28);
+
+        matrix.set(0, 10, AttendanceMatrix.ABSENT);
+        matrix.set(0, 10, AttendanceMatrix.PRESENT);
+
+        assertThat(matrix.get(0, 10)).isEqualTo(AttendanceMatrix.PRESENT);
+    }
+
+    @Test
+    void reportsDimensions() {
+        assertThat(new AttendanceMatrix(40, 30).getRows()).isEqualTo(40);
+        assertThat(new AttendanceMatrix(40, 30).getDays()).isEqualTo(30);
+        assertThat(new AttendanceMatrix(0, 31).getRows()).isZero();
+        assertThat(new AttendanceMatrix(5, 0).getRows()).isZero();
+    }
+
+    @Test
+    void dayOutsideTheMonthDoesNotSpillIntoAnotherRow() {
+        AttendanceMatrix matrix = new AttendanceMatrix(2, 30);
+
+        assertThatThrownBy(() -> matrix.set(0, 31, AttendanceMatrix.PRESENT))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> matrix.get(1, 0))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(matrix.get(1, 1)).isEqualTo(AttendanceMatrix.NONE);
+    }
+
+    @Test
+    void mapsStatusesToCodes() {
+        assertThat(AttendanceMatrix.code("PRESENT")).isEqualTo(AttendanceMatrix.PRESENT);
+        assertThat(AttendanceMatrix.code("ABSENT")).isEqualTo(AttendanceMatrix.ABSENT);
+        assertThat(AttendanceMatrix.code("LEAVE")).isEqualTo(AttendanceMatrix.LEAVE);
+        assertThat(AttendanceMatrix.code("HALF_DAY")).isEqualTo(AttendanceMatrix.OTHER);
+        assertThat(AttendanceMatrix.code(null)).isEqualTo(AttendanceMatrix.NONE);
+    }
+}
@@ -0,0 +1,157 @@
+package com.sc.util;
+
+import com.sc.entity.AttendanceArchiveEntity;
+import com.sc.entity.AttendanceEntity;
+import com.sc.entity.StudentEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttendanceMonthCodecTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2024, 1);
+    private static final StudentEntity STUDENT = new StudentEntity();
+
+    @Test
+    void periodRoundTrips() {
+        assertThat(AttendanceMonthCodec.period(JANUARY)).isEqualTo(202401);
+        assertThat(AttendanceMonthCodec.month(202412)).isEqualTo(YearMonth.of(2024, 12));
+    }
+
+    @Test
+    void packsTwoBitsPerDayIncludingTheLastDay() {
+        List<AttendanceEntity> rows = List.of(
+                row(1, "PRESENT", "teacher"),
+                row(2, "ABSENT", "teacher"),
+                row(3, "LEAVE", "teacher"),
+                row(31, "ABSENT", "teacher"));
+
+        AttendanceArchiveEntity archive = AttendanceMonthCodec.encode(7L, JANUARY, rows);
+
+        assertThat(archive.getStudentId()).isEqualTo(7L);
+        assertThat(archive.getPeriodMonth()).isEqualTo(202401);
+        assertThat(archive.getStatusBits()).isEqualTo(0b11_10_01L | 2L << 60);
+        assertThat(archive.getMarkedBy()).isEqualTo("teacher");
+        assertThat(archive.getExceptions()).isNull();
+        assertSameRows(decodeWholeMonth(archive), rows);
+    }
+
+    @Test
+    void keepsNonWorkingDays() {
+        AttendanceEntity sunday = row(7, "PRESENT", "teacher");
+        sunday.setIsWorkingDay(false);
+        List<AttendanceEntity> rows = List.of(row(6, "PRESENT", "teacher"), sunday);
+
+        AttendanceArchiveEntity archive = AttendanceMonthCodec.encode(7L, JANUARY, rows);
+
+        assertThat(archive.getNonWorkingDays()).isEqualTo(1 << 6);
+        assertSameRows(decodeWholeMonth(archive), rows);
+    }
+
+    @Test
+    void unusualDaysGoToTheExceptionsList() {
+        AttendanceEntity halfDay = row(4, "HALF_DAY", "teacher");
+        AttendanceEntity sick = row(5, "LEAVE", "teacher");
+        sick.setLeaveType("SICK");
+        sick.setReason("Fever");
+        List<AttendanceEntity> rows = List.of(
+                row(1, "PRESENT", "teacher"),
+                row(2, "PRESENT", "teacher"),
+                row(3, "PRESENT", "substitute"),
+                halfDay,
+                sick,
+                row(6, "ABSENT", null));
+
+        AttendanceArchiveEntity archive = AttendanceMonthCodec.encode(7L, JANUARY, rows);
+
+        assertThat(archive.getMarkedBy()).isEqualTo("teacher");
+        assertThat(archive.getExceptions())
+                .contains("HALF_DAY", "SICK", "Fever", "substitute", "noMarker")
+                .doesNotContain("leaveType\":null");
+        assertSameRows(decodeWholeMonth(archive), rows);
+    }
+
+    @Test
+    void keepsTheLatestMarkingOfTheMonth() {
+        AttendanceEntity first = row(1, "PRESENT", "teacher");
+        first.setMarkedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        AttendanceEntity corrected = row(2, "ABSENT", "teacher");
+        corrected.setMarkedAt(LocalDateTime.of(2024, 1, 15, 16, 30));
+
+        AttendanceArchiveEntity archive = AttendanceMonthCodec.encode(7L, JANUARY, List.of(first, corrected));
+
+        assertThat(archive.getMarkedAt()).isEqualTo(LocalDateTime.of(2024, 1, 15, 16, 30));
+        assertThat(decodeWholeMonth(archive)).extracting(AttendanceEntity::getMarkedAt)
+                .containsOnly(LocalDateTime.of(2024, 1, 15, 16, 30));
+    }
+
+    @Test
+    void olderArchivesFallBackToTheArchiveTime() {
+        AttendanceArchiveEntity archive = AttendanceMonthCodec.encode(7L, JANUARY, List.of(row(1, "PRESENT", "teacher")));
+        archive.setArchivedAt(LocalDateTime.of(2024, 3, 2, 2, 30));
+
+        assertThat(archive.getMarkedAt()).isNull();
+        assertThat(decodeWholeMonth(archive)).extracting(AttendanceEntity::getMarkedAt)
+                .containsExactly(LocalDateTime.of(2024, 3, 2, 2, 30));
+    }
+
+    @Test
+    void decodeReturnsOnlyDaysInRange() {
+        List<AttendanceEntity> rows = List.of(
+                row(1, "PRESENT", "teacher"),
+                row(10, "HALF_DAY", "teacher"),
+                row(20, "ABSENT", "teacher"));
+        AttendanceArchiveEntity archive = AttendanceMonthCodec.encode(7L, JANUARY, rows);
+
+        List<AttendanceEntity> decoded = AttendanceMonthCodec.decode(archive, STUDENT,
+                JANUARY.atDay(5), JANUARY.atDay(20));
+
+        assertThat(decoded).extracting(AttendanceEntity::getAttendanceDate)
+                .containsExactly(JANUARY.atDay(10), JANUARY.atDay(20));
+        assertThat(decoded).extracting(AttendanceEntity::getStatus)
+                .containsExactly("HALF_DAY", "ABSENT");
+    }
+
+    @Test
+    void emptyMonthDecodesToNothing() {
+        AttendanceArchiveEntity archive = AttendanceMonthCodec.encode(7L, JANUARY, List.of());
+
+        assertThat(archive.getStatusBits()).isZero();
+        assertThat(archive.getMarkedBy()).isNull();
+        assertThat(decodeWholeMonth(archive)).isEmpty();
+    }
+
+    private static List<AttendanceEntity> decodeWholeMonth(AttendanceArchiveEntity archive) {
+        return AttendanceMonthCodec.decode(archive, STUDENT, JANUARY.atDay(1), JANUARY.atEndOfMonth());
+    }
+
+    private static void assertSameRows(List<AttendanceEntity> decoded, List<AttendanceEntity> expected) {
+        assertThat(decoded).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            AttendanceEntity actual = decoded.get(i);
+            AttendanceEntity original = expected.get(i);
+            assertThat(actual.getStudent()).isSameAs(STUDENT);
+            assertThat(actual.getAttendanceDate()).isEqualTo(original.getAttendanceDate());
+            assertThat(actual.getStatus()).isEqualTo(original.getStatus());
+            assertThat(actual.getLeaveType()).isEqualTo(original.getLeaveType());
+            assertThat(actual.getReason()).isEqualTo(original.getReason());
+            assertThat(actual.getMarkedBy()).isEqualTo(original.getMarkedBy());
+            assertThat(actual.getIsWorkingDay()).isEqualTo(original.getIsWorkingDay());
+        }
+    }
+
+    private static AttendanceEntity row(int day, String status, String markedBy) {
+        AttendanceEntity row = new AttendanceEntity();
+        row.setStudent(STUDENT);
+        row.setAttendanceDate(LocalDate.of(2024, 1, day));
+        row.setStatus(status);
+        row.setMarkedBy(markedBy);
+        row.setIsWorkingDay(true);
+        return row;
+    }
+}
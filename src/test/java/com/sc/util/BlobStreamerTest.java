@@ -0,0 +1,102 @@
+package com.sc.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The blob is replaced between chunks, so the writes have to commit
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BlobStreamer.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "test.database.name=blob_streamer")
+class BlobStreamerTest {
+
+    private static final String CHUNK_SQL = "SELECT SUBSTRING(content, ?, ?) FROM image_variants " +
+            "WHERE owner_id = ? AND content_hash = ?";
+
+    // Larger than one chunk, so a full download takes several queries
+    private static final int BLOB_SIZE = 2 * 1024 * 1024 + 100;
+
+    @Autowired
+    private BlobStreamer blobStreamer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.update("DELETE FROM image_variants");
+    }
+
+    @Test
+    void streamsTheWholeBlobAndRanges() throws IOException {
+        byte[] content = blob((byte) 1);
+        store(1L, "v1", content);
+
+        ByteArrayOutputStream whole = new ByteArrayOutputStream();
+        blobStreamer.stream(CHUNK_SQL, new Object[]{1L}, "v1", 0, content.length, whole);
+        ByteArrayOutputStream range = new ByteArrayOutputStream();
+        blobStreamer.stream(CHUNK_SQL, new Object[]{1L}, "v1", 10, 20, range);
+
+        assertThat(whole.toByteArray()).isEqualTo(content);
+        assertThat(range.toByteArray()).isEqualTo(Arrays.copyOfRange(content, 10, 30));
+    }
+
+    @Test
+    void abortsWhenTheBlobIsReplacedMidDownload() {
+        store(2L, "v1", blob((byte) 1));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void write(byte[] b) {
+                super.write(b, 0, b.length);
+                // Another request uploads a new version after the first chunk went out
+                jdbcTemplate.update("UPDATE image_variants SET content = ?, content_hash = ? WHERE owner_id = ?",
+                        blob((byte) 2), "v2", 2L);
+            }
+        };
+
+        assertThatThrownBy(() -> blobStreamer.stream(CHUNK_SQL, new Object[]{2L}, "v1", 0, BLOB_SIZE, out))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("replaced");
+        assertThat(out.toByteArray()).doesNotContain((byte) 2);
+    }
+
+    @Test
+    void abortsWhenTheBlobIsShorterThanTheRange() {
+        store(3L, "v1", new byte[]{1, 2, 3});
+
+        assertThatThrownBy(() -> blobStreamer.stream(CHUNK_SQL, new Object[]{3L}, "v1", 0, 10,
+                new ByteArrayOutputStream()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("ended");
+    }
+
+    private void store(Long ownerId, String hash, byte[] content) {
+        jdbcTemplate.update("INSERT INTO image_variants (owner_type, owner_id, size_px, size_bytes, content_hash, content) " +
+                "VALUES ('STUDENT', ?, 64, ?, ?, ?)", ownerId, content.length, hash, content);
+    }
+
+    private static byte[] blob(byte value) {
+        byte[] content = new byte[BLOB_SIZE];
+        Arrays.fill(content, value);
+        return content;
+    }
+}
@@ -0,0 +1,64 @@
+package com.sc.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRowReaderTest {
+
+    @Test
+    void readsPlainAndEmptyFields() throws IOException {
+        assertThat(readAll("a,,c\n,\n"))
+                .containsExactly(List.of("a", "", "c"), List.of("", ""));
+    }
+
+    @Test
+    void readsQuotedFieldsWithDelimitersAndDoubledQuotes() throws IOException {
+        assertThat(readAll("\"Sharma, Ravi\",\"He said \"\"hi\"\"\"\r\n"))
+                .containsExactly(List.of("Sharma, Ravi", "He said \"hi\""));
+    }
+
+    @Test
+    void keepsLineBreaksInsideQuotes() throws IOException {
+        assertThat(readAll("name,address\r\nAsha,\"12 Main St\r\nPune\"\r\nRavi,\"line1\nline2\"\n"))
+                .containsExactly(
+                        List.of("name", "address"),
+                        List.of("Asha", "12 Main St\r\nPune"),
+                        List.of("Ravi", "line1\nline2"));
+    }
+
+    @Test
+    void acceptsBareCarriageReturnAndMissingFinalNewline() throws IOException {
+        assertThat(readAll("a,b\rc,d"))
+                .containsExactly(List.of("a", "b"), List.of("c", "d"));
+    }
+
+    @Test
+    void skipsLeadingByteOrderMarkOnly() throws IOException {
+        assertThat(readAll("﻿name\n﻿x\n"))
+                .containsExactly(List.of("name"), List.of("﻿x"));
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() {
+        assertThatThrownBy(() -> readAll("a,\"open\n"))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Unterminated quoted field");
+    }
+
+    private static List<List<String>> readAll(String input) throws IOException {
+        CsvRowReader reader = new CsvRowReader(new StringReader(input));
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row;
+        while ((row = reader.readRow()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
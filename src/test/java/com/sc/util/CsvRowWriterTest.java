@@ -0,0 +1,69 @@
+package com.sc.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRowWriterTest {
+
+    @Test
+    void quotesOnlyWhenNeeded() throws IOException {
+        assertThat(write("plain", "a,b", "say \"hi\"", null, 42))
+                .isEqualTo("plain,\"a,b\",\"say \"\"hi\"\"\",,42\r\n");
+    }
+
+    @Test
+    void quotesEmbeddedLineBreaks() throws IOException {
+        assertThat(write("12 Main St\nPune", "a\rb"))
+                .isEqualTo("\"12 Main St\nPune\",\"a\rb\"\r\n");
+    }
+
+    @Test
+    void writesByteOrderMarkBeforeFirstRow() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvRowWriter csv = new CsvRowWriter(out);
+        csv.writeByteOrderMark();
+        csv.writeRow("name");
+
+        assertThat(out.toString()).isEqualTo("﻿name\r\n");
+    }
+
+    @Test
+    void guardsFormulaLikeText() throws IOException {
+        assertThat(write("=HYPERLINK(\"x\")", "+91 98765", "-1", "@SUM(A1)", "\tx", "\rx", "a=b"))
+                .isEqualTo("\"'=HYPERLINK(\"\"x\"\")\",'+91 98765,'-1,'@SUM(A1),'\tx,\"'\rx\",a=b\r\n");
+    }
+
+    @Test
+    void leavesNumbersAndDatesUnguarded() throws IOException {
+        assertThat(write(-250, new BigDecimal("-12.50"), LocalDate.of(2024, 6, 1)))
+                .isEqualTo("-250,-12.50,2024-06-01\r\n");
+    }
+
+    @Test
+    void guardedExportReadsBackUnchanged() throws IOException {
+        List<String> values = List.of("=1+1", "Asha, \"A\"", "line1\nline2", "'=already quoted", "-", "'");
+        StringWriter out = new StringWriter();
+        CsvRowWriter csv = new CsvRowWriter(out);
+        csv.writeByteOrderMark();
+        csv.writeRow(values.toArray());
+
+        List<String> row = new CsvRowReader(new StringReader(out.toString())).readRow();
+        row.replaceAll(CsvRowWriter::unguardFormula);
+
+        assertThat(row).isEqualTo(values);
+    }
+
+    private static String write(Object... values) throws IOException {
+        StringWriter out = new StringWriter();
+        new CsvRowWriter(out).writeRow(values);
+        return out.toString();
+    }
+}
@@ -0,0 +1,133 @@
+package com.sc.util;
+
+import com.sc.repository.IdSequenceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Reservations run in their own transactions, so the test itself stays outside one
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "test.database.name=hilo")
+class HiLoSequenceAllocatorTest {
+
+    @Autowired
+    private IdSequenceRepository idSequenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void rollsOverToNextBlockAndSeedsOnlyOnce() {
+        HiLoSequenceAllocator allocator = allocator();
+        AtomicInteger seeded = new AtomicInteger();
+
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            values.add(allocator.next("rollover", 3, () -> {
+                seeded.incrementAndGet();
+                return 100;
+            }));
+        }
+
+        assertThat(values).containsExactly(100L, 101L, 102L, 103L, 104L, 105L, 106L);
+        assertThat(seeded).hasValue(1);
+        // Three blocks of three reserved
+        assertThat(idSequenceRepository.findById("rollover").orElseThrow().getNextValue()).isEqualTo(109L);
+    }
+
+    @Test
+    void restartSkipsTheUnusedRestOfTheBlock() {
+        allocator().next("restart", 10, () -> 1);
+
+        assertThat(allocator().next("restart", 10, () -> 1)).isEqualTo(11L);
+    }
+
+    @Test
+    void advancePastSkipsWithinCurrentBlock() {
+        HiLoSequenceAllocator allocator = allocator();
+        allocator.next("inside", 10, () -> 1);
+
+        allocator.advancePast("inside", 5, () -> 1);
+
+        assertThat(allocator.next("inside", 10, () -> 1)).isEqualTo(6L);
+        assertThat(idSequenceRepository.findById("inside").orElseThrow().getNextValue()).isEqualTo(11L);
+    }
+
+    @Test
+    void advancePastBeyondBlockMovesTheTable() {
+        HiLoSequenceAllocator allocator = allocator();
+        allocator.next("beyond", 10, () -> 1);
+
+        allocator.advancePast("beyond", 500, () -> 1);
+
+        assertThat(allocator.next("beyond", 10, () -> 1)).isEqualTo(501L);
+    }
+
+    @Test
+    void advancePastSeedsAMissingSequence() {
+        HiLoSequenceAllocator allocator = allocator();
+
+        allocator.advancePast("fresh", 41, () -> 1);
+
+        assertThat(allocator.next("fresh", 10, () -> 1)).isEqualTo(42L);
+    }
+
+    @Test
+    void concurrentNodesNeverHandOutTheSameValue() throws Exception {
+        // Two allocators stand in for two application nodes sharing id_sequences
+        List<HiLoSequenceAllocator> nodes = List.of(allocator(), allocator());
+        int threads = 8;
+        int perThread = 250;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                HiLoSequenceAllocator node = nodes.get(t % nodes.size());
+                Callable<List<Long>> task = () -> {
+                    List<Long> taken = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        taken.add(node.next("concurrent", 7, () -> 1));
+                    }
+                    return taken;
+                };
+                futures.add(executor.submit(task));
+            }
+
+            Set<Long> all = new HashSet<>();
+            for (Future<List<Long>> future : futures) {
+                for (Long value : future.get()) {
+                    assertThat(all.add(value)).as("duplicate value %d", value).isTrue();
+                }
+            }
+            assertThat(all).hasSize(threads * perThread);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private HiLoSequenceAllocator allocator() {
+        return new HiLoSequenceAllocator(idSequenceRepository, transactionManager);
+    }
+}
@@ -0,0 +1,78 @@
+package com.sc.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HtmlTemplateTest {
+
+    @Test
+    void escapesValuesButNotRawValues() {
+        String html = render("<p>{{name}}</p>{{{signature}}}",
+                Map.of("name", "<b>Tom & \"Jerry\"</b> O'Neil", "signature", "<i>Office</i>"));
+
+        assertThat(html).isEqualTo(
+                "<p>&lt;b&gt;Tom &amp; &quot;Jerry&quot;&lt;/b&gt; O&#39;Neil</p><i>Office</i>");
+    }
+
+    @Test
+    void missingAndNullPlaceholdersRenderEmpty() {
+        Map<String, Object> model = new HashMap<>();
+        model.put("present", null);
+
+        assertThat(render("[{{missing}}][{{present}}][{{{rawMissing}}}]", model)).isEqualTo("[][][]");
+    }
+
+    @Test
+    void commentsAreDroppedAndTextIsMerged() {
+        HtmlTemplate template = HtmlTemplate.compile("t", "Dear {{! greeting }}parent");
+
+        assertThat(template.getStaticLength()).isEqualTo("Dear parent".length());
+        assertThat(render(template, Map.of())).isEqualTo("Dear parent");
+    }
+
+    @Test
+    void sectionsFollowTruthinessAndIterateCollections() {
+        String source = "{{#paid}}PAID{{/paid}}{{#rows}}<tr><td>{{label}}</td><td>{{amount}}</td></tr>{{/rows}}";
+
+        assertThat(render(source, Map.of("paid", false, "rows", List.of()))).isEmpty();
+        assertThat(render(source, Map.of(
+                "paid", true,
+                "label", "outer",
+                "rows", List.of(Map.of("label", "Term 1", "amount", 500), Map.of("amount", "<1>")))))
+                .isEqualTo("PAID<tr><td>Term 1</td><td>500</td></tr><tr><td>outer</td><td>&lt;1&gt;</td></tr>");
+    }
+
+    @Test
+    void nonMapCollectionItemsRepeatTheBody() {
+        assertThat(render("{{#items}}*{{/items}}", Map.of("items", List.of(1, 2, 3)))).isEqualTo("***");
+    }
+
+    @Test
+    void rejectsMalformedTemplates() {
+        assertThatThrownBy(() -> HtmlTemplate.compile("t", "Hello {{name"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unclosed tag");
+        assertThatThrownBy(() -> HtmlTemplate.compile("t", "{{#rows}}x"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unclosed section {{#rows}}");
+        assertThatThrownBy(() -> HtmlTemplate.compile("t", "{{#a}}{{/b}}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unexpected {{/b}}");
+    }
+
+    private static String render(String source, Map<String, ?> model) {
+        return render(HtmlTemplate.compile("t", source), model);
+    }
+
+    private static String render(HtmlTemplate template, Map<String, ?> model) {
+        StringBuilder out = new StringBuilder();
+        template.render(model, out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,52 @@
+package com.sc.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTripsKeysIncludingEmptyAndNonAscii() {
+        String cursor = KeysetCursor.encode("S", "", "Ânanya,42");
+
+        assertThat(cursor).doesNotContain("=", "+", "/");
+        assertThat(KeysetCursor.decode(cursor, 3)).containsExactly("S", "", "Ânanya,42");
+    }
+
+    @Test
+    void roundTripsId() {
+        assertThat(KeysetCursor.decodeId(KeysetCursor.encode("9007199254740993"))).isEqualTo(9007199254740993L);
+    }
+
+    @Test
+    void rejectsTokenThatIsNotBase64() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor!", 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void rejectsWrongNumberOfKeys() {
+        String cursor = KeysetCursor.encode("S", "A");
+
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor, 3))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsNonNumericId() {
+        String cursor = Base64.getUrlEncoder().encodeToString("12abc".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> KeysetCursor.decodeId(cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+}